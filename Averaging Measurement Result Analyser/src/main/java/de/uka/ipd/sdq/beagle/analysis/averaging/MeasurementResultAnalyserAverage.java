@@ -12,9 +12,9 @@ import de.uka.ipd.sdq.beagle.core.analysis.MeasurementResultAnalyserBlackboardVi
 import de.uka.ipd.sdq.beagle.core.analysis.ReadOnlyMeasurementResultAnalyserBlackboardView;
 import de.uka.ipd.sdq.beagle.core.evaluableexpressions.ConstantExpression;
 import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableExpression;
-import de.uka.ipd.sdq.beagle.core.measurement.LoopRepetitionCountMeasurementResult;
-import de.uka.ipd.sdq.beagle.core.measurement.ResourceDemandMeasurementResult;
 
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Set;
@@ -132,24 +132,26 @@ public class MeasurementResultAnalyserAverage
 			final Integer numberOfMeasurements;
 
 			if (measurableSeffElement.getClass() == ResourceDemandingInternalAction.class) {
-				numberOfMeasurements =
-					blackboard.getMeasurementResultsFor((ResourceDemandingInternalAction) measurableSeffElement).size();
+				numberOfMeasurements = blackboard
+					.getMeasurementValuesFor((ResourceDemandingInternalAction) measurableSeffElement)
+					.remaining();
 				if (measurableSeffContributions.get(measurableSeffElement) < numberOfMeasurements) {
 					this.addMeasurementResultFor(blackboard, (ResourceDemandingInternalAction) measurableSeffElement);
 				}
 			} else if (measurableSeffElement.getClass() == SeffBranch.class) {
-				numberOfMeasurements = blackboard.getMeasurementResultsFor((SeffBranch) measurableSeffElement).size();
+				numberOfMeasurements =
+					blackboard.getMeasurementValuesFor((SeffBranch) measurableSeffElement).remaining();
 				if (measurableSeffContributions.get(measurableSeffElement) < numberOfMeasurements) {
 					this.addMeasurementResultFor(blackboard, (SeffBranch) measurableSeffElement);
 				}
 			} else if (measurableSeffElement.getClass() == SeffLoop.class) {
-				numberOfMeasurements = blackboard.getMeasurementResultsFor((SeffLoop) measurableSeffElement).size();
+				numberOfMeasurements = blackboard.getMeasurementValuesFor((SeffLoop) measurableSeffElement).remaining();
 				if (measurableSeffContributions.get(measurableSeffElement) < numberOfMeasurements) {
 					this.addMeasurementResultFor(blackboard, (SeffLoop) measurableSeffElement);
 				}
 			} else if (measurableSeffElement.getClass() == ExternalCallParameter.class) {
 				numberOfMeasurements =
-					blackboard.getMeasurementResultsFor((ExternalCallParameter) measurableSeffElement).size();
+					blackboard.getMeasurementValuesFor((ExternalCallParameter) measurableSeffElement).remaining();
 				if (measurableSeffContributions.get(measurableSeffElement) < numberOfMeasurements) {
 					this.addMeasurementResultFor(blackboard, (ExternalCallParameter) measurableSeffElement);
 				}
@@ -174,12 +176,12 @@ public class MeasurementResultAnalyserAverage
 	private void addMeasurementResultFor(final MeasurementResultAnalyserBlackboardView blackboard,
 		final ResourceDemandingInternalAction rdia) {
 
-		final Set<ResourceDemandMeasurementResult> measurementResults = blackboard.getMeasurementResultsFor(rdia);
+		final DoubleBuffer measurementValues = blackboard.getMeasurementValuesFor(rdia);
 		int sumOverAllMeasurementResultValues = 0;
-		final int numberOfAllMeasurementResults = measurementResults.size();
+		final int numberOfAllMeasurementResults = measurementValues.remaining();
 
-		for (final ResourceDemandMeasurementResult rdmr : measurementResults) {
-			sumOverAllMeasurementResultValues += rdmr.getValue();
+		for (int i = measurementValues.position(); i < measurementValues.limit(); i++) {
+			sumOverAllMeasurementResultValues += measurementValues.get(i);
 		}
 
 		final ConstantExpression expression =
@@ -234,13 +236,12 @@ public class MeasurementResultAnalyserAverage
 	private void addMeasurementResultFor(final MeasurementResultAnalyserBlackboardView blackboard,
 		final SeffLoop seffLoop) {
 
-		final Set<LoopRepetitionCountMeasurementResult> loopCountResults =
-			blackboard.getMeasurementResultsFor(seffLoop);
+		final IntBuffer loopCounts = blackboard.getMeasurementValuesFor(seffLoop);
 		int sumOverAllLoopCounts = 0;
-		final int numberOfAllMeasurementResults = loopCountResults.size();
+		final int numberOfAllMeasurementResults = loopCounts.remaining();
 
-		for (final LoopRepetitionCountMeasurementResult loopCountResult : loopCountResults) {
-			sumOverAllLoopCounts += loopCountResult.getCount();
+		for (int i = loopCounts.position(); i < loopCounts.limit(); i++) {
+			sumOverAllLoopCounts += loopCounts.get(i);
 		}
 
 		final ConstantExpression expression =
@@ -303,14 +304,14 @@ public class MeasurementResultAnalyserAverage
 
 		if (measurableSeffElement.getClass() == ResourceDemandingInternalAction.class) {
 			numberOfMeasurements =
-				blackboard.getMeasurementResultsFor((ResourceDemandingInternalAction) measurableSeffElement).size();
+				blackboard.getMeasurementValuesFor((ResourceDemandingInternalAction) measurableSeffElement).remaining();
 		} else if (measurableSeffElement.getClass() == SeffBranch.class) {
-			numberOfMeasurements = blackboard.getMeasurementResultsFor((SeffBranch) measurableSeffElement).size();
+			numberOfMeasurements = blackboard.getMeasurementValuesFor((SeffBranch) measurableSeffElement).remaining();
 		} else if (measurableSeffElement.getClass() == SeffLoop.class) {
-			numberOfMeasurements = blackboard.getMeasurementResultsFor((SeffLoop) measurableSeffElement).size();
+			numberOfMeasurements = blackboard.getMeasurementValuesFor((SeffLoop) measurableSeffElement).remaining();
 		} else if (measurableSeffElement.getClass() == ExternalCallParameter.class) {
 			numberOfMeasurements =
-				blackboard.getMeasurementResultsFor((ExternalCallParameter) measurableSeffElement).size();
+				blackboard.getMeasurementValuesFor((ExternalCallParameter) measurableSeffElement).remaining();
 		}
 
 		return numberOfMeasurements;
@@ -331,14 +332,14 @@ public class MeasurementResultAnalyserAverage
 
 		if (measurableSeffElement.getClass() == ResourceDemandingInternalAction.class) {
 			numberOfMeasurements =
-				blackboard.getMeasurementResultsFor((ResourceDemandingInternalAction) measurableSeffElement).size();
+				blackboard.getMeasurementValuesFor((ResourceDemandingInternalAction) measurableSeffElement).remaining();
 		} else if (measurableSeffElement.getClass() == SeffBranch.class) {
-			numberOfMeasurements = blackboard.getMeasurementResultsFor((SeffBranch) measurableSeffElement).size();
+			numberOfMeasurements = blackboard.getMeasurementValuesFor((SeffBranch) measurableSeffElement).remaining();
 		} else if (measurableSeffElement.getClass() == SeffLoop.class) {
-			numberOfMeasurements = blackboard.getMeasurementResultsFor((SeffLoop) measurableSeffElement).size();
+			numberOfMeasurements = blackboard.getMeasurementValuesFor((SeffLoop) measurableSeffElement).remaining();
 		} else if (measurableSeffElement.getClass() == ExternalCallParameter.class) {
 			numberOfMeasurements =
-				blackboard.getMeasurementResultsFor((ExternalCallParameter) measurableSeffElement).size();
+				blackboard.getMeasurementValuesFor((ExternalCallParameter) measurableSeffElement).remaining();
 		}
 
 		return numberOfMeasurements;
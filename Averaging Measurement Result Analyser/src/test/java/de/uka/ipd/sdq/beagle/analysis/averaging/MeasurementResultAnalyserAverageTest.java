@@ -18,10 +18,6 @@ import de.uka.ipd.sdq.beagle.core.SeffLoop;
 import de.uka.ipd.sdq.beagle.core.analysis.MeasurementResultAnalyserBlackboardView;
 import de.uka.ipd.sdq.beagle.core.analysis.ReadOnlyMeasurementResultAnalyserBlackboardView;
 import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableExpression;
-import de.uka.ipd.sdq.beagle.core.measurement.BranchDecisionMeasurementResult;
-import de.uka.ipd.sdq.beagle.core.measurement.LoopRepetitionCountMeasurementResult;
-import de.uka.ipd.sdq.beagle.core.measurement.ParameterChangeMeasurementResult;
-import de.uka.ipd.sdq.beagle.core.measurement.ResourceDemandMeasurementResult;
 import de.uka.ipd.sdq.beagle.core.testutil.factories.BlackboardFactory;
 import de.uka.ipd.sdq.beagle.core.testutil.factories.SeffLoopFactory;
 
@@ -29,8 +25,9 @@ import org.apache.commons.collections4.MultiSet;
 import org.apache.commons.collections4.multiset.HashMultiSet;
 import org.junit.Test;
 
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Set;
 
 /**
@@ -78,15 +75,12 @@ public class MeasurementResultAnalyserAverageTest {
 		assertThat(analyser.canContribute(blackboardView), is(analyser.canContribute(blackboardView2)));
 
 		Blackboard mockedBlackboard = mock(Blackboard.class);
-		final Set<ResourceDemandMeasurementResult> resourceResults = new HashSet<>();
-		given(mockedBlackboard.getMeasurementResultsFor(any(ResourceDemandingInternalAction.class)))
-			.willReturn(resourceResults);
-		final Set<BranchDecisionMeasurementResult> branchResults = new HashSet<>();
-		given(mockedBlackboard.getMeasurementResultsFor(any(SeffBranch.class))).willReturn(branchResults);
-		final Set<LoopRepetitionCountMeasurementResult> loopResults = new HashSet<>();
-		given(mockedBlackboard.getMeasurementResultsFor(any(SeffLoop.class))).willReturn(loopResults);
-		final Set<ParameterChangeMeasurementResult> parameterResults = new HashSet<>();
-		given(mockedBlackboard.getMeasurementResultsFor(any(ExternalCallParameter.class))).willReturn(parameterResults);
+		given(mockedBlackboard.getMeasurementValuesFor(any(ResourceDemandingInternalAction.class)))
+			.willReturn(DoubleBuffer.allocate(0));
+		given(mockedBlackboard.getMeasurementValuesFor(any(SeffBranch.class))).willReturn(IntBuffer.allocate(0));
+		given(mockedBlackboard.getMeasurementValuesFor(any(SeffLoop.class))).willReturn(IntBuffer.allocate(0));
+		given(mockedBlackboard.getMeasurementValuesFor(any(ExternalCallParameter.class)))
+			.willReturn(IntBuffer.allocate(0));
 		final ReadOnlyMeasurementResultAnalyserBlackboardView mockedView =
 			new ReadOnlyMeasurementResultAnalyserBlackboardView(mockedBlackboard);
 		assertThat(analyser.canContribute(mockedView), is(false));
@@ -101,11 +95,7 @@ public class MeasurementResultAnalyserAverageTest {
 		final SeffLoop loop = SEFF_LOOP_FACTORY.getOne();
 		contributions.put(loop, 2);
 		given(mockedBlackboard.readFor(MeasurementResultAnalyserAverage.class)).willReturn(contributions);
-		Set<LoopRepetitionCountMeasurementResult> value = new HashSet<>();
-		value.add(new LoopRepetitionCountMeasurementResult(1));
-		value.add(new LoopRepetitionCountMeasurementResult(3));
-		value.add(new LoopRepetitionCountMeasurementResult(5));
-		given(mockedBlackboard.getMeasurementResultsFor(loop)).willReturn(value);
+		given(mockedBlackboard.getMeasurementValuesFor(loop)).willReturn(IntBuffer.wrap(new int[] {1, 3, 5}));
 		assertThat(analyser.canContribute(new ReadOnlyMeasurementResultAnalyserBlackboardView(mockedBlackboard)),
 			is(true));
 
@@ -114,10 +104,7 @@ public class MeasurementResultAnalyserAverageTest {
 		analyser.contribute(analyserView);
 		assertThat(analyser.canContribute(mockedView), is(false));
 
-		value = new HashSet<>();
-		value.add(new LoopRepetitionCountMeasurementResult(1));
-		value.add(new LoopRepetitionCountMeasurementResult(3));
-		given(mockedBlackboard.getMeasurementResultsFor(loop)).willReturn(value);
+		given(mockedBlackboard.getMeasurementValuesFor(loop)).willReturn(IntBuffer.wrap(new int[] {1, 3}));
 		assertThat(analyser.canContribute(new ReadOnlyMeasurementResultAnalyserBlackboardView(mockedBlackboard)),
 			is(false));
 	}
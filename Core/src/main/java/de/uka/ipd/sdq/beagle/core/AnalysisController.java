@@ -14,9 +14,20 @@ import de.uka.ipd.sdq.beagle.core.measurement.ReadOnlyMeasurementControllerBlack
 
 import org.apache.commons.lang3.Validate;
 
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Conducts a complete analysis of elements on a blackboard. Controls the
@@ -29,9 +40,12 @@ import java.util.Set;
  *
  * <ul>
  *
- * <li>There is always only the {@link MeasurementController}, only the {@link FinalJudge}
- * or only one {@link ProposedExpressionAnalyser} (or none of the previous) running. They
- * may use parallelisation as they wish but are self-responsible for synchronisation.
+ * <li>Unless the analysis is conducted in rounds (see <em>Concurrent Analysis</em>
+ * below), there is always only the {@link MeasurementController}, only the
+ * {@link FinalJudge} or only one {@link ProposedExpressionAnalyser} (or none of the
+ * previous) running. In rounds, the analysers of a round and the
+ * {@link MeasurementController} may run at the same time. Participants may use
+ * parallelisation as they wish but are self-responsible for synchronisation.
  *
  * <li>A {@link ProposedExpressionAnalyser} will only be called if its
  * {@link ProposedExpressionAnalyser#canContribute} method returns {@code true}. The
@@ -51,6 +65,54 @@ import java.util.Set;
  *
  * </ul>
  *
+ * <h3>Concurrent Analysis</h3> If the project {@linkplain
+ * AnalysisSettings#isAnalysisConcurrent() analyses concurrently} or {@linkplain
+ * AnalysisSettings#isMeasurementPipelined() pipelines measurements}, the analysis is
+ * conducted in rounds. In each round, all {@linkplain MeasurementResultAnalyser
+ * MeasurementResultAnalysers} and {@linkplain ProposedExpressionAnalyser
+ * ProposedExpressionAnalysers} that can contribute are called. A round ends when all of
+ * them returned. The {@link FinalJudge} is then called once for the whole round. The two
+ * options are independent:
+ *
+ * <ul>
+ *
+ * <li>If the analysis is concurrent and the
+ * {@linkplain AnalysisSettings#getParallelism() parallelism} is greater than {@code 1},
+ * the analysers of a round are called concurrently on a pool of worker threads.
+ * Otherwise, they are called one after another on the analysis thread.
+ *
+ * <li>If measurements are pipelined, they run on their own thread. The
+ * {@link MeasurementController} adds the results of each part a measurement tool
+ * completed to the blackboard right away, while the analysers contribute. If no analyser
+ * can contribute, the analysis waits for new measurement results instead. A new
+ * measurement is started as soon as the previous one ended. Otherwise, each measurement
+ * ends before the round’s analysers are called.
+ *
+ * </ul>
+ *
+ * <p>Participants may additionally assume that:
+ *
+ * <ul>
+ *
+ * <li>The {@link FinalJudge} never runs concurrently to analysers. The
+ * {@link MeasurementController} may run concurrently to analysers and the
+ * {@link FinalJudge}.
+ *
+ * <li>The analysis does not end while a measurement is running, unless it is aborted.
+ *
+ * <li>Each analyser is called at most once per round. Whether an analyser can
+ * contribute is asked on the analysis thread before the round starts.
+ *
+ * <li>Analysers of the same round may run concurrently, also to the
+ * {@link MeasurementController} if measurements are pipelined. They may rely on the
+ * {@link Blackboard} being thread safe: Each of its methods may be called from any
+ * thread. Writes for the same SEFF element are guarded by a lock of that element, so
+ * they are applied one after another and never lost. Writes for different elements do
+ * not block each other. Analysers must synchronise any other state they share, and must
+ * expect that the blackboard changes between two of their reads.
+ *
+ * </ul>
+ *
  * @author Roman Langrehr
  * @author Joshua Gleitze
  * @author Christoph Michelbach
@@ -60,6 +122,12 @@ import java.util.Set;
  */
 public class AnalysisController {
 
+	/**
+	 * How many milliseconds the analysis thread waits for a running measurement before
+	 * checking whether analysers can contribute to results measured so far.
+	 */
+	private static final long MEASUREMENT_POLL_INTERVAL = 1000;
+
 	/**
 	 * The {@link Blackboard} this {@link AnalysisController} knows and uses.
 	 */
@@ -93,6 +161,24 @@ public class AnalysisController {
 	 */
 	private Runnable analysisInterruptor;
 
+	/**
+	 * The worker threads analysers contribute on during a concurrent analysis.
+	 * {@code null} if analysers are called on the analysis thread.
+	 */
+	private ExecutorService analyserPool;
+
+	/**
+	 * The thread measurements run on if they are pipelined. {@code null} if measurements
+	 * run on the analysis thread.
+	 */
+	private ExecutorService measurementExecutor;
+
+	/**
+	 * The measurement currently running on the {@link #measurementExecutor}. {@code null}
+	 * if no measurement is running or its end has already been processed.
+	 */
+	private Future<?> runningMeasurement;
+
 	/**
 	 * Creates a controller to analyse all elements written on {@code blackboard}.
 	 *
@@ -145,29 +231,170 @@ public class AnalysisController {
 		this.analysisState = AnalysisState.RUNNING;
 		boolean shouldContinue = true;
 
-		this.waitForPauseEnd();
+		final AnalysisSettings settings = this.blackboard.getProjectInformation().getAnalysisSettings();
+		final boolean inRounds = settings.isAnalysisConcurrent() || settings.isMeasurementPipelined();
+		if (settings.isAnalysisConcurrent() && settings.getParallelism() > 1) {
+			this.analyserPool = Executors.newFixedThreadPool(settings.getParallelism());
+		}
+		if (settings.isMeasurementPipelined()) {
+			this.measurementExecutor = Executors.newSingleThreadExecutor();
+		}
 
-		while (this.analysisState != AnalysisState.ABORTING && shouldContinue) {
-			if (this.measurementController.canMeasure(readOnlyMeasurementControllerBlackboardView)) {
-				this.measurementController.measure(measurementControllerBlackboardView);
+		this.waitForPauseEnd();
 
-				if (this.analysisState == AnalysisState.RUNNING) {
-					// After the measurements completed, clear the seff elements to be
-					// measured on the blackboard so they won't be measured again in the
-					// next iteration.
-					this.clearSeffElementsToBeMeasuredFromBlackboard();
+		try {
+			while (this.analysisState != AnalysisState.ABORTING && shouldContinue) {
+				if (inRounds) {
+					shouldContinue = this.performRound(finalJudge,
+						readOnlyMeasurementControllerBlackboardView, measurementControllerBlackboardView);
+				} else {
+					if (this.measurementController.canMeasure(readOnlyMeasurementControllerBlackboardView)) {
+						this.measurementController.measure(measurementControllerBlackboardView);
+
+						if (this.analysisState == AnalysisState.RUNNING) {
+							// After the measurements completed, clear the seff elements to be
+							// measured on the blackboard so they won't be measured again in
+							// the next iteration.
+							this.clearSeffElementsToBeMeasuredFromBlackboard();
+						}
+					} else if (!this.chooseRandomMeasurementResultAnalyserToContribute()) {
+						this.chooseRandomProposedExpressionAnalyserToContribute();
+					}
+
+					shouldContinue = !finalJudge.judge(this.blackboard);
 				}
-			} else if (!this.chooseRandomMeasurementResultAnalyserToContribute()) {
-				this.chooseRandomProposedExpressionAnalyserToContribute();
+				this.waitForPauseEnd();
 			}
-
-			shouldContinue = !finalJudge.judge(this.blackboard);
-			this.waitForPauseEnd();
+		} finally {
+			this.shutDownWorkers();
 		}
 
 		this.analysisState = AnalysisState.TERMINATED;
 	}
 
+	/**
+	 * Performs one round of an analysis conducted in rounds. Starts a measurement if none
+	 * is running and there is something to measure, lets all analysers able to contribute
+	 * contribute and asks the final judge afterwards. The measurement runs in the
+	 * background if measurements are pipelined, and before the analysers otherwise. If no
+	 * analyser can contribute while a measurement is running, waits for new measurement
+	 * results instead.
+	 *
+	 * @param finalJudge The judge of this analysis.
+	 * @param readOnlyMeasurementControllerBlackboardView The view to ask the
+	 *            {@link MeasurementController} whether it can measure through.
+	 * @param measurementControllerBlackboardView The view the
+	 *            {@link MeasurementController} measures through.
+	 * @return Whether the analysis should continue.
+	 */
+	private boolean performRound(final FinalJudge finalJudge,
+		final ReadOnlyMeasurementControllerBlackboardView readOnlyMeasurementControllerBlackboardView,
+		final MeasurementControllerBlackboardView measurementControllerBlackboardView) {
+		if (this.runningMeasurement != null && this.runningMeasurement.isDone()) {
+			this.awaitMeasurement(0);
+		}
+
+		if (this.runningMeasurement == null
+			&& this.measurementController.canMeasure(readOnlyMeasurementControllerBlackboardView)) {
+			final Runnable measurement =
+				this.measurementController.prepareMeasurement(measurementControllerBlackboardView);
+			// The measurement already knows what to measure. Analysers may request new
+			// measurements while it runs.
+			this.clearSeffElementsToBeMeasuredFromBlackboard();
+			if (this.measurementExecutor != null) {
+				this.runningMeasurement = this.measurementExecutor.submit(measurement);
+			} else {
+				measurement.run();
+			}
+		}
+
+		if (!this.letAllAnalysersContribute() && this.runningMeasurement != null) {
+			// Nothing can be done until new measurement results arrive.
+			this.awaitMeasurement(MEASUREMENT_POLL_INTERVAL);
+			return true;
+		}
+
+		if (!finalJudge.judge(this.blackboard)) {
+			return true;
+		}
+		if (this.runningMeasurement == null) {
+			return false;
+		}
+		// Results that are being measured must not be discarded. The judge will end the
+		// analysis again after they were analysed.
+		this.awaitMeasurement(Long.MAX_VALUE);
+		return true;
+	}
+
+	/**
+	 * Waits at most {@code timeout} milliseconds for the {@link #runningMeasurement} to
+	 * end. Returns early if the analysis thread is interrupted. If the measurement ended,
+	 * {@link #runningMeasurement} is set to {@code null} and whatever it threw is thrown.
+	 *
+	 * @param timeout How many milliseconds to wait at most.
+	 */
+	private void awaitMeasurement(final long timeout) {
+		try {
+			this.runningMeasurement.get(timeout, TimeUnit.MILLISECONDS);
+			this.runningMeasurement = null;
+		} catch (final TimeoutException measurementGoesOn) {
+			// The analysis thread will check for new measurement results.
+		} catch (final InterruptedException interrupt) {
+			// The analysis state changed. The main loop will handle this.
+		} catch (final ExecutionException failure) {
+			this.runningMeasurement = null;
+			rethrow(failure.getCause());
+		}
+	}
+
+	/**
+	 * Shuts down the threads of an analysis conducted in rounds. A measurement that is still
+	 * running is interrupted. Returns after it ended, so it does not add results to the
+	 * blackboard after the analysis.
+	 */
+	private void shutDownWorkers() {
+		if (this.analyserPool != null) {
+			this.analyserPool.shutdown();
+			this.analyserPool = null;
+		}
+		if (this.measurementExecutor != null) {
+			this.measurementExecutor.shutdownNow();
+			boolean interrupted = false;
+			boolean terminated = false;
+			while (!terminated) {
+				try {
+					terminated = this.measurementExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+				} catch (final InterruptedException interrupt) {
+					interrupted = true;
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+			this.measurementExecutor = null;
+			this.runningMeasurement = null;
+		}
+	}
+
+	/**
+	 * Throws {@code failure}. Checked exceptions are wrapped into an
+	 * {@link UndeclaredThrowableException}.
+	 *
+	 * @param failure What was thrown by a participant on another thread. May be
+	 *            {@code null}, in which case nothing happens.
+	 */
+	private static void rethrow(final Throwable failure) {
+		if (failure instanceof RuntimeException) {
+			throw (RuntimeException) failure;
+		}
+		if (failure instanceof Error) {
+			throw (Error) failure;
+		}
+		if (failure != null) {
+			throw new UndeclaredThrowableException(failure);
+		}
+	}
+
 	/**
 	 * Clears the "to be measured" lists of seff elements on the blackboard.
 	 *
@@ -302,6 +529,49 @@ public class AnalysisController {
 		return false;
 	}
 
+	/**
+	 * Lets all {@linkplain MeasurementResultAnalyser MeasurementResultAnalysers} and
+	 * {@linkplain ProposedExpressionAnalyser ProposedExpressionAnalysers} able to
+	 * contribute contribute, concurrently on the {@link #analyserPool} if there is one.
+	 * Returns when all of them are done.
+	 *
+	 * @return {@code true} if at least one analyser contributed; {@code false} if there
+	 *         was no analyser able to contribute.
+	 */
+	private boolean letAllAnalysersContribute() {
+		final ReadOnlyMeasurementResultAnalyserBlackboardView readOnlyMeasurementResultAnalyserBlackboardView =
+			new ReadOnlyMeasurementResultAnalyserBlackboardView(this.blackboard);
+		final MeasurementResultAnalyserBlackboardView measurementResultAnalyserBlackboardView =
+			new MeasurementResultAnalyserBlackboardView(this.blackboard);
+		final ReadOnlyProposedExpressionAnalyserBlackboardView readOnlyProposedExpressionAnalyserBlackboardView =
+			new ReadOnlyProposedExpressionAnalyserBlackboardView(this.blackboard);
+		final ProposedExpressionAnalyserBlackboardView proposedExpressionAnalyserBlackboardView =
+			new ProposedExpressionAnalyserBlackboardView(this.blackboard);
+
+		final List<Runnable> contributions = new ArrayList<>();
+		for (final MeasurementResultAnalyser measurementResultAnalyser : this.measurementResultAnalysers) {
+			if (measurementResultAnalyser.canContribute(readOnlyMeasurementResultAnalyserBlackboardView)) {
+				contributions.add(() -> measurementResultAnalyser.contribute(measurementResultAnalyserBlackboardView));
+			}
+		}
+		for (final ProposedExpressionAnalyser proposedExpressionAnalyser : this.proposedExpressionAnalysers) {
+			if (proposedExpressionAnalyser.canContribute(readOnlyProposedExpressionAnalyserBlackboardView)) {
+				contributions
+					.add(() -> proposedExpressionAnalyser.contribute(proposedExpressionAnalyserBlackboardView));
+			}
+		}
+
+		if (contributions.isEmpty()) {
+			return false;
+		}
+		if (this.analyserPool != null) {
+			new ContributionRound(contributions).perform();
+		} else {
+			contributions.forEach(Runnable::run);
+		}
+		return true;
+	}
+
 	/**
 	 * Returns the current state of the analysis.
 	 *
@@ -388,4 +658,134 @@ public class AnalysisController {
 		}
 
 	}
+
+	/**
+	 * One round of concurrent contributions. Waits for all contributions to end, even if
+	 * the analysis thread is interrupted, so that no analyser runs concurrently to the
+	 * {@link FinalJudge} or the {@link MeasurementController}. Interrupts of the
+	 * analysis thread are forwarded to all analysers contributing at that time.
+	 * Contributions that did not start yet are skipped in this case.
+	 *
+	 * @author Joshua Gleitze
+	 */
+	private final class ContributionRound {
+
+		/**
+		 * The contributions to perform.
+		 */
+		private final List<Runnable> contributions;
+
+		/**
+		 * Counts the contributions that did not end yet.
+		 */
+		private final CountDownLatch remainingContributions;
+
+		/**
+		 * The worker threads currently performing a contribution.
+		 */
+		private final Set<Thread> contributingThreads = ConcurrentHashMap.newKeySet();
+
+		/**
+		 * Whether the analysis thread was interrupted during this round.
+		 */
+		private volatile boolean interrupted;
+
+		/**
+		 * Creates a round performing {@code contributions}.
+		 *
+		 * @param contributions The contributions to perform.
+		 */
+		private ContributionRound(final List<Runnable> contributions) {
+			this.contributions = contributions;
+			this.remainingContributions = new CountDownLatch(contributions.size());
+		}
+
+		/**
+		 * Performs all contributions on the {@link #analyserPool} and waits for them to
+		 * end. Rethrows the exception thrown by a contribution, if any. Exceptions thrown
+		 * by further contributions are added to it as suppressed exceptions.
+		 */
+		private void perform() {
+			final List<Future<?>> results = new ArrayList<>(this.contributions.size());
+			for (final Runnable contribution : this.contributions) {
+				results.add(AnalysisController.this.analyserPool.submit(() -> this.contribute(contribution)));
+			}
+
+			boolean wasInterrupted = false;
+			while (true) {
+				try {
+					this.remainingContributions.await();
+					break;
+				} catch (final InterruptedException exception) {
+					wasInterrupted = true;
+					this.interrupted = true;
+					for (final Thread contributingThread : this.contributingThreads) {
+						contributingThread.interrupt();
+					}
+				}
+			}
+			if (wasInterrupted) {
+				// Keep the interrupt, like it would be kept if the analysers had been
+				// called on the analysis thread.
+				Thread.currentThread().interrupt();
+			}
+
+			Throwable failure = null;
+			for (final Future<?> result : results) {
+				final Throwable cause = this.getFailure(result);
+				if (failure == null) {
+					failure = cause;
+				} else if (cause != null) {
+					failure.addSuppressed(cause);
+				}
+			}
+			rethrow(failure);
+		}
+
+		/**
+		 * Gets what a contribution that has already ended threw.
+		 *
+		 * @param result The result of the ended contribution.
+		 * @return What the contribution threw. {@code null} if it ended normally.
+		 */
+		private Throwable getFailure(final Future<?> result) {
+			boolean wasInterrupted = false;
+			try {
+				while (true) {
+					try {
+						result.get();
+						return null;
+					} catch (final InterruptedException exception) {
+						// The contribution already ended, so this will not take long.
+						wasInterrupted = true;
+					}
+				}
+			} catch (final ExecutionException exception) {
+				return exception.getCause();
+			} finally {
+				if (wasInterrupted) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+
+		/**
+		 * Performs {@code contribution} on the current worker thread.
+		 *
+		 * @param contribution The contribution to perform.
+		 */
+		private void contribute(final Runnable contribution) {
+			final Thread currentThread = Thread.currentThread();
+			// Register before checking the flag, so that no interrupt is missed.
+			this.contributingThreads.add(currentThread);
+			try {
+				if (!this.interrupted) {
+					contribution.run();
+				}
+			} finally {
+				this.contributingThreads.remove(currentThread);
+				this.remainingContributions.countDown();
+			}
+		}
+	}
 }
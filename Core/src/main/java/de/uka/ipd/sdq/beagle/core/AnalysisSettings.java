@@ -0,0 +1,212 @@
+package de.uka.ipd.sdq.beagle.core;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.io.Serializable;
+
+/**
+ * Describes how far Beagle may parallelise the analysis of a project. Objects of this
+ * class are immutable. They are obtained from {@link #SEQUENTIAL}, which does not
+ * parallelise anything, and changed through the {@code with} methods, each returning a
+ * copy with one setting changed.
+ *
+ * @author Joshua Gleitze
+ * @see ProjectInformation#getAnalysisSettings()
+ */
+public final class AnalysisSettings implements Serializable {
+
+	/**
+	 * Settings that make Beagle run everything one after another: Computations are not
+	 * parallelised, launches of the measured software run one after another, analysers
+	 * contribute one after another and the analysis waits for each measurement to end.
+	 */
+	public static final AnalysisSettings SEQUENTIAL = new AnalysisSettings(1, 1, false, false);
+
+	/**
+	 * See {@link Serializable}.
+	 */
+	private static final long serialVersionUID = -7302514598013460337L;
+
+	/**
+	 * How many threads Beagle may use for parallelised computations.
+	 */
+	private final int parallelism;
+
+	/**
+	 * How many launches of the measured software may run at the same time.
+	 */
+	private final int measurementConcurrency;
+
+	/**
+	 * Whether the analysers of one round may contribute concurrently.
+	 */
+	private final boolean analysisConcurrent;
+
+	/**
+	 * Whether measurements may run while analysers contribute.
+	 */
+	private final boolean measurementPipelined;
+
+	/**
+	 * Creates settings. Only used by {@link #SEQUENTIAL} and the {@code with} methods, so
+	 * that clients never have to pass the settings positionally.
+	 *
+	 * @param parallelism How many threads Beagle may use for parallelised computations.
+	 * @param measurementConcurrency How many launches of the measured software may run
+	 *            at the same time.
+	 * @param analysisConcurrent Whether the analysers of one round may contribute
+	 *            concurrently.
+	 * @param measurementPipelined Whether measurements may run while analysers
+	 *            contribute.
+	 */
+	private AnalysisSettings(final int parallelism, final int measurementConcurrency,
+		final boolean analysisConcurrent, final boolean measurementPipelined) {
+		this.parallelism = parallelism;
+		this.measurementConcurrency = measurementConcurrency;
+		this.analysisConcurrent = analysisConcurrent;
+		this.measurementPipelined = measurementPipelined;
+	}
+
+	/**
+	 * Creates a copy of these settings with another parallelism.
+	 *
+	 * @param newParallelism How many threads Beagle may use for parallelised
+	 *            computations. Must be at least {@code 1}.
+	 * @return Settings equal to these, except for the parallelism.
+	 * @see #getParallelism()
+	 */
+	public AnalysisSettings withParallelism(final int newParallelism) {
+		Validate.isTrue(newParallelism >= 1, "The parallelism must be at least 1, but was %d", newParallelism);
+		return new AnalysisSettings(newParallelism, this.measurementConcurrency, this.analysisConcurrent,
+			this.measurementPipelined);
+	}
+
+	/**
+	 * Creates a copy of these settings with another measurement concurrency.
+	 *
+	 * @param newMeasurementConcurrency How many launches of the measured software may run
+	 *            at the same time. Must be at least {@code 1}.
+	 * @return Settings equal to these, except for the measurement concurrency.
+	 * @see #getMeasurementConcurrency()
+	 */
+	public AnalysisSettings withMeasurementConcurrency(final int newMeasurementConcurrency) {
+		Validate.isTrue(newMeasurementConcurrency >= 1, "The measurement concurrency must be at least 1, but was %d",
+			newMeasurementConcurrency);
+		return new AnalysisSettings(this.parallelism, newMeasurementConcurrency, this.analysisConcurrent,
+			this.measurementPipelined);
+	}
+
+	/**
+	 * Creates a copy of these settings that lets analysers contribute concurrently or
+	 * not.
+	 *
+	 * @param newAnalysisConcurrent Whether the analysers of one round may contribute
+	 *            concurrently.
+	 * @return Settings equal to these, except for whether the analysis is concurrent.
+	 * @see #isAnalysisConcurrent()
+	 */
+	public AnalysisSettings withAnalysisConcurrent(final boolean newAnalysisConcurrent) {
+		return new AnalysisSettings(this.parallelism, this.measurementConcurrency, newAnalysisConcurrent,
+			this.measurementPipelined);
+	}
+
+	/**
+	 * Creates a copy of these settings that pipelines measurements or not.
+	 *
+	 * @param newMeasurementPipelined Whether measurements may run while analysers
+	 *            contribute.
+	 * @return Settings equal to these, except for whether measurements are pipelined.
+	 * @see #isMeasurementPipelined()
+	 */
+	public AnalysisSettings withMeasurementPipelined(final boolean newMeasurementPipelined) {
+		return new AnalysisSettings(this.parallelism, this.measurementConcurrency, this.analysisConcurrent,
+			newMeasurementPipelined);
+	}
+
+	/**
+	 * Queries how many threads Beagle may use for parallelised computations. A value of
+	 * {@code 1} means that computations are not parallelised. The analysis itself is only
+	 * parallelised if it is {@linkplain #isAnalysisConcurrent() concurrent}.
+	 *
+	 * @return The parallelism level. Will be at least {@code 1}.
+	 */
+	public int getParallelism() {
+		return this.parallelism;
+	}
+
+	/**
+	 * Queries how many launches of the measured software may run at the same time. A
+	 * value of {@code 1} means that launch configurations are executed one after
+	 * another.
+	 *
+	 * @return The measurement concurrency level. Will be at least {@code 1}.
+	 */
+	public int getMeasurementConcurrency() {
+		return this.measurementConcurrency;
+	}
+
+	/**
+	 * Queries whether the analysers of one round of the analysis may contribute
+	 * concurrently. They then use up to {@linkplain #getParallelism() parallelism}
+	 * threads.
+	 *
+	 * @return {@code true} if analysers may contribute concurrently. {@code false} if
+	 *         they contribute one after another.
+	 */
+	public boolean isAnalysisConcurrent() {
+		return this.analysisConcurrent;
+	}
+
+	/**
+	 * Queries whether measurements may run in the background while analysers contribute
+	 * to the results measured so far.
+	 *
+	 * @return {@code true} if measurements are pipelined with the analysis. {@code false}
+	 *         if the analysis waits for each measurement to end.
+	 */
+	public boolean isMeasurementPipelined() {
+		return this.measurementPipelined;
+	}
+
+	@Override
+	public boolean equals(final Object object) {
+		if (object == null) {
+			return false;
+		}
+		if (object == this) {
+			return true;
+		}
+		if (object.getClass() != this.getClass()) {
+			return false;
+		}
+		final AnalysisSettings other = (AnalysisSettings) object;
+		return new EqualsBuilder().append(this.parallelism, other.parallelism)
+			.append(this.measurementConcurrency, other.measurementConcurrency)
+			.append(this.analysisConcurrent, other.analysisConcurrent)
+			.append(this.measurementPipelined, other.measurementPipelined)
+			.isEquals();
+	}
+
+	@Override
+	public int hashCode() {
+		// you pick a hard-coded, randomly chosen, non-zero, odd number
+		// ideally different for each class
+		return new HashCodeBuilder(37, 83).append(this.parallelism)
+			.append(this.measurementConcurrency)
+			.append(this.analysisConcurrent)
+			.append(this.measurementPipelined)
+			.toHashCode();
+	}
+
+	@Override
+	public String toString() {
+		return new ToStringBuilder(this).append("parallelism", this.parallelism)
+			.append("measurementConcurrency", this.measurementConcurrency)
+			.append("analysisConcurrent", this.analysisConcurrent)
+			.append("measurementPipelined", this.measurementPipelined)
+			.toString();
+	}
+}
@@ -3,19 +3,30 @@ package de.uka.ipd.sdq.beagle.core;
 import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableExpression;
 import de.uka.ipd.sdq.beagle.core.judge.EvaluableExpressionFitnessFunction;
 import de.uka.ipd.sdq.beagle.core.measurement.BranchDecisionMeasurementResult;
+import de.uka.ipd.sdq.beagle.core.measurement.IntMeasurementResultColumns;
 import de.uka.ipd.sdq.beagle.core.measurement.LoopRepetitionCountMeasurementResult;
+import de.uka.ipd.sdq.beagle.core.measurement.MeasurementResultColumns;
 import de.uka.ipd.sdq.beagle.core.measurement.ParameterChangeMeasurementResult;
+import de.uka.ipd.sdq.beagle.core.measurement.Parameterisation;
 import de.uka.ipd.sdq.beagle.core.measurement.ResourceDemandMeasurementResult;
+import de.uka.ipd.sdq.beagle.core.measurement.ResourceDemandMeasurementResultColumns;
+import de.uka.ipd.sdq.beagle.core.measurement.ResourceDemandSummaryMeasurementResult;
 
 import org.apache.commons.lang3.Validate;
 
 import java.io.Serializable;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Central and only storage of all knowledge gained by Beagle. Implements, together with
@@ -25,6 +36,26 @@ import java.util.Set;
  * {@link BranchDecisionMeasurementResult} , {@link LoopRepetitionCountMeasurementResult}
  * and {@link EvaluableExpression}. It further allows classes to store custom data.
  *
+ * <p>Measurement results are stored column-wise: For each SEFF element, the measured
+ * values are held in a primitive array. Clients reading a lot of results, like fitness
+ * functions, should use the {@code getMeasurementValuesFor} methods, which provide read
+ * only views on these arrays without copying them. The {@code getMeasurementResultsFor}
+ * methods are kept for clients that need the result objects. Their sets contain one
+ * result for each result that was added, so results that were measured repeatedly keep
+ * their weight. The results are created from the columns and are thus not the added
+ * results themselves.
+ *
+ * <p>Measurement tools that aggregate while measuring report
+ * {@linkplain ResourceDemandSummaryMeasurementResult summaries} of many executions
+ * instead. They are stored apart from the other results, see
+ * {@link #getMeasurementSummariesFor(ResourceDemandingInternalAction)}.
+ *
+ * <p>The Blackboard is thread safe, so analysers may contribute concurrently. The SEFF
+ * elements are fixed when the blackboard is created, so the maps keyed by them are never
+ * modified afterwards. Everything stored for a SEFF element, like its measurement
+ * results or proposed expressions, is guarded by a lock of its own. Concurrent writes for
+ * different elements thus do not block each other.
+ *
  * <p>The Blackboard is typically not accessed directly by its using classes, but through
  * <em>blackboard views</em> (recognisable by having the {@code BlackboardView} suffix).
  * These are surrogates for the blackboard. They don’t modify its contents but only
@@ -71,46 +102,52 @@ public class Blackboard implements Serializable {
 	/**
 	 * All resource demanding internal actions which are to be measured.
 	 */
-	private final Set<ResourceDemandingInternalAction> rdiasToBeMeasured = new HashSet<>();
+	private final Set<ResourceDemandingInternalAction> rdiasToBeMeasured = ConcurrentHashMap.newKeySet();
 
 	/**
 	 * All SEFF branches which are to be measured.
 	 */
-	private final Set<SeffBranch> branchesToBeMeasured = new HashSet<>();
+	private final Set<SeffBranch> branchesToBeMeasured = ConcurrentHashMap.newKeySet();
 
 	/**
 	 * All SEFF loops which are to be count.
 	 */
-	private final Set<SeffLoop> loopsToBeMeasured = new HashSet<>();
+	private final Set<SeffLoop> loopsToBeMeasured = ConcurrentHashMap.newKeySet();
 
 	/**
 	 * All external call parameter which are to be measured.
 	 */
-	private final Set<ExternalCallParameter> externalCallParameterToBeMeasured = new HashSet<>();
+	private final Set<ExternalCallParameter> externalCallParameterToBeMeasured = ConcurrentHashMap.newKeySet();
 
 	/**
 	 * All resource demanding internal results.
 	 */
-	private final Map<ResourceDemandingInternalAction, Set<ResourceDemandMeasurementResult>> rdiasMeasurementResults =
+	private final Map<ResourceDemandingInternalAction, ResourceDemandMeasurementResultColumns> rdiasMeasurementResults =
 		new HashMap<>();
 
+	/**
+	 * All summarised resource demanding internal action results.
+	 */
+	private final Map<ResourceDemandingInternalAction, List<ResourceDemandSummaryMeasurementResult>>
+		rdiasMeasurementSummaries = new HashMap<>();
+
 	/**
 	 * All SEFF branches results.
 	 */
-	private final Map<SeffBranch, Set<BranchDecisionMeasurementResult>> branchDecisionMeasurementResults =
-		new HashMap<>();
+	private final Map<SeffBranch, IntMeasurementResultColumns<BranchDecisionMeasurementResult>>
+		branchDecisionMeasurementResults = new HashMap<>();
 
 	/**
 	 * All SEFF loop count results.
 	 */
-	private final Map<SeffLoop, Set<LoopRepetitionCountMeasurementResult>> loopRepititionCountMeasurementResults =
-		new HashMap<>();
+	private final Map<SeffLoop, IntMeasurementResultColumns<LoopRepetitionCountMeasurementResult>>
+		loopRepititionCountMeasurementResults = new HashMap<>();
 
 	/**
 	 * All parameter change results.
 	 */
-	private final Map<ExternalCallParameter, Set<ParameterChangeMeasurementResult>> parameterChangeMeasurementResults =
-		new HashMap<>();
+	private final Map<ExternalCallParameter, IntMeasurementResultColumns<ParameterChangeMeasurementResult>>
+		parameterChangeMeasurementResults = new HashMap<>();
 
 	/**
 	 * All evaluable expressions.
@@ -120,7 +157,8 @@ public class Blackboard implements Serializable {
 	/**
 	 * Is the final expression.
 	 */
-	private final Map<MeasurableSeffElement, EvaluableExpression> finalExpressions = new HashMap<>();
+	private final Map<MeasurableSeffElement, EvaluableExpression> finalExpressions =
+		Collections.synchronizedMap(new HashMap<>());
 
 	/**
 	 * Is the function to get a better evaluable expression result.
@@ -131,7 +169,7 @@ public class Blackboard implements Serializable {
 	 * Private data of tools, written through {@link #writeFor(Class, Serializable)}.
 	 */
 	private final Map<Class<? extends BlackboardStorer<? extends Serializable>>, Object> privateWrittenData =
-		new HashMap<>();
+		Collections.synchronizedMap(new HashMap<>());
 
 	/**
 	 * Information about the project belonging to this blackboard.
@@ -171,20 +209,32 @@ public class Blackboard implements Serializable {
 		this.allSeffElements.addAll(externalCalls);
 
 		for (final SeffBranch branch : this.branches) {
-			this.branchDecisionMeasurementResults.put(branch, new HashSet<>());
+			this.branchDecisionMeasurementResults.put(branch,
+				new IntMeasurementResultColumns<>(BranchDecisionMeasurementResult::getBranchIndex,
+					(parameterisation, branchIndex) -> parameterisation == null
+						? new BranchDecisionMeasurementResult(branchIndex)
+						: new BranchDecisionMeasurementResult(parameterisation, branchIndex)));
 		}
 		for (final SeffLoop loop : this.loops) {
-			this.loopRepititionCountMeasurementResults.put(loop, new HashSet<>());
+			this.loopRepititionCountMeasurementResults.put(loop,
+				new IntMeasurementResultColumns<>(LoopRepetitionCountMeasurementResult::getCount,
+					(parameterisation, count) -> parameterisation == null
+						? new LoopRepetitionCountMeasurementResult(count)
+						: new LoopRepetitionCountMeasurementResult(parameterisation, count)));
 		}
 		for (final ExternalCallParameter parameter : this.externalCallParameters) {
-			this.parameterChangeMeasurementResults.put(parameter, new HashSet<>());
+			this.parameterChangeMeasurementResults.put(parameter,
+				new IntMeasurementResultColumns<>(ParameterChangeMeasurementResult::getCount,
+					(parameterisation, count) -> parameterisation == null ? new ParameterChangeMeasurementResult()
+						: new ParameterChangeMeasurementResult(parameterisation)));
 		}
 		for (final ResourceDemandingInternalAction rdia : this.rdias) {
-			this.rdiasMeasurementResults.put(rdia, new HashSet<>());
+			this.rdiasMeasurementResults.put(rdia, new ResourceDemandMeasurementResultColumns());
+			this.rdiasMeasurementSummaries.put(rdia, Collections.synchronizedList(new ArrayList<>()));
 		}
 
 		for (final MeasurableSeffElement element : this.allSeffElements) {
-			this.proposedExpressions.put(element, new HashSet<>());
+			this.proposedExpressions.put(element, Collections.synchronizedSet(new HashSet<>()));
 		}
 	}
 
@@ -430,7 +480,28 @@ public class Blackboard implements Serializable {
 	public Set<ResourceDemandMeasurementResult> getMeasurementResultsFor(final ResourceDemandingInternalAction rdia) {
 		Validate.notNull(rdia);
 		Validate.isTrue(this.rdias.contains(rdia));
-		return new HashSet<>(this.rdiasMeasurementResults.get(rdia));
+		return this.rdiasMeasurementResults.get(rdia).asSet();
+	}
+
+	/**
+	 * Gets all summaries yet measured for the resource demands of {@code rdia}. The
+	 * summaries are not contained in the results returned by
+	 * {@link #getMeasurementResultsFor(ResourceDemandingInternalAction)} and do not
+	 * change {@link #getMeasurementResultsVersionFor(MeasurableSeffElement)}.
+	 *
+	 * @param rdia A resource demanding internal action to get the measurement summaries
+	 *            of. Must not be {@code null}.
+	 * @return All measurement summaries reported for {@code rdia}. Changes to the
+	 *         returned set will not modify the blackboard content. Is never {@code null}.
+	 */
+	public Set<ResourceDemandSummaryMeasurementResult> getMeasurementSummariesFor(
+		final ResourceDemandingInternalAction rdia) {
+		Validate.notNull(rdia);
+		Validate.isTrue(this.rdias.contains(rdia));
+		final List<ResourceDemandSummaryMeasurementResult> summaries = this.rdiasMeasurementSummaries.get(rdia);
+		synchronized (summaries) {
+			return new HashSet<>(summaries);
+		}
 	}
 
 	/**
@@ -444,7 +515,7 @@ public class Blackboard implements Serializable {
 	public Set<BranchDecisionMeasurementResult> getMeasurementResultsFor(final SeffBranch branch) {
 		Validate.notNull(branch);
 		Validate.isTrue(this.branches.contains(branch));
-		return new HashSet<>(this.branchDecisionMeasurementResults.get(branch));
+		return this.branchDecisionMeasurementResults.get(branch).asSet();
 	}
 
 	/**
@@ -458,7 +529,7 @@ public class Blackboard implements Serializable {
 	public Set<LoopRepetitionCountMeasurementResult> getMeasurementResultsFor(final SeffLoop loop) {
 		Validate.notNull(loop);
 		Validate.isTrue(this.loops.contains(loop));
-		return new HashSet<>(this.loopRepititionCountMeasurementResults.get(loop));
+		return this.loopRepititionCountMeasurementResults.get(loop).asSet();
 	}
 
 	/**
@@ -475,7 +546,137 @@ public class Blackboard implements Serializable {
 		final ExternalCallParameter externalCallParameter) {
 		Validate.notNull(externalCallParameter);
 		Validate.isTrue(this.externalCallParameters.contains(externalCallParameter));
-		return new HashSet<>(this.parameterChangeMeasurementResults.get(externalCallParameter));
+		return this.parameterChangeMeasurementResults.get(externalCallParameter).asSet();
+	}
+
+	/**
+	 * Gets the values of all results yet measured for the resource demands of
+	 * {@code rdia}. The returned buffer is a read only view on the blackboard’s storage.
+	 * Obtaining it does not copy any results. It contains one value for each result
+	 * returned by {@link #getMeasurementResultsFor(ResourceDemandingInternalAction)} and
+	 * will not change if results are added afterwards.
+	 *
+	 * @param rdia A resource demanding internal action to get the measured values of.
+	 *            Must not be {@code null}.
+	 * @return The {@linkplain ResourceDemandMeasurementResult#getValue() values} of all
+	 *         measurement results reported for {@code rdia}, positioned at {@code 0}. Is
+	 *         never {@code null}.
+	 */
+	public DoubleBuffer getMeasurementValuesFor(final ResourceDemandingInternalAction rdia) {
+		Validate.notNull(rdia);
+		Validate.isTrue(this.rdias.contains(rdia));
+		return this.rdiasMeasurementResults.get(rdia).getValues();
+	}
+
+	/**
+	 * Gets the values of all results yet measured for branch decisions of
+	 * {@code branch}. The returned buffer is a read only view on the blackboard’s
+	 * storage. Obtaining it does not copy any results. It contains one value for each
+	 * result returned by {@link #getMeasurementResultsFor(SeffBranch)} and will not
+	 * change if results are added afterwards.
+	 *
+	 * @param branch A SEFF Branch to get the measured values of. Must not be
+	 *            {@code null}.
+	 * @return The {@linkplain BranchDecisionMeasurementResult#getBranchIndex() branch
+	 *         indices} of all measurement results reported for {@code branch},
+	 *         positioned at {@code 0}. Is never {@code null}.
+	 */
+	public IntBuffer getMeasurementValuesFor(final SeffBranch branch) {
+		Validate.notNull(branch);
+		Validate.isTrue(this.branches.contains(branch));
+		return this.branchDecisionMeasurementResults.get(branch).getValues();
+	}
+
+	/**
+	 * Gets the values of all results yet measured for the loop repetitions of
+	 * {@code loop}. The returned buffer is a read only view on the blackboard’s storage.
+	 * Obtaining it does not copy any results. It contains one value for each result
+	 * returned by {@link #getMeasurementResultsFor(SeffLoop)} and will not change if
+	 * results are added afterwards.
+	 *
+	 * @param loop A SEFF Loop to get the measured values of. Must not be {@code null}.
+	 * @return The {@linkplain LoopRepetitionCountMeasurementResult#getCount() repetition
+	 *         counts} of all measurement results reported for {@code loop}, positioned
+	 *         at {@code 0}. Is never {@code null}.
+	 */
+	public IntBuffer getMeasurementValuesFor(final SeffLoop loop) {
+		Validate.notNull(loop);
+		Validate.isTrue(this.loops.contains(loop));
+		return this.loopRepititionCountMeasurementResults.get(loop).getValues();
+	}
+
+	/**
+	 * Gets the values of all results yet measured for the external parameter
+	 * {@code externalCallParameter}. The returned buffer is a read only view on the
+	 * blackboard’s storage. Obtaining it does not copy any results. It contains one value
+	 * for each result returned by {@link #getMeasurementResultsFor(ExternalCallParameter)}
+	 * and will not change if results are added afterwards.
+	 *
+	 * @param externalCallParameter An external parameter to get the measured values of.
+	 *            Must not be {@code null}.
+	 * @return The {@linkplain ParameterChangeMeasurementResult#getCount() change counts}
+	 *         of all measurement results reported for {@code externalCallParameter},
+	 *         positioned at {@code 0}. Is never {@code null}.
+	 */
+	public IntBuffer getMeasurementValuesFor(final ExternalCallParameter externalCallParameter) {
+		Validate.notNull(externalCallParameter);
+		Validate.isTrue(this.externalCallParameters.contains(externalCallParameter));
+		return this.parameterChangeMeasurementResults.get(externalCallParameter).getValues();
+	}
+
+	/**
+	 * Gets the parameterisations of all results yet measured for {@code element}. The
+	 * returned list is a read only view on the blackboard’s storage. Its {@code i}th
+	 * entry belongs to the {@code i}th value returned by the
+	 * {@code getMeasurementValuesFor} method for {@code element}. It will not change if
+	 * results are added afterwards.
+	 *
+	 * @param element A SEFF element to get the parameterisations of. Must not be
+	 *            {@code null}.
+	 * @return The parameterisations of all measurement results reported for
+	 *         {@code element}. Entries are {@code null} for results for which no
+	 *         parameterisation was recorded. Is never {@code null}.
+	 */
+	public List<Parameterisation> getMeasurementParameterisationsFor(final MeasurableSeffElement element) {
+		Validate.notNull(element);
+		Validate.isTrue(this.allSeffElements.contains(element), "element must already be on the blackboard");
+		return this.getMeasurementColumnsFor(element).getParameterisations();
+	}
+
+	/**
+	 * Gets the version of the measurement results of {@code element}. The version is a
+	 * modification counter: It increases each time a measurement result is added for
+	 * {@code element} and does not change otherwise. Clients can use it to find out
+	 * whether their knowledge about an element’s results is still up to date.
+	 *
+	 * @param element A SEFF element. Must not be {@code null}.
+	 * @return The version of {@code element}’s measurement results. Is {@code 0} if no
+	 *         results have been added for {@code element} yet.
+	 */
+	public int getMeasurementResultsVersionFor(final MeasurableSeffElement element) {
+		Validate.notNull(element);
+		Validate.isTrue(this.allSeffElements.contains(element), "element must already be on the blackboard");
+		// Results can only be added, so the number of results is a modification count.
+		return this.getMeasurementColumnsFor(element).size();
+	}
+
+	/**
+	 * Gets the columns storing the measurement results of {@code element}.
+	 *
+	 * @param element A SEFF element known to this blackboard.
+	 * @return The columns storing the measurement results of {@code element}.
+	 */
+	private MeasurementResultColumns<?> getMeasurementColumnsFor(final MeasurableSeffElement element) {
+		if (this.rdiasMeasurementResults.containsKey(element)) {
+			return this.rdiasMeasurementResults.get(element);
+		}
+		if (this.branchDecisionMeasurementResults.containsKey(element)) {
+			return this.branchDecisionMeasurementResults.get(element);
+		}
+		if (this.loopRepititionCountMeasurementResults.containsKey(element)) {
+			return this.loopRepititionCountMeasurementResults.get(element);
+		}
+		return this.parameterChangeMeasurementResults.get(element);
 	}
 
 	/**
@@ -493,6 +694,21 @@ public class Blackboard implements Serializable {
 		this.rdiasMeasurementResults.get(rdia).add(results);
 	}
 
+	/**
+	 * Adds a measurement summary for the provided {@code rdia}.
+	 *
+	 * @param rdia A resource demanding internal action that was measured. Must not be
+	 *            {@code null}.
+	 * @param summary The summary of the measured executions. Must not be {@code null}.
+	 */
+	public void addMeasurementSummaryFor(final ResourceDemandingInternalAction rdia,
+		final ResourceDemandSummaryMeasurementResult summary) {
+		Validate.notNull(rdia);
+		Validate.notNull(summary);
+		Validate.isTrue(this.rdias.contains(rdia), "rdia must already be on the blackboard");
+		this.rdiasMeasurementSummaries.get(rdia).add(summary);
+	}
+
 	/**
 	 * Adds a measurement result for the provided {@code branch}.
 	 *
@@ -506,6 +722,24 @@ public class Blackboard implements Serializable {
 		this.branchDecisionMeasurementResults.get(branch).add(results);
 	}
 
+	/**
+	 * Adds a measurement result for the provided {@code branch} {@code count} times, as
+	 * if {@link #addMeasurementResultFor(SeffBranch, BranchDecisionMeasurementResult)} was
+	 * called {@code count} times.
+	 *
+	 * @param branch A SEFF Branch which was measured. Must not be {@code null}.
+	 * @param results The result of that measurement. Must not be {@code null}.
+	 * @param count How many executions of {@code branch} had the result. Must not be
+	 *            negative.
+	 */
+	public void addMeasurementResultFor(final SeffBranch branch, final BranchDecisionMeasurementResult results,
+		final int count) {
+		Validate.notNull(branch);
+		Validate.notNull(results);
+		Validate.isTrue(this.branches.contains(branch), "branch must already be on the blackboard");
+		this.branchDecisionMeasurementResults.get(branch).add(results, count);
+	}
+
 	/**
 	 * Adds a measurement result for the provided {@code loop}.
 	 *
@@ -519,6 +753,24 @@ public class Blackboard implements Serializable {
 		this.loopRepititionCountMeasurementResults.get(loop).add(results);
 	}
 
+	/**
+	 * Adds a measurement result for the provided {@code loop} {@code count} times, as if
+	 * {@link #addMeasurementResultFor(SeffLoop, LoopRepetitionCountMeasurementResult)} was
+	 * called {@code count} times.
+	 *
+	 * @param loop A SEFF Loop which was measured. Must not be {@code null}.
+	 * @param results The result of that measurement. Must not be {@code null}.
+	 * @param count How many executions of {@code loop} had the result. Must not be
+	 *            negative.
+	 */
+	public void addMeasurementResultFor(final SeffLoop loop, final LoopRepetitionCountMeasurementResult results,
+		final int count) {
+		Validate.notNull(loop);
+		Validate.notNull(results);
+		Validate.isTrue(this.loops.contains(loop), "loop must already be on the blackboard");
+		this.loopRepititionCountMeasurementResults.get(loop).add(results, count);
+	}
+
 	/**
 	 * Adds a measurement result for the provided {@code loop}.
 	 *
@@ -545,7 +797,10 @@ public class Blackboard implements Serializable {
 	public Set<EvaluableExpression> getProposedExpressionFor(final MeasurableSeffElement element) {
 		Validate.notNull(element);
 		Validate.isTrue(this.allSeffElements.contains(element), "element must already be on the blackboard");
-		return new HashSet<>(this.proposedExpressions.get(element));
+		final Set<EvaluableExpression> proposals = this.proposedExpressions.get(element);
+		synchronized (proposals) {
+			return new HashSet<>(proposals);
+		}
 	}
 
 	/**
@@ -22,7 +22,7 @@ public class ProjectInformation implements Serializable {
 	/**
 	 * See {@link Serializable}.
 	 */
-	private static final long serialVersionUID = 2451089669559562551L;
+	private static final long serialVersionUID = -5126470883914252389L;
 
 	/**
 	 * The timeout to be used.
@@ -50,7 +50,13 @@ public class ProjectInformation implements Serializable {
 	private final Set<LaunchConfiguration> launchConfigurations;
 
 	/**
-	 * Creates a new Project Information.
+	 * How far Beagle may parallelise the analysis of the project.
+	 */
+	private final AnalysisSettings analysisSettings;
+
+	/**
+	 * Creates a new Project Information. Beagle will not parallelise the analysis of this
+	 * project.
 	 *
 	 * @param timeout The timeout to be used.
 	 * @param fileProvider The provider of the source files to be analysed.
@@ -64,16 +70,39 @@ public class ProjectInformation implements Serializable {
 	 */
 	public ProjectInformation(final Timeout timeout, final SourceCodeFileProvider fileProvider, final String buildPath,
 		final Charset charset, final Set<LaunchConfiguration> launchConfigurations) {
+		this(timeout, fileProvider, buildPath, charset, launchConfigurations, AnalysisSettings.SEQUENTIAL);
+	}
+
+	/**
+	 * Creates a new Project Information.
+	 *
+	 * @param timeout The timeout to be used.
+	 * @param fileProvider The provider of the source files to be analysed.
+	 * @param buildPath The class path containing everything needed to compile the
+	 *            project.
+	 * @param charset The charset used for all files in the project. May be {@code null},
+	 *            in this case {@link Charset#defaultCharset()} will be used.
+	 * @param launchConfigurations The configurations defining how to launch the measured
+	 *            software. Must not be {@code null}, must not contain {@code null}, must
+	 *            not be empty.
+	 * @param analysisSettings How far Beagle may parallelise the analysis of the
+	 *            project. Must not be {@code null}.
+	 */
+	public ProjectInformation(final Timeout timeout, final SourceCodeFileProvider fileProvider, final String buildPath,
+		final Charset charset, final Set<LaunchConfiguration> launchConfigurations,
+		final AnalysisSettings analysisSettings) {
 		Validate.notNull(fileProvider);
 		Validate.notNull(buildPath);
 		Validate.noNullElements(launchConfigurations);
 		Validate.isTrue(!launchConfigurations.isEmpty(), "The launch configurations may not be empty");
+		Validate.notNull(analysisSettings);
 
 		this.timeout = timeout;
 		this.fileProvider = fileProvider;
 		this.charset = charset == null ? Charset.defaultCharset() : charset;
 		this.buildPath = buildPath;
 		this.launchConfigurations = new HashSet<>(launchConfigurations);
+		this.analysisSettings = analysisSettings;
 	}
 
 	/**
@@ -125,4 +154,13 @@ public class ProjectInformation implements Serializable {
 		return new HashSet<>(this.launchConfigurations);
 	}
 
+	/**
+	 * Queries how far Beagle may parallelise the analysis of the project.
+	 *
+	 * @return The project’s analysis settings. Will never be {@code null}.
+	 */
+	public AnalysisSettings getAnalysisSettings() {
+		return this.analysisSettings;
+	}
+
 }
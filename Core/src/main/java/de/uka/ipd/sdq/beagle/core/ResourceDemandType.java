@@ -22,6 +22,10 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
  *
  * <li> {@link #RESOURCE_TYPE_NETWORK_NS}
  *
+ * <li> {@link #RESOURCE_TYPE_WALL_CLOCK_NS}
+ *
+ * <li> {@link #RESOURCE_TYPE_ALLOCATED_BYTES}
+ *
  * </ul> instead of creating its own instances.
  *
  * @author Roman Langrehr
@@ -59,6 +63,19 @@ public class ResourceDemandType {
 	 */
 	public static final ResourceDemandType RESOURCE_TYPE_NETWORK_NS = new ResourceDemandType("NETWORK", true);
 
+	/**
+	 * Common resource type for nanoseconds elapsed while executing, including the time
+	 * spent waiting. Unlike {@link #RESOURCE_TYPE_CPU_NS}, it does not only contain the
+	 * time computation was performed.
+	 */
+	public static final ResourceDemandType RESOURCE_TYPE_WALL_CLOCK_NS = new ResourceDemandType("WALL_CLOCK", true);
+
+	/**
+	 * Common resource type for bytes of memory allocated on the heap while executing.
+	 */
+	public static final ResourceDemandType RESOURCE_TYPE_ALLOCATED_BYTES =
+		new ResourceDemandType("ALLOCATED_BYTES", false);
+
 	/**
 	 * A unique identifier for this resource type.
 	 */
@@ -16,11 +16,14 @@ import de.uka.ipd.sdq.beagle.core.measurement.BranchDecisionMeasurementResult;
 import de.uka.ipd.sdq.beagle.core.measurement.LoopRepetitionCountMeasurementResult;
 import de.uka.ipd.sdq.beagle.core.measurement.ParameterChangeMeasurementResult;
 import de.uka.ipd.sdq.beagle.core.measurement.ResourceDemandMeasurementResult;
+import de.uka.ipd.sdq.beagle.core.measurement.ResourceDemandSummaryMeasurementResult;
 
 import org.apache.commons.lang3.Validate;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 import java.io.Serializable;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
 import java.util.Collection;
 import java.util.Set;
 
@@ -173,6 +176,23 @@ public class MeasurementResultAnalyserBlackboardView implements EvaluableExpress
 		return this.blackboard.getMeasurementResultsFor(rdia);
 	}
 
+	/**
+	 * Delegates to
+	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementSummariesFor(ResourceDemandingInternalAction)}
+	 * .
+	 *
+	 * @param rdia A resource demanding internal action to get the measurement summaries
+	 *            of. Must not be {@code null}.
+	 * @return All measurement summaries reported for {@code rdia}. Changes to the
+	 *         returned set will not modify the blackboard content. Is never {@code null}.
+	 * @see de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementSummariesFor(
+	 *      ResourceDemandingInternalAction)
+	 */
+	public Set<ResourceDemandSummaryMeasurementResult> getMeasurementSummariesFor(
+		final ResourceDemandingInternalAction rdia) {
+		return this.blackboard.getMeasurementSummariesFor(rdia);
+	}
+
 	/**
 	 * Delegates to
 	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementResultsFor(SeffBranch)}.
@@ -221,6 +241,67 @@ public class MeasurementResultAnalyserBlackboardView implements EvaluableExpress
 		return this.blackboard.getMeasurementResultsFor(externalCallParameter);
 	}
 
+	/**
+	 * Delegates to
+	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementValuesFor(ResourceDemandingInternalAction)}.
+	 *
+	 * @param rdia An resource demanding internal action to get the measured values
+	 *            of. Must not be {@code null}.
+	 * @return The values of all measurement results reported for {@code rdia}. Is a read only view. Is never
+	 *         {@code null}.
+	 * @see de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementValuesFor(ResourceDemandingInternalAction)
+	 */
+	@Override
+	public DoubleBuffer getMeasurementValuesFor(final ResourceDemandingInternalAction rdia) {
+		return this.blackboard.getMeasurementValuesFor(rdia);
+	}
+
+	/**
+	 * Delegates to
+	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementValuesFor(SeffBranch)}.
+	 *
+	 * @param branch A SEFF Branch to get the measured values of. Must not be
+	 *            {@code null}.
+	 * @return The values of all measurement results reported for {@code branch}. Is a read only view. Is never
+	 *         {@code null}.
+	 * @see de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementValuesFor(SeffBranch)
+	 */
+	@Override
+	public IntBuffer getMeasurementValuesFor(final SeffBranch branch) {
+		return this.blackboard.getMeasurementValuesFor(branch);
+	}
+
+	/**
+	 * Delegates to
+	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementValuesFor(SeffLoop)}.
+	 *
+	 * @param loop A SEFF Loop to get the measured values of. Must not be
+	 *            {@code null}.
+	 * @return The values of all measurement results reported for {@code loop}. Is a read only view. Is never
+	 *         {@code null}.
+	 * @see de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementValuesFor(SeffLoop)
+	 */
+	@Override
+	public IntBuffer getMeasurementValuesFor(final SeffLoop loop) {
+		return this.blackboard.getMeasurementValuesFor(loop);
+	}
+
+	/**
+	 * Delegates to
+	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementValuesFor(ExternalCallParameter)}.
+	 *
+	 * @param externalCallParameter An external parameter to get the measured
+	 *            values of. Must not be {@code null}.
+	 * @return The values of all measurement results reported for
+	 *         {@code externalCallParameter}. Is a read only view. Is never
+	 *         {@code null}.
+	 * @see de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementValuesFor(ExternalCallParameter)
+	 */
+	@Override
+	public IntBuffer getMeasurementValuesFor(final ExternalCallParameter externalCallParameter) {
+		return this.blackboard.getMeasurementValuesFor(externalCallParameter);
+	}
+
 	/**
 	 * Delegates to
 	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#addProposedExpressionFor(MeasurableSeffElement, EvaluableExpression)}
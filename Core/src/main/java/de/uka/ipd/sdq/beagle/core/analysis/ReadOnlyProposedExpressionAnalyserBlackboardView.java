@@ -14,6 +14,7 @@ import de.uka.ipd.sdq.beagle.core.measurement.BranchDecisionMeasurementResult;
 import de.uka.ipd.sdq.beagle.core.measurement.LoopRepetitionCountMeasurementResult;
 import de.uka.ipd.sdq.beagle.core.measurement.ParameterChangeMeasurementResult;
 import de.uka.ipd.sdq.beagle.core.measurement.ResourceDemandMeasurementResult;
+import de.uka.ipd.sdq.beagle.core.measurement.ResourceDemandSummaryMeasurementResult;
 
 import org.apache.commons.lang3.Validate;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -124,6 +125,23 @@ public final class ReadOnlyProposedExpressionAnalyserBlackboardView {
 		return this.blackboard.getMeasurementResultsFor(rdia);
 	}
 
+	/**
+	 * Delegates to
+	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementSummariesFor(ResourceDemandingInternalAction)}
+	 * .
+	 *
+	 * @param rdia A resource demanding internal action to get the measurement summaries
+	 *            of. Must not be {@code null}.
+	 * @return All measurement summaries reported for {@code rdia}. Changes to the
+	 *         returned set will not modify the blackboard content. Is never {@code null}.
+	 * @see de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementSummariesFor(
+	 *      ResourceDemandingInternalAction)
+	 */
+	public Set<ResourceDemandSummaryMeasurementResult> getMeasurementSummariesFor(
+		final ResourceDemandingInternalAction rdia) {
+		return this.blackboard.getMeasurementSummariesFor(rdia);
+	}
+
 	/**
 	 * Delegates to
 	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementResultsFor(SeffBranch)}.
@@ -1,5 +1,6 @@
 package de.uka.ipd.sdq.beagle.core.facade;
 
+import de.uka.ipd.sdq.beagle.core.AnalysisSettings;
 import de.uka.ipd.sdq.beagle.core.LaunchConfiguration;
 import de.uka.ipd.sdq.beagle.core.timeout.AdaptiveTimeout;
 import de.uka.ipd.sdq.beagle.core.timeout.Timeout;
@@ -66,6 +67,26 @@ public class BeagleConfiguration {
 	 */
 	private File sourceStatementLinkFile;
 
+	/**
+	 * How many threads Beagle may use for parallelised computations.
+	 */
+	private int parallelism;
+
+	/**
+	 * How many launches of the measured software may run at the same time.
+	 */
+	private int measurementConcurrency;
+
+	/**
+	 * Whether the analysers of one round may contribute concurrently.
+	 */
+	private boolean analysisConcurrent;
+
+	/**
+	 * Whether measurements may run while analysers contribute.
+	 */
+	private boolean measurementPipelined;
+
 	/**
 	 * Constructs a new {@link BeagleConfiguration} using {@code elements} as the default
 	 * elements to be measured.
@@ -99,6 +120,8 @@ public class BeagleConfiguration {
 		this.timeout = new AdaptiveTimeout();
 		this.javaProject = javaProject;
 		this.sourceStatementLinkFile = sourceStatementLinkFile;
+		this.parallelism = 1;
+		this.measurementConcurrency = 1;
 	}
 
 	/**
@@ -245,6 +268,136 @@ public class BeagleConfiguration {
 		return this.sourceStatementLinkFile;
 	}
 
+	/**
+	 * Returns how many threads Beagle may use for parallelised computations, like judging
+	 * proposed expressions. Defaults to {@code 1}.
+	 *
+	 * @return The parallelism level. Is at least {@code 1}. {@code 1} means that Beagle
+	 *         will not parallelise computations.
+	 */
+	public int getParallelism() {
+		return this.parallelism;
+	}
+
+	/**
+	 * Sets how many threads Beagle may use for parallelised computations. The final judge
+	 * uses them to judge proposed expressions. Analysers only use them if the analysis is
+	 * {@linkplain #setAnalysisConcurrent(boolean) concurrent}. This operation is only
+	 * allowed in the <em>set up</em> state.
+	 *
+	 * @param parallelism The parallelism level. Must be at least {@code 1}. {@code 1}
+	 *            means that Beagle will not parallelise computations.
+	 * @throws IllegalStateException If this configuration is not in the <em>set up</em>
+	 *             state.
+	 */
+	public void setParallelism(final int parallelism) {
+		Validate.validState(!this.finalised,
+			"setting values is only allowed if this configuration is not yet finalised");
+		Validate.isTrue(parallelism >= 1, "The parallelism must be at least 1, but was %d", parallelism);
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Returns how many launches of the measured software may run at the same time.
+	 * Defaults to {@code 1}.
+	 *
+	 * @return The measurement concurrency level. Is at least {@code 1}. {@code 1} means
+	 *         that launch configurations are executed one after another.
+	 */
+	public int getMeasurementConcurrency() {
+		return this.measurementConcurrency;
+	}
+
+	/**
+	 * Sets how many launches of the measured software may run at the same time.
+	 * Concurrent launches compete for the processors, so values greater than {@code 1}
+	 * may distort measured CPU times. This operation is only allowed in the <em>set
+	 * up</em> state.
+	 *
+	 * @param measurementConcurrency The measurement concurrency level. Must be at least
+	 *            {@code 1}. {@code 1} means that launch configurations are executed one
+	 *            after another.
+	 * @throws IllegalStateException If this configuration is not in the <em>set up</em>
+	 *             state.
+	 */
+	public void setMeasurementConcurrency(final int measurementConcurrency) {
+		Validate.validState(!this.finalised,
+			"setting values is only allowed if this configuration is not yet finalised");
+		Validate.isTrue(measurementConcurrency >= 1, "The measurement concurrency must be at least 1, but was %d",
+			measurementConcurrency);
+		this.measurementConcurrency = measurementConcurrency;
+	}
+
+	/**
+	 * Returns whether the analysers of one round of the analysis may contribute
+	 * concurrently. Defaults to {@code false}.
+	 *
+	 * @return {@code true} if analysers may contribute concurrently.
+	 */
+	public boolean isAnalysisConcurrent() {
+		return this.analysisConcurrent;
+	}
+
+	/**
+	 * Sets whether the analysers of one round of the analysis may contribute
+	 * concurrently, using up to {@linkplain #getParallelism() parallelism} threads.
+	 * Analysers then contribute in {@linkplain de.uka.ipd.sdq.beagle.core.AnalysisController
+	 * rounds} and the final judge runs once per round. This changes the order of the
+	 * analysis, so Beagle’s results may differ from those of a sequential analysis. This
+	 * operation is only allowed in the <em>set up</em> state.
+	 *
+	 * @param analysisConcurrent Whether analysers may contribute concurrently.
+	 * @throws IllegalStateException If this configuration is not in the <em>set up</em>
+	 *             state.
+	 */
+	public void setAnalysisConcurrent(final boolean analysisConcurrent) {
+		Validate.validState(!this.finalised,
+			"setting values is only allowed if this configuration is not yet finalised");
+		this.analysisConcurrent = analysisConcurrent;
+	}
+
+	/**
+	 * Returns whether measurements may run while analysers contribute. Defaults to
+	 * {@code false}.
+	 *
+	 * @return {@code true} if measurements are pipelined with the analysis.
+	 */
+	public boolean isMeasurementPipelined() {
+		return this.measurementPipelined;
+	}
+
+	/**
+	 * Sets whether measurements may run in the background while analysers contribute to
+	 * the results measured so far. Analysers then contribute in
+	 * {@linkplain de.uka.ipd.sdq.beagle.core.AnalysisController rounds} and the final
+	 * judge runs once per round. Analysers see partial measurement results, so Beagle’s
+	 * results may differ from those of a sequential analysis. This operation is only
+	 * allowed in the <em>set up</em> state.
+	 *
+	 * @param measurementPipelined Whether measurements may run while analysers
+	 *            contribute.
+	 * @throws IllegalStateException If this configuration is not in the <em>set up</em>
+	 *             state.
+	 */
+	public void setMeasurementPipelined(final boolean measurementPipelined) {
+		Validate.validState(!this.finalised,
+			"setting values is only allowed if this configuration is not yet finalised");
+		this.measurementPipelined = measurementPipelined;
+	}
+
+	/**
+	 * Gathers the parallelism, the measurement concurrency and whether the analysis is
+	 * concurrent or pipelined in one object, as it is passed to the analysis.
+	 *
+	 * @return The analysis settings of this configuration.
+	 */
+	public AnalysisSettings getAnalysisSettings() {
+		return AnalysisSettings.SEQUENTIAL.withParallelism(this.parallelism)
+			.withMeasurementConcurrency(this.measurementConcurrency)
+			.withAnalysisConcurrent(this.analysisConcurrent)
+			.withMeasurementPipelined(this.measurementPipelined);
+	}
+
 	/**
 	 * Queries whether this configuration is in the <em>finalised</em> state.
 	 *
@@ -107,7 +107,8 @@ public class BeagleController {
 
 		final Set<LaunchConfiguration> launchConfigurations = this.beagleConfiguration.getLaunchConfigurations();
 		blackboardFactory.setProjectInformation(new ProjectInformation(this.beagleConfiguration.getTimeout(),
-			sourceCodeFileProvider, buildPath, charset, launchConfigurations));
+			sourceCodeFileProvider, buildPath, charset, launchConfigurations,
+			this.beagleConfiguration.getAnalysisSettings()));
 
 		blackboardFactory.setFitnessFunction(new AbstractionAndPrecisionFitnessFunction());
 		this.blackboard = blackboardFactory.createBlackboard();
@@ -6,14 +6,14 @@ import de.uka.ipd.sdq.beagle.core.SeffBranch;
 import de.uka.ipd.sdq.beagle.core.SeffLoop;
 import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableExpression;
 import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableVariableAssignment;
-import de.uka.ipd.sdq.beagle.core.measurement.BranchDecisionMeasurementResult;
-import de.uka.ipd.sdq.beagle.core.measurement.LoopRepetitionCountMeasurementResult;
-import de.uka.ipd.sdq.beagle.core.measurement.ParameterChangeMeasurementResult;
-import de.uka.ipd.sdq.beagle.core.measurement.ResourceDemandMeasurementResult;
 
 import org.apache.commons.lang3.Validate;
 
-import java.util.Set;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Fitness function regarding abstract but precise expression as fittest. Naturally, these
@@ -21,6 +21,10 @@ import java.util.Set;
  * the best compromise (reasonable abstracted but still precise enough to be meaningful)
  * best.
  *
+ * <p>The measured values are read from the blackboard once per call to a
+ * {@code gradeAllFor} method. {@code gradeFor} grades a single expression through the
+ * same code path.
+ *
  * @author Joshua Gleitze
  * @author Christoph Michelbach
  */
@@ -52,156 +56,158 @@ public class AbstractionAndPrecisionFitnessFunction implements EvaluableExpressi
 	@Override
 	public double gradeFor(final ResourceDemandingInternalAction rdia, final EvaluableExpression expression,
 		final EvaluableExpressionFitnessFunctionBlackboardView blackboard) {
-		Validate.notNull(rdia);
 		Validate.notNull(expression);
-		Validate.notNull(blackboard);
-
-		final Set<ResourceDemandMeasurementResult> resourceDemandMeasurementResults =
-			blackboard.getMeasurementResultsFor(rdia);
-
-		// If there is no expression, return infinity.
-		if (resourceDemandMeasurementResults.size() == 0) {
-			return Double.POSITIVE_INFINITY;
-		}
-
-		double meanSquareDeviation = 0;
-
-		for (final ResourceDemandMeasurementResult resourceDemandMeasurementResult : resourceDemandMeasurementResults) {
-			final double realValue = resourceDemandMeasurementResult.getValue();
-			// final Parameterisation parameterisation =
-			// resourceDemandMeasurementResult.getParameterisation();
-
-			final EvaluableVariableAssignment evaluableVariableAssignment = new EvaluableVariableAssignment();
-
-			final double predictedValue = expression.evaluate(evaluableVariableAssignment);
-
-			final double squareDeviation = Math.pow(Math.abs(realValue) - Math.abs(predictedValue), 2);
-			meanSquareDeviation += squareDeviation / resourceDemandMeasurementResults.size();
-		}
-
-		return this.determineFitnessValue(expression, meanSquareDeviation);
+		return this.gradeAllFor(rdia, Collections.singletonList(expression), blackboard)[0];
 	}
 
 	@Override
 	public double gradeFor(final SeffBranch branch, final EvaluableExpression expression,
 		final EvaluableExpressionFitnessFunctionBlackboardView blackboard) {
-		Validate.notNull(branch);
 		Validate.notNull(expression);
-		Validate.notNull(blackboard);
-
-		final Set<BranchDecisionMeasurementResult> branchDecisionMeasurementResults =
-			blackboard.getMeasurementResultsFor(branch);
-
-		// If there is no expression, return infinity.
-		if (branchDecisionMeasurementResults.size() == 0) {
-			return Double.POSITIVE_INFINITY;
-		}
-
-		double meanSquareDeviation = 0;
-
-		for (final BranchDecisionMeasurementResult branchDecisionMeasurementResult : branchDecisionMeasurementResults) {
-			final double realValue = branchDecisionMeasurementResult.getBranchIndex();
-			// final Parameterisation parameterisation =
-			// branchDecisionMeasurementResult.getParameterisation();
-
-			final EvaluableVariableAssignment evaluableVariableAssignment = new EvaluableVariableAssignment();
-
-			final double predictedValue = expression.evaluate(evaluableVariableAssignment);
-
-			final double squareDeviation = Math.pow(Math.abs(realValue) - Math.abs(predictedValue), 2);
-			meanSquareDeviation += squareDeviation / branchDecisionMeasurementResults.size();
-		}
-
-		return this.determineFitnessValue(expression, meanSquareDeviation);
+		return this.gradeAllFor(branch, Collections.singletonList(expression), blackboard)[0];
 	}
 
 	@Override
 	public double gradeFor(final SeffLoop loop, final EvaluableExpression expression,
 		final EvaluableExpressionFitnessFunctionBlackboardView blackboard) {
-		Validate.notNull(loop);
 		Validate.notNull(expression);
-		Validate.notNull(blackboard);
-
-		final Set<LoopRepetitionCountMeasurementResult> loopRepetitionCountMeasurementResults =
-			blackboard.getMeasurementResultsFor(loop);
+		return this.gradeAllFor(loop, Collections.singletonList(expression), blackboard)[0];
+	}
 
-		// If there is no expression, return infinity.
-		if (loopRepetitionCountMeasurementResults.size() == 0) {
-			return Double.POSITIVE_INFINITY;
-		}
+	@Override
+	public double gradeFor(final ExternalCallParameter parameter, final EvaluableExpression expression,
+		final EvaluableExpressionFitnessFunctionBlackboardView blackboard) {
+		Validate.notNull(expression);
+		return this.gradeAllFor(parameter, Collections.singletonList(expression), blackboard)[0];
+	}
 
-		double meanSquareDeviation = 0;
+	@Override
+	public double[] gradeAllFor(final ResourceDemandingInternalAction rdia, final List<EvaluableExpression> expressions,
+		final EvaluableExpressionFitnessFunctionBlackboardView blackboard) {
+		Validate.notNull(rdia);
+		Validate.noNullElements(expressions);
+		Validate.notNull(blackboard);
 
-		// @formatter:off
-		for (final LoopRepetitionCountMeasurementResult loopRepetitionCountMeasurementResult
-			: loopRepetitionCountMeasurementResults) {
-			// @formatter:on
-			final double realValue = loopRepetitionCountMeasurementResult.getCount();
-			// final Parameterisation parameterisation =
-			// loopRepetitionCountMeasurementResult.getParameterisation();
+		return this.gradeAll(this.toArray(blackboard.getMeasurementValuesFor(rdia)), expressions);
+	}
 
-			final EvaluableVariableAssignment evaluableVariableAssignment = new EvaluableVariableAssignment();
+	@Override
+	public double[] gradeAllFor(final SeffBranch branch, final List<EvaluableExpression> expressions,
+		final EvaluableExpressionFitnessFunctionBlackboardView blackboard) {
+		Validate.notNull(branch);
+		Validate.noNullElements(expressions);
+		Validate.notNull(blackboard);
 
-			final double predictedValue = expression.evaluate(evaluableVariableAssignment);
+		return this.gradeAll(this.toArray(blackboard.getMeasurementValuesFor(branch)), expressions);
+	}
 
-			final double squareDeviation = Math.pow(Math.abs(realValue) - Math.abs(predictedValue), 2);
-			meanSquareDeviation += squareDeviation / loopRepetitionCountMeasurementResults.size();
-		}
+	@Override
+	public double[] gradeAllFor(final SeffLoop loop, final List<EvaluableExpression> expressions,
+		final EvaluableExpressionFitnessFunctionBlackboardView blackboard) {
+		Validate.notNull(loop);
+		Validate.noNullElements(expressions);
+		Validate.notNull(blackboard);
 
-		return this.determineFitnessValue(expression, meanSquareDeviation);
+		return this.gradeAll(this.toArray(blackboard.getMeasurementValuesFor(loop)), expressions);
 	}
 
 	@Override
-	public double gradeFor(final ExternalCallParameter parameter, final EvaluableExpression expression,
+	public double[] gradeAllFor(final ExternalCallParameter parameter, final List<EvaluableExpression> expressions,
 		final EvaluableExpressionFitnessFunctionBlackboardView blackboard) {
 		Validate.notNull(parameter);
-		Validate.notNull(expression);
+		Validate.noNullElements(expressions);
 		Validate.notNull(blackboard);
 
-		final Set<ParameterChangeMeasurementResult> parameterChangeMeasurementResults =
-			blackboard.getMeasurementResultsFor(parameter);
+		return this.gradeAll(this.toArray(blackboard.getMeasurementValuesFor(parameter)), expressions);
+	}
 
-		// If there is no expression, return infinity.
-		if (parameterChangeMeasurementResults.size() == 0) {
-			return Double.POSITIVE_INFINITY;
-		}
+	/**
+	 * Grades all {@code expressions} for the measured {@code realValues}.
+	 *
+	 * @param realValues The values measured for the element {@code expressions} were
+	 *            proposed for.
+	 * @param expressions The expressions to grade.
+	 * @return The grades of {@code expressions}, in the same order.
+	 */
+	private double[] gradeAll(final double[] realValues, final List<EvaluableExpression> expressions) {
+		final double[] grades = new double[expressions.size()];
 
-		double meanSquareDeviation = 0;
+		// If there are no measurement results, every expression is graded infinity.
+		if (realValues.length == 0) {
+			Arrays.fill(grades, Double.POSITIVE_INFINITY);
+			return grades;
+		}
 
-		for (final ParameterChangeMeasurementResult parameterChangeMeasurementResult : parameterChangeMeasurementResults) {
-			final double realValue = parameterChangeMeasurementResult.getCount();
-			// final Parameterisation parameterisation =
-			// parameterChangeMeasurementResult.getParameterisation();
+		final EvaluableVariableAssignment evaluableVariableAssignment = new EvaluableVariableAssignment();
+		final EvaluableExpressionComplexityAnalyser complexityAnalyser = new EvaluableExpressionComplexityAnalyser();
 
-			final EvaluableVariableAssignment evaluableVariableAssignment = new EvaluableVariableAssignment();
+		int index = 0;
+		for (final EvaluableExpression expression : expressions) {
+			// As long as the assignment does not depend on the measurement result, the
+			// prediction does not either. It can thus be evaluated once per expression.
+			final double predictedValue = Math.abs(expression.evaluate(evaluableVariableAssignment));
 
-			final double predictedValue = expression.evaluate(evaluableVariableAssignment);
+			double squareDeviationSum = 0;
+			for (int i = 0; i < realValues.length; i++) {
+				final double deviation = Math.abs(realValues[i]) - predictedValue;
+				squareDeviationSum += deviation * deviation;
+			}
 
-			final double squareDeviation = Math.pow(Math.abs(realValue) - Math.abs(predictedValue), 2);
-			meanSquareDeviation += squareDeviation / parameterChangeMeasurementResults.size();
+			grades[index] =
+				this.determineFitnessValue(complexityAnalyser, expression, squareDeviationSum / realValues.length);
+			index++;
 		}
 
-		return this.determineFitnessValue(expression, meanSquareDeviation);
+		return grades;
+	}
+
+	/**
+	 * Copies the remaining content of {@code values} into an array. Does not change
+	 * {@code values}’ position.
+	 *
+	 * @param values Measured values.
+	 * @return The values in {@code values}.
+	 */
+	private double[] toArray(final DoubleBuffer values) {
+		final double[] result = new double[values.remaining()];
+		values.duplicate().get(result);
+		return result;
+	}
+
+	/**
+	 * Copies the remaining content of {@code values} into an array. Does not change
+	 * {@code values}’ position.
+	 *
+	 * @param values Measured values.
+	 * @return The values in {@code values}.
+	 */
+	private double[] toArray(final IntBuffer values) {
+		final double[] result = new double[values.remaining()];
+		final int offset = values.position();
+		for (int i = 0; i < result.length; i++) {
+			result[i] = values.get(offset + i);
+		}
+		return result;
 	}
 
 	/**
 	 * Determines the fitness value of {@code expression}.
 	 *
+	 * @param complexityAnalyser The analyser to determine {@code expression}’s complexity
+	 *            with. Its previous state is discarded.
 	 * @param expression The {@link EvaluableExpression}.
 	 * @param meanSquareDeviation The mean square deviation of {@code expression} from the
 	 *            measured values.
 	 * @return The fitness value of {@code expression}.
 	 */
-	private double determineFitnessValue(final EvaluableExpression expression, final double meanSquareDeviation) {
-		final EvaluableExpressionComplexityAnalyser evaluableExpressionComplexityAnalyser =
-			new EvaluableExpressionComplexityAnalyser();
-		evaluableExpressionComplexityAnalyser.determineComplexity(expression);
+	private double determineFitnessValue(final EvaluableExpressionComplexityAnalyser complexityAnalyser,
+		final EvaluableExpression expression, final double meanSquareDeviation) {
+		complexityAnalyser.determineComplexity(expression);
 
 		final double humanComprehensibilityComplexity =
-			evaluableExpressionComplexityAnalyser.getHumanComprehensibilityComplexitySum()
-				* HUMAN_COMPREHENSIBILITY_NORMATION;
-		final double computationalComplexity = evaluableExpressionComplexityAnalyser.getComputationalComplexitySum()
-			* COMPUTATIONIONAL_COMPLEXITY_NORMATION;
+			complexityAnalyser.getHumanComprehensibilityComplexitySum() * HUMAN_COMPREHENSIBILITY_NORMATION;
+		final double computationalComplexity =
+			complexityAnalyser.getComputationalComplexitySum() * COMPUTATIONIONAL_COMPLEXITY_NORMATION;
 
 		final double combinedComplexity = HUMAN_COMPREHENSIBILITY_VALUE * humanComprehensibilityComplexity
 			+ (1 - HUMAN_COMPREHENSIBILITY_VALUE) * computationalComplexity;
@@ -7,12 +7,21 @@ import de.uka.ipd.sdq.beagle.core.SeffBranch;
 import de.uka.ipd.sdq.beagle.core.SeffLoop;
 import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableExpression;
 
+import org.apache.commons.lang3.Validate;
+
+import java.util.List;
+
 /**
  * Judges {@link EvaluableExpression EvaluableExpressions} for their fitness to describe
  * measured parametric dependencies. What the expression exactly describes depends on the
  * {@linkplain MeasurableSeffElement} it belongs to. Implements the well known strategy
  * design pattern.
  *
+ * <p>Clients grading multiple expressions for the same element should use the
+ * {@code gradeAllFor} methods. Their default implementations simply call
+ * {@code gradeFor} for each expression. Implementations can override them to fetch the
+ * measurement results only once for all expressions.
+ *
  * @author Christoph Michelbach
  * @author Joshua Gleitze
  */
@@ -77,4 +86,100 @@ public interface EvaluableExpressionFitnessFunction {
 	 */
 	double gradeFor(ExternalCallParameter parameter, EvaluableExpression expression,
 		EvaluableExpressionFitnessFunctionBlackboardView blackboard);
+
+	/**
+	 * Judges how well each of {@code expressions} fits to describe the measurement
+	 * results of {@code rdia}. Yields the same grades as calling {@code gradeFor} for
+	 * each expression.
+	 *
+	 * @param rdia A resource demanding internal action. Must not be {@code null}.
+	 * @param expressions Expressions proposed to describe {@code rdia}’s measurement
+	 *            results. Must not be {@code null} and must not contain {@code null}.
+	 * @param blackboard Beagle’s blackboard instance. Must not be {@code null}.
+	 * @return The grades of {@code expressions}. The {@code i}th grade belongs to the
+	 *         {@code i}th expression. Each grade is as described for {@code gradeFor}.
+	 */
+	default double[] gradeAllFor(final ResourceDemandingInternalAction rdia, final List<EvaluableExpression> expressions,
+		final EvaluableExpressionFitnessFunctionBlackboardView blackboard) {
+		Validate.noNullElements(expressions);
+		final double[] grades = new double[expressions.size()];
+		int index = 0;
+		for (final EvaluableExpression expression : expressions) {
+			grades[index] = this.gradeFor(rdia, expression, blackboard);
+			index++;
+		}
+		return grades;
+	}
+
+	/**
+	 * Judges how well each of {@code expressions} fits to describe the measurement
+	 * results of {@code branch}. Yields the same grades as calling {@code gradeFor} for
+	 * each expression.
+	 *
+	 * @param branch A SEFF Branch. Must not be {@code null}.
+	 * @param expressions Expressions proposed to describe {@code branch}’s measurement
+	 *            results. Must not be {@code null} and must not contain {@code null}.
+	 * @param blackboard Beagle’s blackboard instance. Must not be {@code null}.
+	 * @return The grades of {@code expressions}. The {@code i}th grade belongs to the
+	 *         {@code i}th expression. Each grade is as described for {@code gradeFor}.
+	 */
+	default double[] gradeAllFor(final SeffBranch branch, final List<EvaluableExpression> expressions,
+		final EvaluableExpressionFitnessFunctionBlackboardView blackboard) {
+		Validate.noNullElements(expressions);
+		final double[] grades = new double[expressions.size()];
+		int index = 0;
+		for (final EvaluableExpression expression : expressions) {
+			grades[index] = this.gradeFor(branch, expression, blackboard);
+			index++;
+		}
+		return grades;
+	}
+
+	/**
+	 * Judges how well each of {@code expressions} fits to describe the measurement
+	 * results of {@code loop}. Yields the same grades as calling {@code gradeFor} for
+	 * each expression.
+	 *
+	 * @param loop A SEFF Loop. Must not be {@code null}.
+	 * @param expressions Expressions proposed to describe {@code loop}’s measurement
+	 *            results. Must not be {@code null} and must not contain {@code null}.
+	 * @param blackboard Beagle’s blackboard instance. Must not be {@code null}.
+	 * @return The grades of {@code expressions}. The {@code i}th grade belongs to the
+	 *         {@code i}th expression. Each grade is as described for {@code gradeFor}.
+	 */
+	default double[] gradeAllFor(final SeffLoop loop, final List<EvaluableExpression> expressions,
+		final EvaluableExpressionFitnessFunctionBlackboardView blackboard) {
+		Validate.noNullElements(expressions);
+		final double[] grades = new double[expressions.size()];
+		int index = 0;
+		for (final EvaluableExpression expression : expressions) {
+			grades[index] = this.gradeFor(loop, expression, blackboard);
+			index++;
+		}
+		return grades;
+	}
+
+	/**
+	 * Judges how well each of {@code expressions} fits to describe the measurement
+	 * results of {@code parameter}. Yields the same grades as calling {@code gradeFor} for
+	 * each expression.
+	 *
+	 * @param parameter An external call parameter. Must not be {@code null}.
+	 * @param expressions Expressions proposed to describe {@code parameter}’s measurement
+	 *            results. Must not be {@code null} and must not contain {@code null}.
+	 * @param blackboard Beagle’s blackboard instance. Must not be {@code null}.
+	 * @return The grades of {@code expressions}. The {@code i}th grade belongs to the
+	 *         {@code i}th expression. Each grade is as described for {@code gradeFor}.
+	 */
+	default double[] gradeAllFor(final ExternalCallParameter parameter, final List<EvaluableExpression> expressions,
+		final EvaluableExpressionFitnessFunctionBlackboardView blackboard) {
+		Validate.noNullElements(expressions);
+		final double[] grades = new double[expressions.size()];
+		int index = 0;
+		for (final EvaluableExpression expression : expressions) {
+			grades[index] = this.gradeFor(parameter, expression, blackboard);
+			index++;
+		}
+		return grades;
+	}
 }
@@ -11,6 +11,8 @@ import de.uka.ipd.sdq.beagle.core.measurement.ParameterChangeMeasurementResult;
 import de.uka.ipd.sdq.beagle.core.measurement.ResourceDemandMeasurementResult;
 
 import java.io.Serializable;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
 import java.util.Set;
 
 /**
@@ -75,6 +77,55 @@ public interface EvaluableExpressionFitnessFunctionBlackboardView {
 	 */
 	Set<ParameterChangeMeasurementResult> getMeasurementResultsFor(ExternalCallParameter externalCallParameter);
 
+	/**
+	 * Delegates to
+	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementValuesFor(ResourceDemandingInternalAction)}.
+	 *
+	 * @param rdia An resource demanding internal action to get the measured values
+	 *            of. Must not be {@code null}.
+	 * @return The values of all measurement results reported for {@code rdia}. Is a read only view. Is never
+	 *         {@code null}.
+	 * @see de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementValuesFor(ResourceDemandingInternalAction)
+	 */
+	DoubleBuffer getMeasurementValuesFor(ResourceDemandingInternalAction rdia);
+
+	/**
+	 * Delegates to
+	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementValuesFor(SeffBranch)}.
+	 *
+	 * @param branch A SEFF Branch to get the measured values of. Must not be
+	 *            {@code null}.
+	 * @return The values of all measurement results reported for {@code branch}. Is a read only view. Is never
+	 *         {@code null}.
+	 * @see de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementValuesFor(SeffBranch)
+	 */
+	IntBuffer getMeasurementValuesFor(SeffBranch branch);
+
+	/**
+	 * Delegates to
+	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementValuesFor(SeffLoop)}.
+	 *
+	 * @param loop A SEFF Loop to get the measured values of. Must not be
+	 *            {@code null}.
+	 * @return The values of all measurement results reported for {@code loop}. Is a read only view. Is never
+	 *         {@code null}.
+	 * @see de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementValuesFor(SeffLoop)
+	 */
+	IntBuffer getMeasurementValuesFor(SeffLoop loop);
+
+	/**
+	 * Delegates to
+	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementValuesFor(ExternalCallParameter)}.
+	 *
+	 * @param externalCallParameter An external parameter to get the measured
+	 *            values of. Must not be {@code null}.
+	 * @return The values of all measurement results reported for
+	 *         {@code externalCallParameter}. Is a read only view. Is never
+	 *         {@code null}.
+	 * @see de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementValuesFor(ExternalCallParameter)
+	 */
+	IntBuffer getMeasurementValuesFor(ExternalCallParameter externalCallParameter);
+
 	/**
 	 * Delegates to {@link de.uka.ipd.sdq.beagle.core.Blackboard#readFor(Class)} .
 	 *
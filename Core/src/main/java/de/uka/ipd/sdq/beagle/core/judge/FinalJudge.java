@@ -1,5 +1,6 @@
 package de.uka.ipd.sdq.beagle.core.judge;
 
+import de.uka.ipd.sdq.beagle.core.AnalysisSettings;
 import de.uka.ipd.sdq.beagle.core.Blackboard;
 import de.uka.ipd.sdq.beagle.core.BlackboardStorer;
 import de.uka.ipd.sdq.beagle.core.ExternalCallParameter;
@@ -13,13 +14,29 @@ import de.uka.ipd.sdq.beagle.core.timeout.Timeout;
 
 import org.apache.commons.lang3.Validate;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
 
 /**
  * Implements the break condition for evolution of evaluable expressions and decides which
  * proposed evaluable expression describes the measured result best and will be annotated
  * in the PCM.
  *
+ * <p>If the {@linkplain AnalysisSettings#getParallelism() parallelism} configured for
+ * the project is greater than {@code 1}, SEFF elements are graded in parallel. The
+ * grades are written to the blackboard in the same order as when grading sequentially,
+ * so the results do not depend on the parallelism. The blackboard’s fitness function
+ * must be thread safe and must not write to the blackboard in this case.
+ *
+ * <p>Fitness values are remembered in a {@link FitnessValueCache} between generations.
+ * An expression is only graded again if new measurement results were added for its SEFF
+ * element since it was last graded. This requires the fitness function to be
+ * deterministic. It may only depend on the expression and the measurement results.
+ *
  * @author Christoph Michelbach
  */
 public class FinalJudge implements BlackboardStorer<FinalJudgeData> {
@@ -52,11 +69,23 @@ public class FinalJudge implements BlackboardStorer<FinalJudgeData> {
 	 */
 	private static final double SIGNIFICANT_IMPROVEMENT = 0.06;
 
+	/**
+	 * How many SEFF elements a {@link JudgingTask} will judge on its own at most, instead
+	 * of splitting its work.
+	 */
+	private static final int JUDGING_TASK_THRESHOLD = 8;
+
 	/**
 	 * Stores all status of this {@link FinalJudge} object.
 	 */
 	private FinalJudgeData data;
 
+	/**
+	 * The pool judging SEFF elements in parallel. Only exists while judging. {@code null}
+	 * if elements are judged sequentially.
+	 */
+	private ForkJoinPool judgingPool;
+
 	/**
 	 * Initialises the {@link FinalJudge} object. Call this method before starting
 	 * evolution of evaluable expressions to start counting the total time the entire
@@ -113,6 +142,21 @@ public class FinalJudge implements BlackboardStorer<FinalJudgeData> {
 		return this.data.isWillReturnTrue();
 	}
 
+	/**
+	 * Gets the cache remembering the fitness values determined by this judge. Clients may
+	 * use it to find out how many expressions did not have to be graded again.
+	 *
+	 * @param blackboard The {@link Blackboard} this {@link FinalJudge} operates on. Must
+	 *            not be {@code null}.
+	 * @return The fitness value cache stored on {@code blackboard}.
+	 * @throws IllegalStateException Thrown if this method is called before
+	 *             {@link #init(Blackboard)}.
+	 */
+	public FitnessValueCache getFitnessValueCache(final Blackboard blackboard) {
+		this.loadData(blackboard);
+		return this.data.getFitnessValueCache();
+	}
+
 	/**
 	 * Loads the data stored for this object from the {@link Blackboard}.
 	 *
@@ -139,16 +183,25 @@ public class FinalJudge implements BlackboardStorer<FinalJudgeData> {
 	 */
 	private void measureFitnessOfAllSeffElementsAndAddResultsToBlackboard(final Blackboard blackboard) {
 		final EvaluableExpressionFitnessFunction fitnessFunction = blackboard.getFitnessFunction();
+		final int parallelism = blackboard.getProjectInformation().getAnalysisSettings().getParallelism();
+		this.judgingPool = parallelism == 1 ? null : new ForkJoinPool(parallelism);
 
 		final Set<SeffBranch> seffBranches = blackboard.getAllSeffBranches();
 		final Set<SeffLoop> seffLoops = blackboard.getAllSeffLoops();
 		final Set<ResourceDemandingInternalAction> rdias = blackboard.getAllRdias();
 		final Set<ExternalCallParameter> extCallParameters = blackboard.getAllExternalCallParameters();
 
-		this.measureFitnessAndAddResultsToBlackboard(seffBranches, blackboard, fitnessFunction::gradeFor);
-		this.measureFitnessAndAddResultsToBlackboard(seffLoops, blackboard, fitnessFunction::gradeFor);
-		this.measureFitnessAndAddResultsToBlackboard(rdias, blackboard, fitnessFunction::gradeFor);
-		this.measureFitnessAndAddResultsToBlackboard(extCallParameters, blackboard, fitnessFunction::gradeFor);
+		try {
+			this.measureFitnessAndAddResultsToBlackboard(seffBranches, blackboard, fitnessFunction::gradeAllFor);
+			this.measureFitnessAndAddResultsToBlackboard(seffLoops, blackboard, fitnessFunction::gradeAllFor);
+			this.measureFitnessAndAddResultsToBlackboard(rdias, blackboard, fitnessFunction::gradeAllFor);
+			this.measureFitnessAndAddResultsToBlackboard(extCallParameters, blackboard, fitnessFunction::gradeAllFor);
+		} finally {
+			if (this.judgingPool != null) {
+				this.judgingPool.shutdown();
+				this.judgingPool = null;
+			}
+		}
 	}
 
 	/**
@@ -178,26 +231,81 @@ public class FinalJudge implements BlackboardStorer<FinalJudgeData> {
 		final EvaluableExpressionFitnessFunctionBlackboardView fitnessFunctionView =
 			new ProposedExpressionAnalyserBlackboardView(blackboard);
 
-		for (final SEFF_ELEMENT_TYPE seffElement : measurableSeffElements) {
+		final List<SEFF_ELEMENT_TYPE> seffElements = new ArrayList<>(measurableSeffElements);
+		final FitnessValueCache cache = this.data.getFitnessValueCache();
+		final List<List<EvaluableExpression>> proposedExpressions = new ArrayList<>(seffElements.size());
+		final int[] versions = new int[seffElements.size()];
+		final double[][] fitnessValues = new double[seffElements.size()][];
+		final List<List<EvaluableExpression>> ungradedExpressions = new ArrayList<>(seffElements.size());
+		final double[][] freshFitnessValues = new double[seffElements.size()][];
+
+		// Look up the fitness values that are still valid. Only expressions that were not
+		// graded for the current measurement results need to be graded.
+		for (int i = 0; i < seffElements.size(); i++) {
+			final SEFF_ELEMENT_TYPE seffElement = seffElements.get(i);
+			final List<EvaluableExpression> proposals =
+				new ArrayList<>(blackboard.getProposedExpressionFor(seffElement));
+			final List<EvaluableExpression> ungraded = new ArrayList<>();
+			versions[i] = blackboard.getMeasurementResultsVersionFor(seffElement);
+			fitnessValues[i] = new double[proposals.size()];
+			for (int j = 0; j < proposals.size(); j++) {
+				final Double cachedValue = cache.lookup(seffElement, proposals.get(j), versions[i]);
+				if (cachedValue == null) {
+					ungraded.add(proposals.get(j));
+				} else {
+					fitnessValues[i][j] = cachedValue;
+				}
+			}
+			proposedExpressions.add(proposals);
+			ungradedExpressions.add(ungraded);
+		}
+
+		final IntConsumer judgement = (index) -> {
+			// Grade all ungraded proposals at once, so the fitness function can fetch the
+			// measurement results only once.
+			if (!ungradedExpressions.get(index).isEmpty()) {
+				freshFitnessValues[index] = fitnessFunction.gradeAllFor(seffElements.get(index),
+					ungradedExpressions.get(index), fitnessFunctionView);
+			}
+		};
+
+		if (this.judgingPool == null) {
+			for (int i = 0; i < seffElements.size(); i++) {
+				judgement.accept(i);
+			}
+		} else {
+			this.judgingPool.invoke(new JudgingTask(judgement, 0, seffElements.size()));
+		}
+
+		// Only write on the analysis thread and in the elements’ order, so the results
+		// are the same, no matter how the elements were judged.
+		for (int i = 0; i < seffElements.size(); i++) {
+			final List<EvaluableExpression> proposals = proposedExpressions.get(i);
+			final List<EvaluableExpression> ungraded = ungradedExpressions.get(i);
+			int freshIndex = 0;
 			double fittest = MAX_CONSIDERED_FITNESS_VALUE;
 			EvaluableExpression bestExpression = null;
-			// Then let it attain a better fitness if possible.
-			for (final EvaluableExpression proposedExpression : blackboard.getProposedExpressionFor(seffElement)) {
-				final double fitnessValue =
-					fitnessFunction.gradeFor(seffElement, proposedExpression, fitnessFunctionView);
+
+			for (int j = 0; j < proposals.size(); j++) {
+				// The ungraded expressions are a subsequence of the proposed ones.
+				if (freshIndex < ungraded.size() && ungraded.get(freshIndex) == proposals.get(j)) {
+					fitnessValues[i][j] = freshFitnessValues[i][freshIndex];
+					cache.store(seffElements.get(i), proposals.get(j), versions[i], fitnessValues[i][j]);
+					freshIndex++;
+				}
+
 				// This has to be smaller-than (not smaller) because {@code fittest}
 				// starts out as {@code MAX_CONSIDERED_FITNESS_VALUE}, not higher.
-				if (fitnessValue <= fittest) {
-					fittest = fitnessValue;
-					bestExpression = proposedExpression;
+				if (fitnessValues[i][j] <= fittest) {
+					fittest = fitnessValues[i][j];
+					bestExpression = proposals.get(j);
 				}
-
 			}
 
 			this.data.addFittestValue(fittest);
 
 			// Add the best expression to the blackboard.
-			blackboard.setFinalExpressionFor(seffElement, bestExpression);
+			blackboard.setFinalExpressionFor(seffElements.get(i), bestExpression);
 		}
 
 		return true;
@@ -263,7 +371,7 @@ public class FinalJudge implements BlackboardStorer<FinalJudgeData> {
 	}
 
 	/**
-	 * Provides the method {@code EvaluableExpressionFitnessFunction#gradeFor} for a
+	 * Provides the method {@code EvaluableExpressionFitnessFunction#gradeAllFor} for a
 	 * specified {@code SEFF_ELEMENT_TYPE}.
 	 *
 	 * @author Christoph Michelbach
@@ -273,18 +381,75 @@ public class FinalJudge implements BlackboardStorer<FinalJudgeData> {
 	private interface TypedFitnessFunction<SEFF_ELEMENT_TYPE extends MeasurableSeffElement> {
 
 		/**
-		 * Provides the method {@code EvaluableExpressionFitnessFunction#gradeFor} for a
-		 * specified {@code SEFF_ELEMENT_TYPE}.
+		 * Provides the method {@code EvaluableExpressionFitnessFunction#gradeAllFor} for
+		 * a specified {@code SEFF_ELEMENT_TYPE}.
 		 *
 		 * @param seffElement A SEFF element. Must not be {@code null}.
-		 * @param expression An expression proposed to describe {@code seffElement}’s
+		 * @param expressions Expressions proposed to describe {@code seffElement}’s
 		 *            measurement results. Must not be {@code null}.
 		 * @param blackboard Beagle’s blackboard instance. Must not be {@code null}.
-		 * @return A value judging how well {@code expression} fits to describe the
-		 *         corresponding measurement results. Will be a value between 0 and
+		 * @return Values judging how well each of {@code expressions} fits to describe
+		 *         the corresponding measurement results, in the order of
+		 *         {@code expressions}. Will be values between 0 and
 		 *         {@link Double#MAX_VALUE}. The lower the value, the better the fitness.
 		 */
-		double gradeFor(SEFF_ELEMENT_TYPE seffElement, EvaluableExpression expression,
+		double[] gradeAllFor(SEFF_ELEMENT_TYPE seffElement, List<EvaluableExpression> expressions,
 			EvaluableExpressionFitnessFunctionBlackboardView blackboard);
 	}
+
+	/**
+	 * Judges a range of SEFF elements, splitting the range into halves until it is small
+	 * enough.
+	 *
+	 * @author Joshua Gleitze
+	 */
+	private static final class JudgingTask extends RecursiveAction {
+
+		/**
+		 * Serialisation version UID, see {@link java.io.Serializable}.
+		 */
+		private static final long serialVersionUID = -1586227360398614573L;
+
+		/**
+		 * Judges the SEFF element at the given index.
+		 */
+		private final transient IntConsumer judgement;
+
+		/**
+		 * The first index to judge.
+		 */
+		private final int from;
+
+		/**
+		 * The index after the last index to judge.
+		 */
+		private final int until;
+
+		/**
+		 * Creates a task judging the indices {@code from} (inclusive) to {@code until}
+		 * (exclusive).
+		 *
+		 * @param judgement Judges the SEFF element at the given index.
+		 * @param from The first index to judge.
+		 * @param until The index after the last index to judge.
+		 */
+		private JudgingTask(final IntConsumer judgement, final int from, final int until) {
+			this.judgement = judgement;
+			this.from = from;
+			this.until = until;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.until - this.from <= JUDGING_TASK_THRESHOLD) {
+				for (int i = this.from; i < this.until; i++) {
+					this.judgement.accept(i);
+				}
+			} else {
+				final int middle = (this.from + this.until) >>> 1;
+				invokeAll(new JudgingTask(this.judgement, this.from, middle),
+					new JudgingTask(this.judgement, middle, this.until));
+			}
+		}
+	}
 }
@@ -41,6 +41,13 @@ class FinalJudgeData implements Serializable {
 	 */
 	private double fitnessBaselineValue = Double.POSITIVE_INFINITY;
 
+	/**
+	 * The fitness values determined in previous generations. Proposed expressions are
+	 * not serialisable, so the cache is not either. It is rebuilt after
+	 * deserialisation, which only costs regrading the proposed expressions once.
+	 */
+	private transient FitnessValueCache fitnessValueCache;
+
 	/**
 	 * Returns {@code numberOfGenerationsWithoutSignificantImprovementPassed}.
 	 *
@@ -108,6 +115,18 @@ class FinalJudgeData implements Serializable {
 		return this.fittestValues.stream().mapToDouble(value -> value);
 	}
 
+	/**
+	 * Returns the cache holding the fitness values determined in previous generations.
+	 *
+	 * @return The fitness value cache. Is never {@code null}.
+	 */
+	public FitnessValueCache getFitnessValueCache() {
+		if (this.fitnessValueCache == null) {
+			this.fitnessValueCache = new FitnessValueCache();
+		}
+		return this.fitnessValueCache;
+	}
+
 	/**
 	 * Returns whether {@link FinalJudge#judge(de.uka.ipd.sdq.beagle.core.Blackboard)}
 	 * will return {@code true} for sure.
@@ -0,0 +1,219 @@
+package de.uka.ipd.sdq.beagle.core.judge;
+
+import de.uka.ipd.sdq.beagle.core.MeasurableSeffElement;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableExpression;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers the fitness values {@link FinalJudge} determined for proposed expressions.
+ * A fitness value is only valid as long as the measurement results of its SEFF element
+ * do not change. Values are thus stored for a SEFF element, an expression and the
+ * {@linkplain de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementResultsVersionFor
+ * version of the element’s measurement results}. Values for outdated versions are never
+ * looked up again and will eventually be evicted.
+ *
+ * <p>The cache holds at most {@link #getCapacity()} values. If it is full, the value that
+ * was least recently used is evicted to make room for new values. This class is not
+ * thread safe.
+ *
+ * @author Joshua Gleitze
+ */
+public class FitnessValueCache {
+
+	/**
+	 * The capacity of caches created through the default constructor.
+	 */
+	static final int DEFAULT_CAPACITY = 1 << 16;
+
+	/**
+	 * The initial capacity of the map holding the cached values.
+	 */
+	private static final int INITIAL_MAP_CAPACITY = 16;
+
+	/**
+	 * The load factor of the map holding the cached values.
+	 */
+	private static final float LOAD_FACTOR = 0.75f;
+
+	/**
+	 * The cached fitness values, in access order.
+	 */
+	private final Map<CacheKey, Double> fitnessValues;
+
+	/**
+	 * The maximum number of fitness values this cache holds.
+	 */
+	private final int capacity;
+
+	/**
+	 * How many lookups found a cached fitness value.
+	 */
+	private long hitCount;
+
+	/**
+	 * How many lookups did not find a cached fitness value.
+	 */
+	private long missCount;
+
+	/**
+	 * Creates a cache holding at most {@link #DEFAULT_CAPACITY} fitness values.
+	 */
+	FitnessValueCache() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a cache holding at most {@code capacity} fitness values.
+	 *
+	 * @param capacity The maximum number of fitness values the cache holds. Must be
+	 *            positive.
+	 */
+	FitnessValueCache(final int capacity) {
+		Validate.isTrue(capacity > 0, "The capacity must be positive, but was %d", capacity);
+		this.capacity = capacity;
+		this.fitnessValues = new LinkedHashMap<CacheKey, Double>(INITIAL_MAP_CAPACITY, LOAD_FACTOR, true) {
+
+			/**
+			 * Serialisation version UID, see {@link java.io.Serializable}.
+			 */
+			private static final long serialVersionUID = 4632187564711032917L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<CacheKey, Double> eldest) {
+				return this.size() > FitnessValueCache.this.capacity;
+			}
+		};
+	}
+
+	/**
+	 * Looks up the fitness value of {@code expression} for {@code element}.
+	 *
+	 * @param element The SEFF element {@code expression} was proposed for.
+	 * @param expression The proposed expression.
+	 * @param version The current version of {@code element}’s measurement results.
+	 * @return The cached fitness value or {@code null} if there is none for this
+	 *         version of {@code element}’s measurement results.
+	 */
+	Double lookup(final MeasurableSeffElement element, final EvaluableExpression expression, final int version) {
+		final Double fitnessValue = this.fitnessValues.get(new CacheKey(element, expression, version));
+		if (fitnessValue == null) {
+			this.missCount++;
+		} else {
+			this.hitCount++;
+		}
+		return fitnessValue;
+	}
+
+	/**
+	 * Remembers the fitness value of {@code expression} for {@code element}.
+	 *
+	 * @param element The SEFF element {@code expression} was proposed for.
+	 * @param expression The proposed expression.
+	 * @param version The version of {@code element}’s measurement results
+	 *            {@code fitnessValue} was determined for.
+	 * @param fitnessValue The fitness value to remember.
+	 */
+	void store(final MeasurableSeffElement element, final EvaluableExpression expression, final int version,
+		final double fitnessValue) {
+		this.fitnessValues.put(new CacheKey(element, expression, version), fitnessValue);
+	}
+
+	/**
+	 * Gets how many lookups found a cached fitness value.
+	 *
+	 * @return The number of cache hits.
+	 */
+	public long getHitCount() {
+		return this.hitCount;
+	}
+
+	/**
+	 * Gets how many lookups did not find a cached fitness value.
+	 *
+	 * @return The number of cache misses.
+	 */
+	public long getMissCount() {
+		return this.missCount;
+	}
+
+	/**
+	 * Gets the number of fitness values currently held by this cache.
+	 *
+	 * @return The number of cached fitness values. Is never greater than
+	 *         {@link #getCapacity()}.
+	 */
+	public int size() {
+		return this.fitnessValues.size();
+	}
+
+	/**
+	 * Gets the maximum number of fitness values this cache holds.
+	 *
+	 * @return This cache’s capacity.
+	 */
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+	/**
+	 * Identifies a cached fitness value.
+	 *
+	 * @author Joshua Gleitze
+	 */
+	private static final class CacheKey {
+
+		/**
+		 * The SEFF element the expression was proposed for.
+		 */
+		private final MeasurableSeffElement element;
+
+		/**
+		 * The proposed expression.
+		 */
+		private final EvaluableExpression expression;
+
+		/**
+		 * The version of the element’s measurement results.
+		 */
+		private final int version;
+
+		/**
+		 * Creates a key.
+		 *
+		 * @param element The SEFF element the expression was proposed for.
+		 * @param expression The proposed expression.
+		 * @param version The version of the element’s measurement results.
+		 */
+		private CacheKey(final MeasurableSeffElement element, final EvaluableExpression expression, final int version) {
+			this.element = element;
+			this.expression = expression;
+			this.version = version;
+		}
+
+		@Override
+		public boolean equals(final Object object) {
+			if (object == this) {
+				return true;
+			}
+			if (object == null || object.getClass() != this.getClass()) {
+				return false;
+			}
+			final CacheKey other = (CacheKey) object;
+			return this.version == other.version && this.element.equals(other.element)
+				&& this.expression.equals(other.expression);
+		}
+
+		@Override
+		public int hashCode() {
+			// you pick a hard-coded, randomly chosen, non-zero, odd number
+			// ideally different for each class
+			return new HashCodeBuilder(293, 67).append(this.element).append(this.expression).append(this.version)
+				.toHashCode();
+		}
+	}
+}
@@ -6,10 +6,12 @@ package de.uka.ipd.sdq.beagle.core.measurement;
  */
 
 import de.uka.ipd.sdq.beagle.core.measurement.order.CodeSectionEnteredEvent;
+import de.uka.ipd.sdq.beagle.core.measurement.order.CodeSectionExecutionsCountedEvent;
 import de.uka.ipd.sdq.beagle.core.measurement.order.CodeSectionLeftEvent;
 import de.uka.ipd.sdq.beagle.core.measurement.order.MeasurementEventVisitor;
 import de.uka.ipd.sdq.beagle.core.measurement.order.ParameterValueCapturedEvent;
 import de.uka.ipd.sdq.beagle.core.measurement.order.ResourceDemandCapturedEvent;
+import de.uka.ipd.sdq.beagle.core.measurement.order.ResourceDemandSummaryCapturedEvent;
 
 /**
  * Convenient class for implementing {@link MeasurementEventVisitor}. It provides an empty
@@ -35,4 +37,12 @@ public abstract class AbstractMeasurementEventVisitor implements MeasurementEven
 	public void visit(final ParameterValueCapturedEvent parameterValueCapturedEvent) {
 	}
 
+	@Override
+	public void visit(final ResourceDemandSummaryCapturedEvent resourceDemandSummaryCapturedEvent) {
+	}
+
+	@Override
+	public void visit(final CodeSectionExecutionsCountedEvent codeSectionExecutionsCountedEvent) {
+	}
+
 }
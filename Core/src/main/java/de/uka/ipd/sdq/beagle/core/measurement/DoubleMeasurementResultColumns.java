@@ -0,0 +1,113 @@
+package de.uka.ipd.sdq.beagle.core.measurement;
+
+import org.apache.commons.lang3.Validate;
+
+import java.io.Serializable;
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * {@link MeasurementResultColumns} storing the measured values in a {@code double}
+ * column.
+ *
+ * @param <RESULT_TYPE> The type of the results stored in the columns.
+ * @author Joshua Gleitze
+ */
+public class DoubleMeasurementResultColumns<RESULT_TYPE extends ParameterisationDependentMeasurementResult>
+		extends MeasurementResultColumns<RESULT_TYPE> {
+
+	/**
+	 * Serialisation version UID, see {@link java.io.Serializable}.
+	 */
+	private static final long serialVersionUID = 5287731947016284025L;
+
+	/**
+	 * Obtains the value to store from a result.
+	 */
+	private final SerializableToDoubleFunction<RESULT_TYPE> valueAccessor;
+
+	/**
+	 * Creates results from the columns’ entries.
+	 */
+	private final SerializableDoubleResultFactory<RESULT_TYPE> resultFactory;
+
+	/**
+	 * The value column.
+	 */
+	private double[] values = new double[INITIAL_CAPACITY];
+
+	/**
+	 * Creates empty columns.
+	 *
+	 * @param valueAccessor Obtains the value to store in the value column from a result.
+	 *            Must not be {@code null}.
+	 * @param resultFactory Creates a result from a parameterisation and a value, such
+	 *            that {@code valueAccessor} returns the value for the created result.
+	 *            Must not be {@code null}.
+	 */
+	public DoubleMeasurementResultColumns(final SerializableToDoubleFunction<RESULT_TYPE> valueAccessor,
+		final SerializableDoubleResultFactory<RESULT_TYPE> resultFactory) {
+		Validate.notNull(valueAccessor);
+		Validate.notNull(resultFactory);
+		this.valueAccessor = valueAccessor;
+		this.resultFactory = resultFactory;
+	}
+
+	/**
+	 * Gets a read only view on the value column. The returned buffer’s position is
+	 * {@code 0}, its limit and capacity are the number of results added so far. The
+	 * buffer is backed by the column, but not affected by results added later.
+	 *
+	 * @return A read only view on the values of all results added so far.
+	 */
+	public synchronized DoubleBuffer getValues() {
+		return DoubleBuffer.wrap(this.values, 0, this.size()).slice().asReadOnlyBuffer();
+	}
+
+	@Override
+	protected void growValues(final int capacity) {
+		this.values = Arrays.copyOf(this.values, capacity);
+	}
+
+	@Override
+	protected void storeValue(final int fromIndex, final int toIndex, final RESULT_TYPE result) {
+		Arrays.fill(this.values, fromIndex, toIndex, this.valueAccessor.applyAsDouble(result));
+	}
+
+	@Override
+	protected RESULT_TYPE restoreResult(final int index, final Parameterisation parameterisation) {
+		return this.resultFactory.create(parameterisation, this.values[index]);
+	}
+
+	/**
+	 * A {@link ToDoubleFunction} that can be serialised along with the columns.
+	 *
+	 * @param <RESULT_TYPE> The type of the results values are obtained from.
+	 * @author Joshua Gleitze
+	 */
+	@FunctionalInterface
+	public interface SerializableToDoubleFunction<RESULT_TYPE> extends ToDoubleFunction<RESULT_TYPE>, Serializable {
+	}
+
+	/**
+	 * Creates a result from a parameterisation and a {@code double} value. Can be serialised
+	 * along with the columns.
+	 *
+	 * @param <RESULT_TYPE> The type of the created results.
+	 * @author Joshua Gleitze
+	 */
+	@FunctionalInterface
+	public interface SerializableDoubleResultFactory<RESULT_TYPE> extends Serializable {
+
+		/**
+		 * Creates a result.
+		 *
+		 * @param parameterisation The result’s parameterisation. {@code null} if no
+		 *            parameterisation was recorded for the result.
+		 * @param value The result’s value.
+		 * @return The created result.
+		 */
+		RESULT_TYPE create(Parameterisation parameterisation, double value);
+	}
+}
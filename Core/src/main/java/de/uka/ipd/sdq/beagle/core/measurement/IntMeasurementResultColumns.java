@@ -0,0 +1,113 @@
+package de.uka.ipd.sdq.beagle.core.measurement;
+
+import org.apache.commons.lang3.Validate;
+
+import java.io.Serializable;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.function.ToIntFunction;
+
+/**
+ * {@link MeasurementResultColumns} storing the measured values in an {@code int}
+ * column.
+ *
+ * @param <RESULT_TYPE> The type of the results stored in the columns.
+ * @author Joshua Gleitze
+ */
+public class IntMeasurementResultColumns<RESULT_TYPE extends ParameterisationDependentMeasurementResult>
+		extends MeasurementResultColumns<RESULT_TYPE> {
+
+	/**
+	 * Serialisation version UID, see {@link java.io.Serializable}.
+	 */
+	private static final long serialVersionUID = -7452260385913387264L;
+
+	/**
+	 * Obtains the value to store from a result.
+	 */
+	private final SerializableToIntFunction<RESULT_TYPE> valueAccessor;
+
+	/**
+	 * Creates results from the columns’ entries.
+	 */
+	private final SerializableIntResultFactory<RESULT_TYPE> resultFactory;
+
+	/**
+	 * The value column.
+	 */
+	private int[] values = new int[INITIAL_CAPACITY];
+
+	/**
+	 * Creates empty columns.
+	 *
+	 * @param valueAccessor Obtains the value to store in the value column from a result.
+	 *            Must not be {@code null}.
+	 * @param resultFactory Creates a result from a parameterisation and a value, such
+	 *            that {@code valueAccessor} returns the value for the created result.
+	 *            Must not be {@code null}.
+	 */
+	public IntMeasurementResultColumns(final SerializableToIntFunction<RESULT_TYPE> valueAccessor,
+		final SerializableIntResultFactory<RESULT_TYPE> resultFactory) {
+		Validate.notNull(valueAccessor);
+		Validate.notNull(resultFactory);
+		this.valueAccessor = valueAccessor;
+		this.resultFactory = resultFactory;
+	}
+
+	/**
+	 * Gets a read only view on the value column. The returned buffer’s position is
+	 * {@code 0}, its limit and capacity are the number of results added so far. The
+	 * buffer is backed by the column, but not affected by results added later.
+	 *
+	 * @return A read only view on the values of all results added so far.
+	 */
+	public synchronized IntBuffer getValues() {
+		return IntBuffer.wrap(this.values, 0, this.size()).slice().asReadOnlyBuffer();
+	}
+
+	@Override
+	protected void growValues(final int capacity) {
+		this.values = Arrays.copyOf(this.values, capacity);
+	}
+
+	@Override
+	protected void storeValue(final int fromIndex, final int toIndex, final RESULT_TYPE result) {
+		Arrays.fill(this.values, fromIndex, toIndex, this.valueAccessor.applyAsInt(result));
+	}
+
+	@Override
+	protected RESULT_TYPE restoreResult(final int index, final Parameterisation parameterisation) {
+		return this.resultFactory.create(parameterisation, this.values[index]);
+	}
+
+	/**
+	 * A {@link ToIntFunction} that can be serialised along with the columns.
+	 *
+	 * @param <RESULT_TYPE> The type of the results values are obtained from.
+	 * @author Joshua Gleitze
+	 */
+	@FunctionalInterface
+	public interface SerializableToIntFunction<RESULT_TYPE> extends ToIntFunction<RESULT_TYPE>, Serializable {
+	}
+
+	/**
+	 * Creates a result from a parameterisation and an {@code int} value. Can be serialised
+	 * along with the columns.
+	 *
+	 * @param <RESULT_TYPE> The type of the created results.
+	 * @author Joshua Gleitze
+	 */
+	@FunctionalInterface
+	public interface SerializableIntResultFactory<RESULT_TYPE> extends Serializable {
+
+		/**
+		 * Creates a result.
+		 *
+		 * @param parameterisation The result’s parameterisation. {@code null} if no
+		 *            parameterisation was recorded for the result.
+		 * @param value The result’s value.
+		 * @return The created result.
+		 */
+		RESULT_TYPE create(Parameterisation parameterisation, int value);
+	}
+}
@@ -7,7 +7,6 @@ import de.uka.ipd.sdq.beagle.core.ExternalCallParameter;
 import de.uka.ipd.sdq.beagle.core.ResourceDemandingInternalAction;
 import de.uka.ipd.sdq.beagle.core.SeffBranch;
 import de.uka.ipd.sdq.beagle.core.SeffLoop;
-import de.uka.ipd.sdq.beagle.core.measurement.order.MeasurementEvent;
 import de.uka.ipd.sdq.beagle.core.measurement.order.MeasurementOrder;
 import de.uka.ipd.sdq.beagle.core.measurement.order.ParameterCharacteriser;
 
@@ -20,7 +19,10 @@ import java.util.Set;
 /**
  * Controls which measurement tool is working.
  *
- * <p>There is always at most one measurement tool working.
+ * <p>There is always at most one measurement tool working. Results are added to the
+ * blackboard each time a measurement tool reports a completed part of its measurement.
+ * The events of each part are parsed by a {@link MeasurementEventSink}, so they are not
+ * copied or indexed.
  *
  * @author Roman Langrehr
  * @author Christoph Michelbach
@@ -85,6 +87,25 @@ public class MeasurementController {
 	 * @param blackboard The blackboard. Must not be {@code null}.
 	 */
 	public void measure(final MeasurementControllerBlackboardView blackboard) {
+		this.prepareMeasurement(blackboard).run();
+	}
+
+	/**
+	 * Prepares a measurement of all items marked as “to be measured”. The items are read
+	 * from {@code blackboard} when this method is called. Afterwards, the items to be
+	 * measured may be changed without affecting the returned measurement. The
+	 * measurement may thus run on another thread while the analysis goes on. It adds
+	 * results to the blackboard each time a {@link MeasurementTool} reports a completed
+	 * part of its measurement.
+	 *
+	 * <p>This method may only be called, when {@link #canMeasure} returned {@code true}
+	 * before and the {@link Blackboard} wasn't changed between this call. Otherwise the
+	 * behaviour of the returned measurement is undefined.
+	 *
+	 * @param blackboard The blackboard. Must not be {@code null}.
+	 * @return Executes the measurement when being run. Must be run at most once.
+	 */
+	public Runnable prepareMeasurement(final MeasurementControllerBlackboardView blackboard) {
 		Validate.notNull(blackboard);
 
 		// Read from the blackboard.
@@ -125,107 +146,17 @@ public class MeasurementController {
 			parameterValueSections.add(codeSection);
 		}
 
-		for (final MeasurementTool measurementTool : this.measurementTools) {
-			// Give every measurement tool a measurement order.
-			final MeasurementOrder measurementOrder =
-				new MeasurementOrder(parameterValueSections, resourceDemandSections, executionSections,
-					blackboard.getProjectInformation(), this.parameterCharacteriser);
-
-			// Get the measurement results.
-			final List<MeasurementEvent> measurementEvents = measurementTool.measure(measurementOrder);
+		return () -> {
+			for (final MeasurementTool measurementTool : this.measurementTools) {
+				// Give every measurement tool a measurement order.
+				final MeasurementOrder measurementOrder =
+					new MeasurementOrder(parameterValueSections, resourceDemandSections, executionSections,
+						blackboard.getProjectInformation(), this.parameterCharacteriser);
 
-			// Construct a measurement event parser.
-			final MeasurementEventParser measurementEventParser = new MeasurementEventParser(measurementEvents);
-
-			// Add the measurement results to the blackboard.
-			this.addMeasurementResultsOfSeffBranchesToBlackboard(seffBranches, blackboard, measurementEventParser);
-			this.addMeasurementResultsOfSeffLoopsToBlackboard(seffLoops, blackboard, measurementEventParser);
-			this.addMeasurementResultsOfRdiasToBlackboard(rdias, blackboard, measurementEventParser);
-			this.addMeasurementResultsOfExternalCallParametersToBlackboard(externalCallParameters, blackboard,
-				measurementEventParser);
-		}
-	}
-
-	/**
-	 * Adds all measurement results of {@code seffBranches} to the blackboard.
-	 *
-	 * @param seffBranches The seff branches.
-	 * @param blackboard The blackboard.
-	 * @param measurementEventParser A measurement result parser.
-	 */
-	private void addMeasurementResultsOfSeffBranchesToBlackboard(final Set<SeffBranch> seffBranches,
-		final MeasurementControllerBlackboardView blackboard, final MeasurementEventParser measurementEventParser) {
-
-		for (final SeffBranch seffBranch : seffBranches) {
-			final Set<BranchDecisionMeasurementResult> branchDecisionMeasurementResults =
-				measurementEventParser.getMeasurementResultsFor(seffBranch);
-
-			for (final BranchDecisionMeasurementResult branchDecisionMeasurementResult : branchDecisionMeasurementResults) {
-				blackboard.addMeasurementResultFor(seffBranch, branchDecisionMeasurementResult);
+				// Parse the events of each completed part of the measurement while they are passed.
+				measurementTool.measure(measurementOrder, () -> new MeasurementEventSink(seffBranches, seffLoops,
+					rdias, externalCallParameters, blackboard));
 			}
-
-		}
-	}
-
-	/**
-	 * Adds all measurement results of {@code seffLoops} to the blackboard.
-	 *
-	 * @param seffLoops The seff loops.
-	 * @param blackboard The blackboard.
-	 * @param measurementEventParser A measurement result parser.
-	 */
-	private void addMeasurementResultsOfSeffLoopsToBlackboard(final Set<SeffLoop> seffLoops,
-		final MeasurementControllerBlackboardView blackboard, final MeasurementEventParser measurementEventParser) {
-
-		for (final SeffLoop seffLoop : seffLoops) {
-			final Set<LoopRepetitionCountMeasurementResult> loopRepetitionCountMeasurementResults =
-				measurementEventParser.getMeasurementResultsFor(seffLoop);
-			// @formatter:off
-			for (final LoopRepetitionCountMeasurementResult loopRepetitionCountMeasurementResult
-				: loopRepetitionCountMeasurementResults) {
-				// @formatter:on
-
-				blackboard.addMeasurementResultFor(seffLoop, loopRepetitionCountMeasurementResult);
-			}
-		}
-	}
-
-	/**
-	 * Adds all measurement results of {@code rdias} to the blackboard.
-	 *
-	 * @param rdias The rdias.
-	 * @param blackboard The blackboard.
-	 * @param measurementEventParser A measurement result parser.
-	 */
-	private void addMeasurementResultsOfRdiasToBlackboard(final Set<ResourceDemandingInternalAction> rdias,
-		final MeasurementControllerBlackboardView blackboard, final MeasurementEventParser measurementEventParser) {
-		for (final ResourceDemandingInternalAction rdia : rdias) {
-			final Set<ResourceDemandMeasurementResult> resourceDemandMeasurementResults =
-				measurementEventParser.getMeasurementResultsFor(rdia);
-
-			for (final ResourceDemandMeasurementResult resourceDemandMeasurementResult : resourceDemandMeasurementResults) {
-				blackboard.addMeasurementResultFor(rdia, resourceDemandMeasurementResult);
-			}
-		}
-	}
-
-	/**
-	 * Adds all measurement results of {@code externalCallParameters} to the blackboard.
-	 *
-	 * @param externalCallParameters The external call parameters.
-	 * @param blackboard The blackboard.
-	 * @param measurementEventParser A measurement result parser.
-	 */
-	private void addMeasurementResultsOfExternalCallParametersToBlackboard(
-		final Set<ExternalCallParameter> externalCallParameters, final MeasurementControllerBlackboardView blackboard,
-		final MeasurementEventParser measurementEventParser) {
-		for (final ExternalCallParameter externalCallParameter : externalCallParameters) {
-			final Set<ParameterChangeMeasurementResult> parameterChangeMeasurementResults =
-				measurementEventParser.getMeasurementResultsFor(externalCallParameter);
-
-			for (final ParameterChangeMeasurementResult parameterChangeMeasurementResult : parameterChangeMeasurementResults) {
-				blackboard.addMeasurementResultFor(externalCallParameter, parameterChangeMeasurementResult);
-			}
-		}
+		};
 	}
 }
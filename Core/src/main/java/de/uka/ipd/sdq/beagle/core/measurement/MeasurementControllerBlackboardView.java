@@ -125,6 +125,20 @@ public final class MeasurementControllerBlackboardView {
 		this.blackboard.addMeasurementResultFor(rdia, results);
 	}
 
+	/**
+	 * Delegates to
+	 * {@link Blackboard#addMeasurementSummaryFor(ResourceDemandingInternalAction, ResourceDemandSummaryMeasurementResult)}
+	 * .
+	 *
+	 * @param rdia A resource demanding internal action that was measured. Must not be
+	 *            {@code null}.
+	 * @param summary The summary of the measured executions. Must not be {@code null}.
+	 */
+	public void addMeasurementSummaryFor(final ResourceDemandingInternalAction rdia,
+		final ResourceDemandSummaryMeasurementResult summary) {
+		this.blackboard.addMeasurementSummaryFor(rdia, summary);
+	}
+
 	/**
 	 * Delegates to
 	 * {@link Blackboard#addMeasurementResultFor(SeffLoop, LoopRepetitionCountMeasurementResult)}
@@ -137,6 +151,21 @@ public final class MeasurementControllerBlackboardView {
 		this.blackboard.addMeasurementResultFor(loop, results);
 	}
 
+	/**
+	 * Delegates to
+	 * {@link Blackboard#addMeasurementResultFor(SeffLoop, LoopRepetitionCountMeasurementResult, int)}
+	 * .
+	 *
+	 * @param loop A SEFF Loop was measured. Must not be {@code null}.
+	 * @param results The result of that measurement. Must not be {@code null}.
+	 * @param count How many executions of {@code loop} had the result. Must not be
+	 *            negative.
+	 */
+	public void addMeasurementResultFor(final SeffLoop loop, final LoopRepetitionCountMeasurementResult results,
+		final int count) {
+		this.blackboard.addMeasurementResultFor(loop, results, count);
+	}
+
 	/**
 	 * Delegates to
 	 * {@link Blackboard#addMeasurementResultFor(SeffBranch, BranchDecisionMeasurementResult)}
@@ -149,6 +178,21 @@ public final class MeasurementControllerBlackboardView {
 		this.blackboard.addMeasurementResultFor(branch, results);
 	}
 
+	/**
+	 * Delegates to
+	 * {@link Blackboard#addMeasurementResultFor(SeffBranch, BranchDecisionMeasurementResult, int)}
+	 * .
+	 *
+	 * @param branch A SEFF Branch that was measured. Must not be {@code null}.
+	 * @param results The result of that measurement. Must not be {@code null}.
+	 * @param count How many executions of {@code branch} had the result. Must not be
+	 *            negative.
+	 */
+	public void addMeasurementResultFor(final SeffBranch branch, final BranchDecisionMeasurementResult results,
+		final int count) {
+		this.blackboard.addMeasurementResultFor(branch, results, count);
+	}
+
 	/**
 	 * Delegates to
 	 * {@link Blackboard#addMeasurementResultFor(ExternalCallParameter, ParameterChangeMeasurementResult)}
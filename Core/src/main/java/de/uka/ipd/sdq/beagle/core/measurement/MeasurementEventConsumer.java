@@ -0,0 +1,26 @@
+package de.uka.ipd.sdq.beagle.core.measurement;
+
+import de.uka.ipd.sdq.beagle.core.measurement.order.MeasurementEvent;
+
+import java.util.function.Consumer;
+
+/**
+ * Receives the {@linkplain MeasurementEvent MeasurementEvents} of one part of a
+ * measurement, one event at a time. Events must be passed in the order they occurred in,
+ * starting with the event that occurred first. The events passed to one consumer must be
+ * complete in themselves: They contain all events of the measured code sections’
+ * executions they report. {@link #finish()} must be called after the last event of the
+ * part was passed.
+ *
+ * @author Joshua Gleitze
+ * @see MeasurementTool#measure(de.uka.ipd.sdq.beagle.core.measurement.order.MeasurementOrder,
+ *      java.util.function.Supplier)
+ */
+public interface MeasurementEventConsumer extends Consumer<MeasurementEvent> {
+
+	/**
+	 * Tells the consumer that all events of its part were passed. No events may be
+	 * passed afterwards.
+	 */
+	void finish();
+}
@@ -0,0 +1,400 @@
+package de.uka.ipd.sdq.beagle.core.measurement;
+
+import de.uka.ipd.sdq.beagle.core.CodeSection;
+import de.uka.ipd.sdq.beagle.core.ExternalCallParameter;
+import de.uka.ipd.sdq.beagle.core.ResourceDemandingInternalAction;
+import de.uka.ipd.sdq.beagle.core.SeffBranch;
+import de.uka.ipd.sdq.beagle.core.SeffLoop;
+import de.uka.ipd.sdq.beagle.core.measurement.order.CodeSectionEnteredEvent;
+import de.uka.ipd.sdq.beagle.core.measurement.order.CodeSectionExecutionsCountedEvent;
+import de.uka.ipd.sdq.beagle.core.measurement.order.CodeSectionLeftEvent;
+import de.uka.ipd.sdq.beagle.core.measurement.order.MeasurementEvent;
+import de.uka.ipd.sdq.beagle.core.measurement.order.MeasurementEventVisitor;
+import de.uka.ipd.sdq.beagle.core.measurement.order.ResourceDemandCapturedEvent;
+import de.uka.ipd.sdq.beagle.core.measurement.order.ResourceDemandSummaryCapturedEvent;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+/**
+ * Parses {@linkplain MeasurementEvent MeasurementEvents} while they are pushed into it and
+ * adds the {@linkplain ParameterisationDependentMeasurementResult measurement results}
+ * found in them to the blackboard right away. The sink does not keep the events. The
+ * memory it needs only depends on the SEFF elements it parses results for, and, for
+ * loops, on the depth of recursive loop executions.
+ *
+ * <p>The SEFF elements to parse results for must be known when the sink is created.
+ * Events must be pushed in chronological order, starting with the event that occurred
+ * first. {@link #finish()} must be called after the last event was pushed.
+ *
+ * <p>{@linkplain CodeSectionExecutionsCountedEvent CodeSectionExecutionsCountedEvents}
+ * are added in one step, regardless of how many executions they count: Each counted
+ * execution is a branch decision, and each counted activation of a loop body is one
+ * execution of the loop.
+ *
+ * @author Joshua Gleitze
+ * @author Roman Langrehr
+ */
+public class MeasurementEventSink implements MeasurementEventConsumer {
+
+	/**
+	 * The blackboard found results are added to.
+	 */
+	private final MeasurementControllerBlackboardView blackboard;
+
+	/**
+	 * Maps each code section to the visitors parsing events of this section for a SEFF
+	 * element.
+	 */
+	private final Map<CodeSection, List<MeasurementEventVisitor>> visitorsBySection = new HashMap<>();
+
+	/**
+	 * All visitors parsing loop executions. They need to be notified when the last event
+	 * was pushed.
+	 */
+	private final List<SeffLoopMeasurementEventVisitor> loopVisitors = new ArrayList<>();
+
+	/**
+	 * The position of the event currently parsed in the sequence of all events pushed
+	 * into this sink.
+	 */
+	private long position = -1;
+
+	/**
+	 * Whether {@link #finish()} was called.
+	 */
+	private boolean finished;
+
+	/**
+	 * Creates a sink parsing results for the given SEFF elements.
+	 *
+	 * @param seffBranches The SEFF branches to parse results for. Must not be {@code null}.
+	 * @param seffLoops The SEFF loops to parse results for. Must not be {@code null}.
+	 * @param rdias The resource demanding internal actions to parse results for. Must not
+	 *            be {@code null}.
+	 * @param externalCallParameters The external call parameters to parse results for.
+	 *            Must not be {@code null}. Parsing results for external call parameters
+	 *            is out of our project’s scope, so no results will be found for them.
+	 * @param blackboard The blackboard to add the parsed results to. Must not be
+	 *            {@code null}.
+	 */
+	public MeasurementEventSink(final Set<SeffBranch> seffBranches, final Set<SeffLoop> seffLoops,
+		final Set<ResourceDemandingInternalAction> rdias, final Set<ExternalCallParameter> externalCallParameters,
+		final MeasurementControllerBlackboardView blackboard) {
+		Validate.noNullElements(seffBranches);
+		Validate.noNullElements(seffLoops);
+		Validate.noNullElements(rdias);
+		Validate.noNullElements(externalCallParameters);
+		Validate.notNull(blackboard);
+		this.blackboard = blackboard;
+
+		for (final SeffBranch branch : seffBranches) {
+			final MeasurementEventVisitor branchVisitor = new SeffBranchMeasurementEventVisitor(branch);
+			for (final CodeSection possiblyPickedBranch : new HashSet<>(branch.getBranches())) {
+				this.register(possiblyPickedBranch, branchVisitor);
+			}
+		}
+		for (final SeffLoop loop : seffLoops) {
+			final SeffLoopMeasurementEventVisitor loopVisitor = new SeffLoopMeasurementEventVisitor(loop);
+			this.loopVisitors.add(loopVisitor);
+			this.register(loop.getLoopBody(), loopVisitor);
+		}
+		for (final ResourceDemandingInternalAction rdia : rdias) {
+			this.register(rdia.getAction(), new ResourceDemandingInternalActionMeasurementEventVisitor(rdia));
+		}
+	}
+
+	/**
+	 * Parses {@code event}. It must have occurred after all events that were pushed into
+	 * this sink before.
+	 *
+	 * @param event The next event. Must not be {@code null}.
+	 */
+	@Override
+	public void accept(final MeasurementEvent event) {
+		Validate.notNull(event);
+		Validate.validState(!this.finished, "Events cannot be pushed after the sink was finished.");
+		this.position++;
+		final List<MeasurementEventVisitor> visitors = this.visitorsBySection.get(event.getCodeSection());
+		if (visitors != null) {
+			for (final MeasurementEventVisitor visitor : visitors) {
+				event.receive(visitor);
+			}
+		}
+	}
+
+	/**
+	 * Adds the results that can only be determined after the last event was pushed. This
+	 * method must be called after the last event was pushed. No events may be pushed
+	 * afterwards.
+	 */
+	@Override
+	public void finish() {
+		if (this.finished) {
+			return;
+		}
+		this.finished = true;
+		for (final SeffLoopMeasurementEventVisitor loopVisitor : this.loopVisitors) {
+			loopVisitor.finalise();
+		}
+	}
+
+	/**
+	 * Registers {@code visitor} to receive all events of {@code codeSection}.
+	 *
+	 * @param codeSection A code section.
+	 * @param visitor The visitor to parse the section’s events.
+	 */
+	private void register(final CodeSection codeSection, final MeasurementEventVisitor visitor) {
+		List<MeasurementEventVisitor> visitors = this.visitorsBySection.get(codeSection);
+		if (visitors == null) {
+			visitors = new ArrayList<>();
+			this.visitorsBySection.put(codeSection, visitors);
+		}
+		visitors.add(visitor);
+	}
+
+	/**
+	 * Calls {@code add} with counts summing up to {@code count}. Each count fits into an
+	 * {@code int}.
+	 *
+	 * @param count How many times a result shall be added. Must not be negative.
+	 * @param add Adds a result as many times as it is called with.
+	 */
+	private static void addInChunks(final long count, final IntConsumer add) {
+		long remaining = count;
+		while (remaining > 0) {
+			final int chunk = (int) Math.min(remaining, Integer.MAX_VALUE);
+			add.accept(chunk);
+			remaining -= chunk;
+		}
+	}
+
+	/**
+	 * Creates the measurement result for a summary event.
+	 *
+	 * @param summaryEvent A summary of resource demands.
+	 * @return The measurement result containing the summary.
+	 */
+	private static ResourceDemandSummaryMeasurementResult toSummaryResult(
+		final ResourceDemandSummaryCapturedEvent summaryEvent) {
+		return new ResourceDemandSummaryMeasurementResult(summaryEvent.getBucketValues(), summaryEvent.getBucketCounts(),
+			summaryEvent.getSum(), summaryEvent.getMin(), summaryEvent.getMax());
+	}
+
+	/**
+	 * Parses events of a {@link ResourceDemandingInternalAction}’s code section.
+	 *
+	 * @author Roman Langrehr
+	 */
+	private final class ResourceDemandingInternalActionMeasurementEventVisitor
+		extends AbstractMeasurementEventVisitor {
+
+		/**
+		 * The resource demanding internal action results are parsed for.
+		 */
+		private final ResourceDemandingInternalAction rdia;
+
+		/**
+		 * Creates a visitor for {@code rdia}.
+		 *
+		 * @param rdia The resource demanding internal action to parse results for.
+		 */
+		private ResourceDemandingInternalActionMeasurementEventVisitor(final ResourceDemandingInternalAction rdia) {
+			this.rdia = rdia;
+		}
+
+		@Override
+		public void visit(final ResourceDemandCapturedEvent resourceDemandCapturedEvent) {
+			// Check if this measurement event is for the correct resource type.
+			if (resourceDemandCapturedEvent.getType() == this.rdia.getResourceType()) {
+				MeasurementEventSink.this.blackboard.addMeasurementResultFor(this.rdia,
+					new ResourceDemandMeasurementResult(resourceDemandCapturedEvent.getValue(),
+						resourceDemandCapturedEvent.isDisturbedByGcPause()));
+			}
+		}
+
+		@Override
+		public void visit(final ResourceDemandSummaryCapturedEvent resourceDemandSummaryCapturedEvent) {
+			if (resourceDemandSummaryCapturedEvent.getType() == this.rdia.getResourceType()) {
+				MeasurementEventSink.this.blackboard.addMeasurementSummaryFor(this.rdia,
+					toSummaryResult(resourceDemandSummaryCapturedEvent));
+			}
+		}
+	}
+
+	/**
+	 * Parses events of a {@link SeffBranch}’s code sections.
+	 *
+	 * @author Roman Langrehr
+	 */
+	private final class SeffBranchMeasurementEventVisitor extends AbstractMeasurementEventVisitor {
+
+		/**
+		 * The branch results are parsed for.
+		 */
+		private final SeffBranch branch;
+
+		/**
+		 * Creates a visitor for {@code branch}.
+		 *
+		 * @param branch The branch to parse results for.
+		 */
+		private SeffBranchMeasurementEventVisitor(final SeffBranch branch) {
+			this.branch = branch;
+		}
+
+		@Override
+		public void visit(final CodeSectionEnteredEvent codeSectionEnteredEvent) {
+			final int branchIndex = this.branch.getBranches().indexOf(codeSectionEnteredEvent.getCodeSection());
+			MeasurementEventSink.this.blackboard.addMeasurementResultFor(this.branch,
+				new BranchDecisionMeasurementResult(branchIndex));
+		}
+
+		@Override
+		public void visit(final CodeSectionExecutionsCountedEvent codeSectionExecutionsCountedEvent) {
+			final BranchDecisionMeasurementResult decision = new BranchDecisionMeasurementResult(
+				this.branch.getBranches().indexOf(codeSectionExecutionsCountedEvent.getCodeSection()));
+			// Each execution of the section is a decision for it.
+			final long decisions =
+				codeSectionExecutionsCountedEvent.getIterations() * codeSectionExecutionsCountedEvent.getActivations();
+			addInChunks(decisions,
+				(count) -> MeasurementEventSink.this.blackboard.addMeasurementResultFor(this.branch, decision, count));
+		}
+
+		// We don't care about CodeSectionLeftEvents, because we defined a SeffBranch to
+		// be executed, exactly when it was entered.
+	}
+
+	/**
+	 * Parses events of a {@link SeffLoop}’s body. Loop body executions form one loop
+	 * execution as long as each execution is entered right after the previous one was
+	 * left.
+	 *
+	 * @author Roman Langrehr
+	 * @author Joshua Gleitze
+	 */
+	private final class SeffLoopMeasurementEventVisitor extends AbstractMeasurementEventVisitor {
+
+		/**
+		 * The loop results are parsed for.
+		 */
+		private final SeffLoop loop;
+
+		/**
+		 * The loop executions that are not finished yet. Contains more than one element
+		 * only if the loop was executed recursively. Only the topmost execution may be
+		 * closed.
+		 */
+		private final Deque<LoopExecutionCounter> currentLoopCounts = new ArrayDeque<>();
+
+		/**
+		 * Creates a visitor for {@code loop}.
+		 *
+		 * @param loop The loop to parse results for.
+		 */
+		private SeffLoopMeasurementEventVisitor(final SeffLoop loop) {
+			this.loop = loop;
+		}
+
+		@Override
+		public void visit(final CodeSectionEnteredEvent codeSectionEnteredEvent) {
+			if (this.currentLoopCounts.isEmpty() || this.currentLoopCounts.peek().isOpen) {
+				// The current execution was not finished before this, so we have a
+				// recursive call, or there is no current execution of this loop.
+				this.currentLoopCounts.push(new LoopExecutionCounter());
+			}
+			assert !this.currentLoopCounts.peek().isOpen;
+			final long lastLeftPosition = this.currentLoopCounts.peek().lastCodeSectionLeftEventPosition;
+			if (lastLeftPosition != -1 && lastLeftPosition + 1 != MeasurementEventSink.this.position) {
+				// The loop body executions are not continuous, so a new loop execution
+				// started.
+				this.loopFinished();
+				this.currentLoopCounts.push(new LoopExecutionCounter());
+			}
+			this.currentLoopCounts.peek().numberOfExecutions++;
+			this.currentLoopCounts.peek().isOpen = true;
+		}
+
+		@Override
+		public void visit(final CodeSectionLeftEvent codeSectionLeftEvent) {
+			if (this.currentLoopCounts.isEmpty()) {
+				// A CodeSectionLeftEvent without a CodeSectionEnteredEvent is ignored.
+				return;
+			}
+			if (!this.currentLoopCounts.peek().isOpen) {
+				// The current execution is already finished, so we need to close the one
+				// "below" that.
+				this.loopFinished();
+				if (this.currentLoopCounts.isEmpty()) {
+					return;
+				}
+				assert this.currentLoopCounts.peek().isOpen;
+			}
+			this.currentLoopCounts.peek().isOpen = false;
+			this.currentLoopCounts.peek().lastCodeSectionLeftEventPosition = MeasurementEventSink.this.position;
+		}
+
+		@Override
+		public void visit(final CodeSectionExecutionsCountedEvent codeSectionExecutionsCountedEvent) {
+			// Each activation of the body is one execution of the loop. Repetition counts
+			// are ints on the blackboard.
+			final LoopRepetitionCountMeasurementResult repetitions = new LoopRepetitionCountMeasurementResult(
+				(int) Math.min(codeSectionExecutionsCountedEvent.getIterations(), Integer.MAX_VALUE));
+			addInChunks(codeSectionExecutionsCountedEvent.getActivations(),
+				(count) -> MeasurementEventSink.this.blackboard.addMeasurementResultFor(this.loop, repetitions, count));
+		}
+
+		/**
+		 * Closes all loop executions that were not finished yet.
+		 */
+		private void finalise() {
+			while (!this.currentLoopCounts.isEmpty()) {
+				this.loopFinished();
+			}
+		}
+
+		/**
+		 * Removes the topmost loop execution and adds its result to the blackboard.
+		 */
+		private void loopFinished() {
+			MeasurementEventSink.this.blackboard.addMeasurementResultFor(this.loop,
+				new LoopRepetitionCountMeasurementResult(this.currentLoopCounts.pop().numberOfExecutions));
+		}
+	}
+
+	/**
+	 * The state of a loop execution.
+	 *
+	 * @author Roman Langrehr
+	 */
+	private static final class LoopExecutionCounter {
+
+		/**
+		 * How many times the loop body was executed.
+		 */
+		private int numberOfExecutions;
+
+		/**
+		 * Whether the last execution of the loop body was not finished. (A
+		 * {@link CodeSectionEnteredEvent} was parsed, but not the corresponding
+		 * {@link CodeSectionLeftEvent}.)
+		 */
+		private boolean isOpen;
+
+		/**
+		 * The position of the last {@link CodeSectionLeftEvent} of the loop body in this
+		 * execution, or {@code -1} if there was none yet.
+		 */
+		private long lastCodeSectionLeftEventPosition = -1;
+	}
+}
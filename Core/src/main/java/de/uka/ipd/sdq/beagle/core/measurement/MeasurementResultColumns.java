@@ -0,0 +1,169 @@
+package de.uka.ipd.sdq.beagle.core.measurement;
+
+import org.apache.commons.lang3.Validate;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Columnar storage for the measurement results of one SEFF element. Results are stored
+ * in growable arrays, one entry per result and column, instead of as a set of objects.
+ * Subclasses add a column holding the measured values as primitives, so that readers
+ * can iterate over them without unboxing or copying.
+ *
+ * <p>Columns only ever grow. Entries are never modified once they were added. Views
+ * returned by this class are thus stable: they show all results that were added up to
+ * their creation and are not affected by results added afterwards. Creating a view
+ * never copies the stored data. Unlike a set, the columns store a result each time it
+ * is added, so repeated measurements of the same value are all counted.
+ *
+ * <p>The added result objects themselves are not kept. {@link #asSet()} creates a result
+ * object from the columns for each entry. Results are only equal to themselves, so the
+ * returned set contains an own result for every result that was added, even for
+ * repeated measurements of the same value. The created results are kept once
+ * {@link #asSet()} was called, so all sets obtained from the columns contain the same
+ * result objects for the same entries.
+ *
+ * <p>Columns are thread safe. All accesses synchronise on the columns instance, so
+ * different SEFF elements’ columns can be accessed concurrently. Because entries never
+ * change, views may be read without holding the lock.
+ *
+ * @param <RESULT_TYPE> The type of the results stored in the columns.
+ * @author Joshua Gleitze
+ */
+public abstract class MeasurementResultColumns<RESULT_TYPE extends ParameterisationDependentMeasurementResult>
+		implements Serializable {
+
+	/**
+	 * The capacity columns are created with.
+	 */
+	protected static final int INITIAL_CAPACITY = 16;
+
+	/**
+	 * Serialisation version UID, see {@link java.io.Serializable}.
+	 */
+	private static final long serialVersionUID = -3034726510493541812L;
+
+	/**
+	 * The parameterisation column.
+	 */
+	private Parameterisation[] parameterisations = new Parameterisation[INITIAL_CAPACITY];
+
+	/**
+	 * The results created from the entries by {@link #asSet()}, by index. {@code null}
+	 * until {@link #asSet()} is called the first time. Not serialised, the results are
+	 * created anew after deserialisation.
+	 */
+	private transient List<RESULT_TYPE> restoredResults;
+
+	/**
+	 * How many results have been stored.
+	 */
+	private int size;
+
+	/**
+	 * Adds {@code result} to the columns.
+	 *
+	 * @param result A measurement result. Must not be {@code null}.
+	 */
+	public synchronized void add(final RESULT_TYPE result) {
+		this.add(result, 1);
+	}
+
+	/**
+	 * Adds {@code result} {@code count} times to the columns. This has the same effect
+	 * as calling {@link #add(ParameterisationDependentMeasurementResult)} {@code count}
+	 * times, but fills all entries in one step.
+	 *
+	 * @param result A measurement result. Must not be {@code null}.
+	 * @param count How often {@code result} shall be added. Must not be negative.
+	 */
+	public synchronized void add(final RESULT_TYPE result, final int count) {
+		Validate.notNull(result);
+		Validate.isTrue(count >= 0, "count must not be negative");
+		final int newSize = this.size + count;
+		if (newSize > this.parameterisations.length) {
+			final int capacity = Math.max(this.parameterisations.length * 2, newSize);
+			this.parameterisations = Arrays.copyOf(this.parameterisations, capacity);
+			this.growValues(capacity);
+		}
+		Arrays.fill(this.parameterisations, this.size, newSize, result.getParameterisation());
+		this.storeValue(this.size, newSize, result);
+		this.size = newSize;
+	}
+
+	/**
+	 * Gets how many results have been added to these columns.
+	 *
+	 * @return The number of results in these columns.
+	 */
+	public synchronized int size() {
+		return this.size;
+	}
+
+	/**
+	 * Gets a read only view on the parameterisation column. The {@code i}th entry is the
+	 * parameterisation of the {@code i}th result and may be {@code null} if no
+	 * parameterisation was recorded for it.
+	 *
+	 * @return A read only list of the parameterisations of all results added so far. Is
+	 *         not changed by results added later.
+	 */
+	public synchronized List<Parameterisation> getParameterisations() {
+		return Collections.unmodifiableList(Arrays.asList(this.parameterisations).subList(0, this.size));
+	}
+
+	/**
+	 * Gets all results stored in these columns as a set. This creates a result object for
+	 * every result stored since the last call. Clients only interested in the values or in
+	 * how many results there are should use the views instead.
+	 *
+	 * @return A new set containing one result for each result added so far, holding its
+	 *         value and parameterisation. Results that were added repeatedly are contained
+	 *         as often as they were added. Changes to the returned set will not modify
+	 *         these columns. Is never {@code null}.
+	 */
+	public synchronized Set<RESULT_TYPE> asSet() {
+		if (this.restoredResults == null) {
+			this.restoredResults = new ArrayList<>(this.size);
+		}
+		for (int i = this.restoredResults.size(); i < this.size; i++) {
+			this.restoredResults.add(this.restoreResult(i, this.parameterisations[i]));
+		}
+		return new HashSet<>(this.restoredResults);
+	}
+
+	/**
+	 * Grows the value column to have {@code capacity} entries.
+	 *
+	 * @param capacity The new capacity. Is greater than the current capacity.
+	 */
+	protected abstract void growValues(int capacity);
+
+	/**
+	 * Writes the value of {@code result} to the entries of the value column from
+	 * {@code fromIndex}, inclusive, to {@code toIndex}, exclusive.
+	 *
+	 * @param fromIndex The first index to write to. Is a valid index of the value column
+	 *            if {@code fromIndex < toIndex}.
+	 * @param toIndex The index after the last index to write to. Is not greater than the
+	 *            capacity of the value column.
+	 * @param result The result to store the value of.
+	 */
+	protected abstract void storeValue(int fromIndex, int toIndex, RESULT_TYPE result);
+
+	/**
+	 * Creates a result from the entries at {@code index}.
+	 *
+	 * @param index The index to read from. Is smaller than {@link #size()}.
+	 * @param parameterisation The entry of the parameterisation column at {@code index}.
+	 *            May be {@code null}.
+	 * @return A result holding the entries at {@code index}.
+	 */
+	protected abstract RESULT_TYPE restoreResult(int index, Parameterisation parameterisation);
+}
@@ -4,6 +4,7 @@ import de.uka.ipd.sdq.beagle.core.measurement.order.MeasurementEvent;
 import de.uka.ipd.sdq.beagle.core.measurement.order.MeasurementOrder;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * An analyser that executes the test code an measures certain metrics. Measurement tools
@@ -31,4 +32,32 @@ public interface MeasurementTool {
 	 *         occurred during the measurement.
 	 */
 	List<MeasurementEvent> measure(MeasurementOrder measurementOrder);
+
+	/**
+	 * Executes a measurement, reporting results while measuring. Each time a part of the
+	 * measurement, for example the execution of a launch configuration, is completed, a
+	 * consumer is obtained from {@code partConsumers}. The events the part produced are
+	 * passed to it one at a time, after which it is
+	 * {@linkplain MeasurementEventConsumer#finish() finished}. This method should return
+	 * after the complete measurement finished.
+	 *
+	 * <p>The default implementation passes the result of
+	 * {@link #measure(MeasurementOrder)} as one part. Tools that can produce results
+	 * before the whole measurement is done should override this method, so their
+	 * results can be analysed while they are still measuring. Tools should not keep the
+	 * events they passed on.
+	 *
+	 * @param measurementOrder Container for the information, what to measure and the
+	 *            launch Configurations.
+	 * @param partConsumers Creates a consumer for each completed part of the measurement,
+	 *            receiving all {@linkplain MeasurementEvent MeasurementEvents} of the
+	 *            part, in the order they occurred. The consumers must be obtained and
+	 *            used on the thread executing this method.
+	 */
+	default void measure(final MeasurementOrder measurementOrder,
+		final Supplier<? extends MeasurementEventConsumer> partConsumers) {
+		final MeasurementEventConsumer partConsumer = partConsumers.get();
+		this.measure(measurementOrder).forEach(partConsumer);
+		partConsumer.finish();
+	}
 }
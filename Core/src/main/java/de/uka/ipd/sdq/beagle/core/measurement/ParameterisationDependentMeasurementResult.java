@@ -9,6 +9,9 @@ import org.apache.commons.lang3.builder.ToStringBuilder;
  * does not imply that the {@link Parameterisation} was actually recorded while measuring
  * it.
  *
+ * <p>Each result stands for one measurement. Results are thus only equal to themselves,
+ * even if they hold the same parameterisation and value as another result.
+ *
  * @author Joshua Gleitze
  * @author Roman Langrehr
  */
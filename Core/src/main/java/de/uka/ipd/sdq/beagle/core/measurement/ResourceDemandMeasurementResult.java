@@ -24,6 +24,12 @@ public class ResourceDemandMeasurementResult extends ParameterisationDependentMe
 	 */
 	private final double value;
 
+	/**
+	 * Whether the measured execution overlapped a stop-the-world pause of the garbage
+	 * collector.
+	 */
+	private final boolean disturbedByGcPause;
+
 	/**
 	 * Creates a result for a resource demand measurement for which no parameterisation
 	 * was recorded.
@@ -33,8 +39,24 @@ public class ResourceDemandMeasurementResult extends ParameterisationDependentMe
 	 *            equal or greater than {@code 0}.
 	 */
 	public ResourceDemandMeasurementResult(final double value) {
+		this(value, false);
+	}
+
+	/**
+	 * Creates a result for a resource demand measurement for which no parameterisation
+	 * was recorded, telling whether the measured execution overlapped a stop-the-world
+	 * pause of the garbage collector.
+	 *
+	 * @param value The value measured. The unit is specified by the
+	 *            {@link ResourceDemandingInternalAction}'s type it belongs to. Must be
+	 *            equal or greater than {@code 0}.
+	 * @param disturbedByGcPause Whether the measured execution overlapped a garbage
+	 *            collection pause.
+	 */
+	public ResourceDemandMeasurementResult(final double value, final boolean disturbedByGcPause) {
 		Validate.isTrue(value >= 0, "The measured resources value was negative: %d", value);
 		this.value = value;
+		this.disturbedByGcPause = disturbedByGcPause;
 	}
 
 	/**
@@ -47,9 +69,26 @@ public class ResourceDemandMeasurementResult extends ParameterisationDependentMe
 	 *            greater than {@code 0}.
 	 */
 	public ResourceDemandMeasurementResult(final Parameterisation parameterisation, final double value) {
+		this(parameterisation, value, false);
+	}
+
+	/**
+	 * Creates a result for a parameterised resource demand measurement, telling whether
+	 * the measured execution overlapped a stop-the-world pause of the garbage collector.
+	 *
+	 * @param parameterisation The state of variables during measurement.
+	 * @param value The value measured. The unit is specified by the
+	 *            {@link ResourceDemandingInternalAction}'s type it belongs to. Must be
+	 *            equal or greater than {@code 0}.
+	 * @param disturbedByGcPause Whether the measured execution overlapped a garbage
+	 *            collection pause.
+	 */
+	public ResourceDemandMeasurementResult(final Parameterisation parameterisation, final double value,
+		final boolean disturbedByGcPause) {
 		super(parameterisation);
 		Validate.isTrue(value >= 0, "The measured resources value was negative: %d", value);
 		this.value = value;
+		this.disturbedByGcPause = disturbedByGcPause;
 	}
 
 	/**
@@ -62,6 +101,18 @@ public class ResourceDemandMeasurementResult extends ParameterisationDependentMe
 		return this.value;
 	}
 
+	/**
+	 * Tells whether the measured execution overlapped a stop-the-world pause of the
+	 * garbage collector. If so, the {@linkplain #getValue() value} is inflated by the
+	 * pause. Analysers may want to exclude such results or correct for them.
+	 *
+	 * @return {@code true} if the measured execution overlapped a garbage collection
+	 *         pause.
+	 */
+	public boolean isDisturbedByGcPause() {
+		return this.disturbedByGcPause;
+	}
+
 	@Override
 	public String toString() {
 		return String.format("RDResult@%4.4s<%.2f,%s>", Integer.toHexString(this.hashCode()), this.value,
@@ -0,0 +1,62 @@
+package de.uka.ipd.sdq.beagle.core.measurement;
+
+import java.util.BitSet;
+
+/**
+ * {@link DoubleMeasurementResultColumns} for {@link ResourceDemandMeasurementResult}s.
+ * Adds a column recording whether a result was
+ * {@linkplain ResourceDemandMeasurementResult#isDisturbedByGcPause() disturbed by a
+ * garbage collection pause}.
+ *
+ * @author Joshua Gleitze
+ */
+public class ResourceDemandMeasurementResultColumns
+		extends DoubleMeasurementResultColumns<ResourceDemandMeasurementResult> {
+
+	/**
+	 * Serialisation version UID, see {@link java.io.Serializable}.
+	 */
+	private static final long serialVersionUID = 2609118533489077385L;
+
+	/**
+	 * The garbage collection pause column. Bit {@code i} is set if the {@code i}th result
+	 * was disturbed by a garbage collection pause.
+	 */
+	private final BitSet disturbedByGcPause = new BitSet();
+
+	/**
+	 * Creates empty columns.
+	 */
+	public ResourceDemandMeasurementResultColumns() {
+		super(ResourceDemandMeasurementResult::getValue, ResourceDemandMeasurementResultColumns::createResult);
+	}
+
+	@Override
+	protected void storeValue(final int fromIndex, final int toIndex, final ResourceDemandMeasurementResult result) {
+		super.storeValue(fromIndex, toIndex, result);
+		this.disturbedByGcPause.set(fromIndex, toIndex, result.isDisturbedByGcPause());
+	}
+
+	@Override
+	protected ResourceDemandMeasurementResult restoreResult(final int index, final Parameterisation parameterisation) {
+		final ResourceDemandMeasurementResult result = super.restoreResult(index, parameterisation);
+		if (!this.disturbedByGcPause.get(index)) {
+			return result;
+		}
+		return parameterisation == null ? new ResourceDemandMeasurementResult(result.getValue(), true)
+			: new ResourceDemandMeasurementResult(parameterisation, result.getValue(), true);
+	}
+
+	/**
+	 * Creates a result that was not disturbed by a garbage collection pause.
+	 *
+	 * @param parameterisation The result’s parameterisation. May be {@code null}.
+	 * @param value The result’s value.
+	 * @return The created result.
+	 */
+	private static ResourceDemandMeasurementResult createResult(final Parameterisation parameterisation,
+		final double value) {
+		return parameterisation == null ? new ResourceDemandMeasurementResult(value)
+			: new ResourceDemandMeasurementResult(parameterisation, value);
+	}
+}
@@ -0,0 +1,245 @@
+package de.uka.ipd.sdq.beagle.core.measurement;
+
+import de.uka.ipd.sdq.beagle.core.ResourceDemandingInternalAction;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * A result of measuring the resource demands of many executions of a code section,
+ * summarised as histogram. The result expresses that a source code section was executed
+ * {@link #getCount()} times when being executed with the given {@link Parameterisation},
+ * and that the amounts of a certain resource it demanded are distributed as described by
+ * the histogram’s buckets. It stands for as many {@link ResourceDemandMeasurementResult
+ * ResourceDemandMeasurementResults} as it summarises, while needing only memory
+ * depending on the number of its buckets.
+ *
+ * <p>Each bucket is described by a representative value and the number of executions
+ * whose demand fell into the bucket. The type of the resources measured is specified by
+ * the {@link ResourceDemandingInternalAction}'s type it belongs to.
+ *
+ * @author Joshua Gleitze
+ * @see ResourceDemandingInternalAction
+ */
+public class ResourceDemandSummaryMeasurementResult extends ParameterisationDependentMeasurementResult {
+
+	/**
+	 * The representative value of each bucket, in ascending order.
+	 */
+	private final double[] bucketValues;
+
+	/**
+	 * How many executions fell into each bucket.
+	 */
+	private final long[] bucketCounts;
+
+	/**
+	 * How many executions are summarised.
+	 */
+	private final long count;
+
+	/**
+	 * The sum of the demands of all summarised executions.
+	 */
+	private final double sum;
+
+	/**
+	 * The smallest demand of all summarised executions.
+	 */
+	private final double min;
+
+	/**
+	 * The largest demand of all summarised executions.
+	 */
+	private final double max;
+
+	/**
+	 * Creates a summary of resource demand measurements for which no parameterisation was
+	 * recorded.
+	 *
+	 * @param bucketValues The representative value of each bucket. The unit is specified
+	 *            by the {@link ResourceDemandingInternalAction}'s type it belongs to.
+	 *            Must not be {@code null}, must be ascending and must not contain negative
+	 *            values.
+	 * @param bucketCounts How many executions fell into each bucket. Must not be
+	 *            {@code null}, must be as long as {@code bucketValues} and must not
+	 *            contain negative counts. Must contain at least one execution.
+	 * @param sum The sum of the demands of all summarised executions. Must be
+	 *            non-negative.
+	 * @param min The smallest demand of all summarised executions. Must be non-negative.
+	 * @param max The largest demand of all summarised executions. Must not be smaller
+	 *            than {@code min}.
+	 */
+	public ResourceDemandSummaryMeasurementResult(final double[] bucketValues, final long[] bucketCounts,
+		final double sum, final double min, final double max) {
+		this.count = validate(bucketValues, bucketCounts, sum, min, max);
+		this.bucketValues = bucketValues.clone();
+		this.bucketCounts = bucketCounts.clone();
+		this.sum = sum;
+		this.min = min;
+		this.max = max;
+	}
+
+	/**
+	 * Creates a summary of parameterised resource demand measurements.
+	 *
+	 * @param parameterisation The state of variables during measurement. Must not be
+	 *            {@code null}.
+	 * @param bucketValues The representative value of each bucket. The unit is specified
+	 *            by the {@link ResourceDemandingInternalAction}'s type it belongs to.
+	 *            Must not be {@code null}, must be ascending and must not contain negative
+	 *            values.
+	 * @param bucketCounts How many executions fell into each bucket. Must not be
+	 *            {@code null}, must be as long as {@code bucketValues} and must not
+	 *            contain negative counts. Must contain at least one execution.
+	 * @param sum The sum of the demands of all summarised executions. Must be
+	 *            non-negative.
+	 * @param min The smallest demand of all summarised executions. Must be non-negative.
+	 * @param max The largest demand of all summarised executions. Must not be smaller
+	 *            than {@code min}.
+	 */
+	public ResourceDemandSummaryMeasurementResult(final Parameterisation parameterisation, final double[] bucketValues,
+		final long[] bucketCounts, final double sum, final double min, final double max) {
+		super(parameterisation);
+		this.count = validate(bucketValues, bucketCounts, sum, min, max);
+		this.bucketValues = bucketValues.clone();
+		this.bucketCounts = bucketCounts.clone();
+		this.sum = sum;
+		this.min = min;
+		this.max = max;
+	}
+
+	/**
+	 * Gets the representative value of each bucket.
+	 *
+	 * @return The bucket values in ascending order. Changes to the returned array do not
+	 *         modify this result. Is never {@code null}.
+	 */
+	public double[] getBucketValues() {
+		return this.bucketValues.clone();
+	}
+
+	/**
+	 * Gets how many executions fell into each bucket.
+	 *
+	 * @return The number of executions in each bucket, in the order of
+	 *         {@link #getBucketValues()}. Changes to the returned array do not modify this
+	 *         result. Is never {@code null}.
+	 */
+	public long[] getBucketCounts() {
+		return this.bucketCounts.clone();
+	}
+
+	/**
+	 * Gets how many executions this result summarises.
+	 *
+	 * @return The sum of all {@linkplain #getBucketCounts() bucket counts}. Is positive.
+	 */
+	public long getCount() {
+		return this.count;
+	}
+
+	/**
+	 * Gets the sum of the demands of all summarised executions.
+	 *
+	 * @return The sum. A positive double or 0.
+	 */
+	public double getSum() {
+		return this.sum;
+	}
+
+	/**
+	 * Gets the mean demand of the summarised executions.
+	 *
+	 * @return {@link #getSum()} divided by {@link #getCount()}. A positive double or 0.
+	 */
+	public double getMean() {
+		return this.sum / this.count;
+	}
+
+	/**
+	 * Gets the smallest demand of all summarised executions.
+	 *
+	 * @return The minimum. A positive double or 0.
+	 */
+	public double getMin() {
+		return this.min;
+	}
+
+	/**
+	 * Gets the largest demand of all summarised executions.
+	 *
+	 * @return The maximum. Is not smaller than {@link #getMin()}.
+	 */
+	public double getMax() {
+		return this.max;
+	}
+
+	/**
+	 * Estimates a quantile of the summarised demands from the histogram.
+	 *
+	 * @param probability The probability of the quantile, like {@code 0.5} for the
+	 *            median. Must be between {@code 0} and {@code 1}.
+	 * @return The value of the first bucket up to which at least
+	 *         {@code probability * }{@link #getCount()} executions fell. Is the
+	 *         {@linkplain #getMin() minimum} for {@code 0} and the {@linkplain #getMax()
+	 *         maximum} for {@code 1}.
+	 */
+	public double getQuantile(final double probability) {
+		Validate.inclusiveBetween(0d, 1d, probability);
+		if (probability == 0) {
+			return this.min;
+		}
+		if (probability == 1) {
+			return this.max;
+		}
+		final double rank = probability * this.count;
+		long cumulativeCount = 0;
+		for (int bucket = 0; bucket < this.bucketCounts.length; bucket++) {
+			cumulativeCount += this.bucketCounts[bucket];
+			if (cumulativeCount >= rank) {
+				return Math.min(this.max, Math.max(this.min, this.bucketValues[bucket]));
+			}
+		}
+		return this.max;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("RDSummary@%4.4s<n=%d,mean=%.2f,min=%.2f,max=%.2f,%s>",
+			Integer.toHexString(this.hashCode()), this.count, this.getMean(), this.min, this.max,
+			this.getParameterisation());
+	}
+
+	/**
+	 * Checks the arguments of the constructors.
+	 *
+	 * @param bucketValues The representative value of each bucket.
+	 * @param bucketCounts How many executions fell into each bucket.
+	 * @param sum The sum of the demands of all summarised executions.
+	 * @param min The smallest demand of all summarised executions.
+	 * @param max The largest demand of all summarised executions.
+	 * @return How many executions are summarised.
+	 */
+	private static long validate(final double[] bucketValues, final long[] bucketCounts, final double sum,
+		final double min, final double max) {
+		Validate.notNull(bucketValues);
+		Validate.notNull(bucketCounts);
+		Validate.isTrue(bucketValues.length == bucketCounts.length,
+			"There must be as many bucket values as bucket counts, but there were %d values and %d counts.",
+			bucketValues.length, bucketCounts.length);
+		long executions = 0;
+		for (int bucket = 0; bucket < bucketCounts.length; bucket++) {
+			Validate.isTrue(bucketValues[bucket] >= 0, "Bucket values must be non-negative, but got %f.",
+				bucketValues[bucket]);
+			Validate.isTrue(bucket == 0 || bucketValues[bucket - 1] <= bucketValues[bucket],
+				"Bucket values must be ascending.");
+			Validate.isTrue(bucketCounts[bucket] >= 0, "Bucket counts must be non-negative, but got %d.",
+				bucketCounts[bucket]);
+			executions += bucketCounts[bucket];
+		}
+		Validate.isTrue(executions > 0, "A summary must contain at least one execution.");
+		Validate.isTrue(sum >= 0, "The sum must be non-negative, but was %f.", sum);
+		Validate.isTrue(min >= 0 && min <= max, "The minimum (%f) and maximum (%f) are inconsistent.", min, max);
+		return executions;
+	}
+}
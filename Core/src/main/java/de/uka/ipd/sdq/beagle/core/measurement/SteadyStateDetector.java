@@ -0,0 +1,307 @@
+package de.uka.ipd.sdq.beagle.core.measurement;
+
+import de.uka.ipd.sdq.beagle.core.CodeSection;
+import de.uka.ipd.sdq.beagle.core.ResourceDemandType;
+import de.uka.ipd.sdq.beagle.core.measurement.order.MeasurementEvent;
+import de.uka.ipd.sdq.beagle.core.measurement.order.ResourceDemandCapturedEvent;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.DoubleStream;
+
+/**
+ * Finds and removes the warmup of resource demanding code sections from the events of
+ * one run of the measured software. The first executions of a section are typically
+ * slower than the following ones, because the code runs in the interpreter or was not
+ * optimised yet. Their resource demands would distort everything derived from them.
+ *
+ * <p>The resource demands of each section and type form a time series, in the order of
+ * the events. Its warmup is detected by the marginal standard error rule (MSER-5): The
+ * series is split into batches of {@value #BATCH_SIZE} values. The warmup is the number
+ * of leading batches whose removal minimises the standard error of the remaining
+ * batches’ mean, considering at most the first half of the series. A section’s warmup is
+ * the longest warmup of its types, and is removed from all of them. Series with fewer
+ * than {@value #MIN_BATCHES} batches are too short to tell and are left untouched.
+ *
+ * <p>Only {@link ResourceDemandCapturedEvent ResourceDemandCapturedEvents} are removed.
+ * All other events are kept in their order. A detector remembers the warmups it found
+ * last, so they can be reported.
+ *
+ * <p>The warmup can also be removed {@linkplain #removeWarmupOnline(Consumer) while the
+ * events arrive}. Then, the resource demands of each section are held back until one of
+ * its series has {@value #ONLINE_PREFIX_LENGTH} values. The warmup is detected from
+ * these values only, after which all further demands of the section are passed on right
+ * away. Warmups longer than half of this prefix are thus cut short.
+ *
+ * @author Joshua Gleitze
+ */
+public class SteadyStateDetector {
+
+	/**
+	 * How many values form one batch.
+	 */
+	private static final int BATCH_SIZE = 5;
+
+	/**
+	 * How many batches a series must have for its warmup to be detected.
+	 */
+	private static final int MIN_BATCHES = 10;
+
+	/**
+	 * How many values of a series decide its section’s warmup when removing the warmup
+	 * online.
+	 */
+	static final int ONLINE_PREFIX_LENGTH = 400 * BATCH_SIZE;
+
+	/**
+	 * The number of warmup executions of each section found in the last events. Only
+	 * contains sections with a warmup.
+	 */
+	private Map<CodeSection, Integer> warmupLengths = Collections.emptyMap();
+
+	/**
+	 * Removes the warmup executions of all sections from {@code events}.
+	 *
+	 * @param events The events of one run of the measured software, in the order they
+	 *            occurred in. Must not be {@code null} and must not contain {@code null}.
+	 * @return The events without the resource demands of warmup executions. The other
+	 *         events keep their order.
+	 */
+	public List<MeasurementEvent> removeWarmup(final List<MeasurementEvent> events) {
+		Validate.noNullElements(events);
+
+		final Map<CodeSection, Map<ResourceDemandType, DoubleStream.Builder>> series = new HashMap<>();
+		for (final MeasurementEvent event : events) {
+			if (event instanceof ResourceDemandCapturedEvent) {
+				final ResourceDemandCapturedEvent demand = (ResourceDemandCapturedEvent) event;
+				series.computeIfAbsent(demand.getCodeSection(), (section) -> new HashMap<>())
+					.computeIfAbsent(demand.getType(), (type) -> DoubleStream.builder())
+					.add(demand.getValue());
+			}
+		}
+
+		final Map<CodeSection, Integer> foundWarmups = new HashMap<>();
+		for (final Map.Entry<CodeSection, Map<ResourceDemandType, DoubleStream.Builder>> section : series
+			.entrySet()) {
+			int sectionWarmup = 0;
+			for (final DoubleStream.Builder values : section.getValue().values()) {
+				sectionWarmup = Math.max(sectionWarmup, detectWarmup(values.build().toArray()));
+			}
+			if (sectionWarmup > 0) {
+				foundWarmups.put(section.getKey(), sectionWarmup);
+			}
+		}
+		this.warmupLengths = Collections.unmodifiableMap(foundWarmups);
+
+		final List<MeasurementEvent> steadyEvents = new ArrayList<>(events.size());
+		final Map<CodeSection, Map<ResourceDemandType, Integer>> seenDemands = new HashMap<>();
+		for (final MeasurementEvent event : events) {
+			if (event instanceof ResourceDemandCapturedEvent && foundWarmups.containsKey(event.getCodeSection())) {
+				final int seen = seenDemands.computeIfAbsent(event.getCodeSection(), (section) -> new HashMap<>())
+					.merge(((ResourceDemandCapturedEvent) event).getType(), 1, Integer::sum);
+				if (seen <= foundWarmups.get(event.getCodeSection())) {
+					continue;
+				}
+			}
+			steadyEvents.add(event);
+		}
+		return steadyEvents;
+	}
+
+	/**
+	 * Creates a consumer removing the warmup executions of all sections from the events
+	 * passed to it and passing the remaining events on to {@code steadyEvents} while they
+	 * arrive. Events that are no resource demands are passed on right away. The demands of
+	 * a section are passed on in the order they were passed in, but may be passed on after
+	 * later events of other sections, as they are held back until the section’s warmup is
+	 * known. The demands still held back are passed on when the consumer is
+	 * {@linkplain MeasurementEventConsumer#finish() finished}. {@code steadyEvents} is not
+	 * finished by it.
+	 *
+	 * @param steadyEvents Receives the events without the resource demands of warmup
+	 *            executions. Must not be {@code null}.
+	 * @return A consumer for the events of one run of the measured software. The warmups
+	 *         it found can be queried through {@link #getWarmupLengths()} once it was
+	 *         finished.
+	 */
+	public MeasurementEventConsumer removeWarmupOnline(final Consumer<? super MeasurementEvent> steadyEvents) {
+		Validate.notNull(steadyEvents);
+		return new OnlineWarmupRemover(steadyEvents);
+	}
+
+	/**
+	 * Queries the warmups found by the last call to {@link #removeWarmup(List)} or by the
+	 * consumer created by {@link #removeWarmupOnline(Consumer)} that was finished last.
+	 *
+	 * @return How many leading executions of each section were removed as warmup. Only
+	 *         contains sections with a warmup. Cannot be modified. Is empty before
+	 *         warmups were removed.
+	 */
+	public Map<CodeSection, Integer> getWarmupLengths() {
+		return this.warmupLengths;
+	}
+
+	/**
+	 * Detects the warmup of one time series through the marginal standard error rule.
+	 *
+	 * @param values The series’ values, in the order they occurred in.
+	 * @return How many leading values belong to the warmup. A multiple of
+	 *         {@link #BATCH_SIZE}.
+	 */
+	static int detectWarmup(final double[] values) {
+		final int batchCount = values.length / BATCH_SIZE;
+		if (batchCount < MIN_BATCHES) {
+			return 0;
+		}
+		final double offset = DoubleStream.of(values).limit(batchCount * BATCH_SIZE).average().getAsDouble();
+		// Sums and sums of squares of the batch means from each batch to the end. The
+		// offset keeps the squares small.
+		final double[] suffixSums = new double[batchCount + 1];
+		final double[] suffixSquares = new double[batchCount + 1];
+		for (int batch = batchCount - 1; batch >= 0; batch--) {
+			double batchSum = 0;
+			for (int value = batch * BATCH_SIZE; value < (batch + 1) * BATCH_SIZE; value++) {
+				batchSum += values[value];
+			}
+			final double batchMean = batchSum / BATCH_SIZE - offset;
+			suffixSums[batch] = suffixSums[batch + 1] + batchMean;
+			suffixSquares[batch] = suffixSquares[batch + 1] + batchMean * batchMean;
+		}
+		int bestTruncation = 0;
+		double bestError = Double.POSITIVE_INFINITY;
+		for (int truncation = 0; truncation <= batchCount / 2; truncation++) {
+			final int remaining = batchCount - truncation;
+			final double squaredDeviations =
+				suffixSquares[truncation] - suffixSums[truncation] * suffixSums[truncation] / remaining;
+			final double error = squaredDeviations / ((double) remaining * remaining);
+			if (error < bestError) {
+				bestError = error;
+				bestTruncation = truncation;
+			}
+		}
+		return bestTruncation * BATCH_SIZE;
+	}
+
+	/**
+	 * Removes the warmup while the events arrive, as described for
+	 * {@link SteadyStateDetector#removeWarmupOnline(Consumer)}.
+	 *
+	 * @author Joshua Gleitze
+	 */
+	private final class OnlineWarmupRemover implements MeasurementEventConsumer {
+
+		/**
+		 * Receives the events without the resource demands of warmup executions.
+		 */
+		private final Consumer<? super MeasurementEvent> steadyEvents;
+
+		/**
+		 * The demands of each section whose warmup is not known yet, in the order they
+		 * were passed in.
+		 */
+		private final Map<CodeSection, List<ResourceDemandCapturedEvent>> heldDemands = new HashMap<>();
+
+		/**
+		 * How many demands of each type were held back for each section whose warmup is
+		 * not known yet.
+		 */
+		private final Map<CodeSection, Map<ResourceDemandType, Integer>> heldCounts = new HashMap<>();
+
+		/**
+		 * The number of warmup executions of each section whose warmup is known.
+		 */
+		private final Map<CodeSection, Integer> decidedWarmups = new HashMap<>();
+
+		/**
+		 * How many demands of each type were seen for each section with a warmup since its
+		 * warmup is known.
+		 */
+		private final Map<CodeSection, Map<ResourceDemandType, Integer>> seenDemands = new HashMap<>();
+
+		/**
+		 * Creates a remover passing the steady events to {@code steadyEvents}.
+		 *
+		 * @param steadyEvents Receives the events without the resource demands of warmup
+		 *            executions.
+		 */
+		private OnlineWarmupRemover(final Consumer<? super MeasurementEvent> steadyEvents) {
+			this.steadyEvents = steadyEvents;
+		}
+
+		@Override
+		public void accept(final MeasurementEvent event) {
+			Validate.notNull(event);
+			if (!(event instanceof ResourceDemandCapturedEvent)
+				|| this.decidedWarmups.containsKey(event.getCodeSection())) {
+				this.passIfSteady(event);
+				return;
+			}
+			final ResourceDemandCapturedEvent demand = (ResourceDemandCapturedEvent) event;
+			final CodeSection section = demand.getCodeSection();
+			this.heldDemands.computeIfAbsent(section, (newSection) -> new ArrayList<>()).add(demand);
+			final int heldCount = this.heldCounts.computeIfAbsent(section, (newSection) -> new HashMap<>())
+				.merge(demand.getType(), 1, Integer::sum);
+			if (heldCount == ONLINE_PREFIX_LENGTH) {
+				this.decide(section);
+			}
+		}
+
+		@Override
+		public void finish() {
+			for (final CodeSection section : new ArrayList<>(this.heldDemands.keySet())) {
+				this.decide(section);
+			}
+			final Map<CodeSection, Integer> foundWarmups = new HashMap<>();
+			for (final Map.Entry<CodeSection, Integer> warmup : this.decidedWarmups.entrySet()) {
+				if (warmup.getValue() > 0) {
+					foundWarmups.put(warmup.getKey(), warmup.getValue());
+				}
+			}
+			SteadyStateDetector.this.warmupLengths = Collections.unmodifiableMap(foundWarmups);
+		}
+
+		/**
+		 * Detects the warmup of {@code section} from its held back demands and passes on
+		 * those not belonging to the warmup.
+		 *
+		 * @param section A section whose warmup is not known yet.
+		 */
+		private void decide(final CodeSection section) {
+			final List<ResourceDemandCapturedEvent> demands = this.heldDemands.remove(section);
+			this.heldCounts.remove(section);
+			final Map<ResourceDemandType, DoubleStream.Builder> series = new HashMap<>();
+			for (final ResourceDemandCapturedEvent demand : demands) {
+				series.computeIfAbsent(demand.getType(), (type) -> DoubleStream.builder()).add(demand.getValue());
+			}
+			int sectionWarmup = 0;
+			for (final DoubleStream.Builder values : series.values()) {
+				sectionWarmup = Math.max(sectionWarmup, detectWarmup(values.build().toArray()));
+			}
+			this.decidedWarmups.put(section, sectionWarmup);
+			demands.forEach(this::passIfSteady);
+		}
+
+		/**
+		 * Passes {@code event} on, unless it is a demand of a warmup execution.
+		 *
+		 * @param event An event that is no resource demand or a demand of a section whose
+		 *            warmup is known.
+		 */
+		private void passIfSteady(final MeasurementEvent event) {
+			if (event instanceof ResourceDemandCapturedEvent && this.decidedWarmups.get(event.getCodeSection()) > 0) {
+				final int seen = this.seenDemands.computeIfAbsent(event.getCodeSection(), (section) -> new HashMap<>())
+					.merge(((ResourceDemandCapturedEvent) event).getType(), 1, Integer::sum);
+				if (seen <= this.decidedWarmups.get(event.getCodeSection())) {
+					return;
+				}
+			}
+			this.steadyEvents.accept(event);
+		}
+	}
+}
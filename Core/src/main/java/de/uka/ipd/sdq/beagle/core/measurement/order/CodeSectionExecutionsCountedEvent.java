@@ -0,0 +1,72 @@
+package de.uka.ipd.sdq.beagle.core.measurement.order;
+
+import de.uka.ipd.sdq.beagle.core.CodeSection;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * An event for the fact that the executions of a code section were counted. The section
+ * was activated {@link #getActivations()} times and was executed
+ * {@link #getIterations()} times in a row in each activation. Executions belong to the
+ * same activation as long as each one is entered right after the previous one was left,
+ * like the iterations of a loop’s execution. Measurement tools counting executions
+ * report such events instead of a {@link CodeSectionEnteredEvent} and a
+ * {@link CodeSectionLeftEvent} per execution.
+ *
+ * @author Joshua Gleitze
+ */
+public class CodeSectionExecutionsCountedEvent extends AbstractMeasurementEvent {
+
+	/**
+	 * How many times the section was executed in a row in each activation.
+	 */
+	private final long iterations;
+
+	/**
+	 * How many activations had {@link #iterations} executions.
+	 */
+	private final long activations;
+
+	/**
+	 * Creates an event for the fact that {@code codeSection} was activated
+	 * {@code activations} times and executed {@code iterations} times in a row in each
+	 * activation.
+	 *
+	 * @param codeSection The section that was executed. Must not be {@code null}.
+	 * @param iterations How many times the section was executed in a row in each
+	 *            activation. Must be positive.
+	 * @param activations How many activations had {@code iterations} executions. Must be
+	 *            positive.
+	 */
+	public CodeSectionExecutionsCountedEvent(final CodeSection codeSection, final long iterations,
+		final long activations) {
+		super(codeSection);
+		Validate.isTrue(iterations > 0, "The number of iterations must be positive, but was %d", iterations);
+		Validate.isTrue(activations > 0, "The number of activations must be positive, but was %d", activations);
+		this.iterations = iterations;
+		this.activations = activations;
+	}
+
+	/**
+	 * Gives how many times the section was executed in a row in each activation.
+	 *
+	 * @return The number of iterations of each activation. Is always positive.
+	 */
+	public long getIterations() {
+		return this.iterations;
+	}
+
+	/**
+	 * Gives how many activations of the section had {@link #getIterations()} executions.
+	 *
+	 * @return The number of activations. Is always positive.
+	 */
+	public long getActivations() {
+		return this.activations;
+	}
+
+	@Override
+	public void receive(final MeasurementEventVisitor visitor) {
+		visitor.visit(this);
+	}
+}
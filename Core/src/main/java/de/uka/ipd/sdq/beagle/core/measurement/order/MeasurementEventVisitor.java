@@ -36,4 +36,20 @@ public interface MeasurementEventVisitor {
 	 * @param parameterValueCapturedEvent the visited measurement event
 	 */
 	void visit(ParameterValueCapturedEvent parameterValueCapturedEvent);
+
+	/**
+	 * Called if the visited measurement event is a
+	 * {@link ResourceDemandSummaryCapturedEvent}.
+	 *
+	 * @param resourceDemandSummaryCapturedEvent the visited measurement event
+	 */
+	void visit(ResourceDemandSummaryCapturedEvent resourceDemandSummaryCapturedEvent);
+
+	/**
+	 * Called if the visited measurement event is a
+	 * {@link CodeSectionExecutionsCountedEvent}.
+	 *
+	 * @param codeSectionExecutionsCountedEvent the visited measurement event
+	 */
+	void visit(CodeSectionExecutionsCountedEvent codeSectionExecutionsCountedEvent);
 }
@@ -26,9 +26,15 @@ public class ResourceDemandCapturedEvent extends AbstractMeasurementEvent {
 	 */
 	private final double value;
 
+	/**
+	 * Whether the execution overlapped a stop-the-world pause of the garbage collector.
+	 */
+	private final boolean disturbedByGcPause;
+
 	/**
 	 * Creates an event for the fact that {@code codeSection} has been completely executed
-	 * and demanded {@code value} resources of the type {@code type}.
+	 * and demanded {@code value} resources of the type {@code type}. The execution did
+	 * not overlap a garbage collection pause.
 	 *
 	 * @param codeSection The code section that was executed. Must not be {@code null}.
 	 * @param type The demanded resource’s type. See {@link ResourceDemandType} for a list
@@ -38,11 +44,31 @@ public class ResourceDemandCapturedEvent extends AbstractMeasurementEvent {
 	 */
 	public ResourceDemandCapturedEvent(final CodeSection codeSection, final ResourceDemandType type,
 		final double value) {
+		this(codeSection, type, value, false);
+	}
+
+	/**
+	 * Creates an event for the fact that {@code codeSection} has been completely executed
+	 * and demanded {@code value} resources of the type {@code type}, telling whether the
+	 * execution overlapped a stop-the-world pause of the garbage collector. The value of
+	 * such executions is inflated by the pause.
+	 *
+	 * @param codeSection The code section that was executed. Must not be {@code null}.
+	 * @param type The demanded resource’s type. See {@link ResourceDemandType} for a list
+	 *            of conventional strings. Must not be {@code null}.
+	 * @param value The resource demand’s value, expressed in the unit implied by
+	 *            {@code type}. Must be non-negative.
+	 * @param disturbedByGcPause Whether the execution overlapped a garbage collection
+	 *            pause.
+	 */
+	public ResourceDemandCapturedEvent(final CodeSection codeSection, final ResourceDemandType type,
+		final double value, final boolean disturbedByGcPause) {
 		super(codeSection);
 		Validate.notNull(type);
 		Validate.isTrue(value >= 0, "The measured resources value must be non-neagtive, but was %d", value);
 		this.type = type;
 		this.value = value;
+		this.disturbedByGcPause = disturbedByGcPause;
 	}
 
 	/**
@@ -66,6 +92,16 @@ public class ResourceDemandCapturedEvent extends AbstractMeasurementEvent {
 		return this.value;
 	}
 
+	/**
+	 * Tells whether the execution overlapped a stop-the-world pause of the garbage
+	 * collector. If so, the {@linkplain #getValue() value} is inflated by the pause.
+	 *
+	 * @return {@code true} if the execution overlapped a garbage collection pause.
+	 */
+	public boolean isDisturbedByGcPause() {
+		return this.disturbedByGcPause;
+	}
+
 	@Override
 	public void receive(final MeasurementEventVisitor visitor) {
 		visitor.visit(this);
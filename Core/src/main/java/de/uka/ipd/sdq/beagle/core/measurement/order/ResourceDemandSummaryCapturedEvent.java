@@ -0,0 +1,181 @@
+package de.uka.ipd.sdq.beagle.core.measurement.order;
+
+import de.uka.ipd.sdq.beagle.core.CodeSection;
+import de.uka.ipd.sdq.beagle.core.ResourceDemandType;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * An event for the fact that the amounts of a certain resource a certain code section
+ * demanded in many executions were captured as summary. Instead of one value per
+ * execution, the summary contains a histogram of the values together with their number,
+ * sum, minimum and maximum. Measurement tools aggregating results while measuring
+ * report such events instead of one {@link ResourceDemandCapturedEvent} per execution.
+ *
+ * <p>The histogram consists of buckets. Each bucket is described by a representative
+ * value and the number of executions whose value fell into the bucket.
+ *
+ * @author Joshua Gleitze
+ */
+public class ResourceDemandSummaryCapturedEvent extends AbstractMeasurementEvent {
+
+	/**
+	 * The demanded resource’s type.
+	 */
+	private final ResourceDemandType type;
+
+	/**
+	 * The representative value of each bucket, in ascending order.
+	 */
+	private final double[] bucketValues;
+
+	/**
+	 * How many executions fell into each bucket.
+	 */
+	private final long[] bucketCounts;
+
+	/**
+	 * How many executions are summarised.
+	 */
+	private final long count;
+
+	/**
+	 * The sum of the values of all summarised executions.
+	 */
+	private final double sum;
+
+	/**
+	 * The smallest value of all summarised executions.
+	 */
+	private final double min;
+
+	/**
+	 * The largest value of all summarised executions.
+	 */
+	private final double max;
+
+	/**
+	 * Creates an event for the fact that {@code codeSection} has been completely executed
+	 * several times and demanded resources of the type {@code type} as summarised by the
+	 * other arguments.
+	 *
+	 * @param codeSection The code section that was executed. Must not be {@code null}.
+	 * @param type The demanded resource’s type. Must not be {@code null}.
+	 * @param bucketValues The representative value of each bucket, expressed in the unit
+	 *            implied by {@code type}. Must not be {@code null}, must be ascending and
+	 *            must not contain negative values.
+	 * @param bucketCounts How many executions fell into each bucket. Must not be
+	 *            {@code null}, must be as long as {@code bucketValues} and must not
+	 *            contain negative counts. Must contain at least one execution.
+	 * @param sum The sum of the values of all summarised executions. Must be
+	 *            non-negative.
+	 * @param min The smallest value of all summarised executions. Must be non-negative.
+	 * @param max The largest value of all summarised executions. Must not be smaller than
+	 *            {@code min}.
+	 */
+	public ResourceDemandSummaryCapturedEvent(final CodeSection codeSection, final ResourceDemandType type,
+		final double[] bucketValues, final long[] bucketCounts, final double sum, final double min, final double max) {
+		super(codeSection);
+		Validate.notNull(type);
+		Validate.notNull(bucketValues);
+		Validate.notNull(bucketCounts);
+		Validate.isTrue(bucketValues.length == bucketCounts.length,
+			"There must be as many bucket values as bucket counts, but there were %d values and %d counts.",
+			bucketValues.length, bucketCounts.length);
+		long executions = 0;
+		for (int bucket = 0; bucket < bucketCounts.length; bucket++) {
+			Validate.isTrue(bucketValues[bucket] >= 0, "Bucket values must be non-negative, but got %f.",
+				bucketValues[bucket]);
+			Validate.isTrue(bucket == 0 || bucketValues[bucket - 1] <= bucketValues[bucket],
+				"Bucket values must be ascending.");
+			Validate.isTrue(bucketCounts[bucket] >= 0, "Bucket counts must be non-negative, but got %d.",
+				bucketCounts[bucket]);
+			executions += bucketCounts[bucket];
+		}
+		Validate.isTrue(executions > 0, "A summary must contain at least one execution.");
+		Validate.isTrue(sum >= 0, "The sum must be non-negative, but was %f.", sum);
+		Validate.isTrue(min >= 0 && min <= max, "The minimum (%f) and maximum (%f) are inconsistent.", min, max);
+		this.type = type;
+		this.bucketValues = bucketValues.clone();
+		this.bucketCounts = bucketCounts.clone();
+		this.count = executions;
+		this.sum = sum;
+		this.min = min;
+		this.max = max;
+	}
+
+	/**
+	 * Gives the demanded resource’s type.
+	 *
+	 * @return The demanded resource’s type. Is never {@code null}.
+	 */
+	public ResourceDemandType getType() {
+		return this.type;
+	}
+
+	/**
+	 * Gives the representative value of each bucket.
+	 *
+	 * @return The bucket values in ascending order, expressed in the unit implied by
+	 *         {@link #getType()}. Changes to the returned array do not modify this event.
+	 *         Is never {@code null}.
+	 */
+	public double[] getBucketValues() {
+		return this.bucketValues.clone();
+	}
+
+	/**
+	 * Gives how many executions fell into each bucket.
+	 *
+	 * @return The number of executions in each bucket, in the order of
+	 *         {@link #getBucketValues()}. Changes to the returned array do not modify this
+	 *         event. Is never {@code null}.
+	 */
+	public long[] getBucketCounts() {
+		return this.bucketCounts.clone();
+	}
+
+	/**
+	 * Gives how many executions are summarised.
+	 *
+	 * @return The sum of all {@linkplain #getBucketCounts() bucket counts}. Is positive.
+	 */
+	public long getCount() {
+		return this.count;
+	}
+
+	/**
+	 * Gives the sum of the values of all summarised executions.
+	 *
+	 * @return The sum, expressed in the unit implied by {@link #getType()}. Is
+	 *         non-negative.
+	 */
+	public double getSum() {
+		return this.sum;
+	}
+
+	/**
+	 * Gives the smallest value of all summarised executions.
+	 *
+	 * @return The minimum, expressed in the unit implied by {@link #getType()}. Is
+	 *         non-negative.
+	 */
+	public double getMin() {
+		return this.min;
+	}
+
+	/**
+	 * Gives the largest value of all summarised executions.
+	 *
+	 * @return The maximum, expressed in the unit implied by {@link #getType()}. Is not
+	 *         smaller than {@link #getMin()}.
+	 */
+	public double getMax() {
+		return this.max;
+	}
+
+	@Override
+	public void receive(final MeasurementEventVisitor visitor) {
+		visitor.visit(this);
+	}
+}
@@ -99,6 +99,12 @@ public class PcmRepositorySeffExtractor {
 	 */
 	private final PcmCodeSectionGenerator codeSectionGenerator;
 
+	/**
+	 * The mapping between Beagle’s and the PCM’s resource types. Allocated bytes are only
+	 * extracted if the PCM defines a memory resource they map to.
+	 */
+	private final ResourceTypeMappings typeMappings;
+
 
 	/**
 	 * Constructor needs access to the real sets (no copy!), manipulating them by adding
@@ -128,6 +134,8 @@ public class PcmRepositorySeffExtractor {
 
 		// this.nameParser = new PcmNameParser(sourceCodeFileProvider);
 		this.codeSectionGenerator = new PcmCodeSectionGenerator(sourceStateLinkRepository, sourceCodeFileProvider);
+		this.typeMappings = new ResourceTypeMappings();
+		this.typeMappings.initialise();
 	}
 
 	/**
@@ -241,6 +249,14 @@ public class PcmRepositorySeffExtractor {
 			this.rdiaSet.add(rdiaLanNs);
 			this.pcmMapper.addPcmIdOf(rdiaLanNs, internalAction.getId());
 
+			// Allocated bytes could not be annotated without a memory resource.
+			if (this.typeMappings.hasPcmType(ResourceDemandType.RESOURCE_TYPE_ALLOCATED_BYTES)) {
+				final ResourceDemandingInternalAction rdiaAllocation =
+					new ResourceDemandingInternalAction(ResourceDemandType.RESOURCE_TYPE_ALLOCATED_BYTES, codeSection);
+				this.rdiaSet.add(rdiaAllocation);
+				this.pcmMapper.addPcmIdOf(rdiaAllocation, internalAction.getId());
+			}
+
 		} catch (final FileNotFoundException exception) {
 			this.handleFailureFor(internalAction, exception);
 		}
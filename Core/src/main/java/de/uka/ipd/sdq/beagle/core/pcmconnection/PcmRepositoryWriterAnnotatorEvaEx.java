@@ -71,8 +71,10 @@ public class PcmRepositoryWriterAnnotatorEvaEx {
 	 *
 	 * @param internalAction The PCM element
 	 * @param type The ResourceDemandType of the InternalAction (
-	 *            {@link ResourceDemandType#RESOURCE_TYPE_CPU_NS} and
-	 *            {@link ResourceDemandType#RESOURCE_TYPE_HDD_NS} are accepted so far. If
+	 *            {@link ResourceDemandType#RESOURCE_TYPE_CPU_NS},
+	 *            {@link ResourceDemandType#RESOURCE_TYPE_HDD_NS} and, if the PCM defines a
+	 *            memory resource, {@link ResourceDemandType#RESOURCE_TYPE_ALLOCATED_BYTES}
+	 *            are accepted so far. If
 	 *            the suitable Type is found more than one time, it is deleted every
 	 *            further time. If the suitable Type is not yet in this InternalAction, it
 	 *            is created newly and added.
@@ -84,8 +86,8 @@ public class PcmRepositoryWriterAnnotatorEvaEx {
 			throw new NullPointerException("No null arguments in annotateEvaExFor-method allowed!");
 		}
 		// Other TYPES are not supported so far!
-		if (!type.equals(ResourceDemandType.RESOURCE_TYPE_CPU_NS)
-			&& !type.equals(ResourceDemandType.RESOURCE_TYPE_HDD_NS)) {
+		if (!type.equals(ResourceDemandType.RESOURCE_TYPE_CPU_NS) && !type.equals(ResourceDemandType.RESOURCE_TYPE_HDD_NS)
+			&& !(type.equals(ResourceDemandType.RESOURCE_TYPE_ALLOCATED_BYTES) && this.typeMappings.hasPcmType(type))) {
 			return;
 		}
 
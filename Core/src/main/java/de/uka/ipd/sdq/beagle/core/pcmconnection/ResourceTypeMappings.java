@@ -43,7 +43,9 @@ public final class ResourceTypeMappings {
 
 	/**
 	 * Creates a mapping for ({@link ResourceDemandType#RESOURCE_TYPE_CPU_NS},{@code CPU})
-	 * and ({@link ResourceDemandType#RESOURCE_TYPE_HDD_NS}, {@code HDD}).
+	 * and ({@link ResourceDemandType#RESOURCE_TYPE_HDD_NS}, {@code HDD}). If the resource
+	 * repository defines a {@code MEMORY} processing resource, it is mapped to
+	 * {@link ResourceDemandType#RESOURCE_TYPE_ALLOCATED_BYTES}.
 	 *
 	 */
 	public void initialise() {
@@ -69,6 +71,12 @@ public final class ResourceTypeMappings {
 						this.beagleTypeToPcmType.put(ResourceDemandType.RESOURCE_TYPE_HDD_NS,
 							new PcmTypeIdEqualsWrapper((ProcessingResourceType) resourceType));
 						break;
+					case "MEMORY":
+						if (resourceType instanceof ProcessingResourceType) {
+							this.beagleTypeToPcmType.put(ResourceDemandType.RESOURCE_TYPE_ALLOCATED_BYTES,
+								new PcmTypeIdEqualsWrapper((ProcessingResourceType) resourceType));
+						}
+						break;
 					default:
 				}
 			}
@@ -100,6 +108,19 @@ public final class ResourceTypeMappings {
 		return this.beagleTypeToPcmType.get(resourceDemandType).pcmType;
 	}
 
+	/**
+	 * Tells whether a {@link ProcessingResourceType} is linked to
+	 * {@code resourceDemandType}.
+	 *
+	 * @param resourceDemandType The {@link ResourceDemandType}
+	 * @return {@code true} if {@link #getPcmType(ResourceDemandType)} can be called for
+	 *         {@code resourceDemandType}.
+	 */
+	public boolean hasPcmType(final ResourceDemandType resourceDemandType) {
+		Validate.validState(this.inited);
+		return this.beagleTypeToPcmType.containsKey(resourceDemandType);
+	}
+
 	/**
 	 * Wraps an {@link ProcessingResourceType} to override its
 	 * {@link Object#equals(Object)} and {@link Object#hashCode()} to be based on the
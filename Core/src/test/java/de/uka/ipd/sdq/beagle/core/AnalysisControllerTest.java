@@ -8,6 +8,7 @@ import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.notNull;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -21,12 +22,15 @@ import de.uka.ipd.sdq.beagle.core.analysis.ProposedExpressionAnalyser;
 import de.uka.ipd.sdq.beagle.core.analysis.ProposedExpressionAnalyserBlackboardView;
 import de.uka.ipd.sdq.beagle.core.analysis.ReadOnlyMeasurementResultAnalyserBlackboardView;
 import de.uka.ipd.sdq.beagle.core.analysis.ReadOnlyProposedExpressionAnalyserBlackboardView;
+import de.uka.ipd.sdq.beagle.core.measurement.MeasurementEventConsumer;
 import de.uka.ipd.sdq.beagle.core.measurement.MeasurementTool;
 import de.uka.ipd.sdq.beagle.core.measurement.order.MeasurementEvent;
 import de.uka.ipd.sdq.beagle.core.measurement.order.MeasurementOrder;
+import de.uka.ipd.sdq.beagle.core.testutil.MeasureInOnePartAnswer;
 import de.uka.ipd.sdq.beagle.core.testutil.ThrowingMethod;
 import de.uka.ipd.sdq.beagle.core.testutil.factories.BlackboardFactory;
 import de.uka.ipd.sdq.beagle.core.testutil.factories.ExtensionPointToolsFactory;
+import de.uka.ipd.sdq.beagle.core.testutil.factories.ProjectInformationFactory;
 
 import org.junit.Test;
 import org.mockito.InOrder;
@@ -39,6 +43,11 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 /**
  * Tests for {@link AnalysisController}.
@@ -58,6 +67,11 @@ public class AnalysisControllerTest {
 	 */
 	private static final ExtensionPointToolsFactory EXTENSION_POINT_FACTORY = new ExtensionPointToolsFactory();
 
+	/**
+	 * A default {@link ProjectInformationFactory} for the tests.
+	 */
+	private static final ProjectInformationFactory PROJECT_INFORMATION_FACTORY = new ProjectInformationFactory();
+
 	/**
 	 * A mock for {@link MeasurementTool}. Should be reseted before each use with
 	 * {@code reset(mockedMeasurementTool1)}.
@@ -839,6 +853,9 @@ public class AnalysisControllerTest {
 		reset(this.mockedMeasurementTool1);
 		reset(this.mockedMeasurementTool2);
 		reset(this.mockedMeasurementTool3);
+		doAnswer(new MeasureInOnePartAnswer()).when(this.mockedMeasurementTool1).measure(anyObject(), anyObject());
+		doAnswer(new MeasureInOnePartAnswer()).when(this.mockedMeasurementTool2).measure(anyObject(), anyObject());
+		doAnswer(new MeasureInOnePartAnswer()).when(this.mockedMeasurementTool3).measure(anyObject(), anyObject());
 		reset(this.mockedMeasurementResultAnalyser1);
 		reset(this.mockedMeasurementResultAnalyser2);
 		reset(this.mockedMeasurementResultAnalyser3);
@@ -1014,6 +1031,128 @@ public class AnalysisControllerTest {
 		assertThat(analysisController.getAnalysisState(), is(AnalysisState.TERMINATED));
 	}
 
+	/**
+	 * Tests {@link AnalysisController#performAnalysis()} with a concurrent analysis and a
+	 * parallelism greater than {@code 1}. Asserts that all analysers that can contribute
+	 * contribute concurrently and that exceptions thrown by analysers are passed on.
+	 *
+	 * @throws Exception If stubbing fails.
+	 */
+	@Test
+	public void performAnalysisConcurrently() throws Exception {
+		final Set<MeasurementTool> oneMeasurementTool = new HashSet<>();
+		oneMeasurementTool.add(this.mockedMeasurementTool1);
+		final Set<MeasurementResultAnalyser> allMeasurementResultAnalysers = new HashSet<>();
+		allMeasurementResultAnalysers.add(this.mockedMeasurementResultAnalyser1);
+		allMeasurementResultAnalysers.add(this.mockedMeasurementResultAnalyser2);
+		allMeasurementResultAnalysers.add(this.mockedMeasurementResultAnalyser3);
+		final Set<ProposedExpressionAnalyser> allProposedExpressionAnalysers = new HashSet<>();
+		allProposedExpressionAnalysers.add(this.mockedProposedExpressionAnalyser1);
+		allProposedExpressionAnalysers.add(this.mockedProposedExpressionAnalyser2);
+		allProposedExpressionAnalysers.add(this.mockedProposedExpressionAnalyser3);
+
+		this.resetMocks();
+		final Blackboard blackboard = this.getConcurrentBlackboard();
+		// Every analyser waits for all others, so the round can only end if all of them
+		// contribute at the same time.
+		final CyclicBarrier allContributing = new CyclicBarrier(6);
+		final AtomicBoolean contributed = new AtomicBoolean();
+		final Answer<Boolean> untilContributed = (invocation) -> !contributed.get();
+		final Answer<Void> contribution = (invocation) -> {
+			allContributing.await(10, TimeUnit.SECONDS);
+			contributed.set(true);
+			return null;
+		};
+		for (final MeasurementResultAnalyser analyser : allMeasurementResultAnalysers) {
+			when(analyser.canContribute(anyObject())).then(untilContributed);
+			doAnswer(contribution).when(analyser).contribute(anyObject());
+		}
+		for (final ProposedExpressionAnalyser analyser : allProposedExpressionAnalysers) {
+			when(analyser.canContribute(anyObject())).then(untilContributed);
+			doAnswer(contribution).when(analyser).contribute(anyObject());
+		}
+
+		final AnalysisController analysisController = new AnalysisController(blackboard, oneMeasurementTool,
+			allMeasurementResultAnalysers, allProposedExpressionAnalysers);
+		analysisController.performAnalysis();
+		for (final MeasurementResultAnalyser analyser : allMeasurementResultAnalysers) {
+			verify(analyser).contribute(eq(new MeasurementResultAnalyserBlackboardView(blackboard)));
+		}
+		for (final ProposedExpressionAnalyser analyser : allProposedExpressionAnalysers) {
+			verify(analyser).contribute(eq(new ProposedExpressionAnalyserBlackboardView(blackboard)));
+		}
+		assertThat(analysisController.getAnalysisState(), is(AnalysisState.TERMINATED));
+
+		this.resetMocks();
+		final Blackboard failingBlackboard = this.getConcurrentBlackboard();
+		when(this.mockedMeasurementResultAnalyser1.canContribute(anyObject())).thenReturn(true);
+		doThrow(new IllegalStateException()).when(this.mockedMeasurementResultAnalyser1).contribute(anyObject());
+		final AnalysisController failingController = new AnalysisController(failingBlackboard, oneMeasurementTool,
+			allMeasurementResultAnalysers, allProposedExpressionAnalysers);
+		assertThat("Exceptions of analysers must be passed on", failingController::performAnalysis,
+			throwsException(IllegalStateException.class));
+	}
+
+	/**
+	 * Asserts that if measurements are pipelined, analysers contribute while a
+	 * measurement is still running, even if the analysis is not concurrent.
+	 *
+	 * @throws Exception If stubbing fails.
+	 */
+	@SuppressWarnings("unchecked")
+	@Test
+	public void performAnalysisPipelined() throws Exception {
+		final Set<MeasurementTool> oneMeasurementTool = new HashSet<>();
+		oneMeasurementTool.add(this.mockedMeasurementTool1);
+		final Set<MeasurementResultAnalyser> oneMeasurementResultAnalyser = new HashSet<>();
+		oneMeasurementResultAnalyser.add(this.mockedMeasurementResultAnalyser1);
+		final Set<ProposedExpressionAnalyser> oneProposedExpressionAnalyser = new HashSet<>();
+		oneProposedExpressionAnalyser.add(this.mockedProposedExpressionAnalyser1);
+
+		this.resetMocks();
+		final Blackboard sequentialBlackboard = BLACKBOARD_FACTORY.getWithToBeMeasuredContent();
+		final Blackboard blackboard = BLACKBOARD_FACTORY.setProjectInformation(sequentialBlackboard,
+			PROJECT_INFORMATION_FACTORY.setAnalysisSettings(sequentialBlackboard.getProjectInformation(),
+				AnalysisSettings.SEQUENTIAL.withMeasurementPipelined(true)));
+		final CountDownLatch analysed = new CountDownLatch(1);
+		final AtomicBoolean analysedDuringMeasurement = new AtomicBoolean();
+		// The tool reports a first part and only ends after an analyser contributed.
+		doAnswer((invocation) -> {
+			final MeasurementEventConsumer firstPart =
+				(MeasurementEventConsumer) invocation.getArgumentAt(1, Supplier.class).get();
+			firstPart.finish();
+			analysedDuringMeasurement.set(analysed.await(10, TimeUnit.SECONDS));
+			return null;
+		}).when(this.mockedMeasurementTool1).measure(anyObject(), anyObject());
+		when(this.mockedMeasurementResultAnalyser1.canContribute(anyObject()))
+			.then((invocation) -> analysed.getCount() > 0);
+		doAnswer((invocation) -> {
+			analysed.countDown();
+			return null;
+		}).when(this.mockedMeasurementResultAnalyser1).contribute(anyObject());
+
+		final AnalysisController analysisController = new AnalysisController(blackboard, oneMeasurementTool,
+			oneMeasurementResultAnalyser, oneProposedExpressionAnalyser);
+		analysisController.performAnalysis();
+		assertThat("An analyser must contribute while the measurement is running", analysedDuringMeasurement.get(),
+			is(true));
+		verify(this.mockedMeasurementTool1).measure(anyObject(), anyObject());
+		assertThat(analysisController.getAnalysisState(), is(AnalysisState.TERMINATED));
+	}
+
+	/**
+	 * Creates a blackboard with content to be measured, configured to be analysed
+	 * concurrently by six threads, one for each mocked analyser.
+	 *
+	 * @return A blackboard for a concurrent analysis.
+	 */
+	private Blackboard getConcurrentBlackboard() {
+		final Blackboard blackboard = BLACKBOARD_FACTORY.getWithToBeMeasuredContent();
+		return BLACKBOARD_FACTORY.setProjectInformation(blackboard,
+			PROJECT_INFORMATION_FACTORY.setAnalysisSettings(blackboard.getProjectInformation(),
+				AnalysisSettings.SEQUENTIAL.withParallelism(6).withAnalysisConcurrent(true)));
+	}
+
 	/**
 	 * Inizialises an {@link AnalysisController} with a endless running
 	 * {@link MeasurementTool}, used to test the
@@ -0,0 +1,119 @@
+package de.uka.ipd.sdq.beagle.core;
+
+import static de.uka.ipd.sdq.beagle.core.testutil.EqualsMatcher.hasDefaultEqualsProperties;
+import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
+import static de.uka.ipd.sdq.beagle.core.testutil.ToStringMatcher.hasOverriddenToString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link AnalysisSettings} and contains all test cases needed to check every
+ * method.
+ *
+ * @author Joshua Gleitze
+ */
+public class AnalysisSettingsTest {
+
+	/**
+	 * Test method for {@link AnalysisSettings#SEQUENTIAL}.
+	 */
+	@Test
+	public void sequential() {
+		assertThat(AnalysisSettings.SEQUENTIAL.getParallelism(), is(1));
+		assertThat(AnalysisSettings.SEQUENTIAL.getMeasurementConcurrency(), is(1));
+		assertThat(AnalysisSettings.SEQUENTIAL.isAnalysisConcurrent(), is(false));
+		assertThat(AnalysisSettings.SEQUENTIAL.isMeasurementPipelined(), is(false));
+	}
+
+	/**
+	 * Test method for {@link AnalysisSettings#withParallelism(int)} and
+	 * {@link AnalysisSettings#getParallelism()}.
+	 */
+	@Test
+	public void withParallelism() {
+		final AnalysisSettings settings = AnalysisSettings.SEQUENTIAL.withParallelism(4);
+		assertThat(settings.getParallelism(), is(4));
+		assertThat(settings.getMeasurementConcurrency(), is(1));
+		assertThat(AnalysisSettings.SEQUENTIAL.getParallelism(), is(1));
+
+		assertThat("The parallelism must be positive", () -> AnalysisSettings.SEQUENTIAL.withParallelism(0),
+			throwsException(IllegalArgumentException.class));
+		assertThat("The parallelism must be positive", () -> AnalysisSettings.SEQUENTIAL.withParallelism(-3),
+			throwsException(IllegalArgumentException.class));
+	}
+
+	/**
+	 * Test method for {@link AnalysisSettings#withMeasurementConcurrency(int)} and
+	 * {@link AnalysisSettings#getMeasurementConcurrency()}.
+	 */
+	@Test
+	public void withMeasurementConcurrency() {
+		final AnalysisSettings settings = AnalysisSettings.SEQUENTIAL.withParallelism(4).withMeasurementConcurrency(3);
+		assertThat(settings.getMeasurementConcurrency(), is(3));
+		assertThat(settings.getParallelism(), is(4));
+
+		assertThat("The measurement concurrency must be positive",
+			() -> AnalysisSettings.SEQUENTIAL.withMeasurementConcurrency(0),
+			throwsException(IllegalArgumentException.class));
+	}
+
+	/**
+	 * Test method for {@link AnalysisSettings#withAnalysisConcurrent(boolean)},
+	 * {@link AnalysisSettings#isAnalysisConcurrent()},
+	 * {@link AnalysisSettings#withMeasurementPipelined(boolean)} and
+	 * {@link AnalysisSettings#isMeasurementPipelined()}.
+	 */
+	@Test
+	public void analysisOptions() {
+		final AnalysisSettings concurrent = AnalysisSettings.SEQUENTIAL.withParallelism(4).withAnalysisConcurrent(true);
+		assertThat(concurrent.isAnalysisConcurrent(), is(true));
+		assertThat(concurrent.isMeasurementPipelined(), is(false));
+		assertThat(concurrent.getParallelism(), is(4));
+
+		final AnalysisSettings pipelined = AnalysisSettings.SEQUENTIAL.withMeasurementPipelined(true);
+		assertThat(pipelined.isAnalysisConcurrent(), is(false));
+		assertThat(pipelined.isMeasurementPipelined(), is(true));
+
+		final AnalysisSettings both = pipelined.withAnalysisConcurrent(true);
+		assertThat(both.isAnalysisConcurrent(), is(true));
+		assertThat(both.isMeasurementPipelined(), is(true));
+		assertThat(both.withMeasurementPipelined(false), is(equalTo(concurrent.withParallelism(1))));
+	}
+
+	/**
+	 * Test method for {@link AnalysisSettings#equals(Object)} and
+	 * {@link AnalysisSettings#hashCode()}.
+	 */
+	@Test
+	public void equalsAndHashCode() {
+		final AnalysisSettings[] settings = {
+			AnalysisSettings.SEQUENTIAL, AnalysisSettings.SEQUENTIAL.withParallelism(4),
+			AnalysisSettings.SEQUENTIAL.withMeasurementConcurrency(4),
+			AnalysisSettings.SEQUENTIAL.withAnalysisConcurrent(true),
+			AnalysisSettings.SEQUENTIAL.withMeasurementPipelined(true),
+			AnalysisSettings.SEQUENTIAL.withParallelism(4).withParallelism(1)
+		};
+
+		assertThat(settings[0], hasDefaultEqualsProperties());
+		assertThat(settings[0], is(equalTo(settings[5])));
+		assertThat(settings[5], is(equalTo(settings[0])));
+		assertThat(settings[0].hashCode(), is(equalTo(settings[5].hashCode())));
+		for (int i = 0; i < 5; i++) {
+			for (int j = i + 1; j < 5; j++) {
+				assertThat(settings[i], is(not(equalTo(settings[j]))));
+			}
+		}
+	}
+
+	/**
+	 * Test method for {@link AnalysisSettings#toString()}.
+	 */
+	@Test
+	public void toStringT() {
+		assertThat(AnalysisSettings.SEQUENTIAL.withParallelism(3), hasOverriddenToString());
+	}
+}
@@ -3,7 +3,12 @@ package de.uka.ipd.sdq.beagle.core;
 import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
 import static de.uka.ipd.sdq.beagle.core.testutil.NullHandlingMatchers.notAcceptingNull;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasProperty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.theInstance;
 import static org.hamcrest.collection.IsEmptyCollection.empty;
@@ -11,12 +16,15 @@ import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsEqual.equalTo;
 import static org.hamcrest.core.IsNull.notNullValue;
 
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.ConstantExpression;
 import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableExpression;
 import de.uka.ipd.sdq.beagle.core.judge.EvaluableExpressionFitnessFunction;
 import de.uka.ipd.sdq.beagle.core.measurement.BranchDecisionMeasurementResult;
 import de.uka.ipd.sdq.beagle.core.measurement.LoopRepetitionCountMeasurementResult;
 import de.uka.ipd.sdq.beagle.core.measurement.ParameterChangeMeasurementResult;
+import de.uka.ipd.sdq.beagle.core.measurement.Parameterisation;
 import de.uka.ipd.sdq.beagle.core.measurement.ResourceDemandMeasurementResult;
+import de.uka.ipd.sdq.beagle.core.measurement.ResourceDemandSummaryMeasurementResult;
 import de.uka.ipd.sdq.beagle.core.testutil.ThrowingMethod;
 import de.uka.ipd.sdq.beagle.core.testutil.factories.BlackboardFactory;
 import de.uka.ipd.sdq.beagle.core.testutil.factories.EvaluableExpressionFactory;
@@ -30,11 +38,19 @@ import de.uka.ipd.sdq.beagle.core.testutil.factories.SeffLoopFactory;
 
 import org.junit.Test;
 
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
 
 /**
@@ -719,7 +735,9 @@ public class BlackboardTest {
 		ResourceDemandingInternalAction rdia = rdias.next();
 		final ResourceDemandMeasurementResult result = MEAUSUREMENT_RESULT_FACTORY.getRdiaResults()[0];
 		testedBlackboard.addMeasurementResultFor(rdia, result);
-		assertThat(testedBlackboard.getMeasurementResultsFor(rdia), contains(result));
+		assertThat(testedBlackboard.getMeasurementResultsFor(rdia),
+			contains(allOf(hasProperty("value", is(result.getValue())),
+				hasProperty("parameterisation", is(result.getParameterisation())))));
 		assertThat(testedBlackboard.getMeasurementResultsFor(rdias.next()), is(empty()));
 
 		testedBlackboard = BLACKBOARD_FACTORY.getFull();
@@ -731,6 +749,56 @@ public class BlackboardTest {
 			is(equalTo(results)));
 	}
 
+	/**
+	 * Test method for
+	 * {@link Blackboard#addMeasurementSummaryFor(ResourceDemandingInternalAction, ResourceDemandSummaryMeasurementResult)}
+	 * and {@link Blackboard#getMeasurementSummariesFor(ResourceDemandingInternalAction)}.
+	 * Asserts that:
+	 *
+	 * <ul>
+	 *
+	 * <li>Added summaries are returned for their rdia only.
+	 *
+	 * <li>Summaries are kept apart from the measurement results and their version.
+	 *
+	 * <li>The blackboard returns copies of its sets.
+	 *
+	 * <li>{@code null} and unknown rdias are rejected.
+	 *
+	 * </ul>
+	 */
+	@Test
+	public void measurementSummaries() {
+		final Blackboard testedBlackboard = BLACKBOARD_FACTORY.getWithToBeMeasuredContent();
+		final Iterator<ResourceDemandingInternalAction> rdias = testedBlackboard.getAllRdias().iterator();
+		final ResourceDemandingInternalAction rdia = rdias.next();
+		final ResourceDemandSummaryMeasurementResult summary =
+			new ResourceDemandSummaryMeasurementResult(new double[] {1, 4}, new long[] {2, 1}, 6, 1, 4);
+
+		assertThat(testedBlackboard.getMeasurementSummariesFor(rdia), is(empty()));
+		testedBlackboard.addMeasurementSummaryFor(rdia, summary);
+		assertThat(testedBlackboard.getMeasurementSummariesFor(rdia), contains(summary));
+		assertThat(testedBlackboard.getMeasurementSummariesFor(rdias.next()), is(empty()));
+		assertThat(testedBlackboard.getMeasurementResultsFor(rdia), is(empty()));
+		assertThat(testedBlackboard.getMeasurementResultsVersionFor(rdia), is(0));
+
+		testedBlackboard.getMeasurementSummariesFor(rdia).clear();
+		assertThat("The blackboard must return copies of its sets!", testedBlackboard.getMeasurementSummariesFor(rdia),
+			contains(summary));
+
+		assertThat(() -> testedBlackboard.addMeasurementSummaryFor(null, summary),
+			throwsException(NullPointerException.class));
+		assertThat(() -> testedBlackboard.addMeasurementSummaryFor(rdia, null),
+			throwsException(NullPointerException.class));
+		assertThat(() -> testedBlackboard.getMeasurementSummariesFor(null),
+			throwsException(NullPointerException.class));
+		final ResourceDemandingInternalAction unknownRdia = RDIA_FACTORY.getOne();
+		assertThat(() -> BLACKBOARD_FACTORY.getEmpty().addMeasurementSummaryFor(unknownRdia, summary),
+			throwsException(IllegalArgumentException.class));
+		assertThat(() -> BLACKBOARD_FACTORY.getEmpty().getMeasurementSummariesFor(unknownRdia),
+			throwsException(IllegalArgumentException.class));
+	}
+
 	/**
 	 * Test method for {@link Blackboard#getMeasurementResultsFor(SeffBranch)} Assert that
 	 *
@@ -777,7 +845,9 @@ public class BlackboardTest {
 		SeffBranch seffBranch = branches.next();
 		final BranchDecisionMeasurementResult result = MEAUSUREMENT_RESULT_FACTORY.getBranchResults()[0];
 		testedBlackboard.addMeasurementResultFor(seffBranch, result);
-		assertThat(testedBlackboard.getMeasurementResultsFor(seffBranch), contains(result));
+		assertThat(testedBlackboard.getMeasurementResultsFor(seffBranch),
+			contains(allOf(hasProperty("branchIndex", is(result.getBranchIndex())),
+				hasProperty("parameterisation", is(result.getParameterisation())))));
 		assertThat(testedBlackboard.getMeasurementResultsFor(branches.next()), is(empty()));
 
 		testedBlackboard = BLACKBOARD_FACTORY.getFull();
@@ -836,7 +906,9 @@ public class BlackboardTest {
 		SeffLoop seffLoop = loops.next();
 		final LoopRepetitionCountMeasurementResult result = MEAUSUREMENT_RESULT_FACTORY.getLoopResults()[0];
 		testedBlackboard.addMeasurementResultFor(seffLoop, result);
-		assertThat(testedBlackboard.getMeasurementResultsFor(seffLoop), contains(result));
+		assertThat(testedBlackboard.getMeasurementResultsFor(seffLoop),
+			contains(allOf(hasProperty("count", is(result.getCount())),
+				hasProperty("parameterisation", is(result.getParameterisation())))));
 		assertThat(testedBlackboard.getMeasurementResultsFor(loops.next()), is(empty()));
 
 		testedBlackboard = BLACKBOARD_FACTORY.getFull();
@@ -898,7 +970,9 @@ public class BlackboardTest {
 		ExternalCallParameter externalCallParameter = parameters.next();
 		final ParameterChangeMeasurementResult result = MEAUSUREMENT_RESULT_FACTORY.getParameterResults()[0];
 		testedBlackboard.addMeasurementResultFor(externalCallParameter, result);
-		assertThat(testedBlackboard.getMeasurementResultsFor(externalCallParameter), contains(result));
+		assertThat(testedBlackboard.getMeasurementResultsFor(externalCallParameter),
+			contains(allOf(hasProperty("count", is(result.getCount())),
+				hasProperty("parameterisation", is(result.getParameterisation())))));
 		assertThat(testedBlackboard.getMeasurementResultsFor(parameters.next()), is(empty()));
 
 		testedBlackboard = BLACKBOARD_FACTORY.getFull();
@@ -911,6 +985,169 @@ public class BlackboardTest {
 			testedBlackboard.getMeasurementResultsFor(externalCallParameter), is(equalTo(results)));
 	}
 
+	/**
+	 * Test method for the {@code getMeasurementValuesFor} methods and
+	 * {@link Blackboard#getMeasurementParameterisationsFor(MeasurableSeffElement)}.
+	 * Asserts that:
+	 *
+	 * <ul>
+	 *
+	 * <li>The values of all added results are returned, in the order they were added.
+	 *
+	 * <li>The returned views are read only and not affected by results added later.
+	 *
+	 * <li>{@code null} and unknown elements are not accepted.
+	 *
+	 * </ul>
+	 */
+	@Test
+	public void getMeasurementValuesFor() {
+		final Blackboard testedBlackboard = BLACKBOARD_FACTORY.getWithToBeMeasuredContent();
+		final ResourceDemandingInternalAction rdia = testedBlackboard.getAllRdias().iterator().next();
+		final SeffBranch branch = testedBlackboard.getAllSeffBranches().iterator().next();
+		final SeffLoop loop = testedBlackboard.getAllSeffLoops().iterator().next();
+		final ExternalCallParameter parameter = testedBlackboard.getAllExternalCallParameters().iterator().next();
+
+		assertThat(testedBlackboard.getMeasurementValuesFor(rdia).remaining(), is(0));
+		assertThat(testedBlackboard.getMeasurementParameterisationsFor(rdia), is(empty()));
+
+		final ResourceDemandMeasurementResult[] rdiaResults = MEAUSUREMENT_RESULT_FACTORY.getRdiaResults();
+		for (final ResourceDemandMeasurementResult result : rdiaResults) {
+			testedBlackboard.addMeasurementResultFor(rdia, result);
+		}
+		final DoubleBuffer rdiaValues = testedBlackboard.getMeasurementValuesFor(rdia);
+		final List<Parameterisation> rdiaParameterisations = testedBlackboard.getMeasurementParameterisationsFor(rdia);
+		assertThat(rdiaValues.isReadOnly(), is(true));
+		assertThat(rdiaValues.remaining(), is(rdiaResults.length));
+		assertThat(rdiaParameterisations.size(), is(rdiaResults.length));
+		for (int i = 0; i < rdiaResults.length; i++) {
+			assertThat(rdiaValues.get(i), is(rdiaResults[i].getValue()));
+			assertThat(rdiaParameterisations.get(i), is(rdiaResults[i].getParameterisation()));
+		}
+
+		testedBlackboard.addMeasurementResultFor(rdia, new ResourceDemandMeasurementResult(2));
+		assertThat("Views must not change when results are added", rdiaValues.capacity(), is(rdiaResults.length));
+		assertThat("Views must not change when results are added", rdiaParameterisations.size(),
+			is(rdiaResults.length));
+		assertThat(testedBlackboard.getMeasurementValuesFor(rdia).remaining(), is(rdiaResults.length + 1));
+		assertThat(() -> rdiaValues.put(0, 1), throwsException(ReadOnlyBufferException.class));
+		assertThat(() -> rdiaParameterisations.clear(), throwsException(UnsupportedOperationException.class));
+
+		final BranchDecisionMeasurementResult[] branchResults = MEAUSUREMENT_RESULT_FACTORY.getBranchResults();
+		for (final BranchDecisionMeasurementResult result : branchResults) {
+			testedBlackboard.addMeasurementResultFor(branch, result);
+		}
+		final IntBuffer branchValues = testedBlackboard.getMeasurementValuesFor(branch);
+		assertThat(branchValues.remaining(), is(branchResults.length));
+		for (int i = 0; i < branchResults.length; i++) {
+			assertThat(branchValues.get(i), is(branchResults[i].getBranchIndex()));
+		}
+
+		final LoopRepetitionCountMeasurementResult[] loopResults = MEAUSUREMENT_RESULT_FACTORY.getLoopResults();
+		for (final LoopRepetitionCountMeasurementResult result : loopResults) {
+			testedBlackboard.addMeasurementResultFor(loop, result);
+		}
+		final IntBuffer loopValues = testedBlackboard.getMeasurementValuesFor(loop);
+		assertThat(loopValues.remaining(), is(loopResults.length));
+		for (int i = 0; i < loopResults.length; i++) {
+			assertThat(loopValues.get(i), is(loopResults[i].getCount()));
+		}
+
+		final ParameterChangeMeasurementResult[] parameterResults = MEAUSUREMENT_RESULT_FACTORY.getParameterResults();
+		for (final ParameterChangeMeasurementResult result : parameterResults) {
+			testedBlackboard.addMeasurementResultFor(parameter, result);
+		}
+		final IntBuffer parameterValues = testedBlackboard.getMeasurementValuesFor(parameter);
+		assertThat(parameterValues.remaining(), is(parameterResults.length));
+		assertThat(testedBlackboard.getMeasurementParameterisationsFor(parameter).size(), is(parameterResults.length));
+
+		final Blackboard emptyBlackboard = BLACKBOARD_FACTORY.getEmpty();
+		assertThat(() -> emptyBlackboard.getMeasurementValuesFor(rdia), throwsException(IllegalArgumentException.class));
+		assertThat(() -> emptyBlackboard.getMeasurementValuesFor(branch), throwsException(IllegalArgumentException.class));
+		assertThat(() -> emptyBlackboard.getMeasurementValuesFor(loop), throwsException(IllegalArgumentException.class));
+		assertThat(() -> emptyBlackboard.getMeasurementValuesFor(parameter),
+			throwsException(IllegalArgumentException.class));
+		assertThat(() -> emptyBlackboard.getMeasurementParameterisationsFor(rdia),
+			throwsException(IllegalArgumentException.class));
+		assertThat(() -> testedBlackboard.getMeasurementValuesFor((ResourceDemandingInternalAction) null),
+			throwsException(NullPointerException.class));
+		assertThat(() -> testedBlackboard.getMeasurementParameterisationsFor(null),
+			throwsException(NullPointerException.class));
+	}
+
+	/**
+	 * Asserts that the blackboard can be written to by multiple threads at the same time
+	 * without losing any data.
+	 *
+	 * @throws Exception If a writing thread fails.
+	 */
+	@Test
+	public void concurrentWrites() throws Exception {
+		final int threadCount = 8;
+		final int writesPerThread = 1000;
+		final Blackboard testedBlackboard = BLACKBOARD_FACTORY.getWithToBeMeasuredContent();
+		final ResourceDemandingInternalAction rdia = testedBlackboard.getAllRdias().iterator().next();
+		final SeffLoop loop = testedBlackboard.getAllSeffLoops().iterator().next();
+		final ExecutorService writers = Executors.newFixedThreadPool(threadCount);
+
+		final List<Future<?>> writes = new ArrayList<>();
+		for (int thread = 0; thread < threadCount; thread++) {
+			final int offset = thread * writesPerThread;
+			writes.add(writers.submit(() -> {
+				for (int i = 0; i < writesPerThread; i++) {
+					testedBlackboard.addMeasurementResultFor(rdia, new ResourceDemandMeasurementResult(offset + i));
+					testedBlackboard.addProposedExpressionFor(loop, ConstantExpression.forValue(offset + i));
+					testedBlackboard.getProposedExpressionFor(loop);
+					testedBlackboard.getMeasurementValuesFor(rdia);
+				}
+			}));
+		}
+		for (final Future<?> write : writes) {
+			write.get();
+		}
+		writers.shutdown();
+
+		assertThat(testedBlackboard.getMeasurementValuesFor(rdia).remaining(), is(threadCount * writesPerThread));
+		assertThat(testedBlackboard.getMeasurementResultsFor(rdia).size(), is(threadCount * writesPerThread));
+		assertThat(testedBlackboard.getProposedExpressionFor(loop).size(), is(threadCount * writesPerThread));
+	}
+
+	/**
+	 * Test method for
+	 * {@link Blackboard#getMeasurementResultsVersionFor(MeasurableSeffElement)}. Asserts
+	 * that the version changes exactly when a result is added for the element.
+	 */
+	@Test
+	public void getMeasurementResultsVersionFor() {
+		final Blackboard testedBlackboard = BLACKBOARD_FACTORY.getWithToBeMeasuredContent();
+		final ResourceDemandingInternalAction rdia = testedBlackboard.getAllRdias().iterator().next();
+		final SeffLoop loop = testedBlackboard.getAllSeffLoops().iterator().next();
+
+		final int initialRdiaVersion = testedBlackboard.getMeasurementResultsVersionFor(rdia);
+		final int initialLoopVersion = testedBlackboard.getMeasurementResultsVersionFor(loop);
+		assertThat(testedBlackboard.getMeasurementResultsVersionFor(rdia), is(initialRdiaVersion));
+
+		testedBlackboard.addMeasurementResultFor(rdia, new ResourceDemandMeasurementResult(2));
+		final int secondRdiaVersion = testedBlackboard.getMeasurementResultsVersionFor(rdia);
+		assertThat(secondRdiaVersion, is(not(initialRdiaVersion)));
+		assertThat("Adding results for other elements must not change the version",
+			testedBlackboard.getMeasurementResultsVersionFor(loop), is(initialLoopVersion));
+
+		testedBlackboard.addMeasurementResultFor(rdia, new ResourceDemandMeasurementResult(2));
+		final int thirdRdiaVersion = testedBlackboard.getMeasurementResultsVersionFor(rdia);
+		assertThat(thirdRdiaVersion, is(allOf(not(initialRdiaVersion), not(secondRdiaVersion))));
+
+		testedBlackboard.addProposedExpressionFor(rdia, EVALUABLE_EXPRESSION_FACTORY.getOne());
+		testedBlackboard.setFinalExpressionFor(rdia, EVALUABLE_EXPRESSION_FACTORY.getOne());
+		assertThat("Only measurement results may change the version",
+			testedBlackboard.getMeasurementResultsVersionFor(rdia), is(thirdRdiaVersion));
+
+		assertThat(() -> BLACKBOARD_FACTORY.getEmpty().getMeasurementResultsVersionFor(rdia),
+			throwsException(IllegalArgumentException.class));
+		assertThat(() -> testedBlackboard.getMeasurementResultsVersionFor(null),
+			throwsException(NullPointerException.class));
+	}
+
 	/**
 	 * Test method for
 	 * {@link Blackboard#addMeasurementResultFor(ResourceDemandingInternalAction, ResourceDemandMeasurementResult)}
@@ -1007,6 +1244,71 @@ public class BlackboardTest {
 		}, throwsException(IllegalArgumentException.class));
 	}
 
+	/**
+	 * Test method for
+	 * {@link Blackboard#addMeasurementResultFor(SeffBranch, BranchDecisionMeasurementResult, int)}
+	 * . Asserts that:
+	 *
+	 * <ul>
+	 *
+	 * <li>The result is added as often as requested.
+	 *
+	 * <li>{@code null} cannot be passed as any argument.
+	 *
+	 * <li>Adding measurementResult for unknown Elements throws an
+	 * IllegalArgumentException
+	 *
+	 * </ul>
+	 */
+	@Test
+	public void addMeasurementResultForSeffBranchBranchDecisionMeasurementResultSeveralTimes() {
+		final BranchDecisionMeasurementResult branchResult = new BranchDecisionMeasurementResult(2);
+		final Blackboard testBlackboard = BLACKBOARD_FACTORY.getWithToBeMeasuredContent();
+		final SeffBranch measuredBranch = testBlackboard.getAllSeffBranches().iterator().next();
+		testBlackboard.addMeasurementResultFor(measuredBranch, new BranchDecisionMeasurementResult(1));
+		testBlackboard.addMeasurementResultFor(measuredBranch, branchResult, 3);
+		final IntBuffer branchValues = testBlackboard.getMeasurementValuesFor(measuredBranch);
+		assertThat(branchValues.remaining(), is(4));
+		assertThat(branchValues.get(0), is(1));
+		for (int i = 1; i < 4; i++) {
+			assertThat(branchValues.get(i), is(2));
+		}
+
+		assertThat("It must not be possible to add a measurement result for null",
+			() -> BLACKBOARD_FACTORY.getEmpty().addMeasurementResultFor(null, branchResult, 2),
+			throwsException(NullPointerException.class));
+		assertThat("It must not be possible to add null as measurement result",
+			() -> testBlackboard.addMeasurementResultFor(measuredBranch, null, 2),
+			throwsException(NullPointerException.class));
+		assertThat("It must not be possible to add measurement results to unknown elements!",
+			() -> BLACKBOARD_FACTORY.getEmpty().addMeasurementResultFor(SEFF_BRANCH_FACTORY.getOne(), branchResult, 2),
+			throwsException(IllegalArgumentException.class));
+	}
+
+	/**
+	 * Test method for {@link Blackboard#getMeasurementResultsFor(SeffBranch)} and
+	 * {@link Blackboard#getMeasurementResultsFor(SeffLoop)}. Asserts that results that were
+	 * measured repeatedly are returned as often as they were added, so that they keep
+	 * their weight.
+	 */
+	@Test
+	public void getMeasurementResultsForRepeatedMeasurements() {
+		final Blackboard testBlackboard = BLACKBOARD_FACTORY.getWithToBeMeasuredContent();
+		final SeffBranch measuredBranch = testBlackboard.getAllSeffBranches().iterator().next();
+		final BranchDecisionMeasurementResult branchResult = new BranchDecisionMeasurementResult(2);
+		testBlackboard.addMeasurementResultFor(measuredBranch, branchResult);
+		testBlackboard.addMeasurementResultFor(measuredBranch, branchResult);
+		assertThat(testBlackboard.getMeasurementResultsFor(measuredBranch), hasSize(2));
+		assertThat(testBlackboard.getMeasurementResultsFor(measuredBranch),
+			everyItem(hasProperty("branchIndex", is(2))));
+
+		final SeffLoop measuredLoop = testBlackboard.getAllSeffLoops().iterator().next();
+		testBlackboard.addMeasurementResultFor(measuredLoop, new LoopRepetitionCountMeasurementResult(5));
+		testBlackboard.addMeasurementResultFor(measuredLoop, new LoopRepetitionCountMeasurementResult(5), 2);
+		assertThat(testBlackboard.getMeasurementResultsFor(measuredLoop), hasSize(3));
+		assertThat(testBlackboard.getMeasurementResultsFor(measuredLoop), everyItem(hasProperty("count", is(5))));
+	}
+
 	/**
 	 * Test method for
 	 * {@link Blackboard#addMeasurementResultFor(SeffLoop, LoopRepetitionCountMeasurementResult)}
@@ -1056,6 +1358,47 @@ public class BlackboardTest {
 		}, throwsException(IllegalArgumentException.class));
 	}
 
+	/**
+	 * Test method for
+	 * {@link Blackboard#addMeasurementResultFor(SeffLoop, LoopRepetitionCountMeasurementResult, int)}
+	 * . Asserts that:
+	 *
+	 * <ul>
+	 *
+	 * <li>The result is added as often as requested.
+	 *
+	 * <li>{@code null} cannot be passed as any argument.
+	 *
+	 * <li>Adding measurementResult for unknown Elements throws an
+	 * IllegalArgumentException
+	 *
+	 * </ul>
+	 */
+	@Test
+	public void addMeasurementResultForSeffLoopLoopRepetitionCountMeasurementResultSeveralTimes() {
+		final LoopRepetitionCountMeasurementResult loopResult = new LoopRepetitionCountMeasurementResult(5);
+		final Blackboard testBlackboard = BLACKBOARD_FACTORY.getWithToBeMeasuredContent();
+		final SeffLoop measuredLoop = testBlackboard.getAllSeffLoops().iterator().next();
+		testBlackboard.addMeasurementResultFor(measuredLoop, new LoopRepetitionCountMeasurementResult(1));
+		testBlackboard.addMeasurementResultFor(measuredLoop, loopResult, 3);
+		final IntBuffer loopValues = testBlackboard.getMeasurementValuesFor(measuredLoop);
+		assertThat(loopValues.remaining(), is(4));
+		assertThat(loopValues.get(0), is(1));
+		for (int i = 1; i < 4; i++) {
+			assertThat(loopValues.get(i), is(5));
+		}
+
+		assertThat("It must not be possible to add a measurement result for null",
+			() -> BLACKBOARD_FACTORY.getEmpty().addMeasurementResultFor(null, loopResult, 2),
+			throwsException(NullPointerException.class));
+		assertThat("It must not be possible to add null as measurement result",
+			() -> testBlackboard.addMeasurementResultFor(measuredLoop, null, 2),
+			throwsException(NullPointerException.class));
+		assertThat("It must not be possible to add measurement results to unknown elements!",
+			() -> BLACKBOARD_FACTORY.getEmpty().addMeasurementResultFor(SEFF_LOOP_FACTORY.getOne(), loopResult, 2),
+			throwsException(IllegalArgumentException.class));
+	}
+
 	/**
 	 * Test method for
 	 * {@link Blackboard#addMeasurementResultFor(ExternalCallParameter, ParameterChangeMeasurementResult)}
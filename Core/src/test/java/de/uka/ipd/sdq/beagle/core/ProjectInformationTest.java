@@ -80,6 +80,29 @@ public class ProjectInformationTest {
 		assertThat(projectInfo.getCharset(), is(testCharset));
 	}
 
+	/**
+	 * Test method for {@link ProjectInformation#getAnalysisSettings()}.
+	 */
+	@Test
+	public void getAnalysisSettings() {
+		final ProjectInformation sequentialInfo = new ProjectInformation(mock(Timeout.class),
+			mock(SourceCodeFileProvider.class), "", Charset.defaultCharset(), new LaunchConfigurationFactory().getAllAsSet());
+		assertThat(sequentialInfo.getAnalysisSettings(), is(AnalysisSettings.SEQUENTIAL));
+
+		final AnalysisSettings testSettings =
+			AnalysisSettings.SEQUENTIAL.withParallelism(4).withMeasurementConcurrency(3).withAnalysisConcurrent(true);
+		final ProjectInformation parallelInfo =
+			new ProjectInformation(mock(Timeout.class), mock(SourceCodeFileProvider.class), "", Charset.defaultCharset(),
+				new LaunchConfigurationFactory().getAllAsSet(), testSettings);
+		assertThat(parallelInfo.getAnalysisSettings(), is(testSettings));
+
+		final ThrowingMethod method = () -> {
+			new ProjectInformation(mock(Timeout.class), mock(SourceCodeFileProvider.class), "", Charset.defaultCharset(),
+				new LaunchConfigurationFactory().getAllAsSet(), null);
+		};
+		assertThat("analysisSettings must not be null.", method, throwsException(NullPointerException.class));
+	}
+
 	/**
 	 * Test method for {@link ProjectInformation#getTimeout()}.
 	 */
@@ -24,6 +24,7 @@ import de.uka.ipd.sdq.beagle.core.measurement.BranchDecisionMeasurementResult;
 import de.uka.ipd.sdq.beagle.core.measurement.LoopRepetitionCountMeasurementResult;
 import de.uka.ipd.sdq.beagle.core.measurement.ParameterChangeMeasurementResult;
 import de.uka.ipd.sdq.beagle.core.measurement.ResourceDemandMeasurementResult;
+import de.uka.ipd.sdq.beagle.core.measurement.ResourceDemandSummaryMeasurementResult;
 import de.uka.ipd.sdq.beagle.core.testutil.EqualsMatcher;
 import de.uka.ipd.sdq.beagle.core.testutil.factories.BlackboardFactory;
 import de.uka.ipd.sdq.beagle.core.testutil.factories.EvaluableExpressionFactory;
@@ -373,6 +374,28 @@ public class MeasurementResultAnalyserBlackboardViewTest {
 			is(theInstance(testInstance)));
 	}
 
+	/**
+	 * Test method for
+	 * {@link MeasurementResultAnalyserBlackboardView#getMeasurementSummariesFor(ResourceDemandingInternalAction)}
+	 * . Asserts that:
+	 *
+	 * <ul>
+	 *
+	 * <li> The tested view returns the instance it obtained from the blackboard.
+	 *
+	 * </ul>
+	 */
+	@Test
+	public void getMeasurementSummariesFor() {
+		final Set<ResourceDemandSummaryMeasurementResult> testInstance = new HashSet<>();
+		final ResourceDemandingInternalAction rdia = RDIA_FACTORY.getOne();
+		given(this.mockedBlackboard.getMeasurementSummariesFor(rdia)).willReturn(testInstance);
+
+		final Set<ResourceDemandSummaryMeasurementResult> result = this.testedView.getMeasurementSummariesFor(rdia);
+		assertThat("The testedView should return the instance it obtained from the blackboad", result,
+			is(theInstance(testInstance)));
+	}
+
 	/**
 	 * Test method for
 	 * {@link MeasurementResultAnalyserBlackboardView#getMeasurementResultsFor(SeffBranch)}
@@ -19,6 +19,7 @@ import de.uka.ipd.sdq.beagle.core.measurement.BranchDecisionMeasurementResult;
 import de.uka.ipd.sdq.beagle.core.measurement.LoopRepetitionCountMeasurementResult;
 import de.uka.ipd.sdq.beagle.core.measurement.ParameterChangeMeasurementResult;
 import de.uka.ipd.sdq.beagle.core.measurement.ResourceDemandMeasurementResult;
+import de.uka.ipd.sdq.beagle.core.measurement.ResourceDemandSummaryMeasurementResult;
 import de.uka.ipd.sdq.beagle.core.testutil.EqualsMatcher;
 import de.uka.ipd.sdq.beagle.core.testutil.factories.BlackboardFactory;
 import de.uka.ipd.sdq.beagle.core.testutil.factories.EvaluableExpressionFitnessFunctionFactory;
@@ -30,6 +31,8 @@ import de.uka.ipd.sdq.beagle.core.testutil.factories.SeffLoopFactory;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -283,6 +286,28 @@ public class ReadOnlyMeasurementResultAnalyserBlackboardViewTest {
 			is(theInstance(testInstance)));
 	}
 
+	/**
+	 * Test method for
+	 * {@link ReadOnlyMeasurementResultAnalyserBlackboardView#getMeasurementSummariesFor(ResourceDemandingInternalAction)}
+	 * . Asserts that:
+	 *
+	 * <ul>
+	 *
+	 * <li> The tested view returns the instance it obtained from the blackboard.
+	 *
+	 * </ul>
+	 */
+	@Test
+	public void getMeasurementSummariesFor() {
+		final Set<ResourceDemandSummaryMeasurementResult> testInstance = new HashSet<>();
+		final ResourceDemandingInternalAction rdia = RDIA_FACTORY.getOne();
+		given(this.mockedBlackboard.getMeasurementSummariesFor(rdia)).willReturn(testInstance);
+
+		final Set<ResourceDemandSummaryMeasurementResult> result = this.testedView.getMeasurementSummariesFor(rdia);
+		assertThat("The testedView should return the instance it obtained from the blackboad", result,
+			is(theInstance(testInstance)));
+	}
+
 	/**
 	 * Test method for
 	 * {@link ReadOnlyMeasurementResultAnalyserBlackboardView#getMeasurementResultsFor(SeffBranch)}
@@ -350,6 +375,43 @@ public class ReadOnlyMeasurementResultAnalyserBlackboardViewTest {
 			is(theInstance(testInstance)));
 	}
 
+	/**
+	 * Test method for the {@code getMeasurementValuesFor} methods of
+	 * {@link ReadOnlyMeasurementResultAnalyserBlackboardView}. Asserts that:
+	 *
+	 * <ul>
+	 *
+	 * <li> The tested view returns the instance it obtained from the blackboard.
+	 *
+	 * </ul>
+	 */
+	@Test
+	public void getMeasurementValuesFor() {
+		final DoubleBuffer rdiaValues = DoubleBuffer.allocate(0);
+		final ResourceDemandingInternalAction rdia = RDIA_FACTORY.getOne();
+		given(this.mockedBlackboard.getMeasurementValuesFor(rdia)).willReturn(rdiaValues);
+		assertThat("The testedView should return the instance it obtained from the blackboad",
+			this.testedView.getMeasurementValuesFor(rdia), is(theInstance(rdiaValues)));
+
+		final IntBuffer branchValues = IntBuffer.allocate(0);
+		final SeffBranch seffBranch = SEFF_BRANCH_FACTORY.getOne();
+		given(this.mockedBlackboard.getMeasurementValuesFor(seffBranch)).willReturn(branchValues);
+		assertThat("The testedView should return the instance it obtained from the blackboad",
+			this.testedView.getMeasurementValuesFor(seffBranch), is(theInstance(branchValues)));
+
+		final IntBuffer loopValues = IntBuffer.allocate(0);
+		final SeffLoop seffLoop = SEFF_LOOP_FACTORY.getOne();
+		given(this.mockedBlackboard.getMeasurementValuesFor(seffLoop)).willReturn(loopValues);
+		assertThat("The testedView should return the instance it obtained from the blackboad",
+			this.testedView.getMeasurementValuesFor(seffLoop), is(theInstance(loopValues)));
+
+		final IntBuffer parameterValues = IntBuffer.allocate(0);
+		final ExternalCallParameter externalCallParameter = EXTERNAL_CALL_PARAMETER_FACTORY.getOne();
+		given(this.mockedBlackboard.getMeasurementValuesFor(externalCallParameter)).willReturn(parameterValues);
+		assertThat("The testedView should return the instance it obtained from the blackboad",
+			this.testedView.getMeasurementValuesFor(externalCallParameter), is(theInstance(parameterValues)));
+	}
+
 	/**
 	 * Test method for
 	 * {@link ReadOnlyMeasurementResultAnalyserBlackboardView#getGetFitnessFunction()} .
@@ -6,6 +6,7 @@ import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
 
+import de.uka.ipd.sdq.beagle.core.AnalysisSettings;
 import de.uka.ipd.sdq.beagle.core.testutil.ThrowingMethod;
 import de.uka.ipd.sdq.beagle.core.testutil.factories.TestFileFactory;
 import de.uka.ipd.sdq.beagle.core.timeout.Timeout;
@@ -149,6 +150,80 @@ public class BeagleConfigurationTest {
 
 	}
 
+	/**
+	 * Test method for {@link BeagleConfiguration#setParallelism(int)} and
+	 * {@link BeagleConfiguration#getParallelism()}.
+	 */
+	@Test
+	public void parallelismTest() {
+		final File file = TEST_FILE_FACTORY.getAll()[0];
+		final BeagleConfiguration beagleConfig =
+			new BeagleConfiguration(this.elements, file, file, mock(IJavaProject.class));
+		assertThat(beagleConfig.getParallelism(), is(1));
+		beagleConfig.setParallelism(3);
+		assertThat(beagleConfig.getParallelism(), is(3));
+		assertThat(() -> beagleConfig.setParallelism(0), throwsException(IllegalArgumentException.class));
+		beagleConfig.finalise();
+		assertThat(() -> beagleConfig.setParallelism(1), throwsException(IllegalStateException.class));
+	}
+
+	/**
+	 * Test method for {@link BeagleConfiguration#setMeasurementConcurrency(int)} and
+	 * {@link BeagleConfiguration#getMeasurementConcurrency()}.
+	 */
+	@Test
+	public void measurementConcurrencyTest() {
+		final File file = TEST_FILE_FACTORY.getAll()[0];
+		final BeagleConfiguration beagleConfig =
+			new BeagleConfiguration(this.elements, file, file, mock(IJavaProject.class));
+		assertThat(beagleConfig.getMeasurementConcurrency(), is(1));
+		beagleConfig.setMeasurementConcurrency(3);
+		assertThat(beagleConfig.getMeasurementConcurrency(), is(3));
+		assertThat(() -> beagleConfig.setMeasurementConcurrency(0), throwsException(IllegalArgumentException.class));
+		beagleConfig.finalise();
+		assertThat(() -> beagleConfig.setMeasurementConcurrency(1), throwsException(IllegalStateException.class));
+	}
+
+	/**
+	 * Test method for {@link BeagleConfiguration#setAnalysisConcurrent(boolean)},
+	 * {@link BeagleConfiguration#isAnalysisConcurrent()},
+	 * {@link BeagleConfiguration#setMeasurementPipelined(boolean)} and
+	 * {@link BeagleConfiguration#isMeasurementPipelined()}.
+	 */
+	@Test
+	public void analysisOptionsTest() {
+		final File file = TEST_FILE_FACTORY.getAll()[0];
+		final BeagleConfiguration beagleConfig =
+			new BeagleConfiguration(this.elements, file, file, mock(IJavaProject.class));
+		assertThat(beagleConfig.isAnalysisConcurrent(), is(false));
+		assertThat(beagleConfig.isMeasurementPipelined(), is(false));
+		beagleConfig.setAnalysisConcurrent(true);
+		assertThat(beagleConfig.isAnalysisConcurrent(), is(true));
+		assertThat(beagleConfig.isMeasurementPipelined(), is(false));
+		beagleConfig.setMeasurementPipelined(true);
+		assertThat(beagleConfig.isMeasurementPipelined(), is(true));
+		beagleConfig.finalise();
+		assertThat(() -> beagleConfig.setAnalysisConcurrent(false), throwsException(IllegalStateException.class));
+		assertThat(() -> beagleConfig.setMeasurementPipelined(false), throwsException(IllegalStateException.class));
+	}
+
+	/**
+	 * Test method for {@link BeagleConfiguration#getAnalysisSettings()}.
+	 */
+	@Test
+	public void getAnalysisSettings() {
+		final File file = TEST_FILE_FACTORY.getAll()[0];
+		final BeagleConfiguration beagleConfig =
+			new BeagleConfiguration(this.elements, file, file, mock(IJavaProject.class));
+		assertThat(beagleConfig.getAnalysisSettings(), is(AnalysisSettings.SEQUENTIAL));
+		beagleConfig.setParallelism(4);
+		beagleConfig.setMeasurementConcurrency(2);
+		beagleConfig.setMeasurementPipelined(true);
+		assertThat(beagleConfig.getAnalysisSettings(), is(AnalysisSettings.SEQUENTIAL.withParallelism(4)
+			.withMeasurementConcurrency(2)
+			.withMeasurementPipelined(true)));
+	}
+
 	/**
 	 * Test method for {@link BeagleConfiguration#getRepositoryFile()} and
 	 * {@link BeagleConfiguration#setRepositoryFile(File)}.
@@ -27,7 +27,11 @@ import de.uka.ipd.sdq.beagle.core.testutil.factories.SeffLoopFactory;
 
 import org.junit.Test;
 
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -100,6 +104,7 @@ public class AbstractionAndPrecisionFitnessFunctionTest {
 		results.add(new ResourceDemandMeasurementResult(2.0));
 		final EvaluableExpression expression2 = mock(EvaluableExpression.class);
 		given(blackboardView.getMeasurementResultsFor(rdia)).willReturn(results);
+		this.stubMeasurementValues(blackboardView, rdia, results);
 		given(expression.evaluate(any())).willReturn(2.0);
 		given(expression2.evaluate(any())).willReturn(10.32);
 		assertThat(function.gradeFor(rdia, expression, blackboardView),
@@ -109,6 +114,7 @@ public class AbstractionAndPrecisionFitnessFunctionTest {
 		results.add(new ResourceDemandMeasurementResult(2.0));
 		results.add(new ResourceDemandMeasurementResult(20.32));
 		given(blackboardView.getMeasurementResultsFor(rdia)).willReturn(results);
+		this.stubMeasurementValues(blackboardView, rdia, results);
 		assertThat(function.gradeFor(rdia, expression2, blackboardView),
 			is(lessThan(function.gradeFor(rdia, expression, blackboardView))));
 
@@ -120,6 +126,7 @@ public class AbstractionAndPrecisionFitnessFunctionTest {
 
 		results = new HashSet<>();
 		given(blackboardView.getMeasurementResultsFor(rdia)).willReturn(results);
+		this.stubMeasurementValues(blackboardView, rdia, results);
 		given(expression.evaluate(any())).willReturn(2.0);
 		given(expression2.evaluate(any())).willReturn(10.32);
 		assertThat(function.gradeFor(rdia, expression, blackboardView), is(Double.POSITIVE_INFINITY));
@@ -162,6 +169,7 @@ public class AbstractionAndPrecisionFitnessFunctionTest {
 		results.add(new BranchDecisionMeasurementResult(2));
 		final EvaluableExpression expression2 = mock(EvaluableExpression.class);
 		given(blackboardView.getMeasurementResultsFor(branch)).willReturn(results);
+		this.stubMeasurementValues(blackboardView, branch, results);
 		given(expression.evaluate(any())).willReturn(2.0);
 		given(expression2.evaluate(any())).willReturn(10.32);
 		assertThat(function.gradeFor(branch, expression, blackboardView),
@@ -171,6 +179,7 @@ public class AbstractionAndPrecisionFitnessFunctionTest {
 		results.add(new BranchDecisionMeasurementResult(2));
 		results.add(new BranchDecisionMeasurementResult(20));
 		given(blackboardView.getMeasurementResultsFor(branch)).willReturn(results);
+		this.stubMeasurementValues(blackboardView, branch, results);
 		assertThat(function.gradeFor(branch, expression2, blackboardView),
 			is(lessThan(function.gradeFor(branch, expression, blackboardView))));
 
@@ -182,6 +191,7 @@ public class AbstractionAndPrecisionFitnessFunctionTest {
 
 		results = new HashSet<>();
 		given(blackboardView.getMeasurementResultsFor(branch)).willReturn(results);
+		this.stubMeasurementValues(blackboardView, branch, results);
 		given(expression.evaluate(any())).willReturn(2.0);
 		given(expression2.evaluate(any())).willReturn(10.32);
 		assertThat(function.gradeFor(branch, expression, blackboardView), is(Double.POSITIVE_INFINITY));
@@ -224,6 +234,7 @@ public class AbstractionAndPrecisionFitnessFunctionTest {
 		results.add(new LoopRepetitionCountMeasurementResult(2));
 		final EvaluableExpression expression2 = mock(EvaluableExpression.class);
 		given(blackboardView.getMeasurementResultsFor(loop)).willReturn(results);
+		this.stubMeasurementValues(blackboardView, loop, results);
 		given(expression.evaluate(any())).willReturn(2.0);
 		given(expression2.evaluate(any())).willReturn(10.32);
 		assertThat(function.gradeFor(loop, expression, blackboardView),
@@ -233,6 +244,7 @@ public class AbstractionAndPrecisionFitnessFunctionTest {
 		results.add(new LoopRepetitionCountMeasurementResult(2));
 		results.add(new LoopRepetitionCountMeasurementResult(21));
 		given(blackboardView.getMeasurementResultsFor(loop)).willReturn(results);
+		this.stubMeasurementValues(blackboardView, loop, results);
 		assertThat(function.gradeFor(loop, expression2, blackboardView),
 			is(lessThan(function.gradeFor(loop, expression, blackboardView))));
 
@@ -244,6 +256,7 @@ public class AbstractionAndPrecisionFitnessFunctionTest {
 
 		results = new HashSet<>();
 		given(blackboardView.getMeasurementResultsFor(loop)).willReturn(results);
+		this.stubMeasurementValues(blackboardView, loop, results);
 		given(expression.evaluate(any())).willReturn(2.0);
 		given(expression2.evaluate(any())).willReturn(10.32);
 		assertThat(function.gradeFor(loop, expression, blackboardView), is(Double.POSITIVE_INFINITY));
@@ -289,6 +302,7 @@ public class AbstractionAndPrecisionFitnessFunctionTest {
 		results.add(parameterChangeResult);
 		final EvaluableExpression expression2 = mock(EvaluableExpression.class);
 		given(blackboardView.getMeasurementResultsFor(parameter)).willReturn(results);
+		this.stubMeasurementValues(blackboardView, parameter, results);
 		given(expression.evaluate(any())).willReturn(2.0);
 		given(expression2.evaluate(any())).willReturn(10.32);
 		assertThat(function.gradeFor(parameter, expression, blackboardView),
@@ -302,6 +316,7 @@ public class AbstractionAndPrecisionFitnessFunctionTest {
 		given(parameterChangeResult2.getCount()).willReturn(22);
 		results.add(parameterChangeResult2);
 		given(blackboardView.getMeasurementResultsFor(parameter)).willReturn(results);
+		this.stubMeasurementValues(blackboardView, parameter, results);
 		assertThat(function.gradeFor(parameter, expression2, blackboardView),
 			is(lessThan(function.gradeFor(parameter, expression, blackboardView))));
 
@@ -313,8 +328,114 @@ public class AbstractionAndPrecisionFitnessFunctionTest {
 
 		results = new HashSet<>();
 		given(blackboardView.getMeasurementResultsFor(parameter)).willReturn(results);
+		this.stubMeasurementValues(blackboardView, parameter, results);
 		given(expression.evaluate(any())).willReturn(2.0);
 		given(expression2.evaluate(any())).willReturn(10.32);
 		assertThat(function.gradeFor(parameter, expression, blackboardView), is(Double.POSITIVE_INFINITY));
 	}
+
+	/**
+	 * Test method for the {@code gradeAllFor} methods. Asserts that grading multiple
+	 * expressions at once yields exactly the grades that grading each expression on its
+	 * own yields.
+	 */
+	@Test
+	public void gradeAllFor() {
+		final AbstractionAndPrecisionFitnessFunction function = new AbstractionAndPrecisionFitnessFunction();
+		final EvaluableExpressionFitnessFunctionBlackboardView blackboardView =
+			mock(EvaluableExpressionFitnessFunctionBlackboardView.class);
+		final ResourceDemandingInternalAction rdia = RESOURCE_DEMANDING_INTERNAL_ACTION_FACTORY.getOne();
+		final SeffLoop loop = SEFF_LOOP_FACTORY.getOne();
+		final List<EvaluableExpression> expressions = Arrays.asList(ConstantExpression.forValue(3.2),
+			new AdditionExpression(ConstantExpression.forValue(2.2), ConstantExpression.forValue(1)),
+			ConstantExpression.forValue(0), ConstantExpression.forValue(3.2));
+
+		final Set<ResourceDemandMeasurementResult> rdiaResults = new HashSet<>();
+		rdiaResults.add(new ResourceDemandMeasurementResult(2.0));
+		rdiaResults.add(new ResourceDemandMeasurementResult(20.32));
+		rdiaResults.add(new ResourceDemandMeasurementResult(4.5));
+		given(blackboardView.getMeasurementResultsFor(rdia)).willReturn(rdiaResults);
+		this.stubMeasurementValues(blackboardView, rdia, rdiaResults);
+		final Set<LoopRepetitionCountMeasurementResult> loopResults = new HashSet<>();
+		loopResults.add(new LoopRepetitionCountMeasurementResult(3));
+		loopResults.add(new LoopRepetitionCountMeasurementResult(4));
+		given(blackboardView.getMeasurementResultsFor(loop)).willReturn(loopResults);
+		this.stubMeasurementValues(blackboardView, loop, loopResults);
+
+		final double[] rdiaGrades = function.gradeAllFor(rdia, expressions, blackboardView);
+		final double[] loopGrades = function.gradeAllFor(loop, expressions, blackboardView);
+		assertThat(rdiaGrades.length, is(expressions.size()));
+		assertThat(loopGrades.length, is(expressions.size()));
+		for (int i = 0; i < expressions.size(); i++) {
+			assertThat(rdiaGrades[i], is(function.gradeFor(rdia, expressions.get(i), blackboardView)));
+			assertThat(loopGrades[i], is(function.gradeFor(loop, expressions.get(i), blackboardView)));
+		}
+		assertThat(rdiaGrades[0], is(rdiaGrades[3]));
+
+		assertThat(function.gradeAllFor(rdia, Arrays.asList(), blackboardView).length, is(0));
+		assertThat(() -> function.gradeAllFor(rdia, null, blackboardView), throwsException(NullPointerException.class));
+		assertThat(() -> function.gradeAllFor(rdia, Arrays.asList(ConstantExpression.forValue(1), null), blackboardView),
+			throwsException(IllegalArgumentException.class));
+		assertThat(() -> function.gradeAllFor((SeffLoop) null, expressions, blackboardView),
+			throwsException(NullPointerException.class));
+		assertThat(() -> function.gradeAllFor(loop, expressions, null), throwsException(NullPointerException.class));
+	}
+
+	/**
+	 * Makes {@code blackboardView} return the values of {@code results} for {@code rdia}.
+	 *
+	 * @param blackboardView A mocked blackboard view.
+	 * @param rdia The element to stub the values of.
+	 * @param results The results to return the values of.
+	 */
+	private void stubMeasurementValues(final EvaluableExpressionFitnessFunctionBlackboardView blackboardView,
+		final ResourceDemandingInternalAction rdia, final Set<ResourceDemandMeasurementResult> results) {
+		final DoubleBuffer values =
+			DoubleBuffer.wrap(results.stream().mapToDouble(ResourceDemandMeasurementResult::getValue).toArray());
+		given(blackboardView.getMeasurementValuesFor(rdia)).willReturn(values.asReadOnlyBuffer());
+	}
+
+	/**
+	 * Makes {@code blackboardView} return the values of {@code results} for
+	 * {@code branch}.
+	 *
+	 * @param blackboardView A mocked blackboard view.
+	 * @param branch The element to stub the values of.
+	 * @param results The results to return the values of.
+	 */
+	private void stubMeasurementValues(final EvaluableExpressionFitnessFunctionBlackboardView blackboardView,
+		final SeffBranch branch, final Set<BranchDecisionMeasurementResult> results) {
+		final IntBuffer values =
+			IntBuffer.wrap(results.stream().mapToInt(BranchDecisionMeasurementResult::getBranchIndex).toArray());
+		given(blackboardView.getMeasurementValuesFor(branch)).willReturn(values.asReadOnlyBuffer());
+	}
+
+	/**
+	 * Makes {@code blackboardView} return the values of {@code results} for {@code loop}.
+	 *
+	 * @param blackboardView A mocked blackboard view.
+	 * @param loop The element to stub the values of.
+	 * @param results The results to return the values of.
+	 */
+	private void stubMeasurementValues(final EvaluableExpressionFitnessFunctionBlackboardView blackboardView,
+		final SeffLoop loop, final Set<LoopRepetitionCountMeasurementResult> results) {
+		final IntBuffer values =
+			IntBuffer.wrap(results.stream().mapToInt(LoopRepetitionCountMeasurementResult::getCount).toArray());
+		given(blackboardView.getMeasurementValuesFor(loop)).willReturn(values.asReadOnlyBuffer());
+	}
+
+	/**
+	 * Makes {@code blackboardView} return the values of {@code results} for
+	 * {@code parameter}.
+	 *
+	 * @param blackboardView A mocked blackboard view.
+	 * @param parameter The element to stub the values of.
+	 * @param results The results to return the values of.
+	 */
+	private void stubMeasurementValues(final EvaluableExpressionFitnessFunctionBlackboardView blackboardView,
+		final ExternalCallParameter parameter, final Set<ParameterChangeMeasurementResult> results) {
+		final IntBuffer values =
+			IntBuffer.wrap(results.stream().mapToInt(ParameterChangeMeasurementResult::getCount).toArray());
+		given(blackboardView.getMeasurementValuesFor(parameter)).willReturn(values.asReadOnlyBuffer());
+	}
 }
@@ -2,6 +2,7 @@ package de.uka.ipd.sdq.beagle.core.judge;
 
 import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
@@ -10,17 +11,24 @@ import static org.mockito.BDDMockito.then;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 
+import de.uka.ipd.sdq.beagle.core.AnalysisSettings;
 import de.uka.ipd.sdq.beagle.core.Blackboard;
+import de.uka.ipd.sdq.beagle.core.CodeSection;
 import de.uka.ipd.sdq.beagle.core.ExternalCallParameter;
 import de.uka.ipd.sdq.beagle.core.MeasurableSeffElement;
 import de.uka.ipd.sdq.beagle.core.ProjectInformation;
 import de.uka.ipd.sdq.beagle.core.ResourceDemandingInternalAction;
 import de.uka.ipd.sdq.beagle.core.SeffBranch;
 import de.uka.ipd.sdq.beagle.core.SeffLoop;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.AdditionExpression;
 import de.uka.ipd.sdq.beagle.core.evaluableexpressions.ConstantExpression;
 import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableExpression;
+import de.uka.ipd.sdq.beagle.core.measurement.ParameterChangeMeasurementResult;
+import de.uka.ipd.sdq.beagle.core.measurement.ResourceDemandMeasurementResult;
 import de.uka.ipd.sdq.beagle.core.testutil.factories.BlackboardFactory;
+import de.uka.ipd.sdq.beagle.core.testutil.factories.CodeSectionFactory;
 import de.uka.ipd.sdq.beagle.core.testutil.factories.EvaluableExpressionFactory;
 import de.uka.ipd.sdq.beagle.core.testutil.factories.ProjectInformationFactory;
 import de.uka.ipd.sdq.beagle.core.timeout.Timeout;
@@ -28,8 +36,13 @@ import de.uka.ipd.sdq.beagle.core.timeout.Timeout;
 import org.hamcrest.Matcher;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
+import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -54,6 +67,11 @@ public class FinalJudgeTest {
 	 */
 	private static final EvaluableExpressionFactory EVALUABLE_EXPRESSION_FACTORY = new EvaluableExpressionFactory();
 
+	/**
+	 * A {@link CodeSection} factory to easily obtain new instances from.
+	 */
+	private static final CodeSectionFactory CODE_SECTION_FACTORY = new CodeSectionFactory();
+
 	/**
 	 * Matcher for the fact that the judge ends the analysis.
 	 */
@@ -95,7 +113,7 @@ public class FinalJudgeTest {
 	@Before
 	public void createObjects() {
 		this.testedJudge = new FinalJudge();
-		this.mockFitnessFunction = mock(EvaluableExpressionFitnessFunction.class);
+		this.mockFitnessFunction = mock(EvaluableExpressionFitnessFunction.class, new GradingEachExpressionAnswer());
 		this.mockTimeout = mock(Timeout.class);
 		this.testBlackboard = BLACKBOARD_FACTORY.getWithFewElements();
 		this.testBlackboard = BLACKBOARD_FACTORY.setFitnessFunction(this.testBlackboard, this.mockFitnessFunction);
@@ -316,4 +334,132 @@ public class FinalJudgeTest {
 		assertThat("The final judge should select the fittest expression",
 			this.testBlackboard.getFinalExpressionFor(seffElements[1]), is(testExpressions[1]));
 	}
+
+	/**
+	 * Asserts that proposed expressions are only graded again if there are new
+	 * measurement results for their element.
+	 */
+	@Test
+	public void onlyRegradesChangedElements() {
+		this.testedJudge.init(this.testBlackboard);
+		final ResourceDemandingInternalAction[] rdias =
+			this.testBlackboard.getAllRdias().toArray(new ResourceDemandingInternalAction[0]);
+		final EvaluableExpression[] testExpressions = EVALUABLE_EXPRESSION_FACTORY.getAll();
+		given(this.mockFitnessFunction.gradeFor(any(ResourceDemandingInternalAction.class), any(), any()))
+			.willReturn(3d);
+
+		this.testBlackboard.addProposedExpressionFor(rdias[0], testExpressions[0]);
+		this.testBlackboard.addProposedExpressionFor(rdias[1], testExpressions[1]);
+		this.testedJudge.judge(this.testBlackboard);
+		this.testedJudge.judge(this.testBlackboard);
+		then(this.mockFitnessFunction).should().gradeFor(eq(rdias[0]), eq(testExpressions[0]), any());
+		then(this.mockFitnessFunction).should().gradeFor(eq(rdias[1]), eq(testExpressions[1]), any());
+
+		this.testBlackboard.addProposedExpressionFor(rdias[0], testExpressions[2]);
+		this.testedJudge.judge(this.testBlackboard);
+		then(this.mockFitnessFunction).should().gradeFor(eq(rdias[0]), eq(testExpressions[0]), any());
+		then(this.mockFitnessFunction).should().gradeFor(eq(rdias[0]), eq(testExpressions[2]), any());
+
+		this.testBlackboard.addMeasurementResultFor(rdias[0], new ResourceDemandMeasurementResult(2));
+		this.testedJudge.judge(this.testBlackboard);
+		then(this.mockFitnessFunction).should(times(2)).gradeFor(eq(rdias[0]), eq(testExpressions[0]), any());
+		then(this.mockFitnessFunction).should(times(2)).gradeFor(eq(rdias[0]), eq(testExpressions[2]), any());
+		then(this.mockFitnessFunction).should().gradeFor(eq(rdias[1]), eq(testExpressions[1]), any());
+		assertThat("The cache must be kept on the blackboard",
+			new FinalJudge().getFitnessValueCache(this.testBlackboard).getHitCount(), is(greaterThan(0L)));
+
+		new FinalJudge().init(this.testBlackboard);
+		this.testedJudge.judge(this.testBlackboard);
+		then(this.mockFitnessFunction).should(times(2)).gradeFor(eq(rdias[1]), eq(testExpressions[1]), any());
+		assertThat(() -> new FinalJudge().getFitnessValueCache(BLACKBOARD_FACTORY.getEmpty()),
+			throwsException(IllegalStateException.class));
+	}
+
+	/**
+	 * Asserts that judging in parallel yields exactly the results judging sequentially
+	 * yields. Uses a synthetic blackboard with 10,000 elements.
+	 */
+	@Test
+	public void parallelJudgingIsIdentical() {
+		final int elementCount = 10000;
+		final CodeSection call = CODE_SECTION_FACTORY.getOne();
+		final Set<ExternalCallParameter> parameters = new HashSet<>();
+		for (int i = 0; i < elementCount; i++) {
+			parameters.add(new ExternalCallParameter(call, i));
+		}
+
+		final Blackboard sequentialBlackboard = this.createSyntheticBlackboard(parameters, 1);
+		final Blackboard parallelBlackboard = this.createSyntheticBlackboard(parameters, 4);
+		final FinalJudge sequentialJudge = new FinalJudge();
+		final FinalJudge parallelJudge = new FinalJudge();
+		sequentialJudge.init(sequentialBlackboard);
+		parallelJudge.init(parallelBlackboard);
+
+		for (int generation = 0; generation < 3; generation++) {
+			assertThat(parallelJudge.judge(parallelBlackboard), is(sequentialJudge.judge(sequentialBlackboard)));
+			for (final ExternalCallParameter parameter : parameters) {
+				assertThat(parallelBlackboard.getFinalExpressionFor(parameter),
+					is(sequentialBlackboard.getFinalExpressionFor(parameter)));
+			}
+			for (final ExternalCallParameter parameter : parameters) {
+				final EvaluableExpression proposal = ConstantExpression.forValue(parameter.getIndex() % (generation + 2));
+				sequentialBlackboard.addProposedExpressionFor(parameter, proposal);
+				parallelBlackboard.addProposedExpressionFor(parameter, proposal);
+			}
+		}
+	}
+
+	/**
+	 * Creates a blackboard with {@code parameters} on it. Each parameter gets
+	 * measurement results and proposed expressions.
+	 *
+	 * @param parameters The external call parameters to put on the blackboard.
+	 * @param parallelism The parallelism configured for the blackboard.
+	 * @return The created blackboard.
+	 */
+	private Blackboard createSyntheticBlackboard(final Set<ExternalCallParameter> parameters, final int parallelism) {
+		final ProjectInformation projectInformation = PROJECT_INFORMATION_FACTORY.setAnalysisSettings(
+			PROJECT_INFORMATION_FACTORY.getOne(), AnalysisSettings.SEQUENTIAL.withParallelism(parallelism));
+		final Blackboard blackboard = new Blackboard(new HashSet<>(), new HashSet<>(), new HashSet<>(), parameters,
+			new AbstractionAndPrecisionFitnessFunction(), projectInformation);
+		for (final ExternalCallParameter parameter : parameters) {
+			for (int i = 0; i < parameter.getIndex() % 4; i++) {
+				blackboard.addMeasurementResultFor(parameter, new ParameterChangeMeasurementResult());
+			}
+			blackboard.addProposedExpressionFor(parameter, ConstantExpression.forValue(parameter.getIndex() % 5));
+			blackboard.addProposedExpressionFor(parameter, new AdditionExpression(ConstantExpression.forValue(0),
+				ConstantExpression.forValue(parameter.getIndex() % 3)));
+		}
+		return blackboard;
+	}
+
+	/**
+	 * Default answer for the {@link #mockFitnessFunction}. Answers calls to
+	 * {@code gradeAllFor} like the interface’s default implementation does, by calling the
+	 * mock’s {@code gradeFor} for each expression. Tests can thus stub {@code gradeFor}
+	 * only. All other calls are answered with Mockito’s default answer.
+	 *
+	 * @author Joshua Gleitze
+	 */
+	private static final class GradingEachExpressionAnswer implements Answer<Object> {
+
+		@Override
+		public Object answer(final InvocationOnMock invocation) throws Throwable {
+			final Method invoked = invocation.getMethod();
+			if (!"gradeAllFor".equals(invoked.getName())) {
+				return Mockito.RETURNS_DEFAULTS.answer(invocation);
+			}
+
+			final Method gradeFor = EvaluableExpressionFitnessFunction.class.getMethod("gradeFor",
+				invoked.getParameterTypes()[0], EvaluableExpression.class,
+				EvaluableExpressionFitnessFunctionBlackboardView.class);
+			final List<?> expressions = invocation.getArgumentAt(1, List.class);
+			final double[] grades = new double[expressions.size()];
+			for (int i = 0; i < grades.length; i++) {
+				grades[i] = (Double) gradeFor.invoke(invocation.getMock(), invocation.getArguments()[0],
+					expressions.get(i), invocation.getArguments()[2]);
+			}
+			return grades;
+		}
+	}
 }
@@ -0,0 +1,87 @@
+package de.uka.ipd.sdq.beagle.core.judge;
+
+import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import de.uka.ipd.sdq.beagle.core.ResourceDemandingInternalAction;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableExpression;
+import de.uka.ipd.sdq.beagle.core.testutil.factories.EvaluableExpressionFactory;
+import de.uka.ipd.sdq.beagle.core.testutil.factories.ResourceDemandingInternalActionFactory;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link FitnessValueCache}.
+ *
+ * @author Joshua Gleitze
+ */
+public class FitnessValueCacheTest {
+
+	/**
+	 * A {@link EvaluableExpression} factory to easily obtain new instances from.
+	 */
+	private static final EvaluableExpressionFactory EVALUABLE_EXPRESSION_FACTORY = new EvaluableExpressionFactory();
+
+	/**
+	 * A {@link ResourceDemandingInternalAction} factory to easily obtain new instances
+	 * from.
+	 */
+	private static final ResourceDemandingInternalActionFactory RDIA_FACTORY =
+		new ResourceDemandingInternalActionFactory();
+
+	/**
+	 * Asserts that stored values can be looked up for the same element, expression and
+	 * version only and that hits and misses are counted.
+	 */
+	@Test
+	public void lookupAndStore() {
+		final FitnessValueCache cache = new FitnessValueCache();
+		final ResourceDemandingInternalAction[] rdias = RDIA_FACTORY.getAll();
+		final EvaluableExpression[] expressions = EVALUABLE_EXPRESSION_FACTORY.getAll();
+
+		assertThat(cache.getCapacity(), is(FitnessValueCache.DEFAULT_CAPACITY));
+		assertThat(cache.lookup(rdias[0], expressions[0], 0), is(nullValue()));
+		assertThat(cache.getMissCount(), is(1L));
+		assertThat(cache.getHitCount(), is(0L));
+
+		cache.store(rdias[0], expressions[0], 0, 4.5);
+		assertThat(cache.size(), is(1));
+		assertThat(cache.lookup(rdias[0], expressions[0], 0), is(4.5));
+		assertThat("Keys must be compared by equality",
+			cache.lookup(RDIA_FACTORY.getAll()[0], EVALUABLE_EXPRESSION_FACTORY.getAll()[0], 0), is(4.5));
+		assertThat(cache.getHitCount(), is(2L));
+		assertThat(cache.lookup(rdias[1], expressions[0], 0), is(nullValue()));
+		assertThat(cache.lookup(rdias[0], expressions[1], 0), is(nullValue()));
+		assertThat("Values for old versions must not be returned", cache.lookup(rdias[0], expressions[0], 1),
+			is(nullValue()));
+		assertThat(cache.getMissCount(), is(4L));
+
+		cache.store(rdias[0], expressions[0], 0, 2);
+		assertThat(cache.lookup(rdias[0], expressions[0], 0), is(2d));
+		assertThat(cache.size(), is(1));
+	}
+
+	/**
+	 * Asserts that the least recently used value is evicted if the cache is full.
+	 */
+	@Test
+	public void evictsLeastRecentlyUsed() {
+		final FitnessValueCache cache = new FitnessValueCache(2);
+		final ResourceDemandingInternalAction rdia = RDIA_FACTORY.getOne();
+		final EvaluableExpression[] expressions = EVALUABLE_EXPRESSION_FACTORY.getAll();
+
+		cache.store(rdia, expressions[0], 0, 0);
+		cache.store(rdia, expressions[1], 0, 1);
+		cache.lookup(rdia, expressions[0], 0);
+		cache.store(rdia, expressions[2], 0, 2);
+
+		assertThat(cache.size(), is(2));
+		assertThat(cache.lookup(rdia, expressions[0], 0), is(0d));
+		assertThat(cache.lookup(rdia, expressions[1], 0), is(nullValue()));
+		assertThat(cache.lookup(rdia, expressions[2], 0), is(2d));
+
+		assertThat(() -> new FitnessValueCache(0), throwsException(IllegalArgumentException.class));
+	}
+}
@@ -7,6 +7,7 @@ import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.theInstance;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.same;
 import static org.mockito.Mockito.mock;
 
@@ -288,6 +289,22 @@ public class MeasurementControllerBlackboardViewTest {
 		then(this.mockedBlackboard).should().addMeasurementResultFor(same(rdia), same(results));
 	}
 
+	/**
+	 * Test method for
+	 * {@link MeasurementControllerBlackboardView#addMeasurementSummaryFor(ResourceDemandingInternalAction,
+	 * ResourceDemandSummaryMeasurementResult)}. Asserts that the call is delegated to the
+	 * blackboard.
+	 */
+	@Test
+	public void addMeasurementSummaryFor() {
+		final ResourceDemandingInternalAction rdia = RDIA_FACTORY.getOne();
+		final ResourceDemandSummaryMeasurementResult summary =
+			new ResourceDemandSummaryMeasurementResult(new double[] {2.5}, new long[] {3}, 7.5, 2.5, 2.5);
+
+		this.testedView.addMeasurementSummaryFor(rdia, summary);
+		then(this.mockedBlackboard).should().addMeasurementSummaryFor(same(rdia), same(summary));
+	}
+
 	/**
 	 * Test method for
 	 * // @formatter:off
@@ -311,6 +328,26 @@ public class MeasurementControllerBlackboardViewTest {
 		then(this.mockedBlackboard).should().addMeasurementResultFor(same(seffLoop), same(results));
 	}
 
+	/**
+	 * Test method for
+	 * {@link MeasurementControllerBlackboardView#addMeasurementResultFor(SeffLoop, LoopRepetitionCountMeasurementResult, int)}
+	 * . Asserts that:
+	 *
+	 * <ul>
+	 *
+	 * <li> The call is delegated to the blackboard.
+	 *
+	 * </ul>
+	 */
+	@Test
+	public void addMeasurementResultForSeffLoopLoopRepetitionCountMeasurementResultSeveralTimes() {
+		final SeffLoop seffLoop = SEFF_LOOP_FACTORY.getOne();
+		final LoopRepetitionCountMeasurementResult results = new LoopRepetitionCountMeasurementResult(2);
+
+		this.testedView.addMeasurementResultFor(seffLoop, results, 3);
+		then(this.mockedBlackboard).should().addMeasurementResultFor(same(seffLoop), same(results), eq(3));
+	}
+
 	/**
 	 * // @formatter:off
 	 * Test method for
@@ -334,6 +371,26 @@ public class MeasurementControllerBlackboardViewTest {
 		then(this.mockedBlackboard).should().addMeasurementResultFor(same(seffBranch), same(results));
 	}
 
+	/**
+	 * Test method for
+	 * {@link MeasurementControllerBlackboardView#addMeasurementResultFor(SeffBranch, BranchDecisionMeasurementResult, int)}
+	 * . Asserts that:
+	 *
+	 * <ul>
+	 *
+	 * <li> The call is delegated to the blackboard.
+	 *
+	 * </ul>
+	 */
+	@Test
+	public void addMeasurementResultForSeffBranchBranchDecisionMeasurementResultSeveralTimes() {
+		final SeffBranch seffBranch = SEFF_BRANCH_FACTORY.getOne();
+		final BranchDecisionMeasurementResult results = new BranchDecisionMeasurementResult(2);
+
+		this.testedView.addMeasurementResultFor(seffBranch, results, 3);
+		then(this.mockedBlackboard).should().addMeasurementResultFor(same(seffBranch), same(results), eq(3));
+	}
+
 	/**
 	 * // @formatter:off
 	 * Test method for
@@ -0,0 +1,674 @@
+package de.uka.ipd.sdq.beagle.core.measurement;
+
+import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+import de.uka.ipd.sdq.beagle.core.Blackboard;
+import de.uka.ipd.sdq.beagle.core.CodeSection;
+import de.uka.ipd.sdq.beagle.core.ExternalCallParameter;
+import de.uka.ipd.sdq.beagle.core.ResourceDemandType;
+import de.uka.ipd.sdq.beagle.core.ResourceDemandingInternalAction;
+import de.uka.ipd.sdq.beagle.core.SeffBranch;
+import de.uka.ipd.sdq.beagle.core.SeffLoop;
+import de.uka.ipd.sdq.beagle.core.measurement.order.CodeSectionEnteredEvent;
+import de.uka.ipd.sdq.beagle.core.measurement.order.CodeSectionExecutionsCountedEvent;
+import de.uka.ipd.sdq.beagle.core.measurement.order.CodeSectionLeftEvent;
+import de.uka.ipd.sdq.beagle.core.measurement.order.MeasurementEvent;
+import de.uka.ipd.sdq.beagle.core.measurement.order.ResourceDemandCapturedEvent;
+import de.uka.ipd.sdq.beagle.core.measurement.order.ResourceDemandSummaryCapturedEvent;
+import de.uka.ipd.sdq.beagle.core.testutil.factories.BlackboardFactory;
+import de.uka.ipd.sdq.beagle.core.testutil.factories.CodeSectionFactory;
+import de.uka.ipd.sdq.beagle.core.testutil.factories.EvaluableExpressionFitnessFunctionFactory;
+import de.uka.ipd.sdq.beagle.core.testutil.factories.MeasurementEventFactory;
+import de.uka.ipd.sdq.beagle.core.testutil.factories.ProjectInformationFactory;
+import de.uka.ipd.sdq.beagle.core.testutil.factories.ResourceDemandingInternalActionFactory;
+import de.uka.ipd.sdq.beagle.core.testutil.factories.SeffLoopFactory;
+
+import org.junit.Test;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Tests {@link MeasurementEventSink}.
+ *
+ * @author Joshua Gleitze
+ */
+public class MeasurementEventSinkTest {
+
+	/**
+	 * A {@link BlackboardFactory} for the tests.
+	 */
+	private static final BlackboardFactory BLACKBOARD_FACTORY = new BlackboardFactory();
+
+	/**
+	 * A {@link MeasurementEventFactory}, which is able to generate
+	 * {@link MeasurementEvent}s.
+	 */
+	private static final MeasurementEventFactory MEASUREMENT_EVENT_FACTORY = new MeasurementEventFactory();
+
+	/**
+	 * A {@link SeffLoopFactory}, which is able to generate {@link SeffLoop}s.
+	 */
+	private static final SeffLoopFactory SEFF_LOOP_FACTORY = new SeffLoopFactory();
+
+	/**
+	 * A {@link ResourceDemandingInternalActionFactory}, which is able to generate
+	 * {@link ResourceDemandingInternalAction}s.
+	 */
+	private static final ResourceDemandingInternalActionFactory RESOURCE_DEMANDING_INTERNAL_ACTION_FACTORY =
+		new ResourceDemandingInternalActionFactory();
+
+	/**
+	 * A {@link CodeSectionFactory}, which is able to generate {@link CodeSection}s.
+	 */
+	private static final CodeSectionFactory CODE_SECTION_FACTORY = new CodeSectionFactory();
+
+	/**
+	 * How many events are parsed to test the sink’s running time.
+	 */
+	private static final int LARGE_EVENT_COUNT = 1_000_000;
+
+	/**
+	 * How many milliseconds parsing {@link #LARGE_EVENT_COUNT} events may take at most.
+	 * Parsing in quadratic time would take hours.
+	 */
+	private static final long LARGE_PARSING_TIMEOUT = 20_000;
+
+	/**
+	 * Asserts that the sink adds summaries of the matching resource type to the
+	 * blackboard.
+	 */
+	@Test
+	public void addsSummaries() {
+		final Blackboard blackboard = BLACKBOARD_FACTORY.getWithToBeMeasuredContent();
+		final ResourceDemandingInternalAction rdia = blackboard.getAllRdias().iterator().next();
+		final List<MeasurementEvent> events = new ArrayList<>();
+		events.add(new ResourceDemandSummaryCapturedEvent(rdia.getAction(), rdia.getResourceType(),
+			new double[] {1, 2}, new long[] {3, 1}, 5, 1, 2));
+		events.add(new ResourceDemandSummaryCapturedEvent(rdia.getAction(), ResourceDemandType.RESOURCE_TYPE_NETWORK_NS,
+			new double[] {1}, new long[] {1}, 1, 1, 1));
+
+		final MeasurementEventSink sink = new MeasurementEventSink(blackboard.getAllSeffBranches(),
+			blackboard.getAllSeffLoops(), blackboard.getAllRdias(), blackboard.getAllExternalCallParameters(),
+			new MeasurementControllerBlackboardView(blackboard));
+		events.forEach(sink);
+		sink.finish();
+
+		assertThat(this.sorted(blackboard.getMeasurementSummariesFor(rdia), (summary) -> summary.getSum()),
+			is(Arrays.asList(5d)));
+		assertThat(this.sorted(blackboard.getMeasurementSummariesFor(rdia), (summary) -> summary.getCount()),
+			is(Arrays.asList(4d)));
+		assertThat(blackboard.getMeasurementResultsFor(rdia).size(), is(0));
+	}
+
+	/**
+	 * Asserts that the sink adds counted executions as branch decisions and loop
+	 * executions, regardless of which events were pushed before.
+	 */
+	@Test
+	public void addsCountedExecutions() {
+		final Blackboard blackboard = BLACKBOARD_FACTORY.getWithToBeMeasuredContent();
+		final SeffBranch branch = blackboard.getAllSeffBranches().iterator().next();
+		final SeffLoop loop = blackboard.getAllSeffLoops().iterator().next();
+		final CodeSection body = loop.getLoopBody();
+
+		final MeasurementEventSink sink = new MeasurementEventSink(blackboard.getAllSeffBranches(),
+			blackboard.getAllSeffLoops(), blackboard.getAllRdias(), blackboard.getAllExternalCallParameters(),
+			new MeasurementControllerBlackboardView(blackboard));
+		sink.accept(new CodeSectionEnteredEvent(body));
+		sink.accept(new CodeSectionLeftEvent(body));
+		sink.accept(new CodeSectionExecutionsCountedEvent(branch.getBranches().get(1), 2, 3));
+		sink.accept(new CodeSectionExecutionsCountedEvent(body, 5, 2));
+		sink.accept(new CodeSectionExecutionsCountedEvent(body, 7, 1));
+		sink.finish();
+
+		final IntBuffer repetitions = blackboard.getMeasurementValuesFor(loop);
+		final List<Integer> repetitionCounts = new ArrayList<>();
+		for (int i = repetitions.position(); i < repetitions.limit(); i++) {
+			repetitionCounts.add(repetitions.get(i));
+		}
+		assertThat(repetitionCounts, containsInAnyOrder(1, 5, 5, 7));
+		final IntBuffer decisions = blackboard.getMeasurementValuesFor(branch);
+		assertThat(decisions.remaining(), is(6));
+		for (int i = decisions.position(); i < decisions.limit(); i++) {
+			assertThat(decisions.get(i), is(1));
+		}
+	}
+
+	/**
+	 * Asserts that allocated bytes reach the internal actions demanding them, marked as
+	 * disturbed by garbage collection pauses where they were.
+	 */
+	@Test
+	public void carriesAllocatedBytes() {
+		final CodeSection section = new CodeSectionFactory().getOne();
+		final ResourceDemandingInternalAction allocation =
+			new ResourceDemandingInternalAction(ResourceDemandType.RESOURCE_TYPE_ALLOCATED_BYTES, section);
+		final ResourceDemandingInternalAction cpu =
+			new ResourceDemandingInternalAction(ResourceDemandType.RESOURCE_TYPE_CPU_NS, section);
+		final Set<ResourceDemandingInternalAction> rdias = new HashSet<>(Arrays.asList(allocation, cpu));
+		final Blackboard blackboard = new Blackboard(rdias, new HashSet<>(), new HashSet<>(), new HashSet<>(),
+			new EvaluableExpressionFitnessFunctionFactory().getOne(), new ProjectInformationFactory().getOne());
+		final MeasurementEventSink sink = new MeasurementEventSink(new HashSet<>(), new HashSet<>(), rdias,
+			new HashSet<>(), new MeasurementControllerBlackboardView(blackboard));
+		sink.accept(new ResourceDemandCapturedEvent(section, ResourceDemandType.RESOURCE_TYPE_CPU_NS, 20));
+		sink.accept(new ResourceDemandCapturedEvent(section, ResourceDemandType.RESOURCE_TYPE_ALLOCATED_BYTES, 4096));
+		sink.accept(new ResourceDemandCapturedEvent(section, ResourceDemandType.RESOURCE_TYPE_ALLOCATED_BYTES, 512,
+			true));
+		sink.finish();
+
+		assertThat(this.sorted(blackboard.getMeasurementResultsFor(allocation), (result) -> result.getValue()),
+			is(Arrays.asList(512d, 4096d)));
+		assertThat(this.sorted(blackboard.getMeasurementResultsFor(allocation),
+			(result) -> result.isDisturbedByGcPause() ? 1 : 0), is(Arrays.asList(0d, 1d)));
+		assertThat(this.sorted(blackboard.getMeasurementResultsFor(cpu), (result) -> result.getValue()),
+			is(Arrays.asList(20d)));
+	}
+
+	/**
+	 * Asserts that the sink’s input is validated.
+	 */
+	@Test
+	public void validatesInput() {
+		final Blackboard blackboard = BLACKBOARD_FACTORY.getWithToBeMeasuredContent();
+		final MeasurementControllerBlackboardView view = new MeasurementControllerBlackboardView(blackboard);
+		final MeasurementEventSink sink = new MeasurementEventSink(blackboard.getAllSeffBranches(),
+			blackboard.getAllSeffLoops(), blackboard.getAllRdias(), blackboard.getAllExternalCallParameters(), view);
+		assertThat(() -> sink.accept(null), throwsException(NullPointerException.class));
+		assertThat(() -> new MeasurementEventSink(null, new HashSet<>(), new HashSet<>(), new HashSet<>(), view),
+			throwsException(NullPointerException.class));
+		assertThat(() -> new MeasurementEventSink(new HashSet<>(), new HashSet<>(), new HashSet<>(), new HashSet<>(),
+			null), throwsException(NullPointerException.class));
+
+		final SeffLoop loop = blackboard.getAllSeffLoops().iterator().next();
+		sink.accept(new CodeSectionEnteredEvent(loop.getLoopBody()));
+		sink.finish();
+		sink.finish();
+		assertThat("Open loop executions must be reported when finishing",
+			blackboard.getMeasurementResultsFor(loop).size(), is(1));
+		assertThat(() -> sink.accept(new CodeSectionLeftEvent(loop.getLoopBody())),
+			throwsException(IllegalStateException.class));
+	}
+
+	/**
+	 * Asserts that resource demands are found for the internal actions of their section
+	 * and resource type.
+	 */
+	@Test
+	public void getMeasurementResultsForResourceDemandingInternalAction() {
+		List<MeasurementEvent> measurementEvents = new ArrayList<>();
+		final ResourceDemandingInternalAction[] rdias = RESOURCE_DEMANDING_INTERNAL_ACTION_FACTORY.getAll();
+
+		measurementEvents.add(new ResourceDemandCapturedEvent(rdias[0].getAction(), rdias[0].getResourceType(), 0.3));
+		measurementEvents.add(new ResourceDemandCapturedEvent(rdias[0].getAction(), rdias[0].getResourceType(), 3.3));
+		measurementEvents.add(new ResourceDemandCapturedEvent(rdias[0].getAction(), rdias[0].getResourceType(), 4.5));
+		measurementEvents.add(new ResourceDemandCapturedEvent(rdias[1].getAction(), rdias[1].getResourceType(), 3.4));
+		measurementEvents.add(new ResourceDemandCapturedEvent(rdias[1].getAction(), rdias[1].getResourceType(), 3.3));
+		measurementEvents.add(new ResourceDemandCapturedEvent(rdias[2].getAction(), rdias[2].getResourceType(), 4.5));
+		measurementEvents.add(new ResourceDemandCapturedEvent(rdias[2].getAction(), rdias[2].getResourceType(), 0.6));
+		measurementEvents.add(new ResourceDemandCapturedEvent(rdias[2].getAction(), rdias[2].getResourceType(), 6.9));
+		measurementEvents.add(new ResourceDemandCapturedEvent(rdias[2].getAction(), rdias[2].getResourceType(), 1.5));
+		measurementEvents.add(MEASUREMENT_EVENT_FACTORY.getOneCodeSectionEnteredEvent());
+		measurementEvents.add(MEASUREMENT_EVENT_FACTORY.getOneCodeSectionLeftEvent());
+		ParsedEvents parser = new ParsedEvents(measurementEvents);
+
+		Set<ResourceDemandMeasurementResult> results = parser.getMeasurementResultsFor(rdias[0]);
+		List<Double> resultValues = results.stream().map((result) -> result.getValue()).collect(Collectors.toList());
+		assertThat(resultValues, containsInAnyOrder(0.3, 3.3, 4.5));
+
+		results = parser.getMeasurementResultsFor(rdias[1]);
+		resultValues = results.stream().map((result) -> result.getValue()).collect(Collectors.toList());
+		assertThat(resultValues, containsInAnyOrder(3.4, 3.3));
+
+		results = parser.getMeasurementResultsFor(rdias[2]);
+		resultValues = results.stream().map((result) -> result.getValue()).collect(Collectors.toList());
+		assertThat(resultValues, containsInAnyOrder(4.5, 0.6, 6.9, 1.5));
+
+		measurementEvents.add(new ResourceDemandCapturedEvent(rdias[3].getAction(), rdias[3].getResourceType(), 2.2));
+		assertThat("Adding Events after inizialisation must not have an effect on returned results",
+			parser.getMeasurementResultsFor(rdias[3]), is(empty()));
+
+		measurementEvents = new ArrayList<>();
+		final ResourceDemandType type = new ResourceDemandType("NotTheSame", true);
+		measurementEvents.add(new ResourceDemandCapturedEvent(rdias[0].getAction(), type, 3.4));
+		parser = new ParsedEvents(measurementEvents);
+		results = parser.getMeasurementResultsFor(rdias[0]);
+		assertThat(results, is(empty()));
+	}
+
+	/**
+	 * Asserts that only summaries of the rdia’s section and resource type are found and
+	 * that summaries are not reported as single results.
+	 */
+	@Test
+	public void getMeasurementSummariesFor() {
+		final ResourceDemandingInternalAction[] rdias = RESOURCE_DEMANDING_INTERNAL_ACTION_FACTORY.getAll();
+		final List<MeasurementEvent> measurementEvents = new ArrayList<>();
+		measurementEvents.add(new ResourceDemandSummaryCapturedEvent(rdias[0].getAction(), rdias[0].getResourceType(),
+			new double[] {1, 3}, new long[] {2, 2}, 8, 1, 3));
+		measurementEvents.add(new ResourceDemandCapturedEvent(rdias[0].getAction(), rdias[0].getResourceType(), 0.3));
+		measurementEvents.add(new ResourceDemandSummaryCapturedEvent(rdias[0].getAction(),
+			new ResourceDemandType("NotTheSame", true), new double[] {1}, new long[] {1}, 1, 1, 1));
+		measurementEvents.add(new ResourceDemandSummaryCapturedEvent(rdias[1].getAction(), rdias[1].getResourceType(),
+			new double[] {5}, new long[] {7}, 35, 5, 5));
+		final ParsedEvents parser = new ParsedEvents(measurementEvents);
+
+		final Set<ResourceDemandSummaryMeasurementResult> summaries = parser.getMeasurementSummariesFor(rdias[0]);
+		assertThat(summaries.stream().map((summary) -> summary.getCount()).collect(Collectors.toList()),
+			containsInAnyOrder(4L));
+		assertThat(summaries.iterator().next().getMean(), is(2d));
+		assertThat(parser.getMeasurementResultsFor(rdias[0]).size(), is(1));
+		assertThat(parser.getMeasurementSummariesFor(rdias[1]).iterator().next().getCount(), is(7L));
+		assertThat(parser.getMeasurementSummariesFor(rdias[2]), is(empty()));
+	}
+
+	/**
+	 * Asserts that branch decisions are found for the branches of the entered sections.
+	 */
+	@Test
+	public void getMeasurementResultsForSeffBranch() {
+		List<MeasurementEvent> measurementEvents = new ArrayList<>();
+		final Iterator<CodeSection> codeSections = CODE_SECTION_FACTORY.getAllAsSet().iterator();
+		final CodeSection[][] allSections = {
+			new CodeSection[4], new CodeSection[2]
+		};
+
+		for (final CodeSection[] sections : allSections) {
+			for (int i = 0; i < sections.length; i++) {
+				sections[i] = codeSections.next();
+				codeSections.remove();
+			}
+		}
+
+		final SeffBranch[] branches = new SeffBranch[allSections.length];
+		for (int b = 0; b < branches.length; b++) {
+			branches[b] = new SeffBranch(new HashSet<>(Arrays.asList(allSections[b])));
+		}
+
+		ParsedEvents parser =
+			new ParsedEvents(MEASUREMENT_EVENT_FACTORY.getAllResourceDemandCapturedEvents());
+		for (final SeffBranch branch : branches) {
+			assertThat("There are no Measurement Events for Seff Branches.", parser.getMeasurementResultsFor(branch),
+				is(empty()));
+		}
+
+		parser = new ParsedEvents(MEASUREMENT_EVENT_FACTORY.getAllCodeSectionLeftEvents());
+		for (final SeffBranch branch : branches) {
+			assertThat("CodeSectionLeftEvents should be ignored.", parser.getMeasurementResultsFor(branch),
+				is(empty()));
+		}
+
+		measurementEvents = new ArrayList<>();
+		measurementEvents.add(MEASUREMENT_EVENT_FACTORY.getOneResourceDemandCapturedEvent());
+		measurementEvents.add(new CodeSectionEnteredEvent(branches[0].getBranches().get(0)));
+		parser = new ParsedEvents(measurementEvents);
+		Set<BranchDecisionMeasurementResult> results = parser.getMeasurementResultsFor(branches[0]);
+		List<Integer> resultValues =
+			results.stream().map((result) -> result.getBranchIndex()).collect(Collectors.toList());
+		assertThat(resultValues, containsInAnyOrder(0));
+
+		measurementEvents = new ArrayList<>();
+		measurementEvents.add(MEASUREMENT_EVENT_FACTORY.getOneResourceDemandCapturedEvent());
+		measurementEvents.add(new CodeSectionEnteredEvent(branches[0].getBranches().get(0)));
+		measurementEvents.add(new CodeSectionEnteredEvent(branches[0].getBranches().get(0)));
+		parser = new ParsedEvents(measurementEvents);
+		results = parser.getMeasurementResultsFor(branches[0]);
+		resultValues = results.stream().map((result) -> result.getBranchIndex()).collect(Collectors.toList());
+		assertThat(resultValues, containsInAnyOrder(0, 0));
+
+		measurementEvents = new ArrayList<>();
+		measurementEvents.add(MEASUREMENT_EVENT_FACTORY.getOneResourceDemandCapturedEvent());
+		measurementEvents.add(new CodeSectionEnteredEvent(branches[0].getBranches().get(0)));
+		measurementEvents.add(new CodeSectionEnteredEvent(branches[0].getBranches().get(1)));
+		parser = new ParsedEvents(measurementEvents);
+		results = parser.getMeasurementResultsFor(branches[0]);
+		resultValues = results.stream().map((result) -> result.getBranchIndex()).collect(Collectors.toList());
+		assertThat(resultValues, containsInAnyOrder(0, 1));
+
+		measurementEvents = new ArrayList<>();
+		measurementEvents.add(new CodeSectionEnteredEvent(branches[0].getBranches().get(0)));
+		measurementEvents.add(new CodeSectionEnteredEvent(branches[1].getBranches().get(1)));
+		measurementEvents.add(new CodeSectionEnteredEvent(branches[1].getBranches().get(0)));
+		measurementEvents.add(new CodeSectionEnteredEvent(branches[0].getBranches().get(1)));
+		parser = new ParsedEvents(measurementEvents);
+		results = parser.getMeasurementResultsFor(branches[0]);
+		resultValues = results.stream().map((result) -> result.getBranchIndex()).collect(Collectors.toList());
+		assertThat(resultValues, containsInAnyOrder(0, 1));
+		results = parser.getMeasurementResultsFor(branches[1]);
+		resultValues = results.stream().map((result) -> result.getBranchIndex()).collect(Collectors.toList());
+		assertThat(resultValues, containsInAnyOrder(0, 1));
+	}
+
+	/**
+	 * Asserts that continuous executions of a loop body form one loop execution, also
+	 * when loops are nested or executed recursively.
+	 */
+	@Test
+	public void getMeasurementResultsForSeffLoop() {
+		List<MeasurementEvent> measurementEvents = new ArrayList<>();
+		final SeffLoop[] loops = SEFF_LOOP_FACTORY.getAll();
+		ParsedEvents parser =
+			new ParsedEvents(MEASUREMENT_EVENT_FACTORY.getAllResourceDemandCapturedEvents());
+		for (final SeffLoop loop : loops) {
+			assertThat("There are no Measurement Events for Seff Loops.", parser.getMeasurementResultsFor(loop),
+				is(empty()));
+		}
+
+		parser = new ParsedEvents(MEASUREMENT_EVENT_FACTORY.getAllCodeSectionLeftEvents());
+		for (final SeffLoop loop : loops) {
+			assertThat("Only CodeSectionLeftEvents should not be counted.", parser.getMeasurementResultsFor(loop),
+				is(empty()));
+		}
+
+		measurementEvents.add(new CodeSectionEnteredEvent(loops[0].getLoopBody()));
+		parser = new ParsedEvents(measurementEvents);
+		Set<LoopRepetitionCountMeasurementResult> results = parser.getMeasurementResultsFor(loops[0]);
+		List<Integer> resultValues = results.stream().map((result) -> result.getCount()).collect(Collectors.toList());
+		assertThat(resultValues, containsInAnyOrder(1));
+
+		measurementEvents.add(new CodeSectionEnteredEvent(loops[0].getLoopBody()));
+		parser = new ParsedEvents(measurementEvents);
+		results = parser.getMeasurementResultsFor(loops[1]);
+		assertThat(results, is(empty()));
+
+		measurementEvents = new ArrayList<>();
+		measurementEvents.add(new CodeSectionEnteredEvent(loops[0].getLoopBody()));
+		measurementEvents.add(new CodeSectionLeftEvent(loops[0].getLoopBody()));
+		measurementEvents.add(new CodeSectionLeftEvent(loops[0].getLoopBody()));
+		parser = new ParsedEvents(measurementEvents);
+		results = parser.getMeasurementResultsFor(loops[0]);
+		resultValues = results.stream().map((result) -> result.getCount()).collect(Collectors.toList());
+		assertThat(resultValues, containsInAnyOrder(1));
+
+		measurementEvents = new ArrayList<>();
+		measurementEvents.add(new CodeSectionEnteredEvent(loops[0].getLoopBody()));
+		measurementEvents.add(new CodeSectionEnteredEvent(loops[0].getLoopBody()));
+		measurementEvents.add(new CodeSectionEnteredEvent(loops[0].getLoopBody()));
+		measurementEvents.add(new CodeSectionEnteredEvent(loops[0].getLoopBody()));
+		measurementEvents.add(new CodeSectionLeftEvent(loops[0].getLoopBody()));
+		measurementEvents.add(new CodeSectionLeftEvent(loops[0].getLoopBody()));
+		measurementEvents.add(new CodeSectionLeftEvent(loops[0].getLoopBody()));
+		measurementEvents.add(new CodeSectionLeftEvent(loops[0].getLoopBody()));
+		parser = new ParsedEvents(measurementEvents);
+		results = parser.getMeasurementResultsFor(loops[0]);
+		resultValues = results.stream().map((result) -> result.getCount()).collect(Collectors.toList());
+		assertThat(resultValues, containsInAnyOrder(1, 1, 1, 1));
+
+		measurementEvents = new ArrayList<>();
+		measurementEvents.add(new CodeSectionEnteredEvent(loops[0].getLoopBody()));
+		measurementEvents.add(new CodeSectionLeftEvent(loops[0].getLoopBody()));
+		parser = new ParsedEvents(measurementEvents);
+		results = parser.getMeasurementResultsFor(loops[0]);
+		resultValues = results.stream().map((result) -> result.getCount()).collect(Collectors.toList());
+		assertThat(resultValues, containsInAnyOrder(1));
+
+		measurementEvents = new ArrayList<>();
+		measurementEvents.add(new CodeSectionLeftEvent(loops[0].getLoopBody()));
+		measurementEvents.add(new CodeSectionEnteredEvent(loops[0].getLoopBody()));
+		parser = new ParsedEvents(measurementEvents);
+		results = parser.getMeasurementResultsFor(loops[0]);
+		resultValues = results.stream().map((result) -> result.getCount()).collect(Collectors.toList());
+		assertThat(resultValues, containsInAnyOrder(1));
+
+		measurementEvents = new ArrayList<>();
+		measurementEvents.add(new CodeSectionEnteredEvent(loops[0].getLoopBody()));
+		measurementEvents.add(MEASUREMENT_EVENT_FACTORY.getOneResourceDemandCapturedEvent());
+		measurementEvents.add(new CodeSectionLeftEvent(loops[0].getLoopBody()));
+		parser = new ParsedEvents(measurementEvents);
+		results = parser.getMeasurementResultsFor(loops[0]);
+		resultValues = results.stream().map((result) -> result.getCount()).collect(Collectors.toList());
+		assertThat(resultValues, containsInAnyOrder(1));
+
+		measurementEvents = new ArrayList<>();
+		measurementEvents.add(new CodeSectionLeftEvent(loops[0].getLoopBody()));
+		measurementEvents.add(new CodeSectionEnteredEvent(loops[0].getLoopBody()));
+		measurementEvents.add(MEASUREMENT_EVENT_FACTORY.getOneResourceDemandCapturedEvent());
+		measurementEvents.add(new CodeSectionLeftEvent(loops[0].getLoopBody()));
+		measurementEvents.add(new CodeSectionEnteredEvent(loops[0].getLoopBody()));
+		measurementEvents.add(new CodeSectionLeftEvent(loops[0].getLoopBody()));
+		parser = new ParsedEvents(measurementEvents);
+		results = parser.getMeasurementResultsFor(loops[0]);
+		resultValues = results.stream().map((result) -> result.getCount()).collect(Collectors.toList());
+		assertThat(resultValues, containsInAnyOrder(2));
+
+		measurementEvents = new ArrayList<>();
+		measurementEvents.add(new CodeSectionEnteredEvent(loops[0].getLoopBody()));
+		measurementEvents.add(new CodeSectionLeftEvent(loops[0].getLoopBody()));
+		measurementEvents.add(
+			new ResourceDemandCapturedEvent(CODE_SECTION_FACTORY.getOne(), ResourceDemandType.RESOURCE_TYPE_CPU, 42));
+		measurementEvents.add(new CodeSectionEnteredEvent(loops[0].getLoopBody()));
+		measurementEvents.add(new CodeSectionLeftEvent(loops[0].getLoopBody()));
+		parser = new ParsedEvents(measurementEvents);
+		results = parser.getMeasurementResultsFor(loops[0]);
+		resultValues = results.stream().map((result) -> result.getCount()).collect(Collectors.toList());
+		assertThat(resultValues, containsInAnyOrder(1, 1));
+
+		measurementEvents = new ArrayList<>();
+		measurementEvents.add(new CodeSectionEnteredEvent(loops[0].getLoopBody()));
+		measurementEvents.add(new CodeSectionLeftEvent(loops[0].getLoopBody()));
+		measurementEvents.add(new CodeSectionEnteredEvent(loops[1].getLoopBody()));
+		measurementEvents.add(new CodeSectionLeftEvent(loops[1].getLoopBody()));
+		parser = new ParsedEvents(measurementEvents);
+		results = parser.getMeasurementResultsFor(loops[0]);
+		resultValues = results.stream().map((result) -> result.getCount()).collect(Collectors.toList());
+		assertThat(resultValues, containsInAnyOrder(1));
+		results = parser.getMeasurementResultsFor(loops[1]);
+		resultValues = results.stream().map((result) -> result.getCount()).collect(Collectors.toList());
+		assertThat(resultValues, containsInAnyOrder(1));
+
+		measurementEvents = new ArrayList<>();
+		measurementEvents.add(new CodeSectionEnteredEvent(loops[0].getLoopBody()));
+		measurementEvents.add(new CodeSectionEnteredEvent(loops[1].getLoopBody()));
+		measurementEvents.add(new CodeSectionLeftEvent(loops[1].getLoopBody()));
+		measurementEvents.add(MEASUREMENT_EVENT_FACTORY.getOneResourceDemandCapturedEvent());
+		measurementEvents.add(new CodeSectionEnteredEvent(loops[1].getLoopBody()));
+		measurementEvents.add(new CodeSectionLeftEvent(loops[1].getLoopBody()));
+		measurementEvents.add(new CodeSectionLeftEvent(loops[0].getLoopBody()));
+		parser = new ParsedEvents(measurementEvents);
+		results = parser.getMeasurementResultsFor(loops[0]);
+		resultValues = results.stream().map((result) -> result.getCount()).collect(Collectors.toList());
+		assertThat(resultValues, containsInAnyOrder(1));
+		results = parser.getMeasurementResultsFor(loops[1]);
+		resultValues = results.stream().map((result) -> result.getCount()).collect(Collectors.toList());
+		assertThat(resultValues, containsInAnyOrder(1, 1));
+
+		measurementEvents = new ArrayList<>();
+		measurementEvents.add(new CodeSectionEnteredEvent(loops[0].getLoopBody()));
+		measurementEvents.add(new CodeSectionEnteredEvent(loops[1].getLoopBody()));
+		measurementEvents.add(new CodeSectionLeftEvent(loops[0].getLoopBody()));
+		measurementEvents.add(new CodeSectionLeftEvent(loops[1].getLoopBody()));
+		parser = new ParsedEvents(measurementEvents);
+		results = parser.getMeasurementResultsFor(loops[0]);
+		resultValues = results.stream().map((result) -> result.getCount()).collect(Collectors.toList());
+		assertThat(resultValues, containsInAnyOrder(1));
+		results = parser.getMeasurementResultsFor(loops[1]);
+		resultValues = results.stream().map((result) -> result.getCount()).collect(Collectors.toList());
+		assertThat(resultValues, containsInAnyOrder(1));
+	}
+
+	/**
+	 * Asserts that loops are parsed in linear time and that the same event instance may
+	 * occur multiple times. Parses {@link #LARGE_EVENT_COUNT} events of one loop body.
+	 * The first half are continuous executions of the body. The second half is recursive:
+	 * Each execution of the body contains another execution of it.
+	 */
+	@Test(timeout = LARGE_PARSING_TIMEOUT)
+	public void getMeasurementResultsForSeffLoopInLinearTime() {
+		final SeffLoop loop = SEFF_LOOP_FACTORY.getOne();
+		final MeasurementEvent entered = new CodeSectionEnteredEvent(loop.getLoopBody());
+		final MeasurementEvent left = new CodeSectionLeftEvent(loop.getLoopBody());
+		final List<MeasurementEvent> measurementEvents = new ArrayList<>(LARGE_EVENT_COUNT);
+		for (int i = 0; i < LARGE_EVENT_COUNT / 4; i++) {
+			measurementEvents.add(entered);
+			measurementEvents.add(left);
+		}
+		for (int i = 0; i < LARGE_EVENT_COUNT / 8; i++) {
+			measurementEvents.add(entered);
+			measurementEvents.add(entered);
+			measurementEvents.add(left);
+			measurementEvents.add(left);
+		}
+
+		final Set<LoopRepetitionCountMeasurementResult> results =
+			new ParsedEvents(measurementEvents).getMeasurementResultsFor(loop);
+		final List<Integer> counts = results.stream().map((result) -> result.getCount()).collect(Collectors.toList());
+		// The outer executions of the recursive part continue the first part.
+		assertThat(counts.size(), is(LARGE_EVENT_COUNT / 8 + 1));
+		assertThat(Collections.max(counts), is(LARGE_EVENT_COUNT / 4 + LARGE_EVENT_COUNT / 8));
+		assertThat(counts.stream().mapToInt((count) -> count).sum(), is(LARGE_EVENT_COUNT / 2));
+	}
+
+	/**
+	 * Asserts that no results are found for external call parameters.
+	 */
+	@Test
+	public void getMeasurementResultsForExternalCallParameter() {
+		final Set<MeasurementEvent> measurementEvents = new HashSet<>();
+		measurementEvents.addAll(MEASUREMENT_EVENT_FACTORY.getAllAsSet());
+		final ParsedEvents parser = new ParsedEvents(measurementEvents);
+
+		ExternalCallParameter parameter;
+		for (final CodeSection codeSection : CODE_SECTION_FACTORY.getAll()) {
+			parameter = new ExternalCallParameter(codeSection, 2);
+			assertThat("There should be no measurement results for ExternalCallParameters.",
+				parser.getMeasurementResultsFor(parameter), is(empty()));
+		}
+	}
+
+	/**
+	 * Extracts the values of {@code results} in ascending order.
+	 *
+	 * @param results Measurement results.
+	 * @param value Gets a result’s value.
+	 * @param <RESULT_TYPE> The type of the results.
+	 * @return The sorted values.
+	 */
+	private <RESULT_TYPE> List<Double> sorted(final Collection<RESULT_TYPE> results,
+		final ToDoubleFunction<RESULT_TYPE> value) {
+		return results.stream().map((result) -> value.applyAsDouble(result)).sorted().collect(Collectors.toList());
+	}
+
+	/**
+	 * Pushes events into a sink and provides the results the sink added to the
+	 * blackboard. Each query creates a blackboard containing only the queried element
+	 * and lets a new sink parse all events for it.
+	 *
+	 * @author Joshua Gleitze
+	 */
+	private static final class ParsedEvents {
+
+		/**
+		 * The events to parse.
+		 */
+		private final List<MeasurementEvent> events;
+
+		/**
+		 * Creates results for {@code events}.
+		 *
+		 * @param events The events to parse, in the order they occurred in.
+		 */
+		private ParsedEvents(final Collection<MeasurementEvent> events) {
+			this.events = new ArrayList<>(events);
+		}
+
+		/**
+		 * Creates results for {@code events}.
+		 *
+		 * @param events The events to parse, in the order they occurred in.
+		 */
+		private ParsedEvents(final MeasurementEvent... events) {
+			this(Arrays.asList(events));
+		}
+
+		/**
+		 * Parses the events for {@code rdia}.
+		 *
+		 * @param rdia A resource demanding internal action.
+		 * @return The results the sink found for {@code rdia}.
+		 */
+		private Set<ResourceDemandMeasurementResult> getMeasurementResultsFor(
+			final ResourceDemandingInternalAction rdia) {
+			return this.parse(Collections.singleton(rdia), Collections.emptySet(), Collections.emptySet(),
+				Collections.emptySet()).getMeasurementResultsFor(rdia);
+		}
+
+		/**
+		 * Parses the events for {@code rdia}.
+		 *
+		 * @param rdia A resource demanding internal action.
+		 * @return The summaries the sink found for {@code rdia}.
+		 */
+		private Set<ResourceDemandSummaryMeasurementResult> getMeasurementSummariesFor(
+			final ResourceDemandingInternalAction rdia) {
+			return this.parse(Collections.singleton(rdia), Collections.emptySet(), Collections.emptySet(),
+				Collections.emptySet()).getMeasurementSummariesFor(rdia);
+		}
+
+		/**
+		 * Parses the events for {@code branch}.
+		 *
+		 * @param branch A SEFF branch.
+		 * @return The results the sink found for {@code branch}.
+		 */
+		private Set<BranchDecisionMeasurementResult> getMeasurementResultsFor(final SeffBranch branch) {
+			return this.parse(Collections.emptySet(), Collections.singleton(branch), Collections.emptySet(),
+				Collections.emptySet()).getMeasurementResultsFor(branch);
+		}
+
+		/**
+		 * Parses the events for {@code loop}.
+		 *
+		 * @param loop A SEFF loop.
+		 * @return The results the sink found for {@code loop}.
+		 */
+		private Set<LoopRepetitionCountMeasurementResult> getMeasurementResultsFor(final SeffLoop loop) {
+			return this.parse(Collections.emptySet(), Collections.emptySet(), Collections.singleton(loop),
+				Collections.emptySet()).getMeasurementResultsFor(loop);
+		}
+
+		/**
+		 * Parses the events for {@code parameter}.
+		 *
+		 * @param parameter An external call parameter.
+		 * @return The results the sink found for {@code parameter}.
+		 */
+		private Set<ParameterChangeMeasurementResult> getMeasurementResultsFor(final ExternalCallParameter parameter) {
+			return this.parse(Collections.emptySet(), Collections.emptySet(), Collections.emptySet(),
+				Collections.singleton(parameter)).getMeasurementResultsFor(parameter);
+		}
+
+		/**
+		 * Lets a sink parse all events for the given SEFF elements.
+		 *
+		 * @param rdias The resource demanding internal actions to parse results for.
+		 * @param branches The SEFF branches to parse results for.
+		 * @param loops The SEFF loops to parse results for.
+		 * @param parameters The external call parameters to parse results for.
+		 * @return A blackboard containing the given elements and the results the sink
+		 *         found for them.
+		 */
+		private Blackboard parse(final Set<ResourceDemandingInternalAction> rdias, final Set<SeffBranch> branches,
+			final Set<SeffLoop> loops, final Set<ExternalCallParameter> parameters) {
+			final Blackboard blackboard = new Blackboard(rdias, branches, loops, parameters,
+				new EvaluableExpressionFitnessFunctionFactory().getOne(), new ProjectInformationFactory().getOne());
+			final MeasurementEventSink sink = new MeasurementEventSink(branches, loops, rdias, parameters,
+				new MeasurementControllerBlackboardView(blackboard));
+			this.events.forEach(sink);
+			sink.finish();
+			return blackboard;
+		}
+	}
+}
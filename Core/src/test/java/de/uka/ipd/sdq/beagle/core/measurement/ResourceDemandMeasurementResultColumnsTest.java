@@ -0,0 +1,93 @@
+package de.uka.ipd.sdq.beagle.core.measurement;
+
+import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.hasProperty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.mock;
+
+import org.junit.Test;
+
+import java.util.Set;
+
+/**
+ * Tests {@link ResourceDemandMeasurementResultColumns}.
+ *
+ * @author Joshua Gleitze
+ */
+public class ResourceDemandMeasurementResultColumnsTest {
+
+	/**
+	 * Test method for {@link ResourceDemandMeasurementResultColumns#asSet()}. Asserts that
+	 * the results are restored with their value, their parameterisation and whether they
+	 * were disturbed by a garbage collection pause, also after the columns grew. Asserts
+	 * that repeated calls return the same results and that results that were added
+	 * repeatedly are contained as often as they were added.
+	 */
+	@Test
+	public void asSet() {
+		final ResourceDemandMeasurementResultColumns columns = new ResourceDemandMeasurementResultColumns();
+		final Parameterisation parameterisation = mock(Parameterisation.class);
+		final ResourceDemandMeasurementResult disturbedResult =
+			new ResourceDemandMeasurementResult(parameterisation, 3, true);
+		columns.add(disturbedResult);
+		columns.add(new ResourceDemandMeasurementResult(parameterisation, 2));
+		columns.add(new ResourceDemandMeasurementResult(1, true));
+		for (int i = 0; i < MeasurementResultColumns.INITIAL_CAPACITY; i++) {
+			columns.add(new ResourceDemandMeasurementResult(10 + i));
+		}
+
+		assertThat(columns.asSet().size(), is(MeasurementResultColumns.INITIAL_CAPACITY + 3));
+		assertThat(columns.asSet(),
+			hasItems(allOf(hasProperty("value", is(3d)), hasProperty("parameterisation", is(parameterisation)),
+					hasProperty("disturbedByGcPause", is(true))),
+				allOf(hasProperty("value", is(2d)), hasProperty("parameterisation", is(parameterisation)),
+					hasProperty("disturbedByGcPause", is(false))),
+				allOf(hasProperty("value", is(1d)), hasProperty("parameterisation", is(nullValue())),
+					hasProperty("disturbedByGcPause", is(true)))));
+		assertThat(columns.asSet(), is(equalTo(columns.asSet())));
+
+		final Set<ResourceDemandMeasurementResult> previousResults = columns.asSet();
+		columns.add(disturbedResult);
+		columns.add(new ResourceDemandMeasurementResult(1, true));
+		assertThat(columns.size(), is(MeasurementResultColumns.INITIAL_CAPACITY + 5));
+		assertThat(columns.asSet(), hasSize(MeasurementResultColumns.INITIAL_CAPACITY + 5));
+		assertThat(columns.asSet().containsAll(previousResults), is(true));
+		assertThat(columns.asSet().stream().filter((result) -> result.getValue() == 3d).count(), is(2L));
+	}
+
+	/**
+	 * Test method for
+	 * {@link MeasurementResultColumns#add(ParameterisationDependentMeasurementResult, int)}
+	 * . Asserts that the result is stored as often as requested, also if the columns have
+	 * to grow by more than their capacity, and that negative counts are rejected.
+	 */
+	@Test
+	public void addSeveralTimes() {
+		final ResourceDemandMeasurementResultColumns columns = new ResourceDemandMeasurementResultColumns();
+		final Parameterisation parameterisation = mock(Parameterisation.class);
+		final int manyTimes = MeasurementResultColumns.INITIAL_CAPACITY * 3;
+		columns.add(new ResourceDemandMeasurementResult(2), 2);
+		columns.add(new ResourceDemandMeasurementResult(parameterisation, 1, true), manyTimes);
+		columns.add(new ResourceDemandMeasurementResult(0), 0);
+
+		assertThat(columns.size(), is(manyTimes + 2));
+		assertThat(columns.getValues().get(1), is(2d));
+		assertThat(columns.getValues().get(2), is(1d));
+		assertThat(columns.getValues().get(manyTimes + 1), is(1d));
+		assertThat(columns.getParameterisations().get(1), is(nullValue()));
+		assertThat(columns.getParameterisations().get(manyTimes + 1), is(parameterisation));
+		assertThat(columns.asSet(), hasSize(manyTimes + 2));
+		assertThat(columns.asSet().stream().filter(ResourceDemandMeasurementResult::isDisturbedByGcPause).count(),
+			is((long) manyTimes));
+
+		assertThat("It must not be possible to add a result a negative number of times",
+			() -> columns.add(new ResourceDemandMeasurementResult(0), -1),
+			throwsException(IllegalArgumentException.class));
+	}
+}
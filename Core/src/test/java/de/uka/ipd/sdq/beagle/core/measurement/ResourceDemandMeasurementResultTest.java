@@ -86,6 +86,23 @@ public class ResourceDemandMeasurementResultTest {
 		assertThat(resultWithParameterisation.getValue(), is(equalTo(value)));
 	}
 
+	/**
+	 * Test method for {@link ResourceDemandMeasurementResult#isDisturbedByGcPause()}.
+	 *
+	 * <p>Asserts that results are only disturbed by garbage collection pauses if created
+	 * as such.
+	 */
+	@Test
+	public void isDisturbedByGcPause() {
+		final double value = 2.3;
+		assertThat(new ResourceDemandMeasurementResult(value).isDisturbedByGcPause(), is(false));
+		assertThat(new ResourceDemandMeasurementResult(value, false).isDisturbedByGcPause(), is(false));
+		assertThat(new ResourceDemandMeasurementResult(value, true).isDisturbedByGcPause(), is(true));
+		assertThat(new ResourceDemandMeasurementResult(mock(Parameterisation.class), value).isDisturbedByGcPause(),
+			is(false));
+		assertThat(() -> new ResourceDemandMeasurementResult(-1, true), throwsException(IllegalArgumentException.class));
+	}
+
 	/**
 	 * Test method for {@link ResourceDemandMeasurementResult#toString()} .
 	 */
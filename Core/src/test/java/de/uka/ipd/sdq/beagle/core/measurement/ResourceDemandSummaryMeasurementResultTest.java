@@ -0,0 +1,107 @@
+package de.uka.ipd.sdq.beagle.core.measurement;
+
+import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
+import static de.uka.ipd.sdq.beagle.core.testutil.ToStringMatcher.hasOverriddenToString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link ResourceDemandSummaryMeasurementResult} and contains all test cases needed
+ * to check every method.
+ *
+ * @author Joshua Gleitze
+ */
+public class ResourceDemandSummaryMeasurementResultTest {
+
+	/**
+	 * Test method for the constructors of {@link ResourceDemandSummaryMeasurementResult}.
+	 *
+	 * <p>Asserts that {@link NullPointerException}s are thrown for {@code null} arguments
+	 * and {@link IllegalArgumentException}s for inconsistent summaries.
+	 */
+	@Test
+	public void constructors() {
+		final Parameterisation parameterisation = mock(Parameterisation.class);
+		final double[] values = {1, 2};
+		final long[] counts = {1, 2};
+		assertThat(new ResourceDemandSummaryMeasurementResult(values, counts, 5, 1, 2).getParameterisation(),
+			is(nullValue()));
+		assertThat(
+			new ResourceDemandSummaryMeasurementResult(parameterisation, values, counts, 5, 1, 2).getParameterisation(),
+			is(sameInstance(parameterisation)));
+
+		assertThat(() -> new ResourceDemandSummaryMeasurementResult(null, values, counts, 5, 1, 2),
+			throwsException(NullPointerException.class));
+		assertThat(() -> new ResourceDemandSummaryMeasurementResult(null, counts, 5, 1, 2),
+			throwsException(NullPointerException.class));
+		assertThat(() -> new ResourceDemandSummaryMeasurementResult(values, null, 5, 1, 2),
+			throwsException(NullPointerException.class));
+		assertThat(() -> new ResourceDemandSummaryMeasurementResult(values, new long[] {1}, 5, 1, 2),
+			throwsException(IllegalArgumentException.class));
+		assertThat(() -> new ResourceDemandSummaryMeasurementResult(new double[] {2, 1}, counts, 5, 1, 2),
+			throwsException(IllegalArgumentException.class));
+		assertThat(() -> new ResourceDemandSummaryMeasurementResult(values, new long[] {0, 0}, 5, 1, 2),
+			throwsException(IllegalArgumentException.class));
+		assertThat(() -> new ResourceDemandSummaryMeasurementResult(values, counts, 5, -1, 2),
+			throwsException(IllegalArgumentException.class));
+		assertThat(() -> new ResourceDemandSummaryMeasurementResult(parameterisation, values, counts, 5, 3, 2),
+			throwsException(IllegalArgumentException.class));
+	}
+
+	/**
+	 * Test method for the getters of {@link ResourceDemandSummaryMeasurementResult}.
+	 * Asserts that the summary is returned as passed and cannot be modified through
+	 * arrays.
+	 */
+	@Test
+	public void getters() {
+		final double[] values = {1, 2};
+		final long[] counts = {1, 3};
+		final ResourceDemandSummaryMeasurementResult summary =
+			new ResourceDemandSummaryMeasurementResult(values, counts, 7, 1, 2);
+		values[0] = 0;
+		summary.getBucketCounts()[0] = 5;
+
+		assertThat(summary.getBucketValues(), is(new double[] {1, 2}));
+		assertThat(summary.getBucketCounts(), is(new long[] {1, 3}));
+		assertThat(summary.getCount(), is(4L));
+		assertThat(summary.getSum(), is(7d));
+		assertThat(summary.getMean(), is(1.75));
+		assertThat(summary.getMin(), is(1d));
+		assertThat(summary.getMax(), is(2d));
+	}
+
+	/**
+	 * Test method for {@link ResourceDemandSummaryMeasurementResult#getQuantile(double)}.
+	 */
+	@Test
+	public void getQuantile() {
+		final ResourceDemandSummaryMeasurementResult summary = new ResourceDemandSummaryMeasurementResult(
+			new double[] {10, 20, 40}, new long[] {2, 1, 1}, 77, 9, 41);
+
+		assertThat(summary.getQuantile(0), is(9d));
+		assertThat(summary.getQuantile(0.25), is(10d));
+		assertThat(summary.getQuantile(0.5), is(10d));
+		assertThat(summary.getQuantile(0.75), is(20d));
+		assertThat(summary.getQuantile(0.9), is(40d));
+		assertThat(summary.getQuantile(1), is(41d));
+		assertThat(() -> summary.getQuantile(-0.1), throwsException(IllegalArgumentException.class));
+		assertThat(() -> summary.getQuantile(1.1), throwsException(IllegalArgumentException.class));
+	}
+
+	/**
+	 * Test method for {@link ResourceDemandSummaryMeasurementResult#toString()}.
+	 */
+	@Test
+	public void toStringT() {
+		final ResourceDemandSummaryMeasurementResult summary =
+			new ResourceDemandSummaryMeasurementResult(new double[] {1}, new long[] {1}, 1, 1, 1) {
+			};
+		assertThat(summary, hasOverriddenToString());
+	}
+}
@@ -0,0 +1,169 @@
+package de.uka.ipd.sdq.beagle.core.measurement;
+
+import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import de.uka.ipd.sdq.beagle.core.CodeSection;
+import de.uka.ipd.sdq.beagle.core.ResourceDemandType;
+import de.uka.ipd.sdq.beagle.core.measurement.order.CodeSectionEnteredEvent;
+import de.uka.ipd.sdq.beagle.core.measurement.order.MeasurementEvent;
+import de.uka.ipd.sdq.beagle.core.measurement.order.ResourceDemandCapturedEvent;
+import de.uka.ipd.sdq.beagle.core.testutil.factories.CodeSectionFactory;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Tests {@link SteadyStateDetector}.
+ *
+ * @author Joshua Gleitze
+ */
+public class SteadyStateDetectorTest {
+
+	/**
+	 * A {@link CodeSectionFactory} for the tests.
+	 */
+	private static final CodeSectionFactory CODE_SECTION_FACTORY = new CodeSectionFactory();
+
+	/**
+	 * How many executions each measured section has.
+	 */
+	private static final int EXECUTIONS = 400;
+
+	/**
+	 * How many executions of the slow section are warmup.
+	 */
+	private static final int WARMUP = 60;
+
+	/**
+	 * Asserts that the warmup of a section is found and removed, while steady sections
+	 * and other events are kept.
+	 */
+	@Test
+	public void removesWarmup() {
+		final Random random = new Random(EXECUTIONS);
+		final CodeSection[] sections = CODE_SECTION_FACTORY.getAll();
+		final CodeSection warmingSection = sections[0];
+		final CodeSection steadySection = sections[1];
+		final CodeSectionEnteredEvent otherEvent = new CodeSectionEnteredEvent(warmingSection);
+		final List<MeasurementEvent> events = new ArrayList<>();
+		events.add(otherEvent);
+		for (int execution = 0; execution < EXECUTIONS; execution++) {
+			final double warmupFactor = execution < WARMUP ? 20 : 1;
+			events.add(new ResourceDemandCapturedEvent(warmingSection, ResourceDemandType.RESOURCE_TYPE_CPU_NS,
+				(100 + random.nextGaussian()) * warmupFactor));
+			events.add(new ResourceDemandCapturedEvent(steadySection, ResourceDemandType.RESOURCE_TYPE_CPU_NS,
+				100 + random.nextGaussian()));
+		}
+
+		final SteadyStateDetector detector = new SteadyStateDetector();
+		assertThat(detector.getWarmupLengths().isEmpty(), is(true));
+		final List<MeasurementEvent> steadyEvents = detector.removeWarmup(events);
+
+		assertThat(detector.getWarmupLengths().get(warmingSection), is(WARMUP));
+		assertThat(detector.getWarmupLengths().containsKey(steadySection), is(false));
+		assertThat(steadyEvents.get(0), is(otherEvent));
+		assertThat(steadyEvents.size(), is(events.size() - WARMUP));
+		final List<Double> warmingDemands = steadyEvents.stream()
+			.filter((event) -> event instanceof ResourceDemandCapturedEvent)
+			.map((event) -> (ResourceDemandCapturedEvent) event)
+			.filter((event) -> event.getCodeSection().equals(warmingSection))
+			.map(ResourceDemandCapturedEvent::getValue)
+			.collect(Collectors.toList());
+		assertThat(Collections.max(warmingDemands), is(lessThanOrEqualTo(110d)));
+	}
+
+	/**
+	 * Asserts that removing the warmup online finds the same warmup, holds back the
+	 * demands of undecided sections until the consumer is finished and passes other
+	 * events right away.
+	 */
+	@Test
+	public void removesWarmupOnline() {
+		final Random random = new Random(EXECUTIONS);
+		final CodeSection section = CODE_SECTION_FACTORY.getOne();
+		final CodeSectionEnteredEvent otherEvent = new CodeSectionEnteredEvent(section);
+		final SteadyStateDetector detector = new SteadyStateDetector();
+		final List<MeasurementEvent> steadyEvents = new ArrayList<>();
+		final MeasurementEventConsumer remover = detector.removeWarmupOnline(steadyEvents::add);
+
+		remover.accept(otherEvent);
+		for (int execution = 0; execution < EXECUTIONS; execution++) {
+			final double warmupFactor = execution < WARMUP ? 20 : 1;
+			remover.accept(new ResourceDemandCapturedEvent(section, ResourceDemandType.RESOURCE_TYPE_CPU_NS,
+				(100 + random.nextGaussian()) * warmupFactor));
+		}
+		assertThat(steadyEvents, contains((MeasurementEvent) otherEvent));
+
+		remover.finish();
+		assertThat(detector.getWarmupLengths().get(section), is(WARMUP));
+		assertThat(steadyEvents.size(), is(1 + EXECUTIONS - WARMUP));
+	}
+
+	/**
+	 * Asserts that removing the warmup online passes the demands of a section on as soon
+	 * as its warmup was decided from the prefix of its series.
+	 */
+	@Test
+	public void passesDemandsOnceWarmupIsDecided() {
+		final Random random = new Random(WARMUP);
+		final CodeSection section = CODE_SECTION_FACTORY.getOne();
+		final SteadyStateDetector detector = new SteadyStateDetector();
+		final List<MeasurementEvent> steadyEvents = new ArrayList<>();
+		final MeasurementEventConsumer remover = detector.removeWarmupOnline(steadyEvents::add);
+
+		for (int execution = 0; execution < SteadyStateDetector.ONLINE_PREFIX_LENGTH; execution++) {
+			final double warmupFactor = execution < WARMUP ? 20 : 1;
+			remover.accept(new ResourceDemandCapturedEvent(section, ResourceDemandType.RESOURCE_TYPE_CPU_NS,
+				(100 + random.nextGaussian()) * warmupFactor));
+		}
+		assertThat(steadyEvents.size(), is(SteadyStateDetector.ONLINE_PREFIX_LENGTH - WARMUP));
+
+		final ResourceDemandCapturedEvent lateDemand =
+			new ResourceDemandCapturedEvent(section, ResourceDemandType.RESOURCE_TYPE_CPU_NS, 100);
+		remover.accept(lateDemand);
+		assertThat(steadyEvents.get(steadyEvents.size() - 1), is(lateDemand));
+
+		remover.finish();
+		assertThat(detector.getWarmupLengths().get(section), is(WARMUP));
+	}
+
+	/**
+	 * Asserts that series too short to tell a warmup apart are left untouched.
+	 */
+	@Test
+	public void keepsShortSeries() {
+		final CodeSection section = CODE_SECTION_FACTORY.getOne();
+		final List<MeasurementEvent> events = Arrays.asList(
+			new ResourceDemandCapturedEvent(section, ResourceDemandType.RESOURCE_TYPE_CPU_NS, 1000),
+			new ResourceDemandCapturedEvent(section, ResourceDemandType.RESOURCE_TYPE_CPU_NS, 10),
+			new ResourceDemandCapturedEvent(section, ResourceDemandType.RESOURCE_TYPE_CPU_NS, 10));
+
+		final SteadyStateDetector detector = new SteadyStateDetector();
+		assertThat(detector.removeWarmup(events), contains(events.toArray()));
+		assertThat(detector.getWarmupLengths().isEmpty(), is(true));
+	}
+
+	/**
+	 * Asserts that the detector’s input is validated.
+	 */
+	@Test
+	public void validatesInput() {
+		final SteadyStateDetector detector = new SteadyStateDetector();
+		assertThat(() -> detector.removeWarmup(null), throwsException(NullPointerException.class));
+		assertThat(() -> detector.removeWarmup(Arrays.asList((MeasurementEvent) null)),
+			throwsException(IllegalArgumentException.class));
+		assertThat(() -> detector.removeWarmupOnline(null), throwsException(NullPointerException.class));
+		assertThat(() -> detector.removeWarmupOnline((event) -> { }).accept(null),
+			throwsException(NullPointerException.class));
+	}
+}
@@ -0,0 +1,80 @@
+package de.uka.ipd.sdq.beagle.core.measurement.order;
+
+import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Matchers.same;
+import static org.mockito.Mockito.mock;
+
+import de.uka.ipd.sdq.beagle.core.CodeSection;
+import de.uka.ipd.sdq.beagle.core.testutil.factories.CodeSectionFactory;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link CodeSectionExecutionsCountedEvent} and contains all test cases needed to
+ * check every method.
+ *
+ * @author Joshua Gleitze
+ */
+public class CodeSectionExecutionsCountedEventTest {
+
+	/**
+	 * A {@link CodeSectionFactory} providing methods to get code sections to use for
+	 * tests.
+	 */
+	private static final CodeSectionFactory CODE_SECTION_FACTORY = new CodeSectionFactory();
+
+	/**
+	 * Test method for
+	 * {@link CodeSectionExecutionsCountedEvent#CodeSectionExecutionsCountedEvent(CodeSection, long, long)}.
+	 *
+	 * <p>Asserts that a {@link NullPointerException} is thrown if the code section is
+	 * {@code null} and that {@link IllegalArgumentException}s are thrown for counts that
+	 * are not positive.
+	 */
+	@Test
+	public void codeSectionExecutionsCountedEvent() {
+		final CodeSection codeSection = CODE_SECTION_FACTORY.getOne();
+		new CodeSectionExecutionsCountedEvent(codeSection, 1, 1);
+		new CodeSectionExecutionsCountedEvent(codeSection, Long.MAX_VALUE, Long.MAX_VALUE);
+
+		assertThat(() -> new CodeSectionExecutionsCountedEvent(null, 1, 1),
+			throwsException(NullPointerException.class));
+		assertThat("Iterations must be positive", () -> new CodeSectionExecutionsCountedEvent(codeSection, 0, 1),
+			throwsException(IllegalArgumentException.class));
+		assertThat("Iterations must be positive", () -> new CodeSectionExecutionsCountedEvent(codeSection, -3, 1),
+			throwsException(IllegalArgumentException.class));
+		assertThat("Activations must be positive", () -> new CodeSectionExecutionsCountedEvent(codeSection, 1, 0),
+			throwsException(IllegalArgumentException.class));
+		assertThat("Activations must be positive", () -> new CodeSectionExecutionsCountedEvent(codeSection, 1, -3),
+			throwsException(IllegalArgumentException.class));
+	}
+
+	/**
+	 * Test method for {@link CodeSectionExecutionsCountedEvent#getIterations()} and
+	 * {@link CodeSectionExecutionsCountedEvent#getActivations()}.
+	 */
+	@Test
+	public void getters() {
+		final CodeSectionExecutionsCountedEvent event =
+			new CodeSectionExecutionsCountedEvent(CODE_SECTION_FACTORY.getOne(), 300, 7);
+		assertThat(event.getIterations(), is(300L));
+		assertThat(event.getActivations(), is(7L));
+	}
+
+	/**
+	 * Test method for
+	 * {@link CodeSectionExecutionsCountedEvent#receive(MeasurementEventVisitor)} .
+	 */
+	@Test
+	public void receive() {
+		final MeasurementEventVisitor mockVisitor = mock(MeasurementEventVisitor.class);
+		final CodeSectionExecutionsCountedEvent event =
+			new CodeSectionExecutionsCountedEvent(CODE_SECTION_FACTORY.getOne(), 2, 3);
+		assertThat(() -> event.receive(null), throwsException(NullPointerException.class));
+		event.receive(mockVisitor);
+		then(mockVisitor).should().visit(same(event));
+	}
+}
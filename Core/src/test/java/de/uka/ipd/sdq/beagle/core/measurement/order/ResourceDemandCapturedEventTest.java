@@ -96,6 +96,22 @@ public class ResourceDemandCapturedEventTest {
 		assertThat(event.getValue(), is(not(value)));
 	}
 
+	/**
+	 * Test method for {@link ResourceDemandCapturedEvent#isDisturbedByGcPause()} .
+	 */
+	@Test
+	public void isDisturbedByGcPause() {
+		final CodeSection codeSection = CODE_SECTION_FACTORY.getOne();
+		final ResourceDemandType type = new ResourceDemandType("Test", true);
+		final Double value = 2.0;
+
+		assertThat(new ResourceDemandCapturedEvent(codeSection, type, value).isDisturbedByGcPause(), is(false));
+		assertThat(new ResourceDemandCapturedEvent(codeSection, type, value, false).isDisturbedByGcPause(), is(false));
+		assertThat(new ResourceDemandCapturedEvent(codeSection, type, value, true).isDisturbedByGcPause(), is(true));
+		assertThat(() -> new ResourceDemandCapturedEvent(codeSection, null, value, true),
+			throwsException(NullPointerException.class));
+	}
+
 	/**
 	 * Test method for
 	 * {@link ResourceDemandCapturedEvent#receive(MeasurementEventVisitor)} .
@@ -0,0 +1,124 @@
+package de.uka.ipd.sdq.beagle.core.measurement.order;
+
+import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Matchers.same;
+import static org.mockito.Mockito.mock;
+
+import de.uka.ipd.sdq.beagle.core.CodeSection;
+import de.uka.ipd.sdq.beagle.core.ResourceDemandType;
+import de.uka.ipd.sdq.beagle.core.testutil.factories.CodeSectionFactory;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link ResourceDemandSummaryCapturedEvent} and contains all test cases needed to
+ * check every method.
+ *
+ * @author Joshua Gleitze
+ */
+public class ResourceDemandSummaryCapturedEventTest {
+
+	/**
+	 * A {@link CodeSectionFactory} providing methods to get code sections to use for
+	 * tests.
+	 */
+	private static final CodeSectionFactory CODE_SECTION_FACTORY = new CodeSectionFactory();
+
+	/**
+	 * A resource demand type for the tests.
+	 */
+	private static final ResourceDemandType TYPE = new ResourceDemandType("Test", true);
+
+	/**
+	 * // @formatter:off
+	 * Test method for
+	 * {@link ResourceDemandSummaryCapturedEvent#ResourceDemandSummaryCapturedEvent(CodeSection, ResourceDemandType,
+	 * double[], long[], double, double, double)}.
+	 * // @formatter:on
+	 *
+	 * <p>Asserts that {@link NullPointerException}s are thrown if one of the arguments is
+	 * {@code null} and that {@link IllegalArgumentException}s are thrown for inconsistent
+	 * summaries.
+	 */
+	@Test
+	public void resourceDemandSummaryCapturedEvent() {
+		final CodeSection codeSection = CODE_SECTION_FACTORY.getOne();
+		final double[] values = {1, 2};
+		final long[] counts = {1, 2};
+		new ResourceDemandSummaryCapturedEvent(codeSection, TYPE, values, counts, 5, 1, 2);
+		new ResourceDemandSummaryCapturedEvent(codeSection, TYPE, new double[] {0}, new long[] {1}, 0, 0, 0);
+
+		assertThat(() -> new ResourceDemandSummaryCapturedEvent(null, TYPE, values, counts, 5, 1, 2),
+			throwsException(NullPointerException.class));
+		assertThat(() -> new ResourceDemandSummaryCapturedEvent(codeSection, null, values, counts, 5, 1, 2),
+			throwsException(NullPointerException.class));
+		assertThat(() -> new ResourceDemandSummaryCapturedEvent(codeSection, TYPE, null, counts, 5, 1, 2),
+			throwsException(NullPointerException.class));
+		assertThat(() -> new ResourceDemandSummaryCapturedEvent(codeSection, TYPE, values, null, 5, 1, 2),
+			throwsException(NullPointerException.class));
+
+		assertThat("Values and counts must have the same length",
+			() -> new ResourceDemandSummaryCapturedEvent(codeSection, TYPE, values, new long[] {1}, 5, 1, 2),
+			throwsException(IllegalArgumentException.class));
+		assertThat("Values must be ascending",
+			() -> new ResourceDemandSummaryCapturedEvent(codeSection, TYPE, new double[] {2, 1}, counts, 5, 1, 2),
+			throwsException(IllegalArgumentException.class));
+		assertThat("Values must be non-negative",
+			() -> new ResourceDemandSummaryCapturedEvent(codeSection, TYPE, new double[] {-1, 1}, counts, 5, 1, 2),
+			throwsException(IllegalArgumentException.class));
+		assertThat("Counts must be non-negative",
+			() -> new ResourceDemandSummaryCapturedEvent(codeSection, TYPE, values, new long[] {-1, 2}, 5, 1, 2),
+			throwsException(IllegalArgumentException.class));
+		assertThat("A summary must not be empty",
+			() -> new ResourceDemandSummaryCapturedEvent(codeSection, TYPE, values, new long[] {0, 0}, 5, 1, 2),
+			throwsException(IllegalArgumentException.class));
+		assertThat("The sum must be non-negative",
+			() -> new ResourceDemandSummaryCapturedEvent(codeSection, TYPE, values, counts, -5, 1, 2),
+			throwsException(IllegalArgumentException.class));
+		assertThat("The minimum must not exceed the maximum",
+			() -> new ResourceDemandSummaryCapturedEvent(codeSection, TYPE, values, counts, 5, 2, 1),
+			throwsException(IllegalArgumentException.class));
+	}
+
+	/**
+	 * Test method for the getters of {@link ResourceDemandSummaryCapturedEvent}. Asserts
+	 * that the summary is returned as passed and that it cannot be modified through the
+	 * passed or returned arrays.
+	 */
+	@Test
+	public void getters() {
+		final double[] values = {1, 2};
+		final long[] counts = {1, 2};
+		final ResourceDemandSummaryCapturedEvent event =
+			new ResourceDemandSummaryCapturedEvent(CODE_SECTION_FACTORY.getOne(), TYPE, values, counts, 5, 1, 2);
+		values[0] = 0;
+		counts[0] = 7;
+		event.getBucketValues()[1] = 3;
+		event.getBucketCounts()[1] = 3;
+
+		assertThat(event.getType(), is(TYPE));
+		assertThat(event.getBucketValues(), is(new double[] {1, 2}));
+		assertThat(event.getBucketCounts(), is(new long[] {1, 2}));
+		assertThat(event.getCount(), is(3L));
+		assertThat(event.getSum(), is(5d));
+		assertThat(event.getMin(), is(1d));
+		assertThat(event.getMax(), is(2d));
+	}
+
+	/**
+	 * Test method for
+	 * {@link ResourceDemandSummaryCapturedEvent#receive(MeasurementEventVisitor)} .
+	 */
+	@Test
+	public void receive() {
+		final MeasurementEventVisitor mockVisitor = mock(MeasurementEventVisitor.class);
+		final ResourceDemandSummaryCapturedEvent event = new ResourceDemandSummaryCapturedEvent(
+			CODE_SECTION_FACTORY.getOne(), TYPE, new double[] {1}, new long[] {1}, 1, 1, 1);
+		assertThat(() -> event.receive(null), throwsException(NullPointerException.class));
+		event.receive(mockVisitor);
+		then(mockVisitor).should().visit(same(event));
+	}
+}
@@ -0,0 +1,36 @@
+package de.uka.ipd.sdq.beagle.core.testutil;
+
+import de.uka.ipd.sdq.beagle.core.measurement.MeasurementEventConsumer;
+import de.uka.ipd.sdq.beagle.core.measurement.MeasurementTool;
+import de.uka.ipd.sdq.beagle.core.measurement.order.MeasurementEvent;
+import de.uka.ipd.sdq.beagle.core.measurement.order.MeasurementOrder;
+
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Answers calls to {@link MeasurementTool#measure(MeasurementOrder, Supplier)} like the
+ * interface’s default implementation does: By passing the result of the mock’s
+ * {@link MeasurementTool#measure(MeasurementOrder)} to one consumer. Mockito does not
+ * call default methods of mocked interfaces, so tests stubbing only
+ * {@link MeasurementTool#measure(MeasurementOrder)} need to stub the other method with
+ * this answer.
+ *
+ * @author Joshua Gleitze
+ */
+public class MeasureInOnePartAnswer implements Answer<Void> {
+
+	@Override
+	public Void answer(final InvocationOnMock invocation) throws Throwable {
+		final MeasurementTool tool = (MeasurementTool) invocation.getMock();
+		final List<MeasurementEvent> events = tool.measure(invocation.getArgumentAt(0, MeasurementOrder.class));
+		final MeasurementEventConsumer consumer =
+			(MeasurementEventConsumer) invocation.getArgumentAt(1, Supplier.class).get();
+		events.forEach(consumer);
+		consumer.finish();
+		return null;
+	}
+}
@@ -1,5 +1,6 @@
 package de.uka.ipd.sdq.beagle.core.testutil.factories;
 
+import de.uka.ipd.sdq.beagle.core.AnalysisSettings;
 import de.uka.ipd.sdq.beagle.core.ProjectInformation;
 import de.uka.ipd.sdq.beagle.core.facade.SourceCodeFileProvider;
 import de.uka.ipd.sdq.beagle.core.timeout.NoTimeout;
@@ -56,6 +57,23 @@ public class ProjectInformationFactory implements SourceCodeFileProvider {
 	 */
 	public ProjectInformation setTimeout(final ProjectInformation sourceInformation, final Timeout timeout) {
 		return new ProjectInformation(timeout, sourceInformation.getFileProvider(), sourceInformation.getBuildPath(),
-			sourceInformation.getCharset(), sourceInformation.getLaunchConfigurations());
+			sourceInformation.getCharset(), sourceInformation.getLaunchConfigurations(),
+			sourceInformation.getAnalysisSettings());
+	}
+
+	/**
+	 * Creates a copy of the provided project information but sets the provided
+	 * {@code analysisSettings} on it.
+	 *
+	 * @param sourceInformation The Blackboard to copy.
+	 * @param analysisSettings The analysis settings to use on the copy.
+	 * @return A Project Information with the same content, except that
+	 *         {@code analysisSettings} are set on it.
+	 */
+	public ProjectInformation setAnalysisSettings(final ProjectInformation sourceInformation,
+		final AnalysisSettings analysisSettings) {
+		return new ProjectInformation(sourceInformation.getTimeout(), sourceInformation.getFileProvider(),
+			sourceInformation.getBuildPath(), sourceInformation.getCharset(),
+			sourceInformation.getLaunchConfigurations(), analysisSettings);
 	}
 }
@@ -105,6 +105,7 @@ public class BeagleLaunchConfigurationCreator {
 
 			new TimeoutTab().setDefaults(workingCopy);
 			new LaunchConfigurationTab().setDefaults(workingCopy);
+			new ParallelismTab().setDefaults(workingCopy);
 
 			workingCopy.doSave();
 			workingCopy.launch(ILaunchManager.RUN_MODE, null);
@@ -158,6 +158,19 @@ public class BeagleLaunchConfigurationDelegate extends LaunchConfigurationDelega
 				.setLaunchConfigurations(new HashSet<>(ILaunchConfigurationHelper.toBeagleLaunchConfigurations(
 					ILaunchConfigurationHelper.getByNames(launchConfigurations), javaProject)));
 
+			beagleConfiguration.setParallelism(
+				launchConfiguration.getAttribute(ParallelismTab.BEAGLE_LAUNCH_CONFIGURATION_PARALLELISM,
+					ParallelismTab.BEAGLE_LAUNCH_CONFIGURATION_PARALLELISM_DEFAULT_VALUE));
+			beagleConfiguration.setMeasurementConcurrency(
+				launchConfiguration.getAttribute(ParallelismTab.BEAGLE_LAUNCH_CONFIGURATION_MEASUREMENT_CONCURRENCY,
+					ParallelismTab.BEAGLE_LAUNCH_CONFIGURATION_MEASUREMENT_CONCURRENCY_DEFAULT_VALUE));
+			beagleConfiguration.setAnalysisConcurrent(
+				launchConfiguration.getAttribute(ParallelismTab.BEAGLE_LAUNCH_CONFIGURATION_ANALYSIS_CONCURRENT,
+					ParallelismTab.BEAGLE_LAUNCH_CONFIGURATION_ANALYSIS_CONCURRENT_DEFAULT_VALUE));
+			beagleConfiguration.setMeasurementPipelined(
+				launchConfiguration.getAttribute(ParallelismTab.BEAGLE_LAUNCH_CONFIGURATION_MEASUREMENT_PIPELINED,
+					ParallelismTab.BEAGLE_LAUNCH_CONFIGURATION_MEASUREMENT_PIPELINED_DEFAULT_VALUE));
+
 			return beagleConfiguration;
 		} catch (final CoreException coreException) {
 			FailureHandler.getHandler(this.getClass()).handle(new FailureReport<>().cause(coreException));
@@ -172,6 +185,7 @@ public class BeagleLaunchConfigurationDelegate extends LaunchConfigurationDelega
 
 		checker.checkForTimeoutError();
 		checker.checkForLaunchConfigurationError();
+		checker.checkForParallelismError();
 		checker.checkForProjectError();
 
 		if (checker.hasError()) {
@@ -21,6 +21,7 @@ public class BeagleLaunchConfigurationTabGroup extends AbstractLaunchConfigurati
 			new SelectionOverviewTab(),
 			new TimeoutTab(),
 			new LaunchConfigurationTab(),
+			new ParallelismTab(),
 			new CommonTab()
 			// @formatter:on
 		};
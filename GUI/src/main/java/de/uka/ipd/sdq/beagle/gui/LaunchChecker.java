@@ -166,6 +166,33 @@ public class LaunchChecker {
 		}
 	}
 
+	/**
+	 * Checks whether the launch configuration contains an error that could be configured
+	 * on {@link ParallelismTab}. The results can be obtained through {@link #hasError()}
+	 * and {@link #getErrorMessage()}.
+	 */
+	public void checkForParallelismError() {
+		final int parallelism;
+		final int measurementConcurrency;
+		try {
+			parallelism = this.launchConfiguration.getAttribute(ParallelismTab.BEAGLE_LAUNCH_CONFIGURATION_PARALLELISM,
+				ParallelismTab.BEAGLE_LAUNCH_CONFIGURATION_PARALLELISM_DEFAULT_VALUE);
+			measurementConcurrency = this.launchConfiguration.getAttribute(
+				ParallelismTab.BEAGLE_LAUNCH_CONFIGURATION_MEASUREMENT_CONCURRENCY,
+				ParallelismTab.BEAGLE_LAUNCH_CONFIGURATION_MEASUREMENT_CONCURRENCY_DEFAULT_VALUE);
+		} catch (final CoreException error) {
+			this.foundError("Malformed parallelism configuration.");
+			return;
+		}
+
+		if (parallelism < 1) {
+			this.foundError("An invalid number of threads is configured. The value must be greater than 0.");
+		} else if (measurementConcurrency < 1) {
+			this.foundError(
+				"An invalid number of concurrent launches is configured. The value must be greater than 0.");
+		}
+	}
+
 	/**
 	 * Reports that an error was found.
 	 *
@@ -0,0 +1,255 @@
+package de.uka.ipd.sdq.beagle.gui;
+
+import de.uka.ipd.sdq.beagle.core.facade.BeagleConfiguration;
+import de.uka.ipd.sdq.beagle.core.failurehandling.FailureHandler;
+import de.uka.ipd.sdq.beagle.core.failurehandling.FailureReport;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.debug.core.ILaunchConfiguration;
+import org.eclipse.debug.core.ILaunchConfigurationWorkingCopy;
+import org.eclipse.debug.ui.AbstractLaunchConfigurationTab;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.SelectionEvent;
+import org.eclipse.swt.events.SelectionListener;
+import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Spinner;
+
+/*
+ * This class is involved in creating a Graphical User Interface. Its functionality cannot
+ * reasonably be tested by automated unit tests.
+ *
+ * COVERAGE:OFF
+ */
+
+/**
+ * A tab of Beagle's launch configuration allowing the user to choose how far Beagle may
+ * parallelise the analysis. All settings default to a sequential analysis.
+ *
+ * @author Joshua Gleitze
+ * @see BeagleConfiguration#getAnalysisSettings()
+ */
+public class ParallelismTab extends AbstractLaunchConfigurationTab {
+
+	/**
+	 * The key in the Beagle Launch Configuration determining how many threads Beagle may
+	 * use for parallelised computations.
+	 *
+	 * @see BeagleConfiguration#setParallelism(int)
+	 */
+	public static final String BEAGLE_LAUNCH_CONFIGURATION_PARALLELISM = "de.uka.ipd.sdq.beagle.PARALLELISM";
+
+	/**
+	 * The default value in Beagle's launch configuration for the key
+	 * {@link #BEAGLE_LAUNCH_CONFIGURATION_PARALLELISM}.
+	 */
+	public static final int BEAGLE_LAUNCH_CONFIGURATION_PARALLELISM_DEFAULT_VALUE = 1;
+
+	/**
+	 * The key in the Beagle Launch Configuration determining how many launches of the
+	 * measured software may run at the same time.
+	 *
+	 * @see BeagleConfiguration#setMeasurementConcurrency(int)
+	 */
+	public static final String BEAGLE_LAUNCH_CONFIGURATION_MEASUREMENT_CONCURRENCY =
+		"de.uka.ipd.sdq.beagle.MEASUREMENT_CONCURRENCY";
+
+	/**
+	 * The default value in Beagle's launch configuration for the key
+	 * {@link #BEAGLE_LAUNCH_CONFIGURATION_MEASUREMENT_CONCURRENCY}.
+	 */
+	public static final int BEAGLE_LAUNCH_CONFIGURATION_MEASUREMENT_CONCURRENCY_DEFAULT_VALUE = 1;
+
+	/**
+	 * The key in the Beagle Launch Configuration determining whether the analysers of one
+	 * round may contribute concurrently.
+	 *
+	 * @see BeagleConfiguration#setAnalysisConcurrent(boolean)
+	 */
+	public static final String BEAGLE_LAUNCH_CONFIGURATION_ANALYSIS_CONCURRENT =
+		"de.uka.ipd.sdq.beagle.ANALYSIS_CONCURRENT";
+
+	/**
+	 * The default value in Beagle's launch configuration for the key
+	 * {@link #BEAGLE_LAUNCH_CONFIGURATION_ANALYSIS_CONCURRENT}.
+	 */
+	public static final boolean BEAGLE_LAUNCH_CONFIGURATION_ANALYSIS_CONCURRENT_DEFAULT_VALUE = false;
+
+	/**
+	 * The key in the Beagle Launch Configuration determining whether measurements may run
+	 * while analysers contribute.
+	 *
+	 * @see BeagleConfiguration#setMeasurementPipelined(boolean)
+	 */
+	public static final String BEAGLE_LAUNCH_CONFIGURATION_MEASUREMENT_PIPELINED =
+		"de.uka.ipd.sdq.beagle.MEASUREMENT_PIPELINED";
+
+	/**
+	 * The default value in Beagle's launch configuration for the key
+	 * {@link #BEAGLE_LAUNCH_CONFIGURATION_MEASUREMENT_PIPELINED}.
+	 */
+	public static final boolean BEAGLE_LAUNCH_CONFIGURATION_MEASUREMENT_PIPELINED_DEFAULT_VALUE = false;
+
+	/**
+	 * The title of this tab.
+	 */
+	private static final String TITLE = "Parallelism";
+
+	/**
+	 * The number of columns of the layout of container which contains the entire content
+	 * of this tab.
+	 */
+	private static final int MAIN_LAYOUT_NR_COLUMS = 2;
+
+	/**
+	 * The highest value the user can choose for the parallelism and the measurement
+	 * concurrency.
+	 */
+	private static final int MAXIMUM_SPINNER_VALUE = 256;
+
+	/**
+	 * The main container for this page.
+	 */
+	private Composite mainContainer;
+
+	/**
+	 * A spinner for the number of threads Beagle may use.
+	 */
+	private Spinner parallelismSpinner;
+
+	/**
+	 * A spinner for the number of launches of the measured software that may run at the
+	 * same time.
+	 */
+	private Spinner measurementConcurrencySpinner;
+
+	/**
+	 * Checkbox where the user can select whether analysers may contribute concurrently.
+	 */
+	private Button analysisConcurrentCheckbox;
+
+	/**
+	 * Checkbox where the user can select whether measurements may run while analysers
+	 * contribute.
+	 */
+	private Button measurementPipelinedCheckbox;
+
+	@Override
+	public void createControl(final Composite parent) {
+		this.mainContainer = new Composite(parent, SWT.NONE);
+		final GridLayout layoutAll = new GridLayout();
+		this.mainContainer.setLayout(layoutAll);
+		layoutAll.numColumns = MAIN_LAYOUT_NR_COLUMS;
+
+		final SelectionListener updateListener = new SelectionListener() {
+
+			@Override
+			public void widgetSelected(final SelectionEvent selectionEvent) {
+				ParallelismTab.this.updateLaunchConfigurationDialog();
+			}
+
+			@Override
+			public void widgetDefaultSelected(final SelectionEvent selectionEvent) {
+				// do nothing
+			}
+		};
+
+		final Label parallelismLabel = new Label(this.mainContainer, SWT.NONE);
+		parallelismLabel.setText("Threads for computations: ");
+		this.parallelismSpinner = this.createSpinner(updateListener);
+
+		final Label measurementConcurrencyLabel = new Label(this.mainContainer, SWT.NONE);
+		measurementConcurrencyLabel.setText("Concurrent launches of the analysed software: ");
+		this.measurementConcurrencySpinner = this.createSpinner(updateListener);
+
+		final GridData checkboxGridData = new GridData(GridData.FILL_HORIZONTAL);
+		checkboxGridData.horizontalSpan = MAIN_LAYOUT_NR_COLUMS;
+
+		this.analysisConcurrentCheckbox = new Button(this.mainContainer, SWT.CHECK);
+		this.analysisConcurrentCheckbox.setText("Let analysers contribute concurrently.");
+		this.analysisConcurrentCheckbox.setLayoutData(checkboxGridData);
+		this.analysisConcurrentCheckbox.addSelectionListener(updateListener);
+
+		this.measurementPipelinedCheckbox = new Button(this.mainContainer, SWT.CHECK);
+		this.measurementPipelinedCheckbox.setText("Let analysers contribute while measurements are running.");
+		this.measurementPipelinedCheckbox.setLayoutData(checkboxGridData.copy());
+		this.measurementPipelinedCheckbox.addSelectionListener(updateListener);
+
+		this.setControl(this.mainContainer);
+	}
+
+	/**
+	 * Creates a spinner on {@link #mainContainer} that accepts values from {@code 1} to
+	 * {@link #MAXIMUM_SPINNER_VALUE}.
+	 *
+	 * @param updateListener The listener to notify if the spinner’s value changes.
+	 * @return The created spinner.
+	 */
+	private Spinner createSpinner(final SelectionListener updateListener) {
+		final Spinner spinner = new Spinner(this.mainContainer, SWT.BORDER);
+		spinner.setMinimum(1);
+		spinner.setMaximum(MAXIMUM_SPINNER_VALUE);
+		spinner.addSelectionListener(updateListener);
+		spinner.addModifyListener(event -> ParallelismTab.this.updateLaunchConfigurationDialog());
+		return spinner;
+	}
+
+	@Override
+	public void setDefaults(final ILaunchConfigurationWorkingCopy configuration) {
+		configuration.setAttribute(BEAGLE_LAUNCH_CONFIGURATION_PARALLELISM,
+			BEAGLE_LAUNCH_CONFIGURATION_PARALLELISM_DEFAULT_VALUE);
+		configuration.setAttribute(BEAGLE_LAUNCH_CONFIGURATION_MEASUREMENT_CONCURRENCY,
+			BEAGLE_LAUNCH_CONFIGURATION_MEASUREMENT_CONCURRENCY_DEFAULT_VALUE);
+		configuration.setAttribute(BEAGLE_LAUNCH_CONFIGURATION_ANALYSIS_CONCURRENT,
+			BEAGLE_LAUNCH_CONFIGURATION_ANALYSIS_CONCURRENT_DEFAULT_VALUE);
+		configuration.setAttribute(BEAGLE_LAUNCH_CONFIGURATION_MEASUREMENT_PIPELINED,
+			BEAGLE_LAUNCH_CONFIGURATION_MEASUREMENT_PIPELINED_DEFAULT_VALUE);
+	}
+
+	@Override
+	public void initializeFrom(final ILaunchConfiguration configuration) {
+		try {
+			this.parallelismSpinner.setSelection(configuration.getAttribute(BEAGLE_LAUNCH_CONFIGURATION_PARALLELISM,
+				BEAGLE_LAUNCH_CONFIGURATION_PARALLELISM_DEFAULT_VALUE));
+			this.measurementConcurrencySpinner
+				.setSelection(configuration.getAttribute(BEAGLE_LAUNCH_CONFIGURATION_MEASUREMENT_CONCURRENCY,
+					BEAGLE_LAUNCH_CONFIGURATION_MEASUREMENT_CONCURRENCY_DEFAULT_VALUE));
+			this.analysisConcurrentCheckbox
+				.setSelection(configuration.getAttribute(BEAGLE_LAUNCH_CONFIGURATION_ANALYSIS_CONCURRENT,
+					BEAGLE_LAUNCH_CONFIGURATION_ANALYSIS_CONCURRENT_DEFAULT_VALUE));
+			this.measurementPipelinedCheckbox
+				.setSelection(configuration.getAttribute(BEAGLE_LAUNCH_CONFIGURATION_MEASUREMENT_PIPELINED,
+					BEAGLE_LAUNCH_CONFIGURATION_MEASUREMENT_PIPELINED_DEFAULT_VALUE));
+		} catch (final CoreException coreException) {
+			FailureHandler.getHandler(this.getClass()).handle(new FailureReport<>().cause(coreException)
+				.retryWith(() -> ParallelismTab.this.initializeFrom(configuration)));
+		}
+	}
+
+	@Override
+	public void performApply(final ILaunchConfigurationWorkingCopy configuration) {
+		configuration.setAttribute(BEAGLE_LAUNCH_CONFIGURATION_PARALLELISM, this.parallelismSpinner.getSelection());
+		configuration.setAttribute(BEAGLE_LAUNCH_CONFIGURATION_MEASUREMENT_CONCURRENCY,
+			this.measurementConcurrencySpinner.getSelection());
+		configuration.setAttribute(BEAGLE_LAUNCH_CONFIGURATION_ANALYSIS_CONCURRENT,
+			this.analysisConcurrentCheckbox.getSelection());
+		configuration.setAttribute(BEAGLE_LAUNCH_CONFIGURATION_MEASUREMENT_PIPELINED,
+			this.measurementPipelinedCheckbox.getSelection());
+	}
+
+	@Override
+	public String getName() {
+		return TITLE;
+	}
+
+	@Override
+	public boolean isValid(final ILaunchConfiguration launchConfig) {
+		final LaunchChecker checker = new LaunchChecker(launchConfig);
+		checker.checkForParallelismError();
+		this.setErrorMessage(checker.getErrorMessage());
+		return !checker.hasError();
+	}
+}
@@ -0,0 +1,104 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker;
+
+import org.apache.commons.lang3.Validate;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reports how compiling a shard of source files went. A shard is a part of the source
+ * files an {@link EclipseCompiler} compiled in one invocation of Eclipse’s batch
+ * compiler. Shards are compiled at the same time.
+ *
+ * @author Joshua Gleitze
+ */
+public final class CompilationShardReport {
+
+	/**
+	 * The source files compiled in the shard.
+	 */
+	private final List<Path> sourceFiles;
+
+	/**
+	 * How many milliseconds the shard’s compilation took.
+	 */
+	private final long duration;
+
+	/**
+	 * Whether the compilation succeeded.
+	 */
+	private final boolean successful;
+
+	/**
+	 * What the batch compiler reported, including its timing statistics.
+	 */
+	private final String compilerOutput;
+
+	/**
+	 * Creates a report.
+	 *
+	 * @param sourceFiles The source files compiled in the shard. Must not be {@code null}.
+	 * @param duration How many milliseconds the shard’s compilation took. Must not be
+	 *            negative.
+	 * @param successful Whether the compilation succeeded.
+	 * @param compilerOutput What the batch compiler reported. Must not be {@code null}.
+	 */
+	CompilationShardReport(final List<Path> sourceFiles, final long duration, final boolean successful,
+		final String compilerOutput) {
+		Validate.noNullElements(sourceFiles);
+		Validate.isTrue(duration >= 0);
+		Validate.notNull(compilerOutput);
+		this.sourceFiles = Collections.unmodifiableList(new ArrayList<>(sourceFiles));
+		this.duration = duration;
+		this.successful = successful;
+		this.compilerOutput = compilerOutput;
+	}
+
+	/**
+	 * Queries the source files compiled in the shard.
+	 *
+	 * @return The compiled source files. Will never be {@code null}. Cannot be modified.
+	 */
+	public List<Path> getSourceFiles() {
+		return this.sourceFiles;
+	}
+
+	/**
+	 * Queries how long the shard’s compilation took, measured from starting the batch
+	 * compiler until it returned.
+	 *
+	 * @return The duration in milliseconds. Will never be negative.
+	 */
+	public long getDuration() {
+		return this.duration;
+	}
+
+	/**
+	 * Queries whether the shard was compiled successfully.
+	 *
+	 * @return {@code true} if the batch compiler reported success.
+	 */
+	public boolean isSuccessful() {
+		return this.successful;
+	}
+
+	/**
+	 * Queries what the batch compiler reported while compiling the shard. This includes
+	 * the compiler’s statistics on how long parsing, resolving, analysing and
+	 * generating took.
+	 *
+	 * @return The batch compiler’s output. Will never be {@code null}.
+	 */
+	public String getCompilerOutput() {
+		return this.compilerOutput;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s: %d file%s in %d ms%n%s", this.successful ? "compiled" : "FAILED",
+			this.sourceFiles.size(), this.sourceFiles.size() == 1 ? "" : "s", this.duration,
+			this.compilerOutput.trim());
+	}
+}
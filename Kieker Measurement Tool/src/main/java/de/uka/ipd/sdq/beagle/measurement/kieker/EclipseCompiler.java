@@ -2,22 +2,55 @@ package de.uka.ipd.sdq.beagle.measurement.kieker;
 
 import de.uka.ipd.sdq.beagle.core.failurehandling.FailureHandler;
 import de.uka.ipd.sdq.beagle.core.failurehandling.FailureReport;
+import de.uka.ipd.sdq.beagle.measurement.kieker.instrumentation.ContentAddressedFileCache;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.Validate;
 import org.eclipse.jdt.core.compiler.batch.BatchCompiler;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.UncheckedIOException;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Compiles source code files using Eclipse’s batch compiler. Reports failures through the
  * {@link FailureHandler Failure API}. Unless a target directory is set through
  * {@link #intoFolder(Path)}, this compiler produces no class file output.
  *
+ * <p>If a {@linkplain #useCache cache} is set and class files are produced, the compiler
+ * looks up the class files for each source file in the cache and only compiles the
+ * source files it found none for. The cache is addressed by the source file’s content,
+ * the compiler’s settings and the content of the classpath. Where the classpath’s
+ * segments and the target folder are located is not part of the address, so class files
+ * are also found if the same code is compiled in another folder, for example in a later
+ * Beagle session.
+ *
+ * <p>The source files are compiled one by one. Each source file is compiled against the
+ * classpath, so only the files in the source folder are compiled, no matter how big the
+ * project they belong to is. The files are split into {@linkplain #useWorkers shards}
+ * that are compiled at the same time. How long compiling each shard took can be queried
+ * through {@link #getShardReports()} afterwards.
+ *
  * @author Joshua Gleitze
  */
 public class EclipseCompiler {
@@ -27,6 +60,39 @@ public class EclipseCompiler {
 	 */
 	private static final String COMPLIANCE_LEVEL = "1.8";
 
+	/**
+	 * Value of {@link #targetFolder} if no class files shall be generated.
+	 */
+	private static final String NO_TARGET_FOLDER = "none";
+
+	/**
+	 * The file extension of Java source code files.
+	 */
+	private static final String JAVA_FILE_EXTENSION = ".java";
+
+	/**
+	 * The file extension of Java class files.
+	 */
+	private static final String CLASS_FILE_EXTENSION = ".class";
+
+	/**
+	 * Prefix of the temporary folders shards are compiled into.
+	 */
+	private static final String SHARD_FOLDER_PREFIX = "beagle-compilation-shard";
+
+	/**
+	 * Stands in for class path entries that do not exist in the
+	 * {@linkplain #getClassPathFingerprint() class path’s fingerprint}.
+	 */
+	private static final String MISSING_CLASS_PATH_ENTRY = "<missing>";
+
+	/**
+	 * The {@linkplain #getContentKey(Path) content keys} of the class path files read in
+	 * this Beagle session, mapped from the file’s absolute path, size and modification
+	 * time.
+	 */
+	private static final Map<String, String> CLASS_PATH_CONTENT_KEYS = new ConcurrentHashMap<>();
+
 	/**
 	 * The handler of failures.
 	 */
@@ -47,13 +113,28 @@ public class EclipseCompiler {
 	 */
 	// Passing "none" as target folder to the batch compiler will prevent the generation
 	// of .class files.
-	private String targetFolder = "none";
+	private String targetFolder = NO_TARGET_FOLDER;
 
 	/**
 	 * The charset to be used by the compiler.
 	 */
 	private String charset;
 
+	/**
+	 * The cache for compilation results. {@code null} if no cache shall be used.
+	 */
+	private ContentAddressedFileCache cache;
+
+	/**
+	 * How many shards may be compiled at the same time.
+	 */
+	private int workers = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * The reports on the shards compiled by the last call to {@link #compile()}.
+	 */
+	private final List<CompilationShardReport> shardReports = new ArrayList<>();
+
 	/**
 	 * Creates a compiler that will compile all java files in the provided
 	 * {@code sourceFolder}.
@@ -107,30 +188,419 @@ public class EclipseCompiler {
 		return this;
 	}
 
+	/**
+	 * Makes the compiler look up class files in {@code compilationCache} and store the
+	 * class files it produces there. No cache is used if none was set. Class files are
+	 * only reused if neither their source file nor any file in the class path changed
+	 * since they were compiled.
+	 *
+	 * @param compilationCache The cache to use. Must not be {@code null}.
+	 * @return {@code this}.
+	 */
+	public EclipseCompiler useCache(final ContentAddressedFileCache compilationCache) {
+		Validate.notNull(compilationCache);
+		this.cache = compilationCache;
+		return this;
+	}
+
+	/**
+	 * Sets how many invocations of the batch compiler may run at the same time. The
+	 * source files are split into this many shards. Defaults to the number of available
+	 * processors.
+	 *
+	 * @param workerCount The number of shards compiled at the same time. Must be
+	 *            positive.
+	 * @return {@code this}.
+	 */
+	public EclipseCompiler useWorkers(final int workerCount) {
+		Validate.isTrue(workerCount > 0, "There must be at least one worker, but %d were requested", workerCount);
+		this.workers = workerCount;
+		return this;
+	}
+
+	/**
+	 * Queries how compiling each shard went in the last compilation.
+	 *
+	 * @return Reports for the shards of the last call to {@link #compile()}. Empty if
+	 *         nothing was compiled. Will never be {@code null}. Cannot be modified.
+	 */
+	public List<CompilationShardReport> getShardReports() {
+		return Collections.unmodifiableList(this.shardReports);
+	}
+
 	/**
 	 * Executes the compilation.
 	 */
 	public void compile() {
+		final Path sourceFolder = Paths.get(this.sourceFilesFolder);
+		final Map<Path, String> uncachedFiles = this.restoreCachedClassFiles(sourceFolder);
+
+		this.shardReports.clear();
+		if (uncachedFiles.isEmpty()) {
+			return;
+		}
+
+		final List<List<Path>> shards = this.shard(uncachedFiles.keySet());
+		final List<Path> shardOutputFolders = new ArrayList<>();
+		try {
+			for (int i = 0; i < shards.size(); i++) {
+				shardOutputFolders.add(
+					NO_TARGET_FOLDER.equals(this.targetFolder) ? null : Files.createTempDirectory(SHARD_FOLDER_PREFIX));
+			}
+			if (this.compileShards(shards, shardOutputFolders)) {
+				for (int i = 0; i < shards.size(); i++) {
+					this.collectShardResults(sourceFolder, shards.get(i), shardOutputFolders.get(i), uncachedFiles);
+				}
+			}
+		} catch (final IOException ioError) {
+			final FailureReport<Void> failure = new FailureReport<Void>().cause(ioError)
+				.message("Collecting the compilation results failed.")
+				.retryWith(this::compile);
+			FAILURE_HANDLER.handle(failure);
+		} finally {
+			for (final Path shardOutputFolder : shardOutputFolders) {
+				if (shardOutputFolder != null) {
+					FileUtils.deleteQuietly(shardOutputFolder.toFile());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Copies the class files of all source files in {@code sourceFolder} that are found
+	 * in the {@linkplain #cache} into the {@linkplain #targetFolder}.
+	 *
+	 * @param sourceFolder The folder containing the files to compile.
+	 * @return The source files that still need to be compiled, mapped to the key to cache
+	 *         their class files under. The key is {@code null} if the class files shall
+	 *         not be cached.
+	 */
+	private Map<Path, String> restoreCachedClassFiles(final Path sourceFolder) {
+		final boolean caching = this.cache != null && !NO_TARGET_FOLDER.equals(this.targetFolder);
+		// The class path is fingerprinted before class files are restored into it.
+		final String classPathFingerprint = caching ? this.getClassPathFingerprint() : null;
+		final Map<Path, String> uncachedFiles = new HashMap<>();
+		for (final Path sourceFile : this.listSourceFiles(sourceFolder)) {
+			final String cacheKey =
+				classPathFingerprint != null ? this.getCacheKey(sourceFile, classPathFingerprint) : null;
+			final Map<Path, Path> cachedClassFiles = cacheKey == null ? null : this.cache.lookUp(cacheKey);
+			if (cachedClassFiles == null || !this.restore(cachedClassFiles, Paths.get(this.targetFolder))) {
+				uncachedFiles.put(sourceFile, cacheKey);
+			}
+		}
+		return uncachedFiles;
+	}
+
+	/**
+	 * Caches the class files compiled for a shard and copies them into the
+	 * {@linkplain #targetFolder}.
+	 *
+	 * @param sourceFolder The folder containing the files to compile.
+	 * @param shard The shard’s source files.
+	 * @param shardOutputFolder The folder the shard was compiled into. {@code null} if no
+	 *            class files were generated.
+	 * @param cacheKeys The keys to cache the class files of each source file under.
+	 * @throws IOException If copying the class files fails.
+	 */
+	private void collectShardResults(final Path sourceFolder, final List<Path> shard, final Path shardOutputFolder,
+		final Map<Path, String> cacheKeys) throws IOException {
+		if (shardOutputFolder == null) {
+			return;
+		}
+		for (final Path sourceFile : shard) {
+			final String cacheKey = cacheKeys.get(sourceFile);
+			if (cacheKey != null) {
+				this.cache.store(cacheKey, this.findClassFiles(sourceFolder.relativize(sourceFile), shardOutputFolder));
+			}
+		}
+		FileUtils.copyDirectory(shardOutputFolder.toFile(), new File(this.targetFolder));
+	}
+
+	/**
+	 * Splits {@code sourceFiles} into at most {@link #workers} shards. The files are
+	 * distributed such that all shards contain about the same amount of source code.
+	 *
+	 * @param sourceFiles The files to split.
+	 * @return The shards. None of them is empty.
+	 */
+	private List<List<Path>> shard(final Collection<Path> sourceFiles) {
+		final List<Path> bySizeDescending = new ArrayList<>(sourceFiles);
+		bySizeDescending.sort(Comparator.comparingLong((final Path sourceFile) -> sourceFile.toFile().length())
+			.reversed());
+		final int shardCount = Math.min(this.workers, bySizeDescending.size());
+		final List<List<Path>> shards = new ArrayList<>(shardCount);
+		final long[] shardSizes = new long[shardCount];
+		for (int i = 0; i < shardCount; i++) {
+			shards.add(new ArrayList<>());
+		}
+
+		// Always putting the next biggest file into the smallest shard.
+		for (final Path sourceFile : bySizeDescending) {
+			int smallestShard = 0;
+			for (int i = 1; i < shardCount; i++) {
+				if (shardSizes[i] < shardSizes[smallestShard]) {
+					smallestShard = i;
+				}
+			}
+			shards.get(smallestShard).add(sourceFile);
+			shardSizes[smallestShard] += sourceFile.toFile().length();
+		}
+		return shards;
+	}
+
+	/**
+	 * Compiles all {@code shards} at the same time and records a report for each of
+	 * them. Reports failures of all shards at once.
+	 *
+	 * @param shards The source files to compile, split into shards.
+	 * @param shardOutputFolders The folder to compile each shard into. The ith folder
+	 *            belongs to the ith shard. {@code null} elements indicate that no class
+	 *            files shall be generated.
+	 * @return Whether all shards were compiled successfully. If not, the failure was
+	 *         reported and handled through a retry, so the compiler’s caller must not
+	 *         continue.
+	 */
+	private boolean compileShards(final List<List<Path>> shards, final List<Path> shardOutputFolders) {
+		final ExecutorService compilers = Executors.newFixedThreadPool(shards.size());
+		final List<Future<CompilationShardReport>> compilations = new ArrayList<>(shards.size());
+		for (int i = 0; i < shards.size(); i++) {
+			final List<Path> shard = shards.get(i);
+			final Path shardOutputFolder = shardOutputFolders.get(i);
+			compilations.add(compilers.submit(() -> this.compileShard(shard, shardOutputFolder)));
+		}
+		compilers.shutdown();
+
+		boolean interrupted = false;
+		for (int i = 0; i < compilations.size(); i++) {
+			CompilationShardReport report = null;
+			while (report == null) {
+				try {
+					report = compilations.get(i).get();
+				} catch (final InterruptedException interrupt) {
+					// The compilation must be finished before we can return.
+					interrupted = true;
+				} catch (final ExecutionException compilerCrash) {
+					report = new CompilationShardReport(shards.get(i), 0, false,
+						String.valueOf(compilerCrash.getCause()));
+				}
+			}
+			this.shardReports.add(report);
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+
+		final List<CompilationShardReport> failedShards = this.shardReports.stream()
+			.filter((report) -> !report.isSuccessful())
+			.collect(Collectors.toList());
+		if (!failedShards.isEmpty()) {
+			final int firstFailedShard = this.shardReports.indexOf(failedShards.get(0));
+			final FailureReport<Void> failure = new FailureReport<Void>().message("The compilation failed")
+				.details("Compilation Output: %s\n\nUsed command line options: %s\n",
+					failedShards.stream().map(CompilationShardReport::getCompilerOutput).collect(Collectors.joining("\n")),
+					this.getArguments(shards.get(firstFailedShard), shardOutputFolders.get(firstFailedShard)))
+				.retryWith(this::compile);
+			FAILURE_HANDLER.handle(failure);
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Compiles one shard through one invocation of the batch compiler.
+	 *
+	 * @param shard The source files to compile.
+	 * @param shardOutputFolder The folder to compile into. {@code null} if no class files
+	 *            shall be generated.
+	 * @return A report on the compilation.
+	 */
+	private CompilationShardReport compileShard(final List<Path> shard, final Path shardOutputFolder) {
+		final String arguments = this.getArguments(shard, shardOutputFolder);
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		final long startTime = System.currentTimeMillis();
+		final boolean success =
+			BatchCompiler.compile(arguments, new PrintWriter(outputStream), new PrintWriter(outputStream), null);
+		final long duration = System.currentTimeMillis() - startTime;
+		return new CompilationShardReport(shard, duration, success, outputStream.toString());
+	}
+
+	/**
+	 * Builds the batch compiler’s command line arguments to compile {@code sourceFiles}.
+	 *
+	 * @param sourceFiles The files to compile.
+	 * @param outputFolder The folder to compile into. {@code null} if no class files shall
+	 *            be generated.
+	 * @return The command line arguments.
+	 */
+	private String getArguments(final List<Path> sourceFiles, final Path outputFolder) {
 		final StringBuilder argumentBuilder = new StringBuilder();
-		argumentBuilder.append("-d \"").append(this.targetFolder).append("\" ");
+		argumentBuilder.append("-d \"")
+			.append(outputFolder == null ? NO_TARGET_FOLDER : outputFolder.toAbsolutePath())
+			.append("\" ");
 		for (final String segment : this.classPath) {
 			argumentBuilder.append("-classpath \"").append(segment).append("\" ");
 		}
+		if (!NO_TARGET_FOLDER.equals(this.targetFolder)) {
+			// The files may depend on class files that were restored from the cache.
+			argumentBuilder.append("-classpath \"").append(this.targetFolder).append("\" ");
+		}
 		if (this.charset != null) {
 			argumentBuilder.append("-encoding ").append(this.charset).append(" ");
 		}
-		argumentBuilder.append("\"").append(this.sourceFilesFolder).append("\" ");
-		argumentBuilder.append("-").append(COMPLIANCE_LEVEL);
+		for (final Path sourceFile : sourceFiles) {
+			argumentBuilder.append("\"").append(sourceFile).append("\" ");
+		}
+		argumentBuilder.append("-time -").append(COMPLIANCE_LEVEL);
+		return argumentBuilder.toString();
+	}
 
-		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-		final boolean success = BatchCompiler.compile(argumentBuilder.toString(), new PrintWriter(outputStream),
-			new PrintWriter(outputStream), null);
+	/**
+	 * Lists all Java source files in {@code sourceFolder}, including those in sub
+	 * folders.
+	 *
+	 * @param sourceFolder The folder to search.
+	 * @return All Java source files found.
+	 */
+	private Collection<Path> listSourceFiles(final Path sourceFolder) {
+		final List<Path> sourceFiles = new ArrayList<>();
+		for (final File sourceFile : FileUtils.listFiles(sourceFolder.toFile(),
+			new String[] {JAVA_FILE_EXTENSION.substring(1)}, true)) {
+			sourceFiles.add(sourceFile.toPath());
+		}
+		return sourceFiles;
+	}
 
-		if (!success) {
-			final FailureReport<Void> failure = new FailureReport<Void>().message("The compilation failed")
-				.details("Compilation Output: %s\n\nUsed command line options: %s\n", outputStream, argumentBuilder)
-				.retryWith(this::compile);
-			FAILURE_HANDLER.handle(failure);
+	/**
+	 * Derives the key of the class files compiled from {@code sourceFile} in the
+	 * {@linkplain #cache}.
+	 *
+	 * @param sourceFile A Java source file.
+	 * @param classPathFingerprint The {@linkplain #getClassPathFingerprint() fingerprint}
+	 *            of the class path {@code sourceFile} is compiled against.
+	 * @return The cache key. {@code null} if reading {@code sourceFile} failed.
+	 */
+	private String getCacheKey(final Path sourceFile, final String classPathFingerprint) {
+		final List<String> parameters = new ArrayList<>();
+		parameters.add(COMPLIANCE_LEVEL);
+		parameters.add(String.valueOf(this.charset));
+		parameters.add(classPathFingerprint);
+		try {
+			return ContentAddressedFileCache.keyOf(Files.readAllBytes(sourceFile), parameters);
+		} catch (final IOException readError) {
+			// The compiler will report the problem.
+			return null;
+		}
+	}
+
+	/**
+	 * Fingerprints the content of the {@linkplain #classPath class path}. The fingerprint
+	 * covers the content of every file in the class path’s folders, together with its
+	 * path relative to the folder, and the content of every class path file, like a jar.
+	 * It thus changes whenever a class the source files could be compiled against
+	 * changes, also between Beagle sessions. Where the class path’s segments are located
+	 * does not influence the fingerprint.
+	 *
+	 * @return The fingerprint. {@code null} if the class path could not be read.
+	 */
+	private String getClassPathFingerprint() {
+		final List<String> classPathFiles = new ArrayList<>();
+		for (final String segment : this.classPath) {
+			for (final String entry : segment.split(File.pathSeparator)) {
+				final Path entryPath = Paths.get(entry);
+				if (!Files.exists(entryPath)) {
+					// Missing entries don’t influence the compilation.
+					classPathFiles.add(MISSING_CLASS_PATH_ENTRY);
+					continue;
+				}
+				try (Stream<Path> entryFiles = Files.walk(entryPath)) {
+					for (final Path classPathFile : entryFiles.filter(Files::isRegularFile)
+						.sorted()
+						.collect(Collectors.toList())) {
+						classPathFiles.add(entryPath.relativize(classPathFile).toString());
+						classPathFiles.add(getContentKey(classPathFile));
+					}
+				} catch (final IOException | UncheckedIOException readError) {
+					// Without a fingerprint, nothing can be cached safely.
+					return null;
+				}
+			}
+		}
+		return ContentAddressedFileCache.keyOf(new byte[0], classPathFiles);
+	}
+
+	/**
+	 * Derives a key from the content of {@code classPathFile}. Keys are remembered for
+	 * as long as the file’s size and modification time don’t change, so every class path
+	 * file is only read once per Beagle session.
+	 *
+	 * @param classPathFile A file on the class path.
+	 * @return A key identifying the file’s content.
+	 * @throws IOException If reading the file fails.
+	 */
+	private static String getContentKey(final Path classPathFile) throws IOException {
+		final File file = classPathFile.toFile();
+		final String fileVersion =
+			String.format("%s:%d:%d", classPathFile.toAbsolutePath(), file.length(), file.lastModified());
+		final String knownKey = CLASS_PATH_CONTENT_KEYS.get(fileVersion);
+		if (knownKey != null) {
+			return knownKey;
+		}
+		final String contentKey =
+			ContentAddressedFileCache.keyOf(Files.readAllBytes(classPathFile), Collections.emptyList());
+		CLASS_PATH_CONTENT_KEYS.put(fileVersion, contentKey);
+		return contentKey;
+	}
+
+	/**
+	 * Copies cached class files into {@code outputFolder}.
+	 *
+	 * @param cachedClassFiles The cached class files, mapped from their path relative to
+	 *            the output folder.
+	 * @param outputFolder The folder to copy the class files to.
+	 * @return Whether all class files were copied.
+	 */
+	private boolean restore(final Map<Path, Path> cachedClassFiles, final Path outputFolder) {
+		try {
+			for (final Map.Entry<Path, Path> cachedClassFile : cachedClassFiles.entrySet()) {
+				FileUtils.copyFile(cachedClassFile.getValue().toFile(),
+					outputFolder.resolve(cachedClassFile.getKey()).toFile());
+			}
+			return true;
+		} catch (final IOException copyError) {
+			// We’ll compile the file instead.
+			return false;
+		}
+	}
+
+	/**
+	 * Finds the class files that were compiled from the source file at
+	 * {@code relativeSourceFile}. These are the class file of the type the source file
+	 * is named after and those of its nested types.
+	 *
+	 * @param relativeSourceFile The path of a source file relative to the source folder.
+	 * @param outputFolder The folder the class files were compiled into.
+	 * @return The class files, mapped from their path relative to {@code outputFolder}
+	 *         to the class file.
+	 */
+	private Map<Path, Path> findClassFiles(final Path relativeSourceFile, final Path outputFolder) {
+		final String sourceFileName = relativeSourceFile.getFileName().toString();
+		final String typeName = sourceFileName.substring(0, sourceFileName.length() - JAVA_FILE_EXTENSION.length());
+		final Path relativePackageFolder = relativeSourceFile.getParent();
+		final Path packageFolder =
+			relativePackageFolder == null ? outputFolder : outputFolder.resolve(relativePackageFolder);
+
+		final Map<Path, Path> classFiles = new HashMap<>();
+		final File[] candidates = packageFolder.toFile().listFiles();
+		if (candidates == null) {
+			return classFiles;
+		}
+		for (final File candidate : candidates) {
+			final String candidateName = candidate.getName();
+			if (candidateName.equals(typeName + CLASS_FILE_EXTENSION)
+				|| candidateName.startsWith(typeName + "$") && candidateName.endsWith(CLASS_FILE_EXTENSION)) {
+				classFiles.put(outputFolder.relativize(candidate.toPath()), candidate.toPath());
+			}
 		}
+		return classFiles;
 	}
 }
@@ -0,0 +1,167 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker;
+
+import de.uka.ipd.sdq.beagle.core.CodeSection;
+import de.uka.ipd.sdq.beagle.core.failurehandling.FailureHandler;
+import de.uka.ipd.sdq.beagle.core.failurehandling.FailureReport;
+import de.uka.ipd.sdq.beagle.core.measurement.order.CodeSectionExecutionsCountedEvent;
+import de.uka.ipd.sdq.beagle.core.measurement.order.MeasurementEvent;
+import de.uka.ipd.sdq.beagle.measurement.kieker.remote.ExecutionCounters;
+import de.uka.ipd.sdq.beagle.measurement.kieker.remote.SampleLogFormat;
+
+import org.apache.commons.lang3.Validate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Processes the execution count files written by the {@link ExecutionCounters} of the
+ * measured software and transforms them into corresponding
+ * {@linkplain MeasurementEvent measurement events}. No events will be created for code
+ * sections that cannot be identified.
+ *
+ * <p>Each record of a file, stating how many activations of a section had a certain
+ * number of iterations, is reported as one {@link CodeSectionExecutionsCountedEvent}. The
+ * events thus neither depend on the number of activations nor on the number of
+ * iterations. They are passed on while the file is read, without being collected.
+ *
+ * @author Joshua Gleitze
+ * @see SampleLogFormat#EXECUTION_COUNT_FILE_NAME
+ */
+public class ExecutionCountResultProcessor {
+
+	/**
+	 * Handler of Failures.
+	 */
+	private static final FailureHandler FAILURE_HANDLER = FailureHandler.getHandler("Execution Count Processor");
+
+	/**
+	 * The folders of the measurement runs whose counts shall be processed.
+	 */
+	private final List<Path> runFolders;
+
+	/**
+	 * The identifier of counted code sections.
+	 */
+	private CodeSectionIdentifier executionIdentifier;
+
+	/**
+	 * Creates a processor that will process the execution count files in all provided
+	 * {@code runFolders}. Folders without an execution count file are skipped.
+	 *
+	 * @param runFolders The folders the measured software wrote its execution counts to.
+	 *            Must not be {@code null} and must not contain {@code null}.
+	 */
+	public ExecutionCountResultProcessor(final Collection<Path> runFolders) {
+		Validate.noNullElements(runFolders);
+		this.runFolders = new ArrayList<>(runFolders);
+	}
+
+	/**
+	 * Makes this processor use the given {@code identifier} to identify code sections
+	 * whose executions were to be counted.
+	 *
+	 * @param identifier The identifier of counted code sections.
+	 * @return {@code this}.
+	 */
+	public ExecutionCountResultProcessor useExecutionIdentifier(final CodeSectionIdentifier identifier) {
+		this.executionIdentifier = identifier;
+		return this;
+	}
+
+	/**
+	 * Processes the execution count files and generates the matching measurement events.
+	 *
+	 * @return The measurement events representing the counted executions.
+	 */
+	public List<MeasurementEvent> process() {
+		final List<MeasurementEvent> resultEvents = new ArrayList<>();
+		this.process(resultEvents::add);
+		return resultEvents;
+	}
+
+	/**
+	 * Processes the execution count files and passes the matching measurement events to
+	 * {@code eventConsumer}. The events of one file are only passed after the file was
+	 * checked to be complete.
+	 *
+	 * @param eventConsumer Receives the measurement events representing the counted
+	 *            executions. Must not be {@code null}.
+	 */
+	public void process(final Consumer<MeasurementEvent> eventConsumer) {
+		Validate.notNull(eventConsumer);
+
+		if (this.executionIdentifier == null) {
+			return;
+		}
+
+		for (final Path runFolder : this.runFolders) {
+			final Path countFile = runFolder.resolve(SampleLogFormat.EXECUTION_COUNT_FILE_NAME);
+			if (Files.isRegularFile(countFile)) {
+				this.processCounts(countFile, eventConsumer);
+			}
+		}
+	}
+
+	/**
+	 * Processes one execution count file.
+	 *
+	 * @param countFile The execution count file to process.
+	 * @param eventConsumer Receives the measurement events representing the counts.
+	 */
+	private void processCounts(final Path countFile, final Consumer<MeasurementEvent> eventConsumer) {
+		final ByteBuffer counts;
+		final int recordCount;
+		try {
+			counts = ByteBuffer.wrap(Files.readAllBytes(countFile));
+			counts.order(SampleLogFormat.BYTE_ORDER);
+			recordCount = readRecordCount(countFile, counts);
+		} catch (final IOException readError) {
+			final FailureReport<Void> failure = new FailureReport<Void>().cause(readError)
+				.message("Reading the execution count file %s failed.", countFile)
+				.recoverable()
+				.retryWith(() -> this.processCounts(countFile, eventConsumer));
+			FAILURE_HANDLER.handle(failure);
+			return;
+		}
+		for (int record = 0; record < recordCount; record++) {
+			final CodeSection section = this.executionIdentifier.getSectionFor(counts.getInt());
+			final long iterations = counts.getLong();
+			final long activations = counts.getLong();
+			if (section != null && iterations > 0 && activations > 0) {
+				eventConsumer.accept(new CodeSectionExecutionsCountedEvent(section, iterations, activations));
+			}
+		}
+	}
+
+	/**
+	 * Reads the header of an execution count file and checks that the file contains all
+	 * records the header announces.
+	 *
+	 * @param countFile The execution count file.
+	 * @param counts The file’s content. Will be positioned at the first record
+	 *            afterwards.
+	 * @return The number of records in the file.
+	 * @throws IOException If the file is not an execution count file or is incomplete.
+	 */
+	private static int readRecordCount(final Path countFile, final ByteBuffer counts) throws IOException {
+		if (counts.remaining() < SampleLogFormat.EXECUTION_COUNT_HEADER_SIZE
+			|| counts.getInt() != SampleLogFormat.MAGIC_NUMBER || counts.getInt() != SampleLogFormat.VERSION) {
+			throw new IOException(String.format("%s is not an execution count file of version %d.", countFile,
+				SampleLogFormat.VERSION));
+		}
+		counts.position(SampleLogFormat.EXECUTION_COUNT_HEADER_SIZE);
+		final int recordCount = counts.getInt(SampleLogFormat.EXECUTION_COUNT_OFFSET);
+		if (recordCount < 0
+			|| counts.remaining() < (long) recordCount * SampleLogFormat.EXECUTION_COUNT_RECORD_SIZE) {
+			throw new IOException(String.format("The execution count file %s does not contain its %d records.",
+				countFile, recordCount));
+		}
+		return recordCount;
+	}
+}
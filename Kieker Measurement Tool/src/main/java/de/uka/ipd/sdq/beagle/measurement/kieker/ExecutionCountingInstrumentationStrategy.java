@@ -0,0 +1,65 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker;
+
+import de.uka.ipd.sdq.beagle.core.CodeSection;
+import de.uka.ipd.sdq.beagle.measurement.kieker.instrumentation.EclipseAstInstrumentationStrategy;
+import de.uka.ipd.sdq.beagle.measurement.kieker.instrumentation.EclipseStatementCreationHelper;
+
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.MethodInvocation;
+import org.eclipse.jdt.core.dom.Statement;
+
+/**
+ * Provides instrumentation statements to instrument code sections whose executions are
+ * to be counted, like the branches and loop bodies of SEFF branches and loops. The
+ * statements report to the
+ * {@link de.uka.ipd.sdq.beagle.measurement.kieker.remote.ExecutionCounters}.
+ *
+ * @author Joshua Gleitze
+ */
+public class ExecutionCountingInstrumentationStrategy implements EclipseAstInstrumentationStrategy {
+
+	/**
+	 * Identifier for instrumented code sections.
+	 */
+	private final CodeSectionIdentifier identifier;
+
+	/**
+	 * Creates a strategy that will use the provided {@code identifier} to identify code
+	 * sections in the instrumentation code.
+	 *
+	 * @param identifier The provider of identifiers for instrumented code sections.
+	 */
+	public ExecutionCountingInstrumentationStrategy(final CodeSectionIdentifier identifier) {
+		this.identifier = identifier;
+	}
+
+	@Override
+	public Statement instrumentStart(final CodeSection codeSection, final AST nodeFactory) {
+		return this.createCounterInvocation("enterSection", codeSection, nodeFactory);
+	}
+
+	@Override
+	public Statement instrumentEnd(final CodeSection codeSection, final AST nodeFactory) {
+		return this.createCounterInvocation("leaveSection", codeSection, nodeFactory);
+	}
+
+	/**
+	 * Creates a statement reporting {@code codeSection} to the execution counters.
+	 *
+	 * @param methodName The name of the reporting method to call.
+	 * @param codeSection The reported code section.
+	 * @param nodeFactory The factory to create the statement with.
+	 * @return The reporting statement.
+	 */
+	@SuppressWarnings("unchecked")
+	private Statement createCounterInvocation(final String methodName, final CodeSection codeSection,
+		final AST nodeFactory) {
+		final EclipseStatementCreationHelper helper = new EclipseStatementCreationHelper(nodeFactory);
+		final MethodInvocation invocation = nodeFactory.newMethodInvocation();
+		invocation.setExpression(helper.getName("de", "uka", "ipd", "sdq", "beagle", "measurement", "kieker", "remote",
+			"ExecutionCounters"));
+		invocation.setName(nodeFactory.newSimpleName(methodName));
+		invocation.arguments().add(nodeFactory.newNumberLiteral("" + this.identifier.getIdOf(codeSection)));
+		return nodeFactory.newExpressionStatement(invocation);
+	}
+}
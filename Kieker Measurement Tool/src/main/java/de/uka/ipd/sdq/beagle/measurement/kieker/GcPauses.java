@@ -0,0 +1,60 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker;
+
+import de.uka.ipd.sdq.beagle.measurement.kieker.remote.SampleLogFormat;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The stop-the-world pauses of the garbage collector in one launch of the measured
+ * software, as recorded through {@linkplain SampleLogFormat#GC_PAUSE_ID pause records}.
+ * Tells which samples overlapped a pause and are thus inflated by it. Overlapping pauses
+ * are merged. Instances are not thread safe.
+ *
+ * @author Joshua Gleitze
+ * @see SampleLogFormat#GC_PAUSE_ID
+ */
+class GcPauses {
+
+	/**
+	 * The time each known pause ended at, by the time it started at. The pauses do not
+	 * overlap.
+	 */
+	private final TreeMap<Long, Long> pauses = new TreeMap<>();
+
+	/**
+	 * Adds a pause.
+	 *
+	 * @param startTime The time the pause started at.
+	 * @param stopTime The time the pause ended at.
+	 */
+	void add(final long startTime, final long stopTime) {
+		long mergedStart = startTime;
+		long mergedStop = stopTime;
+		final Map.Entry<Long, Long> previous = this.pauses.floorEntry(startTime);
+		if (previous != null && previous.getValue() >= startTime) {
+			mergedStart = previous.getKey();
+			mergedStop = Math.max(mergedStop, previous.getValue());
+			this.pauses.remove(previous.getKey());
+		}
+		Map.Entry<Long, Long> next = this.pauses.ceilingEntry(mergedStart);
+		while (next != null && next.getKey() <= mergedStop) {
+			mergedStop = Math.max(mergedStop, next.getValue());
+			this.pauses.remove(next.getKey());
+			next = this.pauses.ceilingEntry(mergedStart);
+		}
+		this.pauses.put(mergedStart, mergedStop);
+	}
+
+	/**
+	 * Tells whether a sample overlapped any of the known pauses.
+	 *
+	 * @param startTime The time the sampled section was entered at.
+	 * @param stopTime The time the sampled section was left at.
+	 * @return Whether a pause happened while the section was executed.
+	 */
+	boolean overlap(final long startTime, final long stopTime) {
+		final Map.Entry<Long, Long> latestPause = this.pauses.lowerEntry(stopTime);
+		return latestPause != null && latestPause.getValue() > startTime;
+	}
+}
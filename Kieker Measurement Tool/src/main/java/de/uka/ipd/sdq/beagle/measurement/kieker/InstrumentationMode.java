@@ -0,0 +1,53 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker;
+
+import de.uka.ipd.sdq.beagle.measurement.kieker.agent.ProbeWeavingAgent;
+import de.uka.ipd.sdq.beagle.measurement.kieker.instrumentation.EclipseAstInstrumentor;
+
+import java.util.Locale;
+
+/**
+ * The ways the {@link KiekerMeasurementTool} can insert the measurement probes into the
+ * measured software. Only one of them is used per launch. It is chosen through the
+ * {@linkplain #PROPERTY instrumentation mode property}.
+ *
+ * @author Joshua Gleitze
+ */
+public enum InstrumentationMode {
+
+	/**
+	 * The probes are inserted into the source code by the {@link EclipseAstInstrumentor}.
+	 * The instrumented source code is then compiled. Sections are measured exactly as
+	 * they are defined.
+	 */
+	SOURCE_CODE,
+
+	/**
+	 * The probes are woven into the compiled classes by the {@link ProbeWeavingAgent}
+	 * while the measured software loads them. Nothing is compiled, but sections are only
+	 * measured at line granularity.
+	 */
+	JAVA_AGENT;
+
+	/**
+	 * The JVM property of Beagle’s JVM choosing how the probes are inserted, like
+	 * {@code java_agent}. If it is not set, the {@linkplain #SOURCE_CODE source code} is
+	 * instrumented.
+	 */
+	public static final String PROPERTY = "beagle.measurement.instrumentation";
+
+	/**
+	 * Queries the instrumentation mode chosen through the {@linkplain #PROPERTY
+	 * instrumentation mode property}.
+	 *
+	 * @return The chosen instrumentation mode. {@link #SOURCE_CODE} if none was chosen.
+	 * @throws IllegalArgumentException If the property does not name an instrumentation
+	 *             mode.
+	 */
+	public static InstrumentationMode chosen() {
+		final String chosenMode = System.getProperty(PROPERTY);
+		if (chosenMode == null) {
+			return SOURCE_CODE;
+		}
+		return valueOf(chosenMode.trim().toUpperCase(Locale.ROOT));
+	}
+}
@@ -16,9 +16,13 @@ import kieker.analysis.plugin.reader.filesystem.FSReader;
 import kieker.common.configuration.Configuration;
 import kieker.common.record.controlflow.OperationExecutionRecord;
 
+import org.apache.commons.lang3.Validate;
+
 import java.io.File;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -38,9 +42,9 @@ public class KiekerMeasurementResultProcessor {
 	private static final FailureHandler FAILURE_HANDLER = FailureHandler.getHandler("Kieker Result Processor");
 
 	/**
-	 * The folder Kieker wrote its results to.
+	 * The folders Kieker wrote its results to.
 	 */
-	private final Path kiekerOutputFolder;
+	private final List<Path> kiekerOutputFolders;
 
 	/**
 	 * The identifier of resource demand code sections.
@@ -54,7 +58,21 @@ public class KiekerMeasurementResultProcessor {
 	 * @param kiekerOutputFolder The folder Kieker wrote its results to.
 	 */
 	public KiekerMeasurementResultProcessor(final Path kiekerOutputFolder) {
-		this.kiekerOutputFolder = kiekerOutputFolder;
+		this(Collections.singleton(kiekerOutputFolder));
+	}
+
+	/**
+	 * Creates a processor that will process the results generated by Kieker from all
+	 * provided {@code kiekerOutputFolders} and merge them. This is needed if the measured
+	 * software was launched multiple times at once, each launch writing to its own
+	 * folder.
+	 *
+	 * @param kiekerOutputFolders The folders Kieker wrote its results to. Must not be
+	 *            {@code null} and must not contain {@code null}.
+	 */
+	public KiekerMeasurementResultProcessor(final Collection<Path> kiekerOutputFolders) {
+		Validate.noNullElements(kiekerOutputFolders);
+		this.kiekerOutputFolders = new ArrayList<>(kiekerOutputFolders);
 	}
 
 	/**
@@ -83,8 +101,14 @@ public class KiekerMeasurementResultProcessor {
 			return new ArrayList<>();
 		}
 
-		for (final File resultFolder : this.kiekerOutputFolder.toFile().listFiles()) {
-			resultEvents.addAll(this.processResultFolder(resultFolder.toPath()));
+		for (final Path kiekerOutputFolder : this.kiekerOutputFolders) {
+			for (final File resultFolder : kiekerOutputFolder.toFile().listFiles()) {
+				// Kieker creates a folder for each run. Other files were not written by
+				// Kieker.
+				if (resultFolder.isDirectory()) {
+					resultEvents.addAll(this.processResultFolder(resultFolder.toPath()));
+				}
+			}
 		}
 
 		return resultEvents;
@@ -1,19 +1,74 @@
 package de.uka.ipd.sdq.beagle.measurement.kieker;
 
+import de.uka.ipd.sdq.beagle.core.AnalysisSettings;
 import de.uka.ipd.sdq.beagle.core.CodeSection;
 import de.uka.ipd.sdq.beagle.core.LaunchConfiguration;
+import de.uka.ipd.sdq.beagle.core.ResourceDemandType;
+import de.uka.ipd.sdq.beagle.core.measurement.MeasurementEventConsumer;
 import de.uka.ipd.sdq.beagle.core.measurement.MeasurementTool;
+import de.uka.ipd.sdq.beagle.core.measurement.SteadyStateDetector;
 import de.uka.ipd.sdq.beagle.core.measurement.order.MeasurementEvent;
 import de.uka.ipd.sdq.beagle.core.measurement.order.MeasurementOrder;
+import de.uka.ipd.sdq.beagle.core.measurement.order.ResourceDemandCapturedEvent;
+import de.uka.ipd.sdq.beagle.measurement.kieker.agent.WeavingPlan;
+import de.uka.ipd.sdq.beagle.measurement.kieker.instrumentation.ByteCodeWeavingPlanner;
+import de.uka.ipd.sdq.beagle.measurement.kieker.instrumentation.ContentAddressedFileCache;
 import de.uka.ipd.sdq.beagle.measurement.kieker.instrumentation.EclipseAstInstrumentor;
+import de.uka.ipd.sdq.beagle.measurement.kieker.remote.SampleLogFormat;
 
-import java.util.Iterator;
+import org.apache.commons.lang3.Validate;
+
+import java.io.File;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * A measurement tool instrumenting the project’s source code to be measured by <a
- * href="http://kieker-monitoring.net/">Kieker</a>.
+ * href="http://kieker-monitoring.net/">Kieker</a>. The instrumented code reports its
+ * samples through the {@linkplain MeasurementBackend backend} chosen when creating the
+ * tool. It defaults to the {@linkplain MeasurementBackend#SAMPLE_LOG sample log}. The
+ * probes are inserted as chosen through the {@linkplain InstrumentationMode
+ * instrumentation mode}. The tool Beagle creates uses the
+ * {@linkplain InstrumentationMode#chosen() chosen mode}, which defaults to
+ * {@linkplain InstrumentationMode#SOURCE_CODE instrumenting the source code}. Every
+ * launch is instrumented in only this one mode.
+ *
+ * <p>If the samples are {@linkplain MeasurementBackend#STREAM streamed}, no samples are
+ * written to disk. The events of a launch are passed to its consumer while it runs. Only
+ * the resource demands of each section are held back until its warmup was
+ * {@linkplain SteadyStateDetector#removeWarmupOnline(Consumer) detected online}. The
+ * counted executions are passed on once the launch ended.
+ *
+ * <p>If Beagle’s JVM has the {@linkplain SampleLogFormat#OVERHEAD_BUDGET_PROPERTY
+ * overhead budget property} set, it is passed on to the measured software, which then
+ * only samples the executions of sections.
+ * The {@linkplain SampleLogFormat#AGGREGATE_PROPERTY aggregation property} is passed on
+ * the same way. If it is set, the measured software only writes one summary per section.
+ * So is the {@linkplain SampleLogFormat#STORAGE_IO_PROPERTY storage I/O property}. If it
+ * is set, the measured software measures how many bytes each section transfers from and
+ * to the storage.
+ *
+ * <p>When instrumenting the source code, the execution sections of the measurement order,
+ * like the branches and loop bodies, are instrumented to count their executions through
+ * the {@link de.uka.ipd.sdq.beagle.measurement.kieker.remote.ExecutionCounters}. The
+ * counts are written independent of the backend. The Java agent only weaves probes for
+ * resource demands.
  *
  * @author Joshua Gleitze
  */
@@ -30,16 +85,55 @@ public class KiekerMeasurementTool implements MeasurementTool {
 	private static final String KIEKER_OUTPUT_FOLDER_ARG =
 		"kieker.monitoring.writer.filesystem.SyncFsWriter.customStoragePath";
 
+	/**
+	 * The JVM argument limiting how many processors the launched JVM uses. JVMs older than
+	 * 8u191 do not know it, so it is preceded by {@link #IGNORE_UNRECOGNIZED_OPTIONS_ARG}.
+	 */
+	private static final String ACTIVE_PROCESSOR_COUNT_ARG = "-XX:ActiveProcessorCount=%d";
+
+	/**
+	 * The JVM argument making the launched JVM ignore options it does not know instead of
+	 * refusing to start.
+	 */
+	private static final String IGNORE_UNRECOGNIZED_OPTIONS_ARG = "-XX:+IgnoreUnrecognizedVMOptions";
+
+	/**
+	 * The JVM argument starting a Java agent.
+	 */
+	private static final String JAVA_AGENT_ARG = "-javaagent:\"%s\"=\"%s\"";
+
+	/**
+	 * How often the events received from streaming launches are passed on, in
+	 * milliseconds.
+	 */
+	private static final long STREAM_PASS_INTERVAL = 200;
+
 	/**
 	 * Manages all files needed for the measurement.
 	 */
 	private final MeasurementFileManager fileManager = new MeasurementFileManager();
 
+	/**
+	 * Caches instrumented source code and compiled byte code across measurement orders
+	 * and Beagle sessions.
+	 */
+	private final ContentAddressedFileCache buildCache = new ContentAddressedFileCache(this.fileManager.getCacheFolder());
+
 	/**
 	 * Identifies resource demand code sections.
 	 */
 	private final CodeSectionIdentifier resourceDemandIdentifer = new CodeSectionIdentifier();
 
+	/**
+	 * Identifies code sections whose executions are counted.
+	 */
+	private final CodeSectionIdentifier executionIdentifier = new CodeSectionIdentifier();
+
+	/**
+	 * The launches that stream their samples and were not finished yet, by run folder.
+	 */
+	private final Map<Path, LaunchStream> launchStreams = new ConcurrentHashMap<>();
+
 	/**
 	 * Contains the order that is to be measured.
 	 */
@@ -56,8 +150,80 @@ public class KiekerMeasurementTool implements MeasurementTool {
 	 */
 	private Set<LaunchConfiguration> unlaunchedConfigurations;
 
+	/**
+	 * How the measured software reports its samples.
+	 */
+	private final MeasurementBackend backend;
+
+	/**
+	 * How the probes are inserted into the measured software.
+	 */
+	private final InstrumentationMode instrumentationMode;
+
+	/**
+	 * Creates a tool that inserts the probes in the {@linkplain InstrumentationMode#chosen()
+	 * chosen instrumentation mode} and makes the measured software write its samples to a
+	 * {@linkplain MeasurementBackend#SAMPLE_LOG sample log}.
+	 */
+	public KiekerMeasurementTool() {
+		this(MeasurementBackend.SAMPLE_LOG, InstrumentationMode.chosen());
+	}
+
+	/**
+	 * Creates a tool that makes the measured software report its samples through
+	 * {@code backend}.
+	 *
+	 * @param backend How the measured software shall report its samples. Must not be
+	 *            {@code null}.
+	 */
+	public KiekerMeasurementTool(final MeasurementBackend backend) {
+		this(backend, InstrumentationMode.SOURCE_CODE);
+	}
+
+	/**
+	 * Creates a tool that inserts the probes as described by {@code instrumentationMode}
+	 * and makes the measured software report its samples through {@code backend}.
+	 *
+	 * @param backend How the measured software shall report its samples. Must not be
+	 *            {@code null}.
+	 * @param instrumentationMode How the probes shall be inserted into the measured
+	 *            software. Must not be {@code null}.
+	 */
+	public KiekerMeasurementTool(final MeasurementBackend backend, final InstrumentationMode instrumentationMode) {
+		Validate.notNull(backend);
+		Validate.notNull(instrumentationMode);
+		this.backend = backend;
+		this.instrumentationMode = instrumentationMode;
+	}
+
 	@Override
 	public List<MeasurementEvent> measure(final MeasurementOrder newMeasurementOrder) {
+		final List<MeasurementEvent> resultEvents = new ArrayList<>();
+		this.measure(newMeasurementOrder, () -> new MeasurementEventConsumer() {
+
+			@Override
+			public void accept(final MeasurementEvent event) {
+				resultEvents.add(event);
+			}
+
+			@Override
+			public void finish() {
+				// The events of all parts are returned together.
+			}
+		});
+		return resultEvents;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>Passes the results of each launch configuration to its own consumer from
+	 * {@code partConsumers} as soon as its execution ended. The resource demands of
+	 * streaming launches are passed while they run.
+	 */
+	@Override
+	public void measure(final MeasurementOrder newMeasurementOrder,
+		final Supplier<? extends MeasurementEventConsumer> partConsumers) {
 		if (!this.instrumented || !newMeasurementOrder.equals(this.measurementOrder)) {
 			// we have not yet instrumented this order
 			this.measurementOrder = newMeasurementOrder;
@@ -71,63 +237,377 @@ public class KiekerMeasurementTool implements MeasurementTool {
 		}
 
 		try {
-			this.executeMeasurements();
+			this.executeMeasurements(partConsumers);
 		} catch (final InterruptedException interrupt) {
 			// If interrupted, we safe what we have and return.
+			for (final File runFolder : this.fileManager.getKiekerResultsFolder().toFile().listFiles()) {
+				this.finishLaunch(runFolder.toPath(), partConsumers);
+			}
+			this.fileManager.moveKiekerResultsToDone();
 		}
-
-		final List<MeasurementEvent> resultEvents =
-			new KiekerMeasurementResultProcessor(this.fileManager.getKiekerResultsFolder())
-				.useResourceDemandIdentifier(this.resourceDemandIdentifer).process();
-		this.fileManager.moveKiekerResultsToDone();
-
-		return resultEvents;
 	}
 
 	/**
-	 * Instruments the source code, preparing everything to execute the measured software.
+	 * Inserts the probes as chosen by the {@linkplain #instrumentationMode instrumentation
+	 * mode}, preparing everything to execute the measured software.
 	 *
 	 * @see #measure(MeasurementOrder)
 	 */
 	private void instrument() {
+		switch (this.instrumentationMode) {
+			case SOURCE_CODE:
+				this.instrumentSourceCode();
+				break;
+			case JAVA_AGENT:
+				this.planWeaving();
+				break;
+			default:
+				throw new IllegalStateException(
+					String.format("The instrumentation mode %s is not supported.", this.instrumentationMode));
+		}
+	}
+
+	/**
+	 * Prepares the probe weaving agent to weave the probes into the compiled classes. The
+	 * source code is neither modified nor compiled.
+	 */
+	private void planWeaving() {
+		final WeavingPlan plan = new ByteCodeWeavingPlanner()
+			.useCharset(this.measurementOrder.getProjectInformation().getCharset())
+			.weave(this.measurementOrder.getResourceDemandSections(), this.resourceDemandIdentifer::getIdOf)
+			.createPlan();
+		this.fileManager.copyRemoteMeasurementByteCodeToInstrumentedByteCode();
+		this.fileManager.prepareProbeWeavingAgent();
+		this.fileManager.writeWeavingPlan(plan);
+	}
+
+	/**
+	 * Instruments the source code and compiles it.
+	 */
+	private void instrumentSourceCode() {
 		final Set<CodeSection> resourceDemandSections = this.measurementOrder.getResourceDemandSections();
 
 		new EclipseAstInstrumentor(this.fileManager::getInstrumentationFileFor)
 			.useCharset(this.measurementOrder.getProjectInformation().getCharset())
+			.useCache(this.buildCache)
 			.useStrategy(new ResourceDemandInstrumentationStrategy(this.resourceDemandIdentifer),
 				resourceDemandSections)
+			.useStrategy(new ExecutionCountingInstrumentationStrategy(this.executionIdentifier),
+				this.measurementOrder.getExecutionSections())
 			.instrument();
 
 		this.fileManager.copyRemoteMeasurementByteCodeToInstrumentedByteCode();
 
-		new EclipseCompiler(this.fileManager.getInstrumentedSourceCodeFolder())
+		final EclipseCompiler compiler = new EclipseCompiler(this.fileManager.getInstrumentedSourceCodeFolder())
 			.useClassPath(this.measurementOrder.getProjectInformation().getBuildPath())
 			.useClassPath(this.fileManager.getCompiledByteCodeFolder().toString())
 			.useCharset(this.measurementOrder.getProjectInformation().getCharset())
 			.intoFolder(this.fileManager.getCompiledByteCodeFolder())
-			.compile();
+			.useCache(this.buildCache);
+		compiler.compile();
+		this.fileManager.writeCompilationReport(compiler.getShardReports());
 	}
 
 	/**
-	 * Runs the measured software, thus producing Kieker measurement results.
+	 * Runs the measured software, thus producing Kieker measurement results. Up to the
+	 * project’s {@linkplain AnalysisSettings#getMeasurementConcurrency() measurement
+	 * concurrency} launch configurations are executed at the same time. Each launch
+	 * writes its results to its own folder. The results of each launch are processed and
+	 * passed to a consumer from {@code partConsumers} on the calling thread right after
+	 * the launch ended. The events received from streaming launches are passed to their
+	 * consumers on the calling thread while waiting for the launches to end.
 	 *
+	 * @param partConsumers Creates the consumers receiving the results of each launch
+	 *            configuration.
 	 * @throws InterruptedException If the current thread is interrupted while executing
 	 *             the measured software.
 	 */
-	private void executeMeasurements() throws InterruptedException {
-		for (final Iterator<LaunchConfiguration> configurations =
-			this.unlaunchedConfigurations.iterator(); configurations.hasNext();) {
-			configurations.next()
-				.prependClasspath(this.fileManager.getKiekerJar().toString())
-				.prependClasspath(this.fileManager.getCompiledByteCodeFolder().toString())
-				.appendJvmArgument(jvmArg(KIEKER_CONFIGURATION_FILE_ARG, this.fileManager.getKiekerConfigurationFile()))
-				.appendJvmArgument(jvmArg(KIEKER_OUTPUT_FOLDER_ARG, this.fileManager.getKiekerResultsFolder()))
-				.execute();
-			configurations.remove();
+	private void executeMeasurements(final Supplier<? extends MeasurementEventConsumer> partConsumers)
+		throws InterruptedException {
+		final int concurrency =
+			this.measurementOrder.getProjectInformation().getAnalysisSettings().getMeasurementConcurrency();
+		// Concurrent launches share the processors. Each is told to only use its share.
+		final int processorShare =
+			concurrency == 1 ? 0 : Math.max(1, Runtime.getRuntime().availableProcessors() / concurrency);
+		final ExecutorService launcher = Executors.newFixedThreadPool(concurrency);
+		final CompletionService<LaunchConfiguration> launches = new ExecutorCompletionService<>(launcher);
+		final Map<LaunchConfiguration, Path> runFolders = new HashMap<>();
+
+		try {
+			for (final LaunchConfiguration configuration : this.unlaunchedConfigurations) {
+				final Path runFolder = this.fileManager.allocateKiekerRunFolder();
+				runFolders.put(configuration, runFolder);
+				if (this.backend == MeasurementBackend.STREAM) {
+					// The launch’s events are passed on while it runs, so it needs its consumer now.
+					this.launchStreams.put(runFolder,
+						new LaunchStream(new SampleStreamReceiver(this.resourceDemandIdentifer), partConsumers.get()));
+				}
+				launches.submit(() -> {
+					this.launch(configuration, runFolder, processorShare);
+					return configuration;
+				});
+			}
+
+			for (int i = 0; i < runFolders.size(); i++) {
+				final LaunchConfiguration launched = getLaunched(this.awaitLaunch(launches));
+				this.unlaunchedConfigurations.remove(launched);
+				final Path runFolder = runFolders.get(launched);
+				this.finishLaunch(runFolder, partConsumers);
+				this.fileManager.moveRunResultsToDone(runFolder);
+			}
+		} finally {
+			launcher.shutdownNow();
+			awaitTermination(launcher);
 		}
 		assert this.unlaunchedConfigurations.size() == 0;
 	}
 
+	/**
+	 * Waits until the next launch ended. Meanwhile, the events received from the
+	 * streaming launches are passed to their consumers.
+	 *
+	 * @param launches The submitted launches.
+	 * @return The launch that ended next.
+	 * @throws InterruptedException If the current thread is interrupted while waiting.
+	 */
+	private Future<LaunchConfiguration> awaitLaunch(final CompletionService<LaunchConfiguration> launches)
+		throws InterruptedException {
+		if (this.launchStreams.isEmpty()) {
+			return launches.take();
+		}
+		Future<LaunchConfiguration> launch;
+		while ((launch = launches.poll(STREAM_PASS_INTERVAL, TimeUnit.MILLISECONDS)) == null) {
+			this.launchStreams.values().forEach(LaunchStream::passReceivedEvents);
+		}
+		return launch;
+	}
+
+	/**
+	 * Executes {@code configuration}, making Kieker write its results to
+	 * {@code runFolder}.
+	 *
+	 * @param configuration The launch configuration to execute.
+	 * @param runFolder The folder Kieker shall write the results of this launch to.
+	 * @param processorShare How many processors the launched JVM may use. {@code 0} if
+	 *            it may use all of them.
+	 * @throws InterruptedException If the current thread is interrupted while executing
+	 *             the measured software.
+	 */
+	private void launch(final LaunchConfiguration configuration, final Path runFolder, final int processorShare)
+		throws InterruptedException {
+		configuration.prependClasspath(this.fileManager.getKiekerJar().toString())
+			.prependClasspath(this.fileManager.getCompiledByteCodeFolder().toString())
+			.appendJvmArgument(jvmArg(KIEKER_CONFIGURATION_FILE_ARG, this.fileManager.getKiekerConfigurationFile()))
+			.appendJvmArgument(jvmArg(KIEKER_OUTPUT_FOLDER_ARG, runFolder));
+		if (this.backend == MeasurementBackend.SAMPLE_LOG) {
+			configuration.appendJvmArgument(
+				jvmArg(SampleLogFormat.LOG_FILE_PROPERTY, runFolder.resolve(SampleLogFormat.LOG_FILE_NAME)));
+		} else if (this.backend == MeasurementBackend.STREAM) {
+			configuration.appendJvmArgument(
+				jvmArg(SampleLogFormat.STREAM_PORT_PROPERTY, this.launchStreams.get(runFolder).receiver.getPort()));
+		}
+		configuration.appendJvmArgument(jvmArg(SampleLogFormat.EXECUTION_COUNT_FILE_PROPERTY,
+			runFolder.resolve(SampleLogFormat.EXECUTION_COUNT_FILE_NAME)));
+		forwardProperty(configuration, SampleLogFormat.OVERHEAD_BUDGET_PROPERTY);
+		forwardProperty(configuration, SampleLogFormat.AGGREGATE_PROPERTY);
+		forwardProperty(configuration, SampleLogFormat.STORAGE_IO_PROPERTY);
+		if (this.instrumentationMode == InstrumentationMode.JAVA_AGENT) {
+			for (final Path library : this.fileManager.getByteCodeLibraries()) {
+				configuration.prependClasspath(library.toString());
+			}
+			configuration.appendJvmArgument(
+				String.format(JAVA_AGENT_ARG, this.fileManager.getAgentJar(), this.fileManager.getWeavingPlanFile()));
+		}
+		if (processorShare > 0) {
+			// Older JVMs then run on all processors, which only distorts the measurements.
+			configuration.appendJvmArgument(IGNORE_UNRECOGNIZED_OPTIONS_ARG);
+			configuration.appendJvmArgument(String.format(ACTIVE_PROCESSOR_COUNT_ARG, processorShare));
+		}
+		configuration.execute();
+	}
+
+	/**
+	 * Passes the results of the ended launch that wrote to {@code runFolder} to its
+	 * consumer and finishes it: the resource demands and the counted executions. Streaming
+	 * launches already have their consumer. Other launches get one from
+	 * {@code partConsumers}.
+	 *
+	 * @param runFolder The folder of an ended launch.
+	 * @param partConsumers Creates the consumers receiving the results of launches that
+	 *            do not stream their samples.
+	 */
+	private void finishLaunch(final Path runFolder, final Supplier<? extends MeasurementEventConsumer> partConsumers) {
+		final LaunchStream stream = this.launchStreams.remove(runFolder);
+		final MeasurementEventConsumer partConsumer;
+		if (stream != null) {
+			partConsumer = stream.partConsumer;
+			this.finishStream(runFolder, stream);
+		} else {
+			partConsumer = partConsumers.get();
+			this.processResourceDemands(runFolder, partConsumer);
+		}
+		new ExecutionCountResultProcessor(Collections.singleton(runFolder))
+			.useExecutionIdentifier(this.executionIdentifier)
+			.process(partConsumer);
+		partConsumer.finish();
+	}
+
+	/**
+	 * Processes the resource demands the measured software wrote to {@code runFolder},
+	 * using the result processor matching the {@linkplain #backend}. The warmup of each
+	 * section is removed from all resource demands of the launch and reported next to the
+	 * launch’s results, as is the number of samples of each section that overlapped a
+	 * garbage collection pause.
+	 *
+	 * <p>The resource demands are only passed to {@code eventConsumer} after all of them
+	 * were read, as the warmup is detected from all of them.
+	 *
+	 * @param runFolder The folder of an ended launch that did not stream its samples.
+	 * @param eventConsumer Receives the measurement events found in the results.
+	 */
+	private void processResourceDemands(final Path runFolder, final Consumer<MeasurementEvent> eventConsumer) {
+		final List<MeasurementEvent> demands;
+		switch (this.backend) {
+			case SAMPLE_LOG:
+				demands = this.processSampleLog(runFolder);
+				break;
+			case KIEKER:
+				demands = new KiekerMeasurementResultProcessor(Collections.singleton(runFolder))
+					.useResourceDemandIdentifier(this.resourceDemandIdentifer)
+					.process();
+				break;
+			case STREAM:
+				// Streaming launches pass their demands through their launch stream.
+				demands = Collections.emptyList();
+				break;
+			default:
+				throw new IllegalStateException(String.format("The backend %s is not supported.", this.backend));
+		}
+		final SteadyStateDetector steadyStateDetector = new SteadyStateDetector();
+		final List<MeasurementEvent> steadyDemands = steadyStateDetector.removeWarmup(demands);
+		final Map<CodeSection, Integer> disturbedSamples = new HashMap<>();
+		for (final MeasurementEvent demand : steadyDemands) {
+			countIfDisturbedByGcPause(demand, disturbedSamples);
+		}
+		this.fileManager.writeWarmupReport(runFolder, steadyStateDetector.getWarmupLengths());
+		this.fileManager.writeGcPauseReport(runFolder, disturbedSamples);
+		steadyDemands.forEach(eventConsumer);
+	}
+
+	/**
+	 * Counts {@code event} if it is a sample that overlapped a garbage collection pause.
+	 * Each sample yields one elapsed time event.
+	 *
+	 * @param event A measurement event of one launch.
+	 * @param disturbedSamples The number of disturbed samples of each section of the
+	 *            launch. Only contains sections with disturbed samples.
+	 */
+	private static void countIfDisturbedByGcPause(final MeasurementEvent event,
+		final Map<CodeSection, Integer> disturbedSamples) {
+		if (event instanceof ResourceDemandCapturedEvent) {
+			final ResourceDemandCapturedEvent demand = (ResourceDemandCapturedEvent) event;
+			if (demand.isDisturbedByGcPause()
+				&& ResourceDemandType.RESOURCE_TYPE_WALL_CLOCK_NS.equals(demand.getType())) {
+				disturbedSamples.merge(demand.getCodeSection(), 1, Integer::sum);
+			}
+		}
+	}
+
+	/**
+	 * Processes the sample log the measured software wrote to {@code runFolder}. The probe
+	 * calibration of the run is reported next to the run’s results.
+	 *
+	 * @param runFolder The folder of an ended launch.
+	 * @return The measurement events found in the sample log.
+	 */
+	private List<MeasurementEvent> processSampleLog(final Path runFolder) {
+		final SampleLogResultProcessor processor = new SampleLogResultProcessor(Collections.singleton(runFolder))
+			.useResourceDemandIdentifier(this.resourceDemandIdentifer);
+		final List<MeasurementEvent> results = processor.process();
+		processor.getCalibrations().forEach(this.fileManager::writeCalibrationReport);
+		return results;
+	}
+
+	/**
+	 * Finishes receiving the samples streamed by the launch that wrote to
+	 * {@code runFolder} and passes the demands still held back to its consumer. The
+	 * probe calibration, the warmup of each section and the number of samples of each
+	 * section that overlapped a garbage collection pause are reported next to the
+	 * launch’s results.
+	 *
+	 * @param runFolder The folder of an ended launch.
+	 * @param stream The launch’s stream.
+	 */
+	private void finishStream(final Path runFolder, final LaunchStream stream) {
+		stream.receiver.finish().forEach(stream.steadyEvents);
+		stream.steadyEvents.finish();
+		if (stream.receiver.getCalibration() != null) {
+			this.fileManager.writeCalibrationReport(runFolder, stream.receiver.getCalibration());
+		}
+		this.fileManager.writeWarmupReport(runFolder, stream.steadyStateDetector.getWarmupLengths());
+		this.fileManager.writeGcPauseReport(runFolder, stream.disturbedSamples);
+	}
+
+	/**
+	 * Gets the configuration an ended launch executed. Throws whatever the launch threw.
+	 *
+	 * @param launch An ended launch.
+	 * @return The launch configuration that was executed.
+	 * @throws InterruptedException If the launch was interrupted.
+	 */
+	private static LaunchConfiguration getLaunched(final Future<LaunchConfiguration> launch)
+		throws InterruptedException {
+		try {
+			return launch.get();
+		} catch (final ExecutionException failure) {
+			final Throwable cause = failure.getCause();
+			if (cause instanceof InterruptedException) {
+				throw (InterruptedException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new UndeclaredThrowableException(cause);
+		}
+	}
+
+	/**
+	 * Waits until all launches on {@code launcher} ended, so no results are written
+	 * after the measurement. Interrupts are remembered, but do not stop the waiting.
+	 *
+	 * @param launcher An executor that was shut down.
+	 */
+	private static void awaitTermination(final ExecutorService launcher) {
+		boolean interrupted = false;
+		boolean terminated = false;
+		while (!terminated) {
+			try {
+				terminated = launcher.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+			} catch (final InterruptedException interrupt) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Passes a JVM property of Beagle’s JVM on to the measured software, if it is set.
+	 *
+	 * @param configuration The launch configuration of the measured software.
+	 * @param propertyName The property’s key.
+	 */
+	private static void forwardProperty(final LaunchConfiguration configuration, final String propertyName) {
+		final String propertyValue = System.getProperty(propertyName);
+		if (propertyValue != null) {
+			configuration.appendJvmArgument(jvmArg(propertyName, propertyValue));
+		}
+	}
+
 	/**
 	 * Creates a custom ({@code -D}) JVM property string.
 	 *
@@ -139,4 +619,62 @@ public class KiekerMeasurementTool implements MeasurementTool {
 		return String.format("-D%s=\"%s\"", propertyName, propertyValue);
 	}
 
+	/**
+	 * A launch streaming its samples, together with the consumer receiving its events
+	 * while it runs. Only used on the thread executing the measurement, except for
+	 * querying the receiver’s port.
+	 *
+	 * @author Joshua Gleitze
+	 */
+	private static final class LaunchStream {
+
+		/**
+		 * Receives the launch’s samples.
+		 */
+		private final SampleStreamReceiver receiver;
+
+		/**
+		 * Receives all events of the launch.
+		 */
+		private final MeasurementEventConsumer partConsumer;
+
+		/**
+		 * Detects the warmup of the launch’s sections.
+		 */
+		private final SteadyStateDetector steadyStateDetector = new SteadyStateDetector();
+
+		/**
+		 * The number of samples of each section that overlapped a garbage collection
+		 * pause. Only contains sections with disturbed samples.
+		 */
+		private final Map<CodeSection, Integer> disturbedSamples = new HashMap<>();
+
+		/**
+		 * Takes the received events, removes the warmup from them and passes the rest to
+		 * {@link #partConsumer}.
+		 */
+		private final MeasurementEventConsumer steadyEvents;
+
+		/**
+		 * Creates the stream of a launch.
+		 *
+		 * @param receiver Receives the launch’s samples.
+		 * @param partConsumer Receives all events of the launch.
+		 */
+		private LaunchStream(final SampleStreamReceiver receiver, final MeasurementEventConsumer partConsumer) {
+			this.receiver = receiver;
+			this.partConsumer = partConsumer;
+			this.steadyEvents = this.steadyStateDetector.removeWarmupOnline((event) -> {
+				countIfDisturbedByGcPause(event, this.disturbedSamples);
+				this.partConsumer.accept(event);
+			});
+		}
+
+		/**
+		 * Passes the events received so far on.
+		 */
+		private void passReceivedEvents() {
+			this.receiver.passReceivedEvents(this.steadyEvents);
+		}
+	}
 }
@@ -0,0 +1,29 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker;
+
+/**
+ * The ways the measured software can report its samples to the
+ * {@link KiekerMeasurementTool}.
+ *
+ * @author Joshua Gleitze
+ */
+public enum MeasurementBackend {
+
+	/**
+	 * The samples are written to a memory-mapped binary sample log and read through the
+	 * {@link SampleLogResultProcessor}. This has far less overhead than using Kieker.
+	 */
+	SAMPLE_LOG,
+
+	/**
+	 * The samples are handed to Kieker, written by Kieker’s file system writer and read
+	 * through the {@link KiekerMeasurementResultProcessor}.
+	 */
+	KIEKER,
+
+	/**
+	 * The samples are streamed over the loopback interface to a
+	 * {@link SampleStreamReceiver} while the measured software runs. Nothing is written
+	 * to disk. The events are passed on while the launch runs.
+	 */
+	STREAM
+}
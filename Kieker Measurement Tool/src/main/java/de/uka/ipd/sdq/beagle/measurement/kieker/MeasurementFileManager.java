@@ -1,21 +1,34 @@
 package de.uka.ipd.sdq.beagle.measurement.kieker;
 
+import de.uka.ipd.sdq.beagle.core.CodeSection;
 import de.uka.ipd.sdq.beagle.core.failurehandling.FailureHandler;
 import de.uka.ipd.sdq.beagle.core.failurehandling.FailureReport;
+import de.uka.ipd.sdq.beagle.measurement.kieker.agent.ProbeWeavingAgent;
+import de.uka.ipd.sdq.beagle.measurement.kieker.agent.WeavingPlan;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.Validate;
 import org.eclipse.core.runtime.FileLocator;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.tree.ClassNode;
 
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
 
 /**
  * Administers all files required by the {@link KiekerMeasurementTool}. The methods return
@@ -47,11 +60,59 @@ class MeasurementFileManager {
 	 */
 	private static final String KIEKER_NEW_RESULTS_PARTIOTION_NAME = "kieker-result-new";
 
+	/**
+	 * Prefix of the folders Kieker writes the results of a single launch to.
+	 */
+	private static final String KIEKER_RUN_FOLDER_PREFIX = "run-";
+
 	/**
 	 * Name of the partition containing Kieker’s results after they have been processed.
 	 */
 	private static final String KIEKER_PROCESSED_RESULTS_PARTITION_NAME = "kieker-result-processed";
 
+	/**
+	 * Name of the file the compilation report is written to.
+	 */
+	private static final String COMPILATION_REPORT_FILE_NAME = "compilation-report.txt";
+
+	/**
+	 * Name of the file in each run folder the probe calibration is written to.
+	 */
+	private static final String CALIBRATION_REPORT_FILE_NAME = "probe-calibration.txt";
+
+	/**
+	 * Name of the file in each run folder the warmup of the measured sections is written
+	 * to.
+	 */
+	private static final String WARMUP_REPORT_FILE_NAME = "warmup-report.txt";
+
+	/**
+	 * Name of the file in each run folder the number of samples disturbed by garbage
+	 * collection pauses is written to.
+	 */
+	private static final String GC_PAUSE_REPORT_FILE_NAME = "gc-pause-report.txt";
+
+	/**
+	 * Name of the jar file that starts the probe weaving agent.
+	 */
+	private static final String AGENT_JAR_FILE_NAME = "beagle-agent.jar";
+
+	/**
+	 * Name of the file the weaving plan is written to.
+	 */
+	private static final String WEAVING_PLAN_FILE_NAME = "weaving-plan.txt";
+
+	/**
+	 * The manifest attribute naming the agent’s class.
+	 */
+	private static final String PREMAIN_CLASS_ATTRIBUTE = "Premain-Class";
+
+	/**
+	 * Name of the folder in the system’s temporary folder that contains the cached
+	 * instrumentation and compilation results.
+	 */
+	private static final String CACHE_FOLDER_NAME = "beagle-kieker-cache";
+
 	/**
 	 * Classpath-relative path to the Kieker jar.
 	 */
@@ -62,6 +123,11 @@ class MeasurementFileManager {
 	 */
 	private static final String REMOTE_CODE_PATH = "/de/uka/ipd/sdq/beagle/measurement/kieker/remote";
 
+	/**
+	 * Classpath-relative path to the probe weaving agent’s code folder.
+	 */
+	private static final String AGENT_CODE_PATH = "/de/uka/ipd/sdq/beagle/measurement/kieker/agent";
+
 	/**
 	 * Classpath-relative path to the kieker monitoring configuration file.
 	 */
@@ -88,6 +154,12 @@ class MeasurementFileManager {
 	 */
 	private Path kiekerConfigFile;
 
+	/**
+	 * The libraries the probe weaving agent needs. Empty until
+	 * {@link #prepareProbeWeavingAgent()} was run.
+	 */
+	private final List<Path> byteCodeLibraries = new ArrayList<>();
+
 	/**
 	 * Whether {@link #allocate()} was run yet.
 	 */
@@ -138,7 +210,29 @@ class MeasurementFileManager {
 		if (classpathUrl == null) {
 			throw new FileNotFoundException(String.format("Cannot find the %s!", description));
 		}
-		final URL fileUrl = FileLocator.toFileURL(classpathUrl);
+		return toPath(classpathUrl);
+	}
+
+	/**
+	 * Finds the library (jar file or folder) {@code libraryClass} was loaded from.
+	 *
+	 * @param libraryClass A class of the library.
+	 * @return The path to the library.
+	 * @throws IOException If the library cannot be found in the file system.
+	 */
+	private static Path locateLibraryOf(final Class<?> libraryClass) throws IOException {
+		return toPath(libraryClass.getProtectionDomain().getCodeSource().getLocation());
+	}
+
+	/**
+	 * Converts a URL of a bundle or file resource to a file system path.
+	 *
+	 * @param resourceUrl The URL to convert.
+	 * @return The path to the resource.
+	 * @throws IOException If the resource cannot be found in the file system.
+	 */
+	private static Path toPath(final URL resourceUrl) throws IOException {
+		final URL fileUrl = FileLocator.toFileURL(resourceUrl);
 		try {
 			// The URL to Path conversion has to be done like this, to make it work with
 			// Linux and Windows style paths.
@@ -169,6 +263,18 @@ class MeasurementFileManager {
 			.toAbsolutePath();
 	}
 
+	/**
+	 * Queries the path to the folder to cache instrumentation and compilation results
+	 * in. In contrast to all other folders, this folder is not specific to this manager
+	 * and is not deleted when the JVM exits. This method may be called before the manager
+	 * is set up.
+	 *
+	 * @return The folder for cached results. Will never be {@code null}.
+	 */
+	Path getCacheFolder() {
+		return Paths.get(System.getProperty("java.io.tmpdir"), CACHE_FOLDER_NAME).toAbsolutePath();
+	}
+
 	/**
 	 * Queries the path to the folder to put all instrumented source code files in.
 	 *
@@ -205,6 +311,28 @@ class MeasurementFileManager {
 		return this.rootFolder.resolve(KIEKER_NEW_RESULTS_PARTIOTION_NAME).toAbsolutePath();
 	}
 
+	/**
+	 * Creates a new, empty folder in the {@linkplain #getKiekerResultsFolder() Kieker
+	 * results folder}. Kieker can write the results of a single launch of the measured
+	 * software to it. Launches running at the same time thus do not write into the same
+	 * folder.
+	 *
+	 * @return The created folder. Will never be {@code null}.
+	 * @throw IllegalStateException If this manager was not yet set up through
+	 *        {@link #allocate()}.
+	 */
+	Path allocateKiekerRunFolder() {
+		Validate.validState(this.wasSetUp, "The file manager was not yet set up!");
+		try {
+			return Files.createTempDirectory(this.getKiekerResultsFolder(), KIEKER_RUN_FOLDER_PREFIX).toAbsolutePath();
+		} catch (final IOException ioError) {
+			final FailureReport<Path> failure = new FailureReport<Path>().cause(ioError)
+				.message("Creating a folder for Kieker’s results failed.")
+				.retryWith(this::allocateKiekerRunFolder);
+			return FAILURE_HANDLER.handle(failure);
+		}
+	}
+
 	/**
 	 * Queries the path to the folder to put processed Kieker results into.
 	 *
@@ -272,6 +400,240 @@ class MeasurementFileManager {
 		}
 	}
 
+	/**
+	 * Prepares starting the probe weaving agent in the measured software: Copies the
+	 * agent’s code to the compiled byte code, finds the libraries it needs and creates
+	 * the jar file to pass to the {@code -javaagent} JVM argument.
+	 *
+	 * @throw IllegalStateException If this manager was not yet set up through
+	 *        {@link #allocate()}.
+	 */
+	void prepareProbeWeavingAgent() {
+		Validate.validState(this.wasSetUp, "The file manager was not yet set up!");
+		try {
+			FileUtils.copyDirectory(this.loadFromClasspath(AGENT_CODE_PATH, "probe weaving agent").toFile(),
+				this.getCompiledByteCodeFolder().resolve(AGENT_CODE_PATH.substring(1)).toFile());
+			this.byteCodeLibraries.clear();
+			this.byteCodeLibraries.add(locateLibraryOf(ClassReader.class));
+			final Path treeLibrary = locateLibraryOf(ClassNode.class);
+			if (!this.byteCodeLibraries.contains(treeLibrary)) {
+				this.byteCodeLibraries.add(treeLibrary);
+			}
+
+			final Manifest manifest = new Manifest();
+			manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+			manifest.getMainAttributes().putValue(PREMAIN_CLASS_ATTRIBUTE, ProbeWeavingAgent.class.getName());
+			try (OutputStream jarFile = Files.newOutputStream(this.getAgentJar());
+				JarOutputStream jar = new JarOutputStream(jarFile, manifest)) {
+				// The agent’s classes are on the measured software’s class path. The jar
+				// only names the agent.
+				jar.finish();
+			}
+		} catch (final IOException ioError) {
+			final FailureReport<Void> failure = new FailureReport<Void>().cause(ioError)
+				.message("Preparing the probe weaving agent failed.")
+				.retryWith(this::prepareProbeWeavingAgent);
+			FAILURE_HANDLER.handle(failure);
+		}
+	}
+
+	/**
+	 * Queries the path to the jar file starting the probe weaving agent. It only exists
+	 * after {@link #prepareProbeWeavingAgent()} was run.
+	 *
+	 * @return The path to pass to the {@code -javaagent} JVM argument. Will never be
+	 *         {@code null}.
+	 * @throw IllegalStateException If this manager was not yet set up through
+	 *        {@link #allocate()}.
+	 */
+	Path getAgentJar() {
+		Validate.validState(this.wasSetUp, "The file manager was not yet set up!");
+		return this.rootFolder.resolve(AGENT_JAR_FILE_NAME).toAbsolutePath();
+	}
+
+	/**
+	 * Queries the libraries the probe weaving agent needs on the measured software’s
+	 * class path.
+	 *
+	 * @return The libraries’ jar files or folders. Will never be {@code null}. Empty
+	 *         before {@link #prepareProbeWeavingAgent()} was run.
+	 * @throw IllegalStateException If this manager was not yet set up through
+	 *        {@link #allocate()}.
+	 */
+	List<Path> getByteCodeLibraries() {
+		Validate.validState(this.wasSetUp, "The file manager was not yet set up!");
+		return this.byteCodeLibraries;
+	}
+
+	/**
+	 * Queries the path to the weaving plan file. It only exists after
+	 * {@link #writeWeavingPlan(WeavingPlan)} was run.
+	 *
+	 * @return The path to pass to the probe weaving agent. Will never be {@code null}.
+	 * @throw IllegalStateException If this manager was not yet set up through
+	 *        {@link #allocate()}.
+	 */
+	Path getWeavingPlanFile() {
+		Validate.validState(this.wasSetUp, "The file manager was not yet set up!");
+		return this.rootFolder.resolve(WEAVING_PLAN_FILE_NAME).toAbsolutePath();
+	}
+
+	/**
+	 * Writes {@code plan} to the {@linkplain #getWeavingPlanFile() weaving plan file}.
+	 *
+	 * @param plan The plan for the probe weaving agent. Must not be {@code null}.
+	 * @throw IllegalStateException If this manager was not yet set up through
+	 *        {@link #allocate()}.
+	 */
+	void writeWeavingPlan(final WeavingPlan plan) {
+		Validate.notNull(plan);
+		Validate.validState(this.wasSetUp, "The file manager was not yet set up!");
+		try {
+			plan.writeTo(this.getWeavingPlanFile());
+		} catch (final IOException ioError) {
+			final FailureReport<Void> failure = new FailureReport<Void>().cause(ioError)
+				.message("Writing the weaving plan failed.")
+				.retryWith(() -> this.writeWeavingPlan(plan));
+			FAILURE_HANDLER.handle(failure);
+		}
+	}
+
+	/**
+	 * Writes how compiling the instrumented source code went to the compilation report
+	 * file in the root folder. Replaces the report of earlier compilations.
+	 *
+	 * @param shardReports The reports on the compiled shards. Must not be {@code null}.
+	 * @throw IllegalStateException If this manager was not yet set up through
+	 *        {@link #allocate()}.
+	 */
+	void writeCompilationReport(final List<CompilationShardReport> shardReports) {
+		Validate.noNullElements(shardReports);
+		Validate.validState(this.wasSetUp, "The file manager was not yet set up!");
+		try {
+			FileUtils.writeLines(this.rootFolder.resolve(COMPILATION_REPORT_FILE_NAME).toFile(), shardReports);
+		} catch (final IOException ioError) {
+			final FailureReport<Void> failure = new FailureReport<Void>().cause(ioError)
+				.message("Writing the compilation report failed.")
+				.recoverable()
+				.retryWith(() -> this.writeCompilationReport(shardReports));
+			FAILURE_HANDLER.handle(failure);
+		}
+	}
+
+	/**
+	 * Writes the probe calibration of a run to the calibration report file in the run’s
+	 * folder, next to the run’s results.
+	 *
+	 * @param runFolder A folder created through {@link #allocateKiekerRunFolder()}. Must
+	 *            not be {@code null}.
+	 * @param calibration The calibration of the run in {@code runFolder}. Must not be
+	 *            {@code null}.
+	 * @throw IllegalStateException If this manager was not yet set up through
+	 *        {@link #allocate()}.
+	 */
+	void writeCalibrationReport(final Path runFolder, final ProbeCalibration calibration) {
+		Validate.notNull(runFolder);
+		Validate.notNull(calibration);
+		Validate.validState(this.wasSetUp, "The file manager was not yet set up!");
+		try {
+			FileUtils.writeStringToFile(runFolder.resolve(CALIBRATION_REPORT_FILE_NAME).toFile(),
+				String.format("%s%n", calibration), StandardCharsets.UTF_8);
+		} catch (final IOException ioError) {
+			final FailureReport<Void> failure = new FailureReport<Void>().cause(ioError)
+				.message("Writing the probe calibration report failed.")
+				.recoverable()
+				.retryWith(() -> this.writeCalibrationReport(runFolder, calibration));
+			FAILURE_HANDLER.handle(failure);
+		}
+	}
+
+	/**
+	 * Writes the warmup of the sections measured in a run to the warmup report file in
+	 * the run’s folder, next to the run’s results. Each line names a section and how many
+	 * of its leading executions were removed as warmup.
+	 *
+	 * @param runFolder A folder created through {@link #allocateKiekerRunFolder()}. Must
+	 *            not be {@code null}.
+	 * @param warmupLengths The number of warmup executions of each section measured in
+	 *            the run in {@code runFolder}. Must not be {@code null}.
+	 * @throw IllegalStateException If this manager was not yet set up through
+	 *        {@link #allocate()}.
+	 */
+	void writeWarmupReport(final Path runFolder, final Map<CodeSection, Integer> warmupLengths) {
+		this.writeSectionReport(runFolder, WARMUP_REPORT_FILE_NAME, warmupLengths, "warmup report");
+	}
+
+	/**
+	 * Writes how many samples of each section measured in a run overlapped a garbage
+	 * collection pause to the pause report file in the run’s folder, next to the run’s
+	 * results. Each line names a section and its number of disturbed samples.
+	 *
+	 * @param runFolder A folder created through {@link #allocateKiekerRunFolder()}. Must
+	 *            not be {@code null}.
+	 * @param disturbedSamples The number of disturbed samples of each section measured
+	 *            in the run in {@code runFolder}. Must not be {@code null}.
+	 * @throw IllegalStateException If this manager was not yet set up through
+	 *        {@link #allocate()}.
+	 */
+	void writeGcPauseReport(final Path runFolder, final Map<CodeSection, Integer> disturbedSamples) {
+		this.writeSectionReport(runFolder, GC_PAUSE_REPORT_FILE_NAME, disturbedSamples,
+			"garbage collection pause report");
+	}
+
+	/**
+	 * Writes a number for each section to a report file in a run’s folder.
+	 *
+	 * @param runFolder A folder created through {@link #allocateKiekerRunFolder()}. Must
+	 *            not be {@code null}.
+	 * @param reportFileName The name of the report file.
+	 * @param sectionNumbers The reported number of each section. Must not be
+	 *            {@code null}.
+	 * @param reportName The name of the report, used when reporting failures.
+	 */
+	private void writeSectionReport(final Path runFolder, final String reportFileName,
+		final Map<CodeSection, Integer> sectionNumbers, final String reportName) {
+		Validate.notNull(runFolder);
+		Validate.notNull(sectionNumbers);
+		Validate.validState(this.wasSetUp, "The file manager was not yet set up!");
+		final List<String> lines = new ArrayList<>();
+		for (final Map.Entry<CodeSection, Integer> sectionNumber : sectionNumbers.entrySet()) {
+			lines.add(String.format("%s: %d", sectionNumber.getKey(), sectionNumber.getValue()));
+		}
+		try {
+			FileUtils.writeLines(runFolder.resolve(reportFileName).toFile(), StandardCharsets.UTF_8.name(), lines);
+		} catch (final IOException ioError) {
+			final FailureReport<Void> failure = new FailureReport<Void>().cause(ioError)
+				.message("Writing the %s failed.", reportName)
+				.recoverable()
+				.retryWith(() -> this.writeSectionReport(runFolder, reportFileName, sectionNumbers, reportName));
+			FAILURE_HANDLER.handle(failure);
+		}
+	}
+
+	/**
+	 * Moves the results in {@code runFolder} to the done partition. This marks them as
+	 * being processed and prevents them from being processed again.
+	 *
+	 * @param runFolder A folder created through {@link #allocateKiekerRunFolder()}. Must
+	 *            not be {@code null}.
+	 * @throw IllegalStateException If this manager was not yet set up through
+	 *        {@link #allocate()}.
+	 */
+	void moveRunResultsToDone(final Path runFolder) {
+		Validate.notNull(runFolder);
+		Validate.validState(this.wasSetUp, "The file manager was not yet set up!");
+		try {
+			FileUtils.moveDirectoryToDirectory(runFolder.toFile(), this.getKiekerProcessedResultsFolder().toFile(),
+				false);
+		} catch (final IOException ioError) {
+			final FailureReport<Void> failure = new FailureReport<Void>().cause(ioError)
+				.message("Moving processed results failed.")
+				.recoverable()
+				.retryWith(() -> this.moveRunResultsToDone(runFolder));
+			FAILURE_HANDLER.handle(failure);
+		}
+	}
+
 	/**
 	 * Moves the results in the {@linkplain Kieker results folder} to the done partition.
 	 * This marks them as being processed and prevents them from being processed again.
@@ -0,0 +1,78 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker;
+
+import de.uka.ipd.sdq.beagle.measurement.kieker.remote.ClockCalibration;
+import de.uka.ipd.sdq.beagle.measurement.kieker.remote.SampleLogFormat;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * The cost of the measurement probes in one run of the measured software, as calibrated
+ * by the measured software when it started. The probes read two clocks: the elapsed time
+ * and the CPU time of the measuring thread. Each clock is calibrated on its own.
+ *
+ * <p>The calibration also benchmarks the probes: The {@linkplain #getWallClock() wall
+ * clock}’s {@linkplain ClockCalibration#getNestedProbeOverhead() nested probe overhead}
+ * is how long entering and leaving a section takes, including reading both clocks.
+ *
+ * @author Joshua Gleitze
+ * @see SampleLogFormat#CALIBRATION_EMPTY_ID
+ */
+public final class ProbeCalibration {
+
+	/**
+	 * The calibration used if the measured software did not calibrate its probes. Nothing
+	 * is subtracted.
+	 */
+	public static final ProbeCalibration NONE = new ProbeCalibration(ClockCalibration.NONE, ClockCalibration.NONE);
+
+	/**
+	 * The calibration of the elapsed time.
+	 */
+	private final ClockCalibration wallClock;
+
+	/**
+	 * The calibration of the thread’s CPU time.
+	 */
+	private final ClockCalibration cpuClock;
+
+	/**
+	 * Creates a calibration from the calibrations of both clocks.
+	 *
+	 * @param wallClock The calibration of the elapsed time. Must not be {@code null}.
+	 * @param cpuClock The calibration of the thread’s CPU time. {@link ClockCalibration#NONE}
+	 *            if the CPU time was not measured. Must not be {@code null}.
+	 */
+	ProbeCalibration(final ClockCalibration wallClock, final ClockCalibration cpuClock) {
+		Validate.notNull(wallClock);
+		Validate.notNull(cpuClock);
+		this.wallClock = wallClock;
+		this.cpuClock = cpuClock;
+	}
+
+	/**
+	 * Queries the calibration of the elapsed time.
+	 *
+	 * @return The calibration to correct elapsed times with. Will never be {@code null}.
+	 */
+	public ClockCalibration getWallClock() {
+		return this.wallClock;
+	}
+
+	/**
+	 * Queries the calibration of the thread’s CPU time.
+	 *
+	 * @return The calibration to correct CPU times with. {@link ClockCalibration#NONE} if
+	 *         the measured software could not measure CPU time. Will never be
+	 *         {@code null}.
+	 */
+	public ClockCalibration getCpuClock() {
+		return this.cpuClock;
+	}
+
+	@Override
+	public String toString() {
+		final String cpuReport = this.cpuClock.getSampleCount() == 0 ? "not measured" : this.cpuClock.toString();
+		return String.format("wall clock:%n%s%nprobe pair cost: %d ns%n%nCPU time:%n%s", this.wallClock,
+			this.wallClock.getNestedProbeOverhead(), cpuReport);
+	}
+}
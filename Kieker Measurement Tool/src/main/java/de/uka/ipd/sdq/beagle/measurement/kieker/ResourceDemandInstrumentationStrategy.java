@@ -43,6 +43,7 @@ public class ResourceDemandInstrumentationStrategy implements EclipseAstInstrume
 		return nodeFactory.newExpressionStatement(startInvocation);
 	}
 
+	@SuppressWarnings("unchecked")
 	@Override
 	public Statement instrumentEnd(final CodeSection codeSection, final AST nodeFactory) {
 		final EclipseStatementCreationHelper helper = new EclipseStatementCreationHelper(nodeFactory);
@@ -50,6 +51,7 @@ public class ResourceDemandInstrumentationStrategy implements EclipseAstInstrume
 		endInvocation.setExpression(helper.getName("de", "uka", "ipd", "sdq", "beagle", "measurement", "kieker",
 			"remote", "MeasurementCentral"));
 		endInvocation.setName(nodeFactory.newSimpleName("stopResourceDemand"));
+		endInvocation.arguments().add(nodeFactory.newNumberLiteral("" + this.identifier.getIdOf(codeSection)));
 		return nodeFactory.newExpressionStatement(endInvocation);
 	}
 
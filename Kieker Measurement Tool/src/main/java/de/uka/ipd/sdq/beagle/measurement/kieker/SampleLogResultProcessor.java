@@ -0,0 +1,533 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker;
+
+import de.uka.ipd.sdq.beagle.core.CodeSection;
+import de.uka.ipd.sdq.beagle.core.ResourceDemandType;
+import de.uka.ipd.sdq.beagle.core.failurehandling.FailureHandler;
+import de.uka.ipd.sdq.beagle.core.failurehandling.FailureReport;
+import de.uka.ipd.sdq.beagle.core.measurement.order.MeasurementEvent;
+import de.uka.ipd.sdq.beagle.core.measurement.order.ResourceDemandCapturedEvent;
+import de.uka.ipd.sdq.beagle.core.measurement.order.ResourceDemandSummaryCapturedEvent;
+import de.uka.ipd.sdq.beagle.measurement.kieker.remote.ClockCalibration;
+import de.uka.ipd.sdq.beagle.measurement.kieker.remote.LogLinearHistogram;
+import de.uka.ipd.sdq.beagle.measurement.kieker.remote.SampleLogFormat;
+
+import org.apache.commons.lang3.Validate;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+/**
+ * Processes the binary sample logs written by the measured software and transforms them
+ * into corresponding {@linkplain MeasurementEvent measurement events}. The logs are
+ * memory-mapped and read in place. Events are created while reading, so they can be
+ * handed on without collecting them first. No events will be created for code sections
+ * that cannot be identified.
+ *
+ * <p>The measured durations are corrected by the {@linkplain ProbeCalibration probe
+ * calibration} found at the start of each log: The overhead of the section’s own probes
+ * and of all probes nested in it is subtracted. The calibrations are available through
+ * {@link #getCalibrations()} after processing.
+ *
+ * <p>Each record yields a {@link ResourceDemandType#RESOURCE_TYPE_CPU_NS} event for the
+ * CPU time and a {@link ResourceDemandType#RESOURCE_TYPE_WALL_CLOCK_NS} event for the
+ * elapsed time. If the measured software could not measure CPU time, the elapsed time is
+ * reported as CPU time, too. If the measured software measured how many bytes the
+ * section allocated, the record also yields a
+ * {@link ResourceDemandType#RESOURCE_TYPE_ALLOCATED_BYTES} event. If it
+ * {@linkplain SampleLogFormat#STORAGE_IO_PROPERTY measured} how many bytes the section
+ * transferred from and to the storage, the record yields a
+ * {@link ResourceDemandType#RESOURCE_TYPE_HDD} event, too. Neither is corrected by the
+ * calibration. The measured software already subtracted the bytes the probes allocated.
+ * The probes do not access the storage.
+ *
+ * <p>Samples that overlapped a {@linkplain SampleLogFormat#GC_PAUSE_ID pause of the
+ * garbage collector} recorded in the same log are
+ * {@linkplain ResourceDemandCapturedEvent#isDisturbedByGcPause() marked} as such.
+ *
+ * <p>If the measured software {@linkplain SampleLogFormat#AGGREGATE_PROPERTY aggregated}
+ * its samples, the summaries found next to the log yield one
+ * {@link ResourceDemandSummaryCapturedEvent} per section and resource type instead. Their
+ * durations were already corrected by the measured software. Each histogram bucket is
+ * represented by the middle of the durations it contains.
+ *
+ * @author Joshua Gleitze
+ * @see SampleLogFormat
+ */
+public class SampleLogResultProcessor {
+
+	/**
+	 * Handler of Failures.
+	 */
+	private static final FailureHandler FAILURE_HANDLER = FailureHandler.getHandler("Sample Log Processor");
+
+	/**
+	 * How many records are mapped at once. Mapped regions cannot be larger than
+	 * {@link Integer#MAX_VALUE} bytes.
+	 */
+	private static final int RECORDS_PER_REGION = Integer.MAX_VALUE / SampleLogFormat.RECORD_SIZE;
+
+	/**
+	 * The folders of the measurement runs whose logs shall be processed.
+	 */
+	private final List<Path> runFolders;
+
+	/**
+	 * The calibration of each processed run, by run folder.
+	 */
+	private final Map<Path, ProbeCalibration> calibrations = new HashMap<>();
+
+	/**
+	 * The identifier of resource demand code sections.
+	 */
+	private CodeSectionIdentifier resourceDemandIdentifier;
+
+	/**
+	 * Creates a processor that will process the sample logs in all provided
+	 * {@code runFolders} and merge them. Folders without a sample log are skipped.
+	 *
+	 * @param runFolders The folders the measured software wrote its sample logs to. Must
+	 *            not be {@code null} and must not contain {@code null}.
+	 */
+	public SampleLogResultProcessor(final Collection<Path> runFolders) {
+		Validate.noNullElements(runFolders);
+		this.runFolders = new ArrayList<>(runFolders);
+	}
+
+	/**
+	 * Makes this processor use the given {@code identifier} to identify code sections
+	 * resource demands were to be measured for.
+	 *
+	 * @param identifier The identifier of resource demand code sections.
+	 * @return {@code this}.
+	 */
+	public SampleLogResultProcessor useResourceDemandIdentifier(final CodeSectionIdentifier identifier) {
+		this.resourceDemandIdentifier = identifier;
+		return this;
+	}
+
+	/**
+	 * Processes the sample logs and generates the matching measurement events.
+	 *
+	 * @return The measurement events representing the logged samples.
+	 */
+	public List<MeasurementEvent> process() {
+		final List<MeasurementEvent> resultEvents = new ArrayList<>();
+		this.process(resultEvents::add);
+		return resultEvents;
+	}
+
+	/**
+	 * Processes the sample logs and passes the matching measurement events to
+	 * {@code eventConsumer} while reading. The events of each log are passed in the order
+	 * the samples were completed in.
+	 *
+	 * @param eventConsumer Receives the measurement events representing the logged
+	 *            samples. Must not be {@code null}.
+	 */
+	public void process(final Consumer<MeasurementEvent> eventConsumer) {
+		Validate.notNull(eventConsumer);
+
+		// in the moment, we’re only looking at resource demand results. If we can’t
+		// identify those, we’ve got nothing to do.
+		if (this.resourceDemandIdentifier == null) {
+			return;
+		}
+
+		for (final Path runFolder : this.runFolders) {
+			final Path logFile = runFolder.resolve(SampleLogFormat.LOG_FILE_NAME);
+			if (Files.isRegularFile(logFile)) {
+				this.processLog(runFolder, logFile, 0, eventConsumer);
+			}
+			final Path summaryFile = runFolder.resolve(SampleLogFormat.SUMMARY_FILE_NAME);
+			if (Files.isRegularFile(summaryFile)) {
+				this.processSummaries(summaryFile, eventConsumer);
+			}
+		}
+	}
+
+	/**
+	 * Queries the probe calibrations of the processed runs. Runs without a sample log
+	 * have no calibration. Runs whose log contains no calibration samples have
+	 * {@link ProbeCalibration#NONE}.
+	 *
+	 * @return The calibration of each processed run, by run folder. Will never be
+	 *         {@code null}. Cannot be modified. Empty before {@link #process()} was called.
+	 */
+	public Map<Path, ProbeCalibration> getCalibrations() {
+		return Collections.unmodifiableMap(this.calibrations);
+	}
+
+	/**
+	 * Processes one sample log.
+	 *
+	 * @param runFolder The folder of the run that wrote {@code logFile}.
+	 * @param logFile The sample log to process.
+	 * @param firstRecord The index of the first record to process. Records before it
+	 *            were already processed.
+	 * @param eventConsumer Receives the measurement events representing the logged
+	 *            samples.
+	 */
+	private void processLog(final Path runFolder, final Path logFile, final long firstRecord,
+		final Consumer<MeasurementEvent> eventConsumer) {
+		long nextRecord = firstRecord;
+		try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+			final long recordCount = this.readRecordCount(logFile, channel);
+			if (!this.calibrations.containsKey(runFolder)) {
+				this.calibrations.put(runFolder, this.readCalibration(channel, recordCount));
+			}
+			final ProbeCalibration calibration = this.calibrations.get(runFolder);
+			final GcPauses gcPauses = this.readGcPauses(channel, recordCount);
+			while (nextRecord < recordCount) {
+				final int regionRecordCount = (int) Math.min(RECORDS_PER_REGION, recordCount - nextRecord);
+				final ByteBuffer region = channel.map(MapMode.READ_ONLY,
+					SampleLogFormat.HEADER_SIZE + nextRecord * SampleLogFormat.RECORD_SIZE,
+					(long) regionRecordCount * SampleLogFormat.RECORD_SIZE);
+				region.order(SampleLogFormat.BYTE_ORDER);
+				this.processRegion(region, regionRecordCount, calibration, gcPauses, eventConsumer);
+				nextRecord += regionRecordCount;
+			}
+		} catch (final IOException ioError) {
+			// Retrying must not create the events of already processed records again.
+			final long unprocessedRecord = nextRecord;
+			final FailureReport<Void> failure = new FailureReport<Void>().cause(ioError)
+				.message("Reading the sample log %s failed.", logFile)
+				.recoverable()
+				.retryWith(() -> this.processLog(runFolder, logFile, unprocessedRecord, eventConsumer));
+			FAILURE_HANDLER.handle(failure);
+		}
+	}
+
+	/**
+	 * Processes one summary file.
+	 *
+	 * @param summaryFile The summary file to process.
+	 * @param eventConsumer Receives the measurement events representing the summaries.
+	 */
+	private void processSummaries(final Path summaryFile, final Consumer<MeasurementEvent> eventConsumer) {
+		final Map<CodeSection, ResourceDemandSummaryCapturedEvent> wallClockSummaries = new LinkedHashMap<>();
+		final Map<CodeSection, ResourceDemandSummaryCapturedEvent> cpuSummaries = new HashMap<>();
+		final Map<CodeSection, ResourceDemandSummaryCapturedEvent> allocationSummaries = new HashMap<>();
+		final Map<CodeSection, ResourceDemandSummaryCapturedEvent> storageSummaries = new HashMap<>();
+		try {
+			final ByteBuffer summaries = ByteBuffer.wrap(Files.readAllBytes(summaryFile));
+			summaries.order(SampleLogFormat.BYTE_ORDER);
+			final int summaryCount = readSummaryCount(summaryFile, summaries);
+			for (int summary = 0; summary < summaryCount; summary++) {
+				final int sectionId = summaries.getInt();
+				final int clock = summaries.getInt();
+				final CodeSection section = this.resourceDemandIdentifier.getSectionFor(sectionId);
+				final Map<CodeSection, ResourceDemandSummaryCapturedEvent> clockSummaries;
+				final ResourceDemandType type;
+				if (clock == SampleLogFormat.SUMMARY_CPU_CLOCK) {
+					clockSummaries = cpuSummaries;
+					type = ResourceDemandType.RESOURCE_TYPE_CPU_NS;
+				} else if (clock == SampleLogFormat.SUMMARY_ALLOCATED_BYTES) {
+					clockSummaries = allocationSummaries;
+					type = ResourceDemandType.RESOURCE_TYPE_ALLOCATED_BYTES;
+				} else if (clock == SampleLogFormat.SUMMARY_STORAGE_BYTES) {
+					clockSummaries = storageSummaries;
+					type = ResourceDemandType.RESOURCE_TYPE_HDD;
+				} else {
+					clockSummaries = wallClockSummaries;
+					type = ResourceDemandType.RESOURCE_TYPE_WALL_CLOCK_NS;
+				}
+				// The histogram must be read in any case to get to the next summary.
+				final ResourceDemandSummaryCapturedEvent event = readHistogram(summaries, section, type);
+				if (section != null && event != null) {
+					clockSummaries.put(section, event);
+				}
+			}
+		} catch (final IOException | BufferUnderflowException readError) {
+			final FailureReport<Void> failure = new FailureReport<Void>().cause(readError)
+				.message("Reading the summary file %s failed.", summaryFile)
+				.recoverable()
+				.retryWith(() -> this.processSummaries(summaryFile, eventConsumer));
+			FAILURE_HANDLER.handle(failure);
+			return;
+		}
+		for (final Map.Entry<CodeSection, ResourceDemandSummaryCapturedEvent> wallClockSummary : wallClockSummaries
+			.entrySet()) {
+			final ResourceDemandSummaryCapturedEvent cpuSummary = cpuSummaries.get(wallClockSummary.getKey());
+			eventConsumer.accept(cpuSummary != null ? cpuSummary : asCpuSummary(wallClockSummary.getValue()));
+			eventConsumer.accept(wallClockSummary.getValue());
+			final ResourceDemandSummaryCapturedEvent allocationSummary =
+				allocationSummaries.get(wallClockSummary.getKey());
+			if (allocationSummary != null) {
+				eventConsumer.accept(allocationSummary);
+			}
+			final ResourceDemandSummaryCapturedEvent storageSummary = storageSummaries.get(wallClockSummary.getKey());
+			if (storageSummary != null) {
+				eventConsumer.accept(storageSummary);
+			}
+		}
+	}
+
+	/**
+	 * Reads the header of a summary file.
+	 *
+	 * @param summaryFile The summary file.
+	 * @param summaries The summary file’s content. Will be positioned at the first
+	 *            summary afterwards.
+	 * @return The number of summaries in the file.
+	 * @throws IOException If the file is not a summary file.
+	 */
+	private static int readSummaryCount(final Path summaryFile, final ByteBuffer summaries) throws IOException {
+		if (summaries.remaining() < SampleLogFormat.SUMMARY_HEADER_SIZE
+			|| summaries.getInt() != SampleLogFormat.MAGIC_NUMBER || summaries.getInt() != SampleLogFormat.VERSION) {
+			throw new IOException(
+				String.format("%s is not a summary file of version %d.", summaryFile, SampleLogFormat.VERSION));
+		}
+		summaries.position(SampleLogFormat.SUMMARY_HEADER_SIZE);
+		return summaries.getInt(SampleLogFormat.SUMMARY_COUNT_OFFSET);
+	}
+
+	/**
+	 * Reads a histogram from a summary file.
+	 *
+	 * @param summaries The summary file’s content, positioned at the histogram’s start.
+	 *            Will be positioned after the histogram afterwards.
+	 * @param section The summarised code section. May be {@code null}.
+	 * @param type The type of the summarised resource demands.
+	 * @return The event for the histogram. {@code null} if {@code section} is
+	 *         {@code null} or the histogram contains no executions.
+	 */
+	private static ResourceDemandSummaryCapturedEvent readHistogram(final ByteBuffer summaries,
+		final CodeSection section, final ResourceDemandType type) {
+		final long count = summaries.getLong();
+		final long sum = summaries.getLong();
+		final long min = summaries.getLong();
+		final long max = summaries.getLong();
+		final int bucketCount = summaries.getInt();
+		final double[] bucketValues = new double[bucketCount];
+		final long[] bucketCounts = new long[bucketCount];
+		for (int bucket = 0; bucket < bucketCount; bucket++) {
+			final int bucketIndex = summaries.getInt();
+			bucketValues[bucket] =
+				(LogLinearHistogram.lowerBoundOf(bucketIndex) + LogLinearHistogram.upperBoundOf(bucketIndex)) / 2d;
+			bucketCounts[bucket] = summaries.getLong();
+		}
+		if (section == null || count == 0) {
+			return null;
+		}
+		return new ResourceDemandSummaryCapturedEvent(section, type, bucketValues, bucketCounts, sum, min, max);
+	}
+
+	/**
+	 * Reports a summary of elapsed times as CPU times, for runs that could not measure
+	 * CPU time.
+	 *
+	 * @param wallClockSummary A summary of elapsed times.
+	 * @return A summary of the same values with the CPU time type.
+	 */
+	private static ResourceDemandSummaryCapturedEvent asCpuSummary(
+		final ResourceDemandSummaryCapturedEvent wallClockSummary) {
+		return new ResourceDemandSummaryCapturedEvent(wallClockSummary.getCodeSection(),
+			ResourceDemandType.RESOURCE_TYPE_CPU_NS, wallClockSummary.getBucketValues(),
+			wallClockSummary.getBucketCounts(), wallClockSummary.getSum(), wallClockSummary.getMin(),
+			wallClockSummary.getMax());
+	}
+
+	/**
+	 * Reads the header of a sample log.
+	 *
+	 * @param logFile The sample log.
+	 * @param channel A channel to {@code logFile}.
+	 * @return The number of records in the log. Only records that are completely
+	 *         contained in the file are counted.
+	 * @throws IOException If reading fails or the file is not a sample log.
+	 */
+	private long readRecordCount(final Path logFile, final FileChannel channel) throws IOException {
+		final long fileSize = channel.size();
+		if (fileSize < SampleLogFormat.HEADER_SIZE) {
+			throw new IOException(String.format("%s is too short to be a sample log.", logFile));
+		}
+		final ByteBuffer header = channel.map(MapMode.READ_ONLY, 0, SampleLogFormat.HEADER_SIZE);
+		header.order(SampleLogFormat.BYTE_ORDER);
+		final int magicNumber = header.getInt();
+		final int version = header.getInt();
+		if (magicNumber != SampleLogFormat.MAGIC_NUMBER || version != SampleLogFormat.VERSION) {
+			throw new IOException(String.format("%s is not a sample log of version %d.", logFile,
+				SampleLogFormat.VERSION));
+		}
+		final long fittingRecords = (fileSize - SampleLogFormat.HEADER_SIZE) / SampleLogFormat.RECORD_SIZE;
+		return Math.min(header.getLong(SampleLogFormat.RECORD_COUNT_OFFSET), fittingRecords);
+	}
+
+	/**
+	 * Reads the calibration samples at the start of a sample log.
+	 *
+	 * @param channel A channel to a sample log.
+	 * @param recordCount The number of records in the log.
+	 * @return The calibration of the run that wrote the log.
+	 * @throws IOException If reading fails.
+	 */
+	private ProbeCalibration readCalibration(final FileChannel channel, final long recordCount) throws IOException {
+		final int regionRecordCount = (int) Math.min(RECORDS_PER_REGION, recordCount);
+		final ByteBuffer region = channel.map(MapMode.READ_ONLY, SampleLogFormat.HEADER_SIZE,
+			(long) regionRecordCount * SampleLogFormat.RECORD_SIZE);
+		region.order(SampleLogFormat.BYTE_ORDER);
+		return readCalibration(region, regionRecordCount);
+	}
+
+	/**
+	 * Reads the calibration samples at the start of consecutive records.
+	 *
+	 * @param records Records in the {@linkplain SampleLogFormat sample log format},
+	 *            starting at index {@code 0}.
+	 * @param recordCount The number of records in {@code records}.
+	 * @return The calibration described by the calibration records preceding the first
+	 *         regular record.
+	 */
+	static ProbeCalibration readCalibration(final ByteBuffer records, final int recordCount) {
+		final LongStream.Builder emptyDurations = LongStream.builder();
+		final LongStream.Builder parentDurations = LongStream.builder();
+		final LongStream.Builder emptyCpuDurations = LongStream.builder();
+		final LongStream.Builder parentCpuDurations = LongStream.builder();
+		for (int record = 0; record < recordCount; record++) {
+			final int recordStart = record * SampleLogFormat.RECORD_SIZE;
+			final int sectionId = records.getInt(recordStart + SampleLogFormat.SECTION_ID_OFFSET);
+			if (sectionId >= 0) {
+				// The calibration samples precede all other samples.
+				break;
+			}
+			final long duration = records.getLong(recordStart + SampleLogFormat.DURATION_OFFSET);
+			final long cpuDuration = records.getLong(recordStart + SampleLogFormat.CPU_DURATION_OFFSET);
+			if (sectionId == SampleLogFormat.CALIBRATION_EMPTY_ID) {
+				emptyDurations.add(duration);
+				addIfKnown(emptyCpuDurations, cpuDuration);
+			} else if (sectionId == SampleLogFormat.CALIBRATION_PARENT_ID) {
+				parentDurations.add(duration);
+				addIfKnown(parentCpuDurations, cpuDuration);
+			}
+		}
+		return new ProbeCalibration(
+			new ClockCalibration(emptyDurations.build().toArray(), parentDurations.build().toArray()),
+			new ClockCalibration(emptyCpuDurations.build().toArray(), parentCpuDurations.build().toArray()));
+	}
+
+	/**
+	 * Reads the garbage collection pauses recorded anywhere in a sample log.
+	 *
+	 * @param channel A channel to a sample log.
+	 * @param recordCount The number of records in the log.
+	 * @return The pauses recorded in the log.
+	 * @throws IOException If reading fails.
+	 */
+	private GcPauses readGcPauses(final FileChannel channel, final long recordCount) throws IOException {
+		final GcPauses gcPauses = new GcPauses();
+		long nextRecord = 0;
+		while (nextRecord < recordCount) {
+			final int regionRecordCount = (int) Math.min(RECORDS_PER_REGION, recordCount - nextRecord);
+			final ByteBuffer region = channel.map(MapMode.READ_ONLY,
+				SampleLogFormat.HEADER_SIZE + nextRecord * SampleLogFormat.RECORD_SIZE,
+				(long) regionRecordCount * SampleLogFormat.RECORD_SIZE);
+			region.order(SampleLogFormat.BYTE_ORDER);
+			for (int record = 0; record < regionRecordCount; record++) {
+				addIfGcPause(region, record * SampleLogFormat.RECORD_SIZE, gcPauses);
+			}
+			nextRecord += regionRecordCount;
+		}
+		return gcPauses;
+	}
+
+	/**
+	 * Adds the pause described by a record to {@code gcPauses} if the record is a
+	 * {@linkplain SampleLogFormat#GC_PAUSE_ID pause record}.
+	 *
+	 * @param records Records in the {@linkplain SampleLogFormat sample log format}.
+	 * @param recordStart The index of the record’s first byte in {@code records}.
+	 * @param gcPauses The pauses to add to.
+	 */
+	static void addIfGcPause(final ByteBuffer records, final int recordStart, final GcPauses gcPauses) {
+		if (records.getInt(recordStart + SampleLogFormat.SECTION_ID_OFFSET) == SampleLogFormat.GC_PAUSE_ID) {
+			final long startTime = records.getLong(recordStart + SampleLogFormat.START_TIME_OFFSET);
+			gcPauses.add(startTime, startTime + records.getLong(recordStart + SampleLogFormat.DURATION_OFFSET));
+		}
+	}
+
+	/**
+	 * Adds a CPU time to {@code durations} if it was measured.
+	 *
+	 * @param durations A builder for CPU times.
+	 * @param cpuDuration A CPU time read from a record.
+	 */
+	private static void addIfKnown(final LongStream.Builder durations, final long cpuDuration) {
+		if (cpuDuration >= 0) {
+			durations.add(cpuDuration);
+		}
+	}
+
+	/**
+	 * Creates events for all records in {@code region}. Calibration records are skipped.
+	 *
+	 * @param region A mapped region of a sample log, starting at a record.
+	 * @param recordCount The number of records in {@code region}.
+	 * @param calibration The calibration of the run that wrote the log.
+	 * @param gcPauses The garbage collection pauses of the run that wrote the log.
+	 * @param eventConsumer Receives the measurement events representing the records.
+	 */
+	private void processRegion(final ByteBuffer region, final int recordCount, final ProbeCalibration calibration,
+		final GcPauses gcPauses, final Consumer<MeasurementEvent> eventConsumer) {
+		for (int record = 0; record < recordCount; record++) {
+			final int recordStart = record * SampleLogFormat.RECORD_SIZE;
+			final int sectionId = region.getInt(recordStart + SampleLogFormat.SECTION_ID_OFFSET);
+			final CodeSection recordedSection =
+				sectionId < 0 ? null : this.resourceDemandIdentifier.getSectionFor(sectionId);
+			if (recordedSection != null) {
+				processRecord(region, recordStart, recordedSection, calibration, gcPauses, eventConsumer);
+			}
+		}
+	}
+
+	/**
+	 * Creates the events for one record of a regular section.
+	 *
+	 * @param records Records in the {@linkplain SampleLogFormat sample log format}.
+	 * @param recordStart The index of the record’s first byte in {@code records}.
+	 * @param recordedSection The section identified by the record.
+	 * @param calibration The calibration of the run that wrote the record.
+	 * @param gcPauses The garbage collection pauses known to have happened in the run
+	 *            that wrote the record.
+	 * @param eventConsumer Receives the measurement events representing the record.
+	 */
+	static void processRecord(final ByteBuffer records, final int recordStart, final CodeSection recordedSection,
+		final ProbeCalibration calibration, final GcPauses gcPauses, final Consumer<MeasurementEvent> eventConsumer) {
+		final int nestedProbeCount = records.getInt(recordStart + SampleLogFormat.NESTED_PROBE_COUNT_OFFSET);
+		final long startTime = records.getLong(recordStart + SampleLogFormat.START_TIME_OFFSET);
+		final long measuredDuration = records.getLong(recordStart + SampleLogFormat.DURATION_OFFSET);
+		final boolean disturbedByGcPause = gcPauses.overlap(startTime, startTime + measuredDuration);
+		final long duration = calibration.getWallClock().correct(measuredDuration, nestedProbeCount);
+		final long cpuDuration = records.getLong(recordStart + SampleLogFormat.CPU_DURATION_OFFSET);
+		final long cpuTime =
+			cpuDuration < 0 ? duration : calibration.getCpuClock().correct(cpuDuration, nestedProbeCount);
+		eventConsumer.accept(new ResourceDemandCapturedEvent(recordedSection, ResourceDemandType.RESOURCE_TYPE_CPU_NS,
+			cpuTime, disturbedByGcPause));
+		eventConsumer.accept(new ResourceDemandCapturedEvent(recordedSection,
+			ResourceDemandType.RESOURCE_TYPE_WALL_CLOCK_NS, duration, disturbedByGcPause));
+		final long allocatedBytes = records.getLong(recordStart + SampleLogFormat.ALLOCATED_BYTES_OFFSET);
+		if (allocatedBytes >= 0) {
+			eventConsumer.accept(new ResourceDemandCapturedEvent(recordedSection,
+				ResourceDemandType.RESOURCE_TYPE_ALLOCATED_BYTES, allocatedBytes, disturbedByGcPause));
+		}
+		final long storageBytes = records.getLong(recordStart + SampleLogFormat.STORAGE_BYTES_OFFSET);
+		if (storageBytes >= 0) {
+			eventConsumer.accept(new ResourceDemandCapturedEvent(recordedSection, ResourceDemandType.RESOURCE_TYPE_HDD,
+				storageBytes, disturbedByGcPause));
+		}
+	}
+}
@@ -0,0 +1,428 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker;
+
+import de.uka.ipd.sdq.beagle.core.CodeSection;
+import de.uka.ipd.sdq.beagle.core.failurehandling.FailureHandler;
+import de.uka.ipd.sdq.beagle.core.failurehandling.FailureReport;
+import de.uka.ipd.sdq.beagle.core.measurement.order.MeasurementEvent;
+import de.uka.ipd.sdq.beagle.measurement.kieker.remote.SampleLogFormat;
+
+import org.apache.commons.lang3.Validate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Receives the samples one launch of the measured software streams over the loopback
+ * interface and transforms them into corresponding {@linkplain MeasurementEvent
+ * measurement events} while they arrive. The measured software is told to connect to
+ * {@link #getPort()} through the {@linkplain SampleLogFormat#STREAM_PORT_PROPERTY stream
+ * port property}. No events will be created for code sections that cannot be
+ * identified.
+ *
+ * <p>The samples are received on a background thread while the measured software runs.
+ * The events created so far can be {@linkplain #passReceivedEvents(Consumer) taken} at
+ * any time, so they can be processed while the launch still runs. Each event reports a
+ * complete sample. {@link #finish()} must be called after the launch ended and returns
+ * the events that were not taken yet.
+ *
+ * <p>The durations are corrected by the {@linkplain ProbeCalibration probe calibration}
+ * the stream starts with, like the {@link SampleLogResultProcessor} does.
+ * Samples are marked as disturbed by the garbage collector if they overlapped a
+ * {@linkplain SampleLogFormat#GC_PAUSE_ID pause}. Pauses are only recorded after they
+ * ended, so their records may arrive after the samples they disturbed. Each sample is
+ * thus only transformed once the stream reached samples completed
+ * {@value #GC_PAUSE_DELAY_MILLIS} milliseconds later, or once the stream ended.
+ *
+ * @author Joshua Gleitze
+ * @see SampleLogFormat#STREAM_PORT_PROPERTY
+ */
+public class SampleStreamReceiver {
+
+	/**
+	 * Handler of Failures.
+	 */
+	private static final FailureHandler FAILURE_HANDLER = FailureHandler.getHandler("Sample Stream Receiver");
+
+	/**
+	 * How long waiting for the measured software to connect blocks at once, in
+	 * milliseconds.
+	 */
+	private static final int ACCEPT_TIMEOUT = 100;
+
+	/**
+	 * How long {@link #finish()} waits for the stream to end before closing it, in
+	 * milliseconds.
+	 */
+	private static final long FINISH_TIMEOUT = 10_000;
+
+	/**
+	 * How many records are read at most at once.
+	 */
+	private static final int BATCH_SIZE = 1 << 12;
+
+	/**
+	 * How long the record of a garbage collection pause may arrive after the samples it
+	 * disturbed, in milliseconds of the measured software.
+	 */
+	private static final long GC_PAUSE_DELAY_MILLIS = 100;
+
+	/**
+	 * {@link #GC_PAUSE_DELAY_MILLIS} in nanoseconds.
+	 */
+	private static final long GC_PAUSE_DELAY = TimeUnit.MILLISECONDS.toNanos(GC_PAUSE_DELAY_MILLIS);
+
+	/**
+	 * The identifier of resource demand code sections.
+	 */
+	private final CodeSectionIdentifier resourceDemandIdentifier;
+
+	/**
+	 * The socket the measured software connects to.
+	 */
+	private final ServerSocket server;
+
+	/**
+	 * The events that were created but not taken yet.
+	 */
+	private final Queue<MeasurementEvent> receivedEvents = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * The thread receiving the samples.
+	 */
+	private final Thread receiver = new Thread(this::receive, "Beagle sample receiver");
+
+	/**
+	 * The garbage collection pauses received so far. Only used by {@link #receiver}.
+	 */
+	private final GcPauses gcPauses = new GcPauses();
+
+	/**
+	 * The records of identified sections that were received but not transformed yet,
+	 * because a pause disturbing them may still arrive. In write mode. Only used by
+	 * {@link #receiver}.
+	 */
+	private ByteBuffer pendingRecords =
+		ByteBuffer.allocate(BATCH_SIZE * SampleLogFormat.RECORD_SIZE).order(SampleLogFormat.BYTE_ORDER);
+
+	/**
+	 * The latest time a received sample was completed at, in the measured software’s
+	 * time. Only used by {@link #receiver}.
+	 */
+	private long latestStopTime = Long.MIN_VALUE;
+
+	/**
+	 * The calibration records received so far. {@code null} once the calibration is
+	 * known.
+	 */
+	private ByteArrayOutputStream calibrationRecords = new ByteArrayOutputStream();
+
+	/**
+	 * The calibration the stream started with. {@code null} until all calibration
+	 * records were received.
+	 */
+	private volatile ProbeCalibration calibration;
+
+	/**
+	 * The connection to the measured software. {@code null} until it connected.
+	 */
+	private volatile Socket connection;
+
+	/**
+	 * Whether the launch streaming to this receiver ended.
+	 */
+	private volatile boolean launchEnded;
+
+	/**
+	 * Whether the receiver was closed before the stream ended.
+	 */
+	private volatile boolean aborted;
+
+	/**
+	 * The reason why receiving failed. {@code null} if it did not fail.
+	 */
+	private volatile IOException failure;
+
+	/**
+	 * Creates a receiver listening on a free port of the loopback interface and starts
+	 * receiving.
+	 *
+	 * @param resourceDemandIdentifier The identifier of resource demand code sections.
+	 *            Must not be {@code null}.
+	 */
+	public SampleStreamReceiver(final CodeSectionIdentifier resourceDemandIdentifier) {
+		Validate.notNull(resourceDemandIdentifier);
+		this.resourceDemandIdentifier = resourceDemandIdentifier;
+		this.server = this.openServer();
+		this.receiver.setDaemon(true);
+		this.receiver.start();
+	}
+
+	/**
+	 * Queries the port the measured software must stream its samples to.
+	 *
+	 * @return The port on the loopback interface this receiver listens on.
+	 */
+	public int getPort() {
+		return this.server.getLocalPort();
+	}
+
+	/**
+	 * Takes the events created so far and passes them to {@code eventConsumer}. The
+	 * receiving continues in the background.
+	 *
+	 * @param eventConsumer Receives the events representing the samples received since
+	 *            the events were taken last, in the order the samples were completed in.
+	 *            Must not be {@code null}.
+	 */
+	public void passReceivedEvents(final Consumer<? super MeasurementEvent> eventConsumer) {
+		Validate.notNull(eventConsumer);
+		MeasurementEvent event;
+		while ((event = this.receivedEvents.poll()) != null) {
+			eventConsumer.accept(event);
+		}
+	}
+
+	/**
+	 * Waits until the stream ended and takes the remaining events. Must be called after
+	 * the launch streaming to this receiver ended. If the stream does not end in time, it
+	 * is closed.
+	 *
+	 * @return The events representing all samples received from the launch that were not
+	 *         {@linkplain #passReceivedEvents(Consumer) taken} yet, in the order the
+	 *         samples were completed in.
+	 */
+	public List<MeasurementEvent> finish() {
+		this.launchEnded = true;
+		try {
+			this.receiver.join(FINISH_TIMEOUT);
+		} catch (final InterruptedException interrupt) {
+			Thread.currentThread().interrupt();
+		}
+		if (this.receiver.isAlive()) {
+			this.abort();
+		}
+		if (this.failure != null) {
+			final FailureReport<Void> failureReport = new FailureReport<Void>().cause(this.failure)
+				.message("Receiving the samples streamed to port %d failed.", this.getPort())
+				.details("Only the samples received before the failure are used.")
+				.recoverable();
+			FAILURE_HANDLER.handle(failureReport);
+		}
+		final List<MeasurementEvent> remainingEvents = new ArrayList<>();
+		this.passReceivedEvents(remainingEvents::add);
+		return remainingEvents;
+	}
+
+	/**
+	 * Queries the calibration the stream started with.
+	 *
+	 * @return The probe calibration of the launch. {@code null} if the measured software
+	 *         did not stream any samples.
+	 */
+	public ProbeCalibration getCalibration() {
+		return this.calibration;
+	}
+
+	/**
+	 * Opens the socket the measured software connects to.
+	 *
+	 * @return The opened socket.
+	 */
+	private ServerSocket openServer() {
+		try {
+			final ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+			serverSocket.setSoTimeout(ACCEPT_TIMEOUT);
+			return serverSocket;
+		} catch (final IOException ioError) {
+			final FailureReport<ServerSocket> failureReport = new FailureReport<ServerSocket>().cause(ioError)
+				.message("Opening a socket to receive the samples on failed.")
+				.retryWith(this::openServer);
+			return FAILURE_HANDLER.handle(failureReport);
+		}
+	}
+
+	/**
+	 * Receives the samples until the stream ended. Run by {@link #receiver}.
+	 */
+	private void receive() {
+		try {
+			this.connection = this.acceptConnection();
+			if (this.connection != null) {
+				try (ReadableByteChannel input = Channels.newChannel(this.connection.getInputStream())) {
+					this.readStream(input);
+				}
+			}
+		} catch (final IOException ioError) {
+			if (!this.aborted) {
+				this.failure = ioError;
+			}
+		} finally {
+			this.abort();
+		}
+	}
+
+	/**
+	 * Waits for the measured software to connect.
+	 *
+	 * @return The connection to the measured software. {@code null} if the launch ended
+	 *         without connecting.
+	 * @throws IOException If waiting fails.
+	 */
+	private Socket acceptConnection() throws IOException {
+		while (true) {
+			// A launch that ended connected before, so one more try will find it.
+			final boolean lastTry = this.launchEnded;
+			try {
+				return this.server.accept();
+			} catch (final SocketTimeoutException timeout) {
+				if (lastTry) {
+					return null;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads the stream until it ends and creates the events for all records.
+	 *
+	 * @param input The stream sent by the measured software.
+	 * @throws IOException If reading fails or the stream is no sample stream.
+	 */
+	private void readStream(final ReadableByteChannel input) throws IOException {
+		final ByteBuffer buffer =
+			ByteBuffer.allocate(BATCH_SIZE * SampleLogFormat.RECORD_SIZE).order(SampleLogFormat.BYTE_ORDER);
+		while (buffer.position() < SampleLogFormat.STREAM_HEADER_SIZE) {
+			if (input.read(buffer) == -1) {
+				throw new EOFException("The sample stream ended before its header.");
+			}
+		}
+		buffer.flip();
+		if (buffer.getInt() != SampleLogFormat.MAGIC_NUMBER || buffer.getInt() != SampleLogFormat.VERSION) {
+			throw new IOException(String.format("Received no sample stream of version %d.", SampleLogFormat.VERSION));
+		}
+		buffer.compact();
+		while (input.read(buffer) != -1) {
+			buffer.flip();
+			this.processRecords(buffer);
+			buffer.compact();
+		}
+		if (this.calibration == null) {
+			this.finishCalibration();
+		}
+		this.transformPendingRecords(Long.MAX_VALUE);
+	}
+
+	/**
+	 * Handles all complete records in {@code buffer} and creates the events for all
+	 * samples that cannot be disturbed by pauses received later anymore.
+	 *
+	 * @param buffer Received records. Will be positioned after the last complete record
+	 *            afterwards.
+	 */
+	private void processRecords(final ByteBuffer buffer) {
+		while (buffer.remaining() >= SampleLogFormat.RECORD_SIZE) {
+			final int recordStart = buffer.position();
+			final int sectionId = buffer.getInt(recordStart + SampleLogFormat.SECTION_ID_OFFSET);
+			if (this.calibration == null) {
+				if (sectionId < 0) {
+					this.calibrationRecords.write(buffer.array(), buffer.arrayOffset() + recordStart,
+						SampleLogFormat.RECORD_SIZE);
+				} else {
+					// The calibration records precede all other records.
+					this.finishCalibration();
+				}
+			}
+			SampleLogResultProcessor.addIfGcPause(buffer, recordStart, this.gcPauses);
+			if (sectionId >= 0 && this.resourceDemandIdentifier.getSectionFor(sectionId) != null) {
+				this.latestStopTime = Math.max(this.latestStopTime,
+					buffer.getLong(recordStart + SampleLogFormat.START_TIME_OFFSET)
+						+ buffer.getLong(recordStart + SampleLogFormat.DURATION_OFFSET));
+				this.addPendingRecord(buffer, recordStart);
+			}
+			buffer.position(recordStart + SampleLogFormat.RECORD_SIZE);
+		}
+		this.transformPendingRecords(this.latestStopTime - GC_PAUSE_DELAY);
+	}
+
+	/**
+	 * Holds a record back until the pauses disturbing it were received.
+	 *
+	 * @param buffer Received records.
+	 * @param recordStart The index of the record’s first byte in {@code buffer}.
+	 */
+	private void addPendingRecord(final ByteBuffer buffer, final int recordStart) {
+		if (this.pendingRecords.remaining() < SampleLogFormat.RECORD_SIZE) {
+			this.pendingRecords.flip();
+			this.pendingRecords = ByteBuffer.allocate(this.pendingRecords.capacity() * 2)
+				.order(SampleLogFormat.BYTE_ORDER)
+				.put(this.pendingRecords);
+		}
+		this.pendingRecords.put(buffer.array(), buffer.arrayOffset() + recordStart, SampleLogFormat.RECORD_SIZE);
+	}
+
+	/**
+	 * Creates the events for the pending records of samples completed before
+	 * {@code stopTimeLimit}, in the order they were received in. Stops at the first
+	 * record completed later.
+	 *
+	 * @param stopTimeLimit The time in the measured software samples must have been
+	 *            completed before to be transformed.
+	 */
+	private void transformPendingRecords(final long stopTimeLimit) {
+		this.pendingRecords.flip();
+		while (this.pendingRecords.hasRemaining()) {
+			final int recordStart = this.pendingRecords.position();
+			final long stopTime = this.pendingRecords.getLong(recordStart + SampleLogFormat.START_TIME_OFFSET)
+				+ this.pendingRecords.getLong(recordStart + SampleLogFormat.DURATION_OFFSET);
+			if (stopTime >= stopTimeLimit) {
+				break;
+			}
+			final CodeSection recordedSection = this.resourceDemandIdentifier
+				.getSectionFor(this.pendingRecords.getInt(recordStart + SampleLogFormat.SECTION_ID_OFFSET));
+			SampleLogResultProcessor.processRecord(this.pendingRecords, recordStart, recordedSection, this.calibration,
+				this.gcPauses, this.receivedEvents::add);
+			this.pendingRecords.position(recordStart + SampleLogFormat.RECORD_SIZE);
+		}
+		this.pendingRecords.compact();
+	}
+
+	/**
+	 * Determines the calibration from the calibration records received so far.
+	 */
+	private void finishCalibration() {
+		final byte[] records = this.calibrationRecords.toByteArray();
+		this.calibrationRecords = null;
+		this.calibration = SampleLogResultProcessor.readCalibration(
+			ByteBuffer.wrap(records).order(SampleLogFormat.BYTE_ORDER), records.length / SampleLogFormat.RECORD_SIZE);
+	}
+
+	/**
+	 * Stops receiving by closing the sockets. Samples that were not received yet are
+	 * lost.
+	 */
+	private void abort() {
+		this.aborted = true;
+		try {
+			this.server.close();
+			if (this.connection != null) {
+				this.connection.close();
+			}
+		} catch (final IOException closeError) {
+			// Nothing is received anymore, which is all we wanted.
+		}
+	}
+}
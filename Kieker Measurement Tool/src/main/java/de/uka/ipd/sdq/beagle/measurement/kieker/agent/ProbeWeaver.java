@@ -0,0 +1,476 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker.agent;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LdcInsnNode;
+import org.objectweb.asm.tree.LineNumberNode;
+import org.objectweb.asm.tree.LookupSwitchInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.TableSwitchInsnNode;
+
+import java.lang.instrument.ClassFileTransformer;
+import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Set;
+
+/**
+ * Weaves calls to the {@code MeasurementCentral} probes into classes while they are
+ * loaded, as described by a {@link WeavingPlan}. The byte code is mapped to the sections
+ * through the classes’ line number tables, so the classes must have been compiled with
+ * line numbers.
+ *
+ * <p>A section is woven into the methods containing code of its start line. The section
+ * covers the instructions from the first instruction of a line in the section to the
+ * last one. The start probe is called when these instructions are entered from outside.
+ * Jumps within them do not call it again. The stop probe is called before the section is
+ * left: before returning, before throwing, when jumping to the code following the
+ * section and before unconditional jumps to anywhere else. Leaving a section through a
+ * conditional jump to somewhere else than the code following it or through an exception
+ * is not detected. Such executions are not measured: The stop probe gets the section’s
+ * identifier, so they are discarded once an enclosing section is left. Sections are thus
+ * only measured at line granularity and should start and end at line boundaries.
+ *
+ * @author Joshua Gleitze
+ */
+final class ProbeWeaver implements ClassFileTransformer {
+
+	/**
+	 * Internal name prefix of Beagle’s measurement classes. They are never woven.
+	 */
+	private static final String MEASUREMENT_PACKAGE = "de/uka/ipd/sdq/beagle/measurement/kieker/";
+
+	/**
+	 * Internal name of the class providing the probes.
+	 */
+	private static final String MEASUREMENT_CENTRAL = MEASUREMENT_PACKAGE + "remote/MeasurementCentral";
+
+	/**
+	 * Name of the probe called when entering a section.
+	 */
+	private static final String START_PROBE = "startResourceDemand";
+
+	/**
+	 * Descriptor of {@link #START_PROBE}.
+	 */
+	private static final String START_PROBE_DESCRIPTOR = "(I)V";
+
+	/**
+	 * Name of the probe called when leaving a section.
+	 */
+	private static final String STOP_PROBE = "stopResourceDemand";
+
+	/**
+	 * Descriptor of {@link #STOP_PROBE}.
+	 */
+	private static final String STOP_PROBE_DESCRIPTOR = "(I)V";
+
+	/**
+	 * Name prefix of the methods the compiler generates for lambda expressions.
+	 */
+	private static final String LAMBDA_METHOD_PREFIX = "lambda$";
+
+	/**
+	 * Internal name of {@link Object}.
+	 */
+	private static final String OBJECT = "java/lang/Object";
+
+	/**
+	 * What to weave.
+	 */
+	private final WeavingPlan plan;
+
+	/**
+	 * Creates a weaver.
+	 *
+	 * @param plan What to weave.
+	 */
+	ProbeWeaver(final WeavingPlan plan) {
+		this.plan = plan;
+	}
+
+	@Override
+	public byte[] transform(final ClassLoader loader, final String className, final Class<?> classBeingRedefined,
+		final ProtectionDomain protectionDomain, final byte[] classfileBuffer) {
+		if (className == null || className.startsWith(MEASUREMENT_PACKAGE)) {
+			return null;
+		}
+		final String packagePrefix = className.substring(0, className.lastIndexOf('/') + 1);
+		if (!this.plan.hasSectionsIn(packagePrefix)) {
+			return null;
+		}
+
+		final ClassNode classNode = new ClassNode();
+		new ClassReader(classfileBuffer).accept(classNode, ClassReader.SKIP_FRAMES);
+		if (classNode.sourceFile == null) {
+			return null;
+		}
+		final List<WovenSection> sections = new ArrayList<>(this.plan.getSectionsIn(packagePrefix + classNode.sourceFile));
+		// Nested sections must be woven first. The probes of enclosing sections are then
+		// placed around theirs.
+		sections.sort(Comparator.comparingInt((section) -> section.getEndLine() - section.getStartLine()));
+		boolean woven = false;
+		for (final WovenSection section : sections) {
+			for (final MethodNode method : this.getMethodsStarting(classNode, section)) {
+				this.weave(method, section);
+				woven = true;
+			}
+		}
+		if (!woven) {
+			return null;
+		}
+
+		final ClassWriter writer = new LoaderAwareClassWriter(loader);
+		classNode.accept(writer);
+		return writer.toByteArray();
+	}
+
+	/**
+	 * Finds the methods containing code of the line {@code section} starts in. Methods
+	 * generated for lambda expressions are only returned if no other method contains
+	 * code of that line.
+	 *
+	 * @param classNode The class to search.
+	 * @param section A section to weave.
+	 * @return The methods to weave {@code section} into.
+	 */
+	private List<MethodNode> getMethodsStarting(final ClassNode classNode, final WovenSection section) {
+		final List<MethodNode> methods = new ArrayList<>();
+		final List<MethodNode> lambdas = new ArrayList<>();
+		for (final MethodNode method : classNode.methods) {
+			if (this.containsLine(method, section.getStartLine())) {
+				if (method.name.startsWith(LAMBDA_METHOD_PREFIX)) {
+					lambdas.add(method);
+				} else {
+					methods.add(method);
+				}
+			}
+		}
+		return methods.isEmpty() ? lambdas : methods;
+	}
+
+	/**
+	 * Checks whether {@code method} contains code of {@code line}.
+	 *
+	 * @param method A method.
+	 * @param line A line of the method’s source file.
+	 * @return {@code true} if the method’s line number table mentions {@code line}.
+	 */
+	private boolean containsLine(final MethodNode method, final int line) {
+		for (final ListIterator<AbstractInsnNode> nodes = method.instructions.iterator(); nodes.hasNext();) {
+			final AbstractInsnNode node = nodes.next();
+			if (node instanceof LineNumberNode && ((LineNumberNode) node).line == line) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Weaves the probes for {@code section} into {@code method}.
+	 *
+	 * @param method A method containing code of the section’s start line.
+	 * @param section The section to weave.
+	 */
+	private void weave(final MethodNode method, final WovenSection section) {
+		final InsnList instructions = method.instructions;
+		LineNumberNode firstLine = null;
+		LineNumberNode lastLine = null;
+		for (final ListIterator<AbstractInsnNode> nodes = instructions.iterator(); nodes.hasNext();) {
+			final AbstractInsnNode node = nodes.next();
+			if (node instanceof LineNumberNode && section.contains(((LineNumberNode) node).line)) {
+				firstLine = firstLine == null ? (LineNumberNode) node : firstLine;
+				lastLine = (LineNumberNode) node;
+			}
+		}
+		final SectionCode code = new SectionCode(instructions, firstLine, lastLine);
+		final List<AbstractInsnNode> leavingInstructions = code.redirectJumps();
+
+		final InsnList start = new InsnList();
+		start.add(new LdcInsnNode(section.getSectionId()));
+		start.add(new MethodInsnNode(Opcodes.INVOKESTATIC, MEASUREMENT_CENTRAL, START_PROBE, START_PROBE_DESCRIPTOR,
+			false));
+		start.add(code.reentry);
+		instructions.insert(firstLine, start);
+		for (final AbstractInsnNode leavingInstruction : leavingInstructions) {
+			instructions.insertBefore(leavingInstruction, createStopProbe(section));
+		}
+		if (code.end != null) {
+			final InsnList stop = new InsnList();
+			stop.add(code.exit);
+			stop.add(createStopProbe(section));
+			instructions.insertBefore(code.end, stop);
+		}
+	}
+
+	/**
+	 * Finds the line number entry following {@code line}.
+	 *
+	 * @param line A line number entry.
+	 * @return The next line number entry of the method. {@code null} if there is none.
+	 */
+	private static LineNumberNode nextLine(final LineNumberNode line) {
+		for (AbstractInsnNode node = line.getNext(); node != null; node = node.getNext()) {
+			if (node instanceof LineNumberNode) {
+				return (LineNumberNode) node;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Finds the first of the pseudo instructions (labels, line numbers and frames)
+	 * directly preceding {@code node}. They all belong to the same byte code offset.
+	 *
+	 * @param node A pseudo instruction.
+	 * @return The first node of the pseudo instructions {@code node} is part of.
+	 */
+	private static AbstractInsnNode firstOfPseudoInstructions(final AbstractInsnNode node) {
+		AbstractInsnNode first = node;
+		while (first.getPrevious() != null && first.getPrevious().getOpcode() == -1) {
+			first = first.getPrevious();
+		}
+		return first;
+	}
+
+	/**
+	 * Collects the labels of the byte code offset of {@code node}.
+	 *
+	 * @param node A pseudo instruction.
+	 * @return All labels among the pseudo instructions {@code node} is part of.
+	 */
+	private static Set<LabelNode> labelsAround(final AbstractInsnNode node) {
+		final Set<LabelNode> labels = new HashSet<>();
+		for (AbstractInsnNode pseudo = firstOfPseudoInstructions(node); pseudo != null
+			&& pseudo.getOpcode() == -1; pseudo = pseudo.getNext()) {
+			if (pseudo instanceof LabelNode) {
+				labels.add((LabelNode) pseudo);
+			}
+		}
+		return labels;
+	}
+
+	/**
+	 * Checks whether an instruction leaves its method.
+	 *
+	 * @param opcode An instruction’s opcode.
+	 * @return {@code true} for return instructions and {@code athrow}.
+	 */
+	private static boolean isReturnOrThrow(final int opcode) {
+		return opcode >= Opcodes.IRETURN && opcode <= Opcodes.RETURN || opcode == Opcodes.ATHROW;
+	}
+
+	/**
+	 * Creates a call to the stop probe.
+	 *
+	 * @param section The section left through the call.
+	 * @return The call, passing the section’s identifier.
+	 */
+	private static InsnList createStopProbe(final WovenSection section) {
+		final InsnList stop = new InsnList();
+		stop.add(new LdcInsnNode(section.getSectionId()));
+		stop.add(new MethodInsnNode(Opcodes.INVOKESTATIC, MEASUREMENT_CENTRAL, STOP_PROBE, STOP_PROBE_DESCRIPTOR,
+			false));
+		return stop;
+	}
+
+	/**
+	 * The instructions of a section in a method, determined before the section’s probes
+	 * are woven.
+	 *
+	 * @author Joshua Gleitze
+	 */
+	private static final class SectionCode {
+
+		/**
+		 * The method’s instructions.
+		 */
+		private final InsnList instructions;
+
+		/**
+		 * The section’s first node.
+		 */
+		private final AbstractInsnNode start;
+
+		/**
+		 * The first node after the section. {@code null} if the section reaches until the
+		 * method’s end.
+		 */
+		private final AbstractInsnNode end;
+
+		/**
+		 * Index of {@link #start}.
+		 */
+		private final int startIndex;
+
+		/**
+		 * Index of {@link #end}.
+		 */
+		private final int endIndex;
+
+		/**
+		 * The labels of the section’s start.
+		 */
+		private final Set<LabelNode> entryLabels;
+
+		/**
+		 * The labels of the code following the section.
+		 */
+		private final Set<LabelNode> exitLabels;
+
+		/**
+		 * The label after the start probe. Jumps from within the section back to its
+		 * start go there.
+		 */
+		private final LabelNode reentry = new LabelNode();
+
+		/**
+		 * The label before the stop probe at the section’s end. Jumps from within the
+		 * section to the code following it go there.
+		 */
+		private final LabelNode exit = new LabelNode();
+
+		/**
+		 * Determines a section’s code.
+		 *
+		 * @param instructions The method’s instructions.
+		 * @param firstLine The first line number entry of a line in the section.
+		 * @param lastLine The last line number entry of a line in the section.
+		 */
+		private SectionCode(final InsnList instructions, final LineNumberNode firstLine,
+			final LineNumberNode lastLine) {
+			final LineNumberNode followingLine = nextLine(lastLine);
+			this.instructions = instructions;
+			this.start = firstOfPseudoInstructions(firstLine);
+			this.end = followingLine == null ? null : firstOfPseudoInstructions(followingLine);
+			this.startIndex = instructions.indexOf(this.start);
+			this.endIndex = this.end == null ? instructions.size() : instructions.indexOf(this.end);
+			this.entryLabels = labelsAround(firstLine);
+			this.exitLabels = followingLine == null ? new HashSet<>() : labelsAround(followingLine);
+		}
+
+		/**
+		 * Redirects the section’s jumps to its start or the code following it and finds
+		 * the other instructions leaving the section.
+		 *
+		 * @return The instructions the stop probe must be called before: returns, throws
+		 *         and unconditional jumps out of the section that do not go to the code
+		 *         following it.
+		 */
+		private List<AbstractInsnNode> redirectJumps() {
+			final List<AbstractInsnNode> leavingInstructions = new ArrayList<>();
+			for (AbstractInsnNode node = this.start; node != this.end; node = node.getNext()) {
+				if (node instanceof JumpInsnNode) {
+					final JumpInsnNode jump = (JumpInsnNode) node;
+					final LabelNode target = jump.label;
+					jump.label = this.retarget(target);
+					if (jump.label == target && jump.getOpcode() == Opcodes.GOTO && !this.contains(target)) {
+						leavingInstructions.add(jump);
+					}
+				} else if (node instanceof TableSwitchInsnNode) {
+					final TableSwitchInsnNode tableSwitch = (TableSwitchInsnNode) node;
+					tableSwitch.dflt = this.retarget(tableSwitch.dflt);
+					tableSwitch.labels.replaceAll(this::retarget);
+				} else if (node instanceof LookupSwitchInsnNode) {
+					final LookupSwitchInsnNode lookupSwitch = (LookupSwitchInsnNode) node;
+					lookupSwitch.dflt = this.retarget(lookupSwitch.dflt);
+					lookupSwitch.labels.replaceAll(this::retarget);
+				} else if (isReturnOrThrow(node.getOpcode())) {
+					leavingInstructions.add(node);
+				}
+			}
+			return leavingInstructions;
+		}
+
+		/**
+		 * Redirects a jump target of a jump within the section. Jumps back to the
+		 * section’s start must not call the start probe again. Jumps to the code following
+		 * the section must call the stop probe.
+		 *
+		 * @param target The jump’s target.
+		 * @return The target the jump must use.
+		 */
+		private LabelNode retarget(final LabelNode target) {
+			if (this.entryLabels.contains(target)) {
+				return this.reentry;
+			}
+			if (this.exitLabels.contains(target)) {
+				return this.exit;
+			}
+			return target;
+		}
+
+		/**
+		 * Checks whether {@code label} is within the section. May only be called for
+		 * labels that were in the method before weaving started.
+		 *
+		 * @param label A label of the method.
+		 * @return {@code true} if {@code label} is within the section.
+		 */
+		private boolean contains(final LabelNode label) {
+			final int index = this.instructions.indexOf(label);
+			return this.startIndex <= index && index < this.endIndex;
+		}
+	}
+
+	/**
+	 * A class writer computing stack map frames by loading the involved classes through
+	 * the class loader of the woven class.
+	 *
+	 * @author Joshua Gleitze
+	 */
+	private static final class LoaderAwareClassWriter extends ClassWriter {
+
+		/**
+		 * The class loader loading the woven class. {@code null} for the bootstrap class
+		 * loader.
+		 */
+		private final ClassLoader loader;
+
+		/**
+		 * Creates a writer.
+		 *
+		 * @param loader The class loader loading the woven class.
+		 */
+		private LoaderAwareClassWriter(final ClassLoader loader) {
+			super(ClassWriter.COMPUTE_FRAMES);
+			this.loader = loader;
+		}
+
+		@Override
+		protected String getCommonSuperClass(final String firstType, final String secondType) {
+			Class<?> first;
+			final Class<?> second;
+			try {
+				first = Class.forName(firstType.replace('/', '.'), false, this.loader);
+				second = Class.forName(secondType.replace('/', '.'), false, this.loader);
+			} catch (final ClassNotFoundException | LinkageError unloadable) {
+				// The verifier will find out whether this was right.
+				return OBJECT;
+			}
+			if (first.isAssignableFrom(second)) {
+				return firstType;
+			}
+			if (second.isAssignableFrom(first)) {
+				return secondType;
+			}
+			if (first.isInterface() || second.isInterface()) {
+				return OBJECT;
+			}
+			do {
+				first = first.getSuperclass();
+			} while (!first.isAssignableFrom(second));
+			return first.getName().replace('.', '/');
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker.agent;
+
+import java.io.IOException;
+import java.lang.instrument.Instrumentation;
+import java.nio.file.Paths;
+
+/**
+ * The Java agent weaving the measurement probes into the measured software. It is
+ * started through the {@code -javaagent} JVM argument. The agent argument is the path to
+ * the {@linkplain WeavingPlan weaving plan file}.
+ *
+ * <p>If the plan cannot be read, the agent reports the problem on the standard error
+ * stream and weaves nothing. The measured software runs unmeasured.
+ *
+ * @author Joshua Gleitze
+ */
+public final class ProbeWeavingAgent {
+
+	/**
+	 * Only the static entry point is used.
+	 */
+	private ProbeWeavingAgent() {
+	}
+
+	/**
+	 * Registers the {@link ProbeWeaver} before the measured software’s main method is
+	 * called.
+	 *
+	 * @param agentArgument The path to the weaving plan file.
+	 * @param instrumentation The JVM’s instrumentation facility.
+	 */
+	public static void premain(final String agentArgument, final Instrumentation instrumentation) {
+		if (agentArgument == null) {
+			System.err.println("Beagle: The probe weaving agent was started without a weaving plan.");
+			return;
+		}
+		final WeavingPlan plan;
+		try {
+			plan = WeavingPlan.readFrom(Paths.get(agentArgument));
+		} catch (final IOException ioError) {
+			System.err.printf("Beagle: Cannot read the weaving plan %s: %s%n", agentArgument, ioError);
+			return;
+		}
+		if (!plan.isEmpty()) {
+			instrumentation.addTransformer(new ProbeWeaver(plan));
+		}
+	}
+}
@@ -0,0 +1,162 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker.agent;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Describes which code sections the {@link ProbeWeavingAgent} weaves into which classes.
+ * Sections are described by their source file and the lines they span in it. Source
+ * files are identified by their path relative to the source folder, like
+ * {@code de/uka/Example.java}. A class belongs to a source file if its package and its
+ * {@code SourceFile} attribute match the file.
+ *
+ * <p>The plan is created by Beagle and passed to the measured software in a file. Each
+ * line of the file describes one section: its identifier, start line, end line and
+ * source file, separated by tabs.
+ *
+ * @author Joshua Gleitze
+ */
+public final class WeavingPlan {
+
+	/**
+	 * Separates the fields of a section in the plan file.
+	 */
+	private static final String FIELD_SEPARATOR = "\t";
+
+	/**
+	 * How many fields describe a section in the plan file.
+	 */
+	private static final int FIELD_COUNT = 4;
+
+	/**
+	 * Index of the source file’s field in the plan file.
+	 */
+	private static final int SOURCE_FILE_FIELD = 3;
+
+	/**
+	 * The sections to weave, by the source file they are in.
+	 */
+	private final Map<String, List<WovenSection>> sectionsBySourceFile = new HashMap<>();
+
+	/**
+	 * The packages containing sections to weave, as internal name prefixes, like
+	 * {@code de/uka/}.
+	 */
+	private final Set<String> packages = new HashSet<>();
+
+	/**
+	 * Adds a section to weave.
+	 *
+	 * @param sectionId The identifier to report to the probes.
+	 * @param sourceFile The path of the section’s source file, relative to the source
+	 *            folder and separated by {@code /}. Must not be {@code null}.
+	 * @param startLine The line the section’s first statement starts in. Counting starts
+	 *            at {@code 1}.
+	 * @param endLine The line the section’s last statement ends in. Must not be smaller
+	 *            than {@code startLine}.
+	 * @return {@code this}.
+	 */
+	public WeavingPlan add(final int sectionId, final String sourceFile, final int startLine, final int endLine) {
+		if (sourceFile == null) {
+			throw new IllegalArgumentException("The source file must not be null.");
+		}
+		final WovenSection section = new WovenSection(sectionId, startLine, endLine);
+		List<WovenSection> fileSections = this.sectionsBySourceFile.get(sourceFile);
+		if (fileSections == null) {
+			fileSections = new ArrayList<>();
+			this.sectionsBySourceFile.put(sourceFile, fileSections);
+		}
+		fileSections.add(section);
+		this.packages.add(sourceFile.substring(0, sourceFile.lastIndexOf('/') + 1));
+		return this;
+	}
+
+	/**
+	 * Reads a plan from a plan file.
+	 *
+	 * @param planFile A file written through {@link #writeTo(Path)}.
+	 * @return The plan described by {@code planFile}.
+	 * @throws IOException If reading fails or {@code planFile} is not a plan file.
+	 */
+	public static WeavingPlan readFrom(final Path planFile) throws IOException {
+		final WeavingPlan plan = new WeavingPlan();
+		try (BufferedReader reader = Files.newBufferedReader(planFile, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				final String[] fields = line.split(FIELD_SEPARATOR, FIELD_COUNT);
+				if (fields.length != FIELD_COUNT) {
+					throw new IOException(String.format("“%s” in %s does not describe a section.", line, planFile));
+				}
+				try {
+					plan.add(Integer.parseInt(fields[0]), fields[SOURCE_FILE_FIELD], Integer.parseInt(fields[1]),
+						Integer.parseInt(fields[2]));
+				} catch (final IllegalArgumentException invalidSection) {
+					throw new IOException(String.format("“%s” in %s does not describe a section.", line, planFile),
+						invalidSection);
+				}
+			}
+		}
+		return plan;
+	}
+
+	/**
+	 * Writes this plan to a plan file.
+	 *
+	 * @param planFile The file to write to. Will be replaced if it exists.
+	 * @throws IOException If writing fails.
+	 */
+	public void writeTo(final Path planFile) throws IOException {
+		try (BufferedWriter writer = Files.newBufferedWriter(planFile, StandardCharsets.UTF_8)) {
+			for (final Map.Entry<String, List<WovenSection>> fileSections : this.sectionsBySourceFile.entrySet()) {
+				for (final WovenSection section : fileSections.getValue()) {
+					writer.write(String.join(FIELD_SEPARATOR, String.valueOf(section.getSectionId()),
+						String.valueOf(section.getStartLine()), String.valueOf(section.getEndLine()),
+						fileSections.getKey()));
+					writer.newLine();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Queries whether the plan contains no sections.
+	 *
+	 * @return {@code true} if nothing is to be woven.
+	 */
+	public boolean isEmpty() {
+		return this.sectionsBySourceFile.isEmpty();
+	}
+
+	/**
+	 * Checks whether sections are to be woven into classes of a package.
+	 *
+	 * @param packagePrefix The package as internal name prefix, like {@code de/uka/}.
+	 * @return {@code true} if any section’s source file is in the package.
+	 */
+	boolean hasSectionsIn(final String packagePrefix) {
+		return this.packages.contains(packagePrefix);
+	}
+
+	/**
+	 * Queries the sections in a source file.
+	 *
+	 * @param sourceFile The path of a source file, relative to the source folder.
+	 * @return The sections to weave into classes of {@code sourceFile}. Will never be
+	 *         {@code null}.
+	 */
+	List<WovenSection> getSectionsIn(final String sourceFile) {
+		final List<WovenSection> fileSections = this.sectionsBySourceFile.get(sourceFile);
+		return fileSections == null ? Collections.emptyList() : fileSections;
+	}
+}
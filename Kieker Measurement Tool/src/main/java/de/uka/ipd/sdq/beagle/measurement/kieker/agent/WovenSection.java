@@ -0,0 +1,80 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker.agent;
+
+/**
+ * A resource demanding code section that is to be woven into the byte code, described by
+ * the lines of its source file it spans.
+ *
+ * @author Joshua Gleitze
+ */
+final class WovenSection {
+
+	/**
+	 * The section’s identifier, reported to the probes.
+	 */
+	private final int sectionId;
+
+	/**
+	 * The line the section’s first statement starts in. Counting starts at {@code 1}.
+	 */
+	private final int startLine;
+
+	/**
+	 * The line the section’s last statement ends in. Counting starts at {@code 1}.
+	 */
+	private final int endLine;
+
+	/**
+	 * Creates a section description.
+	 *
+	 * @param sectionId The section’s identifier.
+	 * @param startLine The line the section’s first statement starts in. Must be positive.
+	 * @param endLine The line the section’s last statement ends in. Must not be smaller
+	 *            than {@code startLine}.
+	 */
+	WovenSection(final int sectionId, final int startLine, final int endLine) {
+		if (startLine < 1 || endLine < startLine) {
+			throw new IllegalArgumentException(String.format("%d–%d is no valid line range.", startLine, endLine));
+		}
+		this.sectionId = sectionId;
+		this.startLine = startLine;
+		this.endLine = endLine;
+	}
+
+	/**
+	 * Queries the section’s identifier.
+	 *
+	 * @return The identifier to report to the probes.
+	 */
+	int getSectionId() {
+		return this.sectionId;
+	}
+
+	/**
+	 * Queries the line the section starts in.
+	 *
+	 * @return The line the section’s first statement starts in.
+	 */
+	int getStartLine() {
+		return this.startLine;
+	}
+
+	/**
+	 * Queries the line the section ends in.
+	 *
+	 * @return The line the section’s last statement ends in.
+	 */
+	int getEndLine() {
+		return this.endLine;
+	}
+
+	/**
+	 * Checks whether {@code line} belongs to this section.
+	 *
+	 * @param line A line of the section’s source file.
+	 * @return {@code true} if {@code line} lies between the section’s start and end line,
+	 *         both inclusive.
+	 */
+	boolean contains(final int line) {
+		return this.startLine <= line && line <= this.endLine;
+	}
+}
@@ -0,0 +1,5 @@
+/**
+ * A Java agent weaving the measurement probes into the measured software’s byte code
+ * while its classes are loaded.
+ */
+package de.uka.ipd.sdq.beagle.measurement.kieker.agent;
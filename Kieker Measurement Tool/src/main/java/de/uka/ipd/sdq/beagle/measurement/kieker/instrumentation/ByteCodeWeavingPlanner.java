@@ -0,0 +1,174 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker.instrumentation;
+
+import de.uka.ipd.sdq.beagle.core.CodeSection;
+import de.uka.ipd.sdq.beagle.core.failurehandling.FailureHandler;
+import de.uka.ipd.sdq.beagle.core.failurehandling.FailureReport;
+import de.uka.ipd.sdq.beagle.measurement.kieker.agent.WeavingPlan;
+
+import org.apache.commons.lang3.Validate;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.NodeFinder;
+import org.eclipse.jdt.core.dom.PackageDeclaration;
+import org.eclipse.jdt.core.dom.Statement;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Plans weaving the measurement probes into the measured software’s byte code instead of
+ * instrumenting its source code. Code sections are translated into the lines of their
+ * source file they span: from the line the first statement starts in to the line the
+ * last statement ends in. The source files are parsed for this, but neither modified nor
+ * compiled.
+ *
+ * <p>Code sections starting and ending in different files cannot be woven and are
+ * ignored.
+ *
+ * @author Joshua Gleitze
+ * @see WeavingPlan
+ */
+public class ByteCodeWeavingPlanner {
+
+	/**
+	 * Handler of failures.
+	 */
+	private static final FailureHandler FAILURE_HANDLER = FailureHandler.getHandler("Byte code weaving planner");
+
+	/**
+	 * The sections to weave and their identifiers, by the source file they are in.
+	 */
+	private final Map<Path, Map<CodeSection, Integer>> toWeave = new HashMap<>();
+
+	/**
+	 * The charset to read source code with.
+	 */
+	private Charset charset = Charset.defaultCharset();
+
+	/**
+	 * Makes the planner read source code with {@code charset}. It defaults to
+	 * {@link Charset#defaultCharset()} if no charset was set.
+	 *
+	 * @param ioCharset The source code’s charset. Must not be {@code null}.
+	 * @return {@code this}.
+	 */
+	public ByteCodeWeavingPlanner useCharset(final Charset ioCharset) {
+		Validate.notNull(ioCharset);
+		this.charset = ioCharset;
+		return this;
+	}
+
+	/**
+	 * Makes the planner plan to weave {@code codeSections}.
+	 *
+	 * @param codeSections The sections to weave. Must not be {@code null}.
+	 * @param identifier Provides the identifier each section shall be reported to the
+	 *            probes with. Must not be {@code null}.
+	 * @return {@code this}.
+	 */
+	public ByteCodeWeavingPlanner weave(final Collection<CodeSection> codeSections,
+		final ToIntFunction<CodeSection> identifier) {
+		Validate.noNullElements(codeSections);
+		Validate.notNull(identifier);
+		for (final CodeSection codeSection : codeSections) {
+			if (codeSection.getStartFile().equals(codeSection.getEndFile())) {
+				this.toWeave.computeIfAbsent(codeSection.getStartFile().toPath(), (file) -> new HashMap<>())
+					.put(codeSection, identifier.applyAsInt(codeSection));
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Creates the weaving plan for all sections passed to
+	 * {@link #weave(Collection, ToIntFunction)}.
+	 *
+	 * @return The weaving plan. Will never be {@code null}.
+	 */
+	public WeavingPlan createPlan() {
+		final WeavingPlan plan = new WeavingPlan();
+		this.planFiles(this.toWeave.keySet(), plan);
+		return plan;
+	}
+
+	/**
+	 * Adds the sections in {@code sourceFiles} to {@code plan}. Reports all files that
+	 * could not be read at once.
+	 *
+	 * @param sourceFiles Source files containing sections to weave.
+	 * @param plan The plan to add to.
+	 */
+	private void planFiles(final Collection<Path> sourceFiles, final WeavingPlan plan) {
+		final Map<Path, IOException> readFailures = new HashMap<>();
+		for (final Path sourceFile : sourceFiles) {
+			try {
+				this.planFile(sourceFile, plan);
+			} catch (final IOException ioError) {
+				readFailures.put(sourceFile, ioError);
+			}
+		}
+
+		if (!readFailures.isEmpty()) {
+			final List<Path> failedFiles = new ArrayList<>(readFailures.keySet());
+			final FailureReport<Void> readFailure = new FailureReport<Void>()
+				.message("Could not read %d of %d source file%s to plan the weaving.", readFailures.size(),
+					sourceFiles.size(), sourceFiles.size() == 1 ? "" : "s")
+				.recoverable()
+				.retryWith(() -> this.planFiles(failedFiles, plan));
+			for (final Map.Entry<Path, IOException> failure : readFailures.entrySet()) {
+				readFailure.details("%s: %s\n", failure.getKey(), failure.getValue().getMessage());
+			}
+			FAILURE_HANDLER.handle(readFailure);
+		}
+	}
+
+	/**
+	 * Adds the sections in {@code sourceFile} to {@code plan}.
+	 *
+	 * @param sourceFile A source file containing sections to weave.
+	 * @param plan The plan to add to.
+	 * @throws IOException If reading {@code sourceFile} fails.
+	 */
+	private void planFile(final Path sourceFile, final WeavingPlan plan) throws IOException {
+		final CompilationUnit compilationUnit = new EclipseAstBridge(sourceFile, this.charset).getAst();
+		final PackageDeclaration sourcePackage = compilationUnit.getPackage();
+		final String packagePath =
+			sourcePackage == null ? "" : sourcePackage.getName().getFullyQualifiedName().replace('.', '/') + "/";
+		final String sourceName = packagePath + sourceFile.getFileName();
+
+		for (final Map.Entry<CodeSection, Integer> section : this.toWeave.get(sourceFile).entrySet()) {
+			final int startLine = compilationUnit.getLineNumber(section.getKey().getStartSectionIndex());
+			final int endLine = compilationUnit.getLineNumber(getLastStatementEnd(compilationUnit, section.getKey()));
+			// getLineNumber returns negative values for positions outside the file.
+			if (startLine > 0 && endLine >= startLine) {
+				plan.add(section.getValue(), sourceName, startLine, endLine);
+			}
+		}
+	}
+
+	/**
+	 * Finds the position of the last character of a section’s last statement.
+	 *
+	 * @param compilationUnit The section’s source file.
+	 * @param codeSection A code section.
+	 * @return The position the section’s last statement ends at. The position its last
+	 *         statement starts at if there is no statement starting there.
+	 */
+	private static int getLastStatementEnd(final CompilationUnit compilationUnit, final CodeSection codeSection) {
+		final int lastStatementStart = codeSection.getEndSectionIndex();
+		ASTNode lastStatement = NodeFinder.perform(compilationUnit, lastStatementStart, 0);
+		while (lastStatement != null
+			&& !(lastStatement instanceof Statement && lastStatement.getStartPosition() == lastStatementStart)) {
+			lastStatement = lastStatement.getParent();
+		}
+		return lastStatement == null ? lastStatementStart
+			: lastStatement.getStartPosition() + lastStatement.getLength() - 1;
+	}
+}
@@ -0,0 +1,170 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker.instrumentation;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.Validate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Stores files on disk, addressed by a key derived from everything that influenced their
+ * content. Entries are never invalidated: if an input changes, so does its key. The
+ * cache can thus be shared by all measurements and survives the Beagle session that
+ * filled it.
+ *
+ * <p>An entry is a set of files, each identified by a path relative to the entry. An
+ * entry may be empty, recording that processing its input produced no files.
+ *
+ * <p>The cache is an optimisation only. Input/output errors while accessing it are not
+ * reported. They make the cache behave as if the entry did not exist. The cache may be
+ * accessed by multiple threads and multiple processes at the same time.
+ *
+ * @author Joshua Gleitze
+ */
+public class ContentAddressedFileCache {
+
+	/**
+	 * The algorithm used to derive keys.
+	 */
+	private static final String KEY_ALGORITHM = "SHA-256";
+
+	/**
+	 * Prefix of the folders entries are prepared in before they are made visible.
+	 */
+	private static final String PREPARATION_FOLDER_PREFIX = ".new-";
+
+	/**
+	 * The folder containing all entries.
+	 */
+	private final Path cacheFolder;
+
+	/**
+	 * Creates a cache storing its entries in {@code cacheFolder}. The folder is created if
+	 * it does not exist.
+	 *
+	 * @param cacheFolder The folder to store the entries in. Must not be {@code null}.
+	 */
+	public ContentAddressedFileCache(final Path cacheFolder) {
+		Validate.notNull(cacheFolder);
+		this.cacheFolder = cacheFolder.toAbsolutePath();
+	}
+
+	/**
+	 * Derives a key from {@code content} and the {@code parameters} it was or will be
+	 * processed with.
+	 *
+	 * @param content The input’s content. Must not be {@code null}.
+	 * @param parameters Everything else that influences the result of processing
+	 *            {@code content}, in a deterministic order. Must not be {@code null} and
+	 *            not contain {@code null} elements.
+	 * @return A key that is, with overwhelming probability, different for different
+	 *         inputs. Will never be {@code null}.
+	 */
+	public static String keyOf(final byte[] content, final List<String> parameters) {
+		Validate.notNull(content);
+		Validate.noNullElements(parameters);
+		final MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance(KEY_ALGORITHM);
+		} catch (final NoSuchAlgorithmException impossible) {
+			// Every Java platform is required to support SHA-256.
+			throw new IllegalStateException(impossible);
+		}
+		for (final String parameter : parameters) {
+			final byte[] parameterBytes = parameter.getBytes(StandardCharsets.UTF_8);
+			// prefixing the length keeps different splits of the same bytes apart.
+			digest.update(lengthOf(parameterBytes));
+			digest.update(parameterBytes);
+		}
+		digest.update(lengthOf(content));
+		digest.update(content);
+
+		final StringBuilder keyBuilder = new StringBuilder();
+		for (final byte hashByte : digest.digest()) {
+			keyBuilder.append(String.format("%02x", hashByte));
+		}
+		return keyBuilder.toString();
+	}
+
+	/**
+	 * Looks up the entry stored for {@code key}.
+	 *
+	 * @param key A key obtained through {@link #keyOf(byte[], List)}. Must not be
+	 *            {@code null}.
+	 * @return The files of the entry, mapped from their path relative to the entry to
+	 *         the cached file. The cached files must not be modified. {@code null} if
+	 *         there is no entry for {@code key}.
+	 */
+	public Map<Path, Path> lookUp(final String key) {
+		Validate.notNull(key);
+		final Path entryFolder = this.cacheFolder.resolve(key);
+		if (!Files.isDirectory(entryFolder)) {
+			return null;
+		}
+		try (Stream<Path> entryFiles = Files.walk(entryFolder)) {
+			return entryFiles.filter(Files::isRegularFile)
+				.collect(Collectors.toMap(entryFolder::relativize, (file) -> file));
+		} catch (final IOException ioError) {
+			return null;
+		}
+	}
+
+	/**
+	 * Stores an entry for {@code key}. Does nothing if there already is one.
+	 *
+	 * @param key A key obtained through {@link #keyOf(byte[], List)}. Must not be
+	 *            {@code null}.
+	 * @param files The files to store, mapped from their path relative to the entry to
+	 *            the file to copy into the cache. Must not be {@code null}. May be empty.
+	 */
+	public void store(final String key, final Map<Path, Path> files) {
+		Validate.notNull(key);
+		Validate.notNull(files);
+		final Path entryFolder = this.cacheFolder.resolve(key);
+		if (Files.isDirectory(entryFolder)) {
+			return;
+		}
+		Path preparationFolder = null;
+		try {
+			Files.createDirectories(this.cacheFolder);
+			// The entry is prepared in another folder and then moved in one step, so no
+			// one will ever see an incomplete entry.
+			preparationFolder = Files.createTempDirectory(this.cacheFolder, PREPARATION_FOLDER_PREFIX);
+			for (final Map.Entry<Path, Path> file : files.entrySet()) {
+				final Path cachedFile = preparationFolder.resolve(file.getKey());
+				Files.createDirectories(cachedFile.getParent());
+				Files.copy(file.getValue(), cachedFile);
+			}
+			Files.move(preparationFolder, entryFolder, StandardCopyOption.ATOMIC_MOVE);
+		} catch (final FileAlreadyExistsException concurrentlyStored) {
+			// someone else stored the entry in the meantime. That’s fine.
+		} catch (final IOException ioError) {
+			// The entry just won’t be available.
+		} finally {
+			if (preparationFolder != null) {
+				FileUtils.deleteQuietly(preparationFolder.toFile());
+			}
+		}
+	}
+
+	/**
+	 * Encodes the length of {@code bytes}.
+	 *
+	 * @param bytes An array.
+	 * @return {@code bytes.length}, big endian.
+	 */
+	private static byte[] lengthOf(final byte[] bytes) {
+		return ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array();
+	}
+}
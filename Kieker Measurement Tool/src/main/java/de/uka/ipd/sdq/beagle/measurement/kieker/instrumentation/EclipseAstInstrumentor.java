@@ -4,15 +4,19 @@ import de.uka.ipd.sdq.beagle.core.CodeSection;
 import de.uka.ipd.sdq.beagle.core.failurehandling.FailureHandler;
 import de.uka.ipd.sdq.beagle.core.failurehandling.FailureReport;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.Validate;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.Statement;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -28,6 +32,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * Instruments code sections using Eclipse’s JDT Abstract Syntax Tree. The instrumentor is
@@ -75,6 +80,11 @@ import java.util.concurrent.TimeUnit;
  *
  * </ul>
  *
+ * <p>If a {@linkplain #useCache cache} is set, the instrumentor looks up each source
+ * file in it before instrumenting the file. The cache is addressed by the file’s content
+ * and the statements that are to be inserted into it. Files that were instrumented the
+ * same way before are thus not parsed again.
+ *
  * <p>The result of the instrumentation is undefiend for a source file referenced by a
  * code section that is not a valid Java file defining a class.
  *
@@ -95,6 +105,11 @@ public class EclipseAstInstrumentor {
 	 */
 	private static final int MILLISECONDS_IN_A_MINUTE = 1000 * 60;
 
+	/**
+	 * The file extension of Java source code files.
+	 */
+	private static final String JAVA_FILE_EXTENSION = ".java";
+
 	/**
 	 * Stores what we need to instrument. For each file, we store the character positions
 	 * of the statements that shall be instrumented. For these statement, we store
@@ -112,6 +127,11 @@ public class EclipseAstInstrumentor {
 	 */
 	private Charset charset = Charset.defaultCharset();
 
+	/**
+	 * The cache for instrumentation results. {@code null} if no cache shall be used.
+	 */
+	private ContentAddressedFileCache cache;
+
 	/**
 	 * How long to wait for the whole instrumentation to finish, before aborting it.
 	 */
@@ -181,6 +201,19 @@ public class EclipseAstInstrumentor {
 		return this;
 	}
 
+	/**
+	 * Makes the instrumentor look up instrumentation results in {@code instrumentationCache}
+	 * and store its results there. No cache is used if none was set.
+	 *
+	 * @param instrumentationCache The cache to use. Must not be {@code null}.
+	 * @return {@code this}.
+	 */
+	public EclipseAstInstrumentor useCache(final ContentAddressedFileCache instrumentationCache) {
+		Validate.notNull(instrumentationCache);
+		this.cache = instrumentationCache;
+		return this;
+	}
+
 	/**
 	 * Executes the instrumentation based on the settings set on this instrumentor.
 	 */
@@ -300,6 +333,11 @@ public class EclipseAstInstrumentor {
 		// This method should have only been called if this is the case.
 		assert !statementInformation.isEmpty();
 
+		final String cacheKey = this.cache == null ? null : this.getCacheKey(sourceCodeFile, statementInformation);
+		if (cacheKey != null && this.restoreFromCache(cacheKey)) {
+			return null;
+		}
+
 		final EclipseAstBridge astIO = new EclipseAstBridge(sourceCodeFile, this.charset);
 		final CompilationUnit compilationUnit = astIO.getAst();
 
@@ -382,15 +420,77 @@ public class EclipseAstInstrumentor {
 			momentaryCharIndex = nextCharIndex;
 		} while (available.hasNext() && lookingFor != noMore);
 
+		final Map<Path, Path> results = new HashMap<>();
 		if (modified) {
 			final String fullyQualifedTypeName = astIO.getFullyQualifiedName();
 			final Path writeBackFile = this.fileProvider.getFileFor(fullyQualifedTypeName);
 			astIO.writeToFile(writeBackFile);
+			results.put(Paths.get(fullyQualifedTypeName.replace('.', File.separatorChar) + JAVA_FILE_EXTENSION),
+				writeBackFile);
+		}
+		if (cacheKey != null) {
+			this.cache.store(cacheKey, results);
 		}
 
 		return null;
 	}
 
+	/**
+	 * Derives the key of the instrumentation result for {@code sourceCodeFile} in the
+	 * {@linkplain #cache}. The key covers the file’s content and all statements that are
+	 * to be inserted, including their positions.
+	 *
+	 * @param sourceCodeFile The source code file to instrument.
+	 * @param statementInformation Information about what is to be instrumented.
+	 * @return The cache key.
+	 * @throws IOException If reading {@code sourceCodeFile} fails.
+	 */
+	private String getCacheKey(final Path sourceCodeFile,
+		final Map<Integer, InstrumentationInformation> statementInformation) throws IOException {
+		final List<String> parameters = new ArrayList<>();
+		parameters.add(this.charset.name());
+
+		final AST renderingAst = AST.newAST(AST.JLS8);
+		final List<Integer> positions = new ArrayList<>(statementInformation.keySet());
+		Collections.sort(positions);
+		for (final Integer position : positions) {
+			final InstrumentationInformation information = statementInformation.get(position);
+			parameters.add(position.toString());
+			parameters.add(information.getBeforeStatements(renderingAst)
+				.map(Statement::toString)
+				.collect(Collectors.joining()));
+			parameters.add(information.getAfterStatements(renderingAst)
+				.map(Statement::toString)
+				.collect(Collectors.joining()));
+		}
+		return ContentAddressedFileCache.keyOf(Files.readAllBytes(sourceCodeFile), parameters);
+	}
+
+	/**
+	 * Writes the instrumentation result cached for {@code cacheKey} to the files
+	 * appointed by the {@linkplain #fileProvider}.
+	 *
+	 * @param cacheKey The key of the instrumentation result.
+	 * @return {@code true} if there was a cached result. {@code false} if the file still
+	 *         needs to be instrumented.
+	 * @throws IOException If writing the cached result fails.
+	 */
+	private boolean restoreFromCache(final String cacheKey) throws IOException {
+		final Map<Path, Path> cachedResults = this.cache.lookUp(cacheKey);
+		if (cachedResults == null) {
+			return false;
+		}
+		for (final Entry<Path, Path> cachedResult : cachedResults.entrySet()) {
+			final String relativePath = cachedResult.getKey().toString();
+			final String fullyQualifiedTypeName = relativePath
+				.substring(0, relativePath.length() - JAVA_FILE_EXTENSION.length())
+				.replace(File.separatorChar, '.');
+			final Path writeBackFile = this.fileProvider.getFileFor(fullyQualifiedTypeName);
+			FileUtils.copyFile(cachedResult.getValue().toFile(), writeBackFile.toFile());
+		}
+		return true;
+	}
+
 	/**
 	 * Gets the instrumentation info for the given {@code character} in the given
 	 * {@code sourceCodeFile}. Create a new information object if none yet exists.
@@ -0,0 +1,150 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker.remote;
+
+import java.util.Arrays;
+
+/**
+ * The cost of the measurement probes on one clock in one run of the measured software,
+ * as calibrated by the measured software when it started. A measured duration includes
+ * a part of the cost of the section’s own probes and the whole cost of all probes nested
+ * in the section. The calibration allows to subtract both.
+ *
+ * <p>The probe overhead is the median duration of empty sections. The nested probe
+ * overhead is how much longer sections containing one empty section took, compared by
+ * their medians.
+ *
+ * <p>The calibration is used by Beagle to correct the samples read from sample logs and
+ * by the measured software to correct samples it {@linkplain SectionAggregator
+ * aggregates} itself.
+ *
+ * @author Joshua Gleitze
+ * @see SampleLogFormat#CALIBRATION_EMPTY_ID
+ * @see de.uka.ipd.sdq.beagle.measurement.kieker.ProbeCalibration
+ */
+public final class ClockCalibration {
+
+	/**
+	 * The calibration used if the measured software did not calibrate its probes. Nothing
+	 * is subtracted.
+	 */
+	public static final ClockCalibration NONE = new ClockCalibration(new long[0], new long[0]);
+
+	/**
+	 * Divisor to get the lower quartile’s position.
+	 */
+	private static final int QUARTER = 4;
+
+	/**
+	 * How many empty sections were measured.
+	 */
+	private final int emptySampleCount;
+
+	/**
+	 * How many sections containing one empty section were measured.
+	 */
+	private final int parentSampleCount;
+
+	/**
+	 * The median duration of empty sections, in nanoseconds.
+	 */
+	private final long probeOverhead;
+
+	/**
+	 * The lower quartile of the durations of empty sections, in nanoseconds.
+	 */
+	private final long probeOverheadLowerQuartile;
+
+	/**
+	 * The upper quartile of the durations of empty sections, in nanoseconds.
+	 */
+	private final long probeOverheadUpperQuartile;
+
+	/**
+	 * How much the median duration of sections containing one empty section exceeds
+	 * {@link #probeOverhead}, in nanoseconds.
+	 */
+	private final long nestedProbeOverhead;
+
+	/**
+	 * Creates a calibration from the calibration samples.
+	 *
+	 * @param emptyDurations The durations of empty sections, in nanoseconds. Must not be
+	 *            {@code null}. Will be sorted.
+	 * @param parentDurations The durations of sections containing one empty section, in
+	 *            nanoseconds. Must not be {@code null}. Will be sorted.
+	 */
+	public ClockCalibration(final long[] emptyDurations, final long[] parentDurations) {
+		if (emptyDurations == null || parentDurations == null) {
+			throw new IllegalArgumentException("The calibration durations must not be null.");
+		}
+		Arrays.sort(emptyDurations);
+		Arrays.sort(parentDurations);
+		this.emptySampleCount = emptyDurations.length;
+		this.parentSampleCount = parentDurations.length;
+		this.probeOverhead = quantile(emptyDurations, emptyDurations.length / 2);
+		this.probeOverheadLowerQuartile = quantile(emptyDurations, emptyDurations.length / QUARTER);
+		this.probeOverheadUpperQuartile = quantile(emptyDurations, emptyDurations.length * (QUARTER - 1) / QUARTER);
+		this.nestedProbeOverhead =
+			parentDurations.length == 0 ? 0 : Math.max(0, quantile(parentDurations, parentDurations.length / 2)
+				- this.probeOverhead);
+	}
+
+	/**
+	 * Queries how much of a measured duration is caused by the section’s own probes.
+	 *
+	 * @return The probe overhead in nanoseconds. Will never be negative.
+	 */
+	public long getProbeOverhead() {
+		return this.probeOverhead;
+	}
+
+	/**
+	 * Queries how much a measured duration is prolonged by each probe nested in the
+	 * section.
+	 *
+	 * @return The overhead of each nested probe in nanoseconds. Will never be negative.
+	 */
+	public long getNestedProbeOverhead() {
+		return this.nestedProbeOverhead;
+	}
+
+	/**
+	 * Queries how many samples of each kind of calibration section were taken.
+	 *
+	 * @return The number of samples the calibration is based on. {@code 0} for
+	 *         {@link #NONE}.
+	 */
+	public int getSampleCount() {
+		return Math.min(this.emptySampleCount, this.parentSampleCount);
+	}
+
+	/**
+	 * Subtracts the probes’ overhead from a measured duration.
+	 *
+	 * @param duration A measured duration, in nanoseconds.
+	 * @param nestedProbeCount How many probes were completed within the measured section.
+	 * @return The duration the section would have taken without any probes, in
+	 *         nanoseconds. Will never be negative.
+	 */
+	public long correct(final long duration, final int nestedProbeCount) {
+		return Math.max(0, duration - this.probeOverhead - nestedProbeCount * this.nestedProbeOverhead);
+	}
+
+	@Override
+	public String toString() {
+		return String.format(
+			"probe overhead: %d ns (quartiles %d ns, %d ns; %d samples)%nnested probe overhead: %d ns (%d samples)",
+			this.probeOverhead, this.probeOverheadLowerQuartile, this.probeOverheadUpperQuartile,
+			this.emptySampleCount, this.nestedProbeOverhead, this.parentSampleCount);
+	}
+
+	/**
+	 * Reads a value from sorted values.
+	 *
+	 * @param sortedValues Values in ascending order.
+	 * @param position The position of the requested value.
+	 * @return The value at {@code position}, or {@code 0} if there are no values.
+	 */
+	private static long quantile(final long[] sortedValues, final int position) {
+		return sortedValues.length == 0 ? 0 : sortedValues[position];
+	}
+}
@@ -0,0 +1,141 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker.remote;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Counts the executions of the sections whose executions, but not resource demands, are
+ * measured, like the branches and loop bodies of the measured software. Instead of
+ * reporting each execution, each thread increments counters in its own
+ * {@link ThreadExecutionCounter}. Counting thus neither locks nor reads clocks, and only
+ * allocates when a thread enters a section for the first time. It is cheap enough to
+ * count all executions of long running software.
+ *
+ * <p>The executions are counted per activation: Executions of a section form one
+ * activation as long as each one is entered right after the previous one was left. The
+ * iterations of a loop execution are thus counted as one activation of the loop body.
+ * When the JVM shuts down, the activations of all threads are merged and written to the
+ * {@linkplain SampleLogFormat#EXECUTION_COUNT_FILE_NAME execution count file}, one
+ * record per section and number of iterations.
+ *
+ * <p>Executions are only counted if the
+ * {@linkplain SampleLogFormat#EXECUTION_COUNT_FILE_PROPERTY execution count property}
+ * is set. Counting is independent of the {@link MeasurementCentral}, so it does not
+ * trigger the probe calibration. If writing the counts fails, the failure is reported
+ * on the standard error stream.
+ *
+ * @author Joshua Gleitze
+ */
+public final class ExecutionCounters {
+
+	/**
+	 * The file the counts are written to. {@code null} if executions are not counted.
+	 */
+	private static final String COUNT_FILE = System.getProperty(SampleLogFormat.EXECUTION_COUNT_FILE_PROPERTY);
+
+	/**
+	 * Whether executions are counted.
+	 */
+	private static final boolean ENABLED = COUNT_FILE != null;
+
+	/**
+	 * The counters of all threads that entered a counted section.
+	 */
+	private static final Collection<ThreadExecutionCounter> ALL_COUNTERS = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * The counter of each thread.
+	 */
+	private static final ThreadLocal<ThreadExecutionCounter> COUNTERS =
+		ThreadLocal.withInitial(ExecutionCounters::createCounter);
+
+	static {
+		if (ENABLED) {
+			Runtime.getRuntime()
+				.addShutdownHook(new Thread(ExecutionCounters::writeCounts, "Beagle execution count writer"));
+		}
+	}
+
+	/**
+	 * This class only offers static methods.
+	 */
+	private ExecutionCounters() {
+	}
+
+	/**
+	 * Reports that the counted section identified by {@code sectionId} is about to be
+	 * entered by the current thread.
+	 *
+	 * @param sectionId Identifier of the entered section.
+	 */
+	public static void enterSection(final int sectionId) {
+		if (ENABLED) {
+			COUNTERS.get().enter(sectionId);
+		}
+	}
+
+	/**
+	 * Reports that the counted section identified by {@code sectionId} has just been left
+	 * by the current thread.
+	 *
+	 * @param sectionId Identifier of the left section.
+	 */
+	public static void leaveSection(final int sectionId) {
+		if (ENABLED) {
+			COUNTERS.get().leave(sectionId);
+		}
+	}
+
+	/**
+	 * Creates the counter of the current thread and registers it to be written.
+	 *
+	 * @return A new counter for the current thread.
+	 */
+	private static ThreadExecutionCounter createCounter() {
+		final ThreadExecutionCounter counter = new ThreadExecutionCounter();
+		ALL_COUNTERS.add(counter);
+		return counter;
+	}
+
+	/**
+	 * Merges the counts of all threads and writes them to {@link #COUNT_FILE}. Run when
+	 * the JVM shuts down.
+	 */
+	private static void writeCounts() {
+		final Map<Integer, Map<Long, Long>> activationCounts = new TreeMap<>();
+		for (final ThreadExecutionCounter counter : ALL_COUNTERS) {
+			counter.addTo(activationCounts);
+		}
+		int recordCount = 0;
+		for (final Map<Long, Long> sectionCounts : activationCounts.values()) {
+			recordCount += sectionCounts.size();
+		}
+		final ByteBuffer buffer = ByteBuffer
+			.allocate(SampleLogFormat.EXECUTION_COUNT_HEADER_SIZE + recordCount * SampleLogFormat.EXECUTION_COUNT_RECORD_SIZE)
+			.order(SampleLogFormat.BYTE_ORDER);
+		buffer.putInt(SampleLogFormat.MAGIC_NUMBER).putInt(SampleLogFormat.VERSION).putInt(recordCount).putInt(0);
+		for (final Map.Entry<Integer, Map<Long, Long>> section : activationCounts.entrySet()) {
+			for (final Map.Entry<Long, Long> activations : section.getValue().entrySet()) {
+				buffer.putInt(section.getKey()).putLong(activations.getKey()).putLong(activations.getValue());
+			}
+		}
+		buffer.flip();
+		final Path countFile = Paths.get(COUNT_FILE);
+		try (FileChannel channel = FileChannel.open(countFile, StandardOpenOption.CREATE,
+			StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		} catch (final IOException ioError) {
+			System.err.printf("Beagle: Writing the execution counts to %s failed: %s%n", countFile, ioError);
+		}
+	}
+}
@@ -0,0 +1,127 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker.remote;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+/**
+ * Records the stop-the-world pauses of the garbage collector as
+ * {@linkplain SampleLogFormat#GC_PAUSE_ID pause records}. Every sample overlapping a
+ * pause is inflated by it. The recorder subscribes to the notifications the JVM’s
+ * {@linkplain GarbageCollectorMXBean garbage collector beans} send after each collection.
+ * It only relies on the notifications’ open data, so it does not depend on the
+ * {@code com.sun.management} API. JVMs that do not send the notifications record no
+ * pauses.
+ *
+ * <p>The notifications report the collection’s start and end in milliseconds since the
+ * JVM started. They are converted to the time base of {@link System#nanoTime()}, which
+ * the samples use. Because of the coarser resolution, each pause is extended by one
+ * millisecond at its end. Collectors working concurrently to the measured software, like
+ * the cycles of concurrent collectors, are skipped, because their collections do not
+ * pause the measured threads.
+ *
+ * @author Joshua Gleitze
+ */
+final class GcPauseRecorder implements NotificationListener {
+
+	/**
+	 * The type of the notifications sent after each garbage collection.
+	 */
+	private static final String GC_NOTIFICATION_TYPE = "com.sun.management.gc.notification";
+
+	/**
+	 * Parts of the names of collectors whose collections do not pause the measured
+	 * software.
+	 */
+	private static final String[] CONCURRENT_COLLECTOR_NAMES = {"Concurrent", "Cycles"};
+
+	/**
+	 * How much each pause is extended at its end to make up for the resolution of the
+	 * notifications, in nanoseconds.
+	 */
+	private static final long PAUSE_TIME_RESOLUTION = TimeUnit.MILLISECONDS.toNanos(1);
+
+	/**
+	 * Receives the pause records.
+	 */
+	private final SampleRingBuffer.SampleConsumer pauseConsumer;
+
+	/**
+	 * The value {@link System#nanoTime()} had when the JVM started.
+	 */
+	private final long jvmStartNanoTime;
+
+	/**
+	 * Creates a recorder passing the pause records to {@code pauseConsumer}.
+	 *
+	 * @param pauseConsumer Receives the pause records. Must be thread safe.
+	 */
+	private GcPauseRecorder(final SampleRingBuffer.SampleConsumer pauseConsumer) {
+		this.pauseConsumer = pauseConsumer;
+		this.jvmStartNanoTime =
+			System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(ManagementFactory.getRuntimeMXBean().getUptime());
+	}
+
+	/**
+	 * Starts recording the pauses of all garbage collectors of this JVM.
+	 *
+	 * @param pauseConsumer Receives a pause record for each pause. Will be called by the
+	 *            JVM’s notification thread.
+	 */
+	static void install(final SampleRingBuffer.SampleConsumer pauseConsumer) {
+		final GcPauseRecorder recorder = new GcPauseRecorder(pauseConsumer);
+		for (final GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+			if (collector instanceof NotificationEmitter && !isConcurrent(collector.getName())) {
+				((NotificationEmitter) collector).addNotificationListener(recorder,
+					(notification) -> GC_NOTIFICATION_TYPE.equals(notification.getType()), null);
+			}
+		}
+	}
+
+	@Override
+	public void handleNotification(final Notification notification, final Object handback) {
+		if (!(notification.getUserData() instanceof CompositeData)) {
+			return;
+		}
+		final CompositeData collection = (CompositeData) notification.getUserData();
+		if (!collection.containsKey("gcInfo") || !(collection.get("gcInfo") instanceof CompositeData)) {
+			return;
+		}
+		final CompositeData collectionInfo = (CompositeData) collection.get("gcInfo");
+		final long startTime = this.toNanoTime((Long) collectionInfo.get("startTime"));
+		final long stopTime = this.toNanoTime((Long) collectionInfo.get("endTime")) + PAUSE_TIME_RESOLUTION;
+		this.pauseConsumer.accept(SampleLogFormat.GC_PAUSE_ID, 0, startTime, stopTime, -1, -1, -1, 0, 1);
+	}
+
+	/**
+	 * Converts a time reported by a collection notification to the time base of
+	 * {@link System#nanoTime()}.
+	 *
+	 * @param uptime Milliseconds since the JVM started.
+	 * @return The corresponding value of {@link System#nanoTime()}.
+	 */
+	private long toNanoTime(final long uptime) {
+		return this.jvmStartNanoTime + TimeUnit.MILLISECONDS.toNanos(uptime);
+	}
+
+	/**
+	 * Tells whether a collector works concurrently to the measured software.
+	 *
+	 * @param collectorName The name of a garbage collector bean.
+	 * @return Whether the collections of the collector do not pause the measured
+	 *         software.
+	 */
+	private static boolean isConcurrent(final String collectorName) {
+		for (final String concurrentName : CONCURRENT_COLLECTOR_NAMES) {
+			if (collectorName.contains(concurrentName)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
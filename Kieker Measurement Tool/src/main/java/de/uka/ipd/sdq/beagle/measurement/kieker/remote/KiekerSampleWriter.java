@@ -0,0 +1,42 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker.remote;
+
+import kieker.common.record.controlflow.OperationExecutionRecord;
+import kieker.monitoring.core.controller.IMonitoringController;
+import kieker.monitoring.core.controller.MonitoringController;
+
+/**
+ * Hands samples to Kieker as {@linkplain OperationExecutionRecord
+ * OperationExecutionRecords}. The record’s trace id is the section’s identifier. Kieker’s
+ * records cannot hold the number of nested probes, the sampling weight, the allocated
+ * bytes or the storage bytes, so they are dropped. They can also hold only one duration.
+ * If the CPU time is known, the record’s {@code tout} is the start time plus the CPU
+ * time spent in the section, so Kieker reports the CPU time. Otherwise, it is the time
+ * the section was left at.
+ *
+ * @author Joshua Gleitze
+ */
+final class KiekerSampleWriter implements SampleWriter {
+
+	/**
+	 * Singleton instance of the monitoring controller.
+	 */
+	private final IMonitoringController monitoringController = MonitoringController.getInstance();
+
+	// CHECKSTYLE:IGNORE ParameterNumber
+	@Override
+	public void accept(final int sectionId, final long threadId, final long startTime, final long stopTime,
+		final long cpuDuration, final long allocatedBytes, final long storageBytes, final int nestedProbeCount,
+		final int samplingWeight) {
+		final long reportedStopTime = cpuDuration < 0 ? stopTime : startTime + cpuDuration;
+		final OperationExecutionRecord record = new OperationExecutionRecord(
+			OperationExecutionRecord.NO_OPERATION_SIGNATURE, OperationExecutionRecord.NO_SESSION_ID, sectionId,
+			startTime, reportedStopTime, OperationExecutionRecord.NO_HOSTNAME, OperationExecutionRecord.NO_EOI_ESS,
+			OperationExecutionRecord.NO_EOI_ESS);
+		this.monitoringController.newMonitoringRecord(record);
+	}
+
+	@Override
+	public void close() {
+		this.monitoringController.terminateMonitoring();
+	}
+}
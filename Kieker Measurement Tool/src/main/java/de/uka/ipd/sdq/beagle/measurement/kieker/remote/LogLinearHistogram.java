@@ -0,0 +1,176 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker.remote;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A histogram of durations with a fixed number of buckets, together with their count,
+ * sum, minimum and maximum. Durations smaller than {@value #SUB_BUCKET_COUNT} ns have a
+ * bucket each. Above, each power of two is split into {@value #SUB_BUCKET_COUNT} equally
+ * wide buckets, so a bucket’s width is at most 1/{@value #SUB_BUCKET_COUNT} of the
+ * durations in it. Durations of {@code 2^}{@value #MAX_EXPONENT} ns and longer share
+ * the last bucket. The histogram’s memory thus does not depend on how many durations
+ * were recorded.
+ *
+ * <p>The bucket layout is shared by the measured software, which records durations, and
+ * Beagle, which reads the histograms through {@link #lowerBoundOf(int)} and
+ * {@link #upperBoundOf(int)}.
+ *
+ * <p>Instances are not thread safe.
+ *
+ * @author Joshua Gleitze
+ * @see SectionAggregator
+ */
+public final class LogLinearHistogram {
+
+	/**
+	 * How many buckets a histogram has.
+	 */
+	public static final int BUCKET_COUNT = LogLinearHistogram.SUB_BUCKET_COUNT
+		+ (LogLinearHistogram.MAX_EXPONENT - LogLinearHistogram.SUB_BUCKET_BITS + 1) * LogLinearHistogram.SUB_BUCKET_COUNT;
+
+	/**
+	 * How many bits of a duration below its highest bit select its bucket.
+	 */
+	private static final int SUB_BUCKET_BITS = 5;
+
+	/**
+	 * How many buckets each power of two is split into.
+	 */
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+	/**
+	 * The highest power of two that is split into buckets.
+	 */
+	private static final int MAX_EXPONENT = 47;
+
+	/**
+	 * How many durations were recorded in each bucket.
+	 */
+	private final long[] bucketCounts = new long[BUCKET_COUNT];
+
+	/**
+	 * How many durations were recorded.
+	 */
+	private long count;
+
+	/**
+	 * The sum of all recorded durations.
+	 */
+	private long sum;
+
+	/**
+	 * The shortest recorded duration.
+	 */
+	private long min = Long.MAX_VALUE;
+
+	/**
+	 * The longest recorded duration.
+	 */
+	private long max;
+
+	/**
+	 * Records a duration that represents {@code weight} executions.
+	 *
+	 * @param duration A duration in nanoseconds. Must not be negative.
+	 * @param weight How many executions took {@code duration}. Must be positive.
+	 */
+	public void record(final long duration, final int weight) {
+		this.bucketCounts[bucketOf(duration)] += weight;
+		this.count += weight;
+		this.sum += duration * weight;
+		this.min = Math.min(this.min, duration);
+		this.max = Math.max(this.max, duration);
+	}
+
+	/**
+	 * Queries how many durations were recorded.
+	 *
+	 * @return The number of recorded durations.
+	 */
+	public long getCount() {
+		return this.count;
+	}
+
+	/**
+	 * Writes the histogram in the summary format described by
+	 * {@link SampleLogFormat#SUMMARY_FILE_NAME}, starting at the count. Only buckets
+	 * containing durations are written.
+	 *
+	 * @param buffer The buffer to write to. Must have at least
+	 *            {@link #getMaximalWrittenSize()} bytes remaining.
+	 */
+	public void writeTo(final ByteBuffer buffer) {
+		buffer.putLong(this.count).putLong(this.sum).putLong(this.count == 0 ? 0 : this.min).putLong(this.max);
+		final int bucketCountPosition = buffer.position();
+		buffer.putInt(0);
+		int nonEmptyBuckets = 0;
+		for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+			if (this.bucketCounts[bucket] != 0) {
+				buffer.putInt(bucket).putLong(this.bucketCounts[bucket]);
+				nonEmptyBuckets++;
+			}
+		}
+		buffer.putInt(bucketCountPosition, nonEmptyBuckets);
+	}
+
+	/**
+	 * Queries how many bytes {@link #writeTo(ByteBuffer)} writes at most.
+	 *
+	 * @return The size of a histogram with all buckets containing durations.
+	 */
+	public static int getMaximalWrittenSize() {
+		return SampleLogFormat.SUMMARY_HISTOGRAM_HEADER_SIZE + BUCKET_COUNT * SampleLogFormat.SUMMARY_BUCKET_SIZE;
+	}
+
+	/**
+	 * Determines the bucket a duration is recorded in.
+	 *
+	 * @param duration A duration in nanoseconds. Must not be negative.
+	 * @return The index of the bucket containing {@code duration}.
+	 */
+	public static int bucketOf(final long duration) {
+		if (duration < SUB_BUCKET_COUNT) {
+			return (int) duration;
+		}
+		final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(duration);
+		if (exponent > MAX_EXPONENT) {
+			return BUCKET_COUNT - 1;
+		}
+		final int subBucket = (int) (duration >>> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKET_COUNT;
+		return SUB_BUCKET_COUNT + (exponent - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT + subBucket;
+	}
+
+	/**
+	 * Determines the shortest duration recorded in a bucket.
+	 *
+	 * @param bucket A bucket index. Must be between {@code 0} and
+	 *            {@link #BUCKET_COUNT}{@code - 1}.
+	 * @return The shortest duration in nanoseconds that {@link #bucketOf(long)} maps to
+	 *         {@code bucket}.
+	 */
+	public static long lowerBoundOf(final int bucket) {
+		if (bucket < SUB_BUCKET_COUNT) {
+			return bucket;
+		}
+		final int exponentOffset = (bucket - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+		final long subBucket = (bucket - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+		return (SUB_BUCKET_COUNT + subBucket) << exponentOffset;
+	}
+
+	/**
+	 * Determines the longest duration recorded in a bucket. The last bucket is treated as
+	 * if it were as wide as the one before it.
+	 *
+	 * @param bucket A bucket index. Must be between {@code 0} and
+	 *            {@link #BUCKET_COUNT}{@code - 1}.
+	 * @return The longest duration in nanoseconds that {@link #bucketOf(long)} maps to
+	 *         {@code bucket}.
+	 */
+	public static long upperBoundOf(final int bucket) {
+		if (bucket < SUB_BUCKET_COUNT) {
+			return bucket;
+		}
+		final int exponentOffset = (bucket - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+		return lowerBoundOf(bucket) + (1L << exponentOffset) - 1;
+	}
+}
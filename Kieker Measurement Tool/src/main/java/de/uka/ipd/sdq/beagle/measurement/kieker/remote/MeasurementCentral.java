@@ -1,12 +1,63 @@
 package de.uka.ipd.sdq.beagle.measurement.kieker.remote;
 
-import kieker.common.record.controlflow.OperationExecutionRecord;
-import kieker.monitoring.core.controller.IMonitoringController;
-import kieker.monitoring.core.controller.MonitoringController;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * The central measurement instance instrumented statements report to.
  *
+ * <p>Each thread keeps its own stack of entered resource demanding code sections, so
+ * sections may be measured in any number of threads and may be nested or entered
+ * recursively. Completed samples are put into a preallocated buffer. A background thread
+ * drains the buffer and writes the samples. Reporting sections thus does not lock in the
+ * measured threads. It only allocates if the JVM allocates to read the bytes the thread
+ * allocated. When the JVM shuts down, the background thread is stopped before the
+ * remaining samples are written.
+ *
+ * <p>Each sample contains the elapsed time and the CPU time the thread spent in the
+ * section. The CPU time is read from the JVM’s {@link ThreadMXBean}. If the JVM cannot
+ * measure the CPU time of threads, it is reported as {@code -1}. Each sample also
+ * contains how many bytes the thread allocated on the heap in the section, read from the
+ * HotSpot extension of the {@link ThreadMXBean}, without the bytes the probes allocated
+ * themselves. If the JVM does not provide it, the allocated bytes are reported as
+ * {@code -1}. If the
+ * {@linkplain SampleLogFormat#STORAGE_IO_PROPERTY storage I/O property} is set, each
+ * sample contains how many bytes the thread transferred from and to the storage in the
+ * section, read by the thread’s {@link ThreadIoCounter}. Otherwise, or if the system
+ * does not provide it, they are reported as {@code -1}.
+ *
+ * <p>Before the first section is measured, the probes are calibrated: Empty sections and
+ * sections containing one empty section are measured through the regular probes. The
+ * samples are written like all other samples. They allow to subtract the probes’ own
+ * cost from the measured durations. They also tell how much a measured execution costs,
+ * which is needed to sample. Before that, the bytes reading the allocated bytes
+ * allocates are measured. Java 8, for example, allocates two arrays for it. They are
+ * subtracted from each sample’s allocated bytes: once for its stop probe and twice for
+ * each probe nested in it. A start probe allocates before it reads, so its allocation is
+ * not part of its own section.
+ *
+ * <p>The pauses of the garbage collector are recorded by a {@link GcPauseRecorder} and
+ * written like samples, so that Beagle can tell which samples they inflated.
+ *
+ * <p>If the {@linkplain SampleLogFormat#OVERHEAD_BUDGET_PROPERTY overhead budget
+ * property} is set, each thread only measures the executions chosen by its
+ * {@link SectionSampler}. Executions that are not measured are still put on the probe
+ * stack, but the clocks are not read for them.
+ *
+ * <p>If the {@linkplain SampleLogFormat#STREAM_PORT_PROPERTY stream port property} is
+ * set, the samples are streamed to Beagle. Otherwise, if the
+ * {@linkplain SampleLogFormat#LOG_FILE_PROPERTY sample log property} is set, the
+ * samples are written to a binary sample log. Otherwise, they are handed to Kieker.
+ * If the {@linkplain SampleLogFormat#AGGREGATE_PROPERTY aggregation property} is set as
+ * well, the samples are aggregated by a {@link SectionAggregator} instead of being
+ * logged. The remaining samples are written when the JVM shuts down. Kieker’s own
+ * shutdown hook must be disabled, so that Kieker is terminated only afterwards.
+ *
  * @author Joshua Gleitze
  *
  */
@@ -18,19 +69,107 @@ public final class MeasurementCentral {
 	public static final MeasurementCentral INSTANCE = new MeasurementCentral();
 
 	/**
-	 * Singleton instance of the monitoring controller.
+	 * How many completed samples may wait to be written.
+	 */
+	private static final int SAMPLE_BUFFER_CAPACITY = 1 << 16;
+
+	/**
+	 * How long the writer waits before checking for new samples if there were none.
+	 */
+	private static final long WRITER_IDLE_WAIT = TimeUnit.MILLISECONDS.toNanos(10);
+
+	/**
+	 * How many empty sections are measured to warm up the probes before calibrating.
+	 */
+	private static final int CALIBRATION_WARM_UP_SAMPLES = 10_000;
+
+	/**
+	 * How many calibration samples are taken for each kind of calibration section.
+	 */
+	private static final int CALIBRATION_SAMPLES = 5_000;
+
+	/**
+	 * How many samples calibrating puts into {@link #SAMPLES}: the warm up samples, the
+	 * empty sections and the parent sections with their children.
+	 */
+	private static final int CALIBRATION_SAMPLE_COUNT = CALIBRATION_WARM_UP_SAMPLES + 3 * CALIBRATION_SAMPLES;
+
+	/**
+	 * Reads the CPU time of the current thread.
+	 */
+	private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+	/**
+	 * Whether {@link #THREADS} can measure the CPU time of the current thread.
+	 */
+	private static final boolean CPU_TIME_AVAILABLE = enableCpuTime();
+
+	/**
+	 * Reads the bytes the current thread allocated. {@code null} if the JVM cannot measure
+	 * the allocations of threads.
+	 */
+	private static final com.sun.management.ThreadMXBean ALLOCATIONS = enableAllocatedBytes();
+
+	/**
+	 * The fraction of the measured time the probes may take. {@code 0} if every execution
+	 * is measured.
+	 */
+	private static final double OVERHEAD_BUDGET = readOverheadBudget();
+
+	/**
+	 * Whether the bytes threads transfer from and to the storage are measured.
 	 */
-	private static final IMonitoringController MONITORING_CONTROLLER = MonitoringController.getInstance();
+	private static final boolean STORAGE_IO_AVAILABLE = enableStorageIo();
 
 	/**
-	 * The start time of the last reported resource demanding code section.
+	 * The resource demanding code sections each thread is currently in.
 	 */
-	private static long rdiaStart;
+	private static final ThreadLocal<ProbeStack> PROBE_STACKS =
+		ThreadLocal.withInitial(MeasurementCentral::createProbeStack);
 
 	/**
-	 * The id of the last reported resource demanding code section.
+	 * The completed samples that were not yet written.
 	 */
-	private static int rdiaId = -1;
+	private static final SampleRingBuffer SAMPLES = new SampleRingBuffer(SAMPLE_BUFFER_CAPACITY);
+
+	/**
+	 * Writes the completed samples drained from {@link #SAMPLES}.
+	 */
+	private static final SampleWriter SAMPLE_WRITER = createSampleWriter();
+
+	/**
+	 * How long entering and leaving a section through the probes takes, in nanoseconds.
+	 * Determined while calibrating.
+	 */
+	private static final long PROBE_PAIR_COST;
+
+	/**
+	 * How many bytes reading the bytes the current thread allocated allocates itself.
+	 * Determined while calibrating.
+	 */
+	private static final long ALLOCATION_READ_COST;
+
+	/**
+	 * The thread draining {@link #SAMPLES} into {@link #SAMPLE_WRITER}.
+	 */
+	private static final Thread WRITER_THREAD;
+
+	/**
+	 * Whether the {@link #WRITER_THREAD} shall stop writing, because the JVM shuts down.
+	 */
+	private static volatile boolean writerStopped;
+
+	static {
+		WRITER_THREAD = new Thread(MeasurementCentral::writeSamples, "Beagle measurement writer");
+		WRITER_THREAD.setDaemon(true);
+		WRITER_THREAD.start();
+		Runtime.getRuntime().addShutdownHook(new Thread(MeasurementCentral::shutDown, "Beagle measurement shutdown"));
+		ALLOCATION_READ_COST = calibrateAllocationReads();
+		PROBE_PAIR_COST = calibrate();
+		// Installed afterwards, so that only the calibration samples fill the buffer while
+		// the writer waits for this class to be initialised.
+		GcPauseRecorder.install(SAMPLES::put);
+	}
 
 	/**
 	 * This is a singleton that must be obtained through {@link #INSTANCE}.
@@ -40,26 +179,355 @@ public final class MeasurementCentral {
 
 	/**
 	 * Reports that the resource demanding code section identified by {@code rdiaId} is
-	 * about to be entered.
+	 * about to be entered by the current thread.
 	 *
 	 * @param demandId Identifier of the entered resource demanding code section.
 	 */
 	public static void startResourceDemand(final int demandId) {
-		assert rdiaId == -1;
-		rdiaId = demandId;
-		rdiaStart = MONITORING_CONTROLLER.getTimeSource().getTime();
+		final ProbeStack probes = PROBE_STACKS.get();
+		final int samplingWeight = decideSamplingWeight(probes, demandId);
+		if (samplingWeight == 0) {
+			probes.push(demandId, 0, 0, 0, 0, 0);
+			return;
+		}
+		final long startStorageBytes = currentStorageBytes(probes);
+		final long startAllocatedBytes = currentAllocatedBytes();
+		final long startCpuTime = currentCpuTime();
+		probes.push(demandId, System.nanoTime(), startCpuTime, startAllocatedBytes, startStorageBytes,
+			samplingWeight);
+	}
+
+	/**
+	 * Reports that the resource demanding code section identified by {@code demandId}
+	 * has just been left by the current thread. Sections the current thread entered
+	 * within it and left without reporting it, for example because an exception was
+	 * thrown, are discarded without being measured. Does nothing if the current thread is
+	 * not in the section.
+	 *
+	 * @param demandId Identifier of the left resource demanding code section.
+	 */
+	public static void stopResourceDemand(final int demandId) {
+		final ProbeStack probes = PROBE_STACKS.get();
+		if (!probes.contains(demandId)) {
+			return;
+		}
+		while (probes.topSectionId() != demandId) {
+			probes.discard();
+		}
+		if (probes.topSamplingWeight() == 0) {
+			probes.pop();
+			return;
+		}
+		final long stopTime = System.nanoTime();
+		final long stopCpuTime = currentCpuTime();
+		final long stopAllocatedBytes = currentAllocatedBytes();
+		final long stopStorageBytes = currentStorageBytes(probes);
+		final long cpuDuration = CPU_TIME_AVAILABLE ? stopCpuTime - probes.topStartCpuTime() : -1;
+		final long allocatedBytes = ALLOCATIONS != null ? sectionAllocatedBytes(probes, stopAllocatedBytes) : -1;
+		final long storageBytes = stopStorageBytes < 0 || probes.topStartStorageBytes() < 0 ? -1
+			: stopStorageBytes - probes.topStartStorageBytes();
+		SAMPLES.put(probes.topSectionId(), Thread.currentThread().getId(), probes.topStartTime(), stopTime,
+			cpuDuration, allocatedBytes, storageBytes, probes.topNestedProbeCount(), probes.topSamplingWeight());
+		if (probes.getSampler() != null) {
+			probes.getSampler().sampled(probes.topSectionId(), stopTime - probes.topStartTime(), PROBE_PAIR_COST);
+		}
+		probes.pop();
+	}
+
+	/**
+	 * Decides whether the current thread measures the execution of a section it is
+	 * about to enter.
+	 *
+	 * @param probes The current thread’s probe stack.
+	 * @param demandId Identifier of the entered resource demanding code section.
+	 * @return How many executions of the section the measurement represents. {@code 0}
+	 *         if the execution is not measured.
+	 */
+	private static int decideSamplingWeight(final ProbeStack probes, final int demandId) {
+		final SectionSampler sampler = probes.getSampler();
+		if (sampler == null) {
+			return 1;
+		}
+		return sampler.shouldSample(demandId) ? sampler.getSamplingWeight(demandId) : 0;
+	}
+
+	/**
+	 * Creates the probe stack of a thread. The stack samples the executions if an
+	 * overhead budget was set, and reads the thread’s storage bytes if they shall be
+	 * measured.
+	 *
+	 * @return A new probe stack for the current thread.
+	 */
+	private static ProbeStack createProbeStack() {
+		final SectionSampler sampler = OVERHEAD_BUDGET == 0 ? null
+			: new SectionSampler(OVERHEAD_BUDGET, System.nanoTime() ^ Thread.currentThread().getId());
+		return new ProbeStack(sampler, STORAGE_IO_AVAILABLE ? ThreadIoCounter.openForCurrentThread() : null);
+	}
+
+	/**
+	 * Reads the {@linkplain SampleLogFormat#OVERHEAD_BUDGET_PROPERTY overhead budget
+	 * property}.
+	 *
+	 * @return The fraction of the measured time the probes may take. {@code 0} if every
+	 *         execution shall be measured.
+	 */
+	private static double readOverheadBudget() {
+		final String budgetValue = System.getProperty(SampleLogFormat.OVERHEAD_BUDGET_PROPERTY);
+		if (budgetValue == null) {
+			return 0;
+		}
+		double budget;
+		try {
+			budget = Double.parseDouble(budgetValue);
+		} catch (final NumberFormatException notANumber) {
+			budget = 0;
+		}
+		if (!(budget > 0)) {
+			System.err.printf("Beagle: %s is no valid overhead budget. Every execution is measured.%n", budgetValue);
+			return 0;
+		}
+		return budget;
+	}
+
+	/**
+	 * Enables measuring the CPU time of threads, if the JVM supports it.
+	 *
+	 * @return Whether the CPU time of the current thread can be measured.
+	 */
+	private static boolean enableCpuTime() {
+		if (!THREADS.isCurrentThreadCpuTimeSupported()) {
+			System.err.println("Beagle: The JVM cannot measure the CPU time of threads. Only elapsed time is measured.");
+			return false;
+		}
+		if (!THREADS.isThreadCpuTimeEnabled()) {
+			THREADS.setThreadCpuTimeEnabled(true);
+		}
+		return true;
+	}
+
+	/**
+	 * Checks whether the bytes threads transfer from and to the storage shall and can be
+	 * measured, as requested through the
+	 * {@linkplain SampleLogFormat#STORAGE_IO_PROPERTY storage I/O property}.
+	 *
+	 * @return Whether the storage bytes are measured.
+	 */
+	private static boolean enableStorageIo() {
+		if (!Boolean.getBoolean(SampleLogFormat.STORAGE_IO_PROPERTY)) {
+			return false;
+		}
+		if (ThreadIoCounter.openForCurrentThread() == null) {
+			System.err.println("Beagle: The system cannot measure the storage I/O of threads. It is not measured.");
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Enables measuring the bytes threads allocate, if the JVM supports it.
+	 *
+	 * @return The bean reading the allocated bytes of the current thread. {@code null}
+	 *         if the JVM cannot measure them.
+	 */
+	private static com.sun.management.ThreadMXBean enableAllocatedBytes() {
+		if (!(THREADS instanceof com.sun.management.ThreadMXBean)
+			|| !((com.sun.management.ThreadMXBean) THREADS).isThreadAllocatedMemorySupported()) {
+			System.err.println("Beagle: The JVM cannot measure the allocations of threads. They are not measured.");
+			return null;
+		}
+		final com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) THREADS;
+		if (!allocations.isThreadAllocatedMemoryEnabled()) {
+			allocations.setThreadAllocatedMemoryEnabled(true);
+		}
+		return allocations;
+	}
+
+	/**
+	 * Reads the bytes the current thread allocated so far.
+	 *
+	 * @return The bytes the current thread allocated so far. Only meaningful if
+	 *         {@link #ALLOCATIONS} is not {@code null}.
+	 */
+	private static long currentAllocatedBytes() {
+		return ALLOCATIONS != null ? ALLOCATIONS.getThreadAllocatedBytes(Thread.currentThread().getId()) : 0;
+	}
+
+	/**
+	 * Calculates how many bytes the current thread allocated in the section entered last,
+	 * without the bytes its probes and all probes nested in it allocated to read the
+	 * allocated bytes.
+	 *
+	 * @param probes The current thread’s probe stack.
+	 * @param stopAllocatedBytes The bytes the current thread allocated so far, read when
+	 *            leaving the section.
+	 * @return The bytes allocated in the section. Not negative.
+	 */
+	private static long sectionAllocatedBytes(final ProbeStack probes, final long stopAllocatedBytes) {
+		// the stop probe’s read and both reads of each nested probe are counted
+		final long probeAllocatedBytes = (1 + 2L * probes.topNestedProbeCount()) * ALLOCATION_READ_COST;
+		return Math.max(0, stopAllocatedBytes - probes.topStartAllocatedBytes() - probeAllocatedBytes);
+	}
+
+	/**
+	 * Reads the CPU time of the current thread.
+	 *
+	 * @return The CPU time the current thread used so far, in nanoseconds. Only
+	 *         meaningful if {@link #CPU_TIME_AVAILABLE}.
+	 */
+	private static long currentCpuTime() {
+		return CPU_TIME_AVAILABLE ? THREADS.getCurrentThreadCpuTime() : 0;
+	}
+
+	/**
+	 * Reads the bytes the current thread transferred from and to the storage so far.
+	 *
+	 * @param probes The current thread’s probe stack.
+	 * @return The bytes the current thread transferred from and to the storage so far.
+	 *         {@code -1} if they are not measured or reading them failed.
+	 */
+	private static long currentStorageBytes(final ProbeStack probes) {
+		return probes.getIoCounter() != null ? probes.getIoCounter().readStorageBytes() : -1;
+	}
+
+	/**
+	 * Creates the writer for the samples, as requested through the
+	 * {@linkplain SampleLogFormat#STREAM_PORT_PROPERTY stream port property}, the
+	 * {@linkplain SampleLogFormat#LOG_FILE_PROPERTY sample log property} and the
+	 * {@linkplain SampleLogFormat#AGGREGATE_PROPERTY aggregation property}. Falls back to
+	 * the next option if the stream cannot be connected or the sample log cannot be
+	 * created, and finally to Kieker.
+	 *
+	 * @return The writer to use.
+	 */
+	private static SampleWriter createSampleWriter() {
+		final String streamPort = System.getProperty(SampleLogFormat.STREAM_PORT_PROPERTY);
+		if (streamPort != null) {
+			final SampleWriter streamWriter = createStreamWriter(streamPort);
+			if (streamWriter != null) {
+				return streamWriter;
+			}
+		}
+		final String logFile = System.getProperty(SampleLogFormat.LOG_FILE_PROPERTY);
+		if (logFile != null) {
+			try {
+				final Path logPath = Paths.get(logFile);
+				final SampleWriter logWriter = new SampleLogWriter(logPath);
+				if (Boolean.getBoolean(SampleLogFormat.AGGREGATE_PROPERTY)) {
+					return new SectionAggregator(logWriter, logPath.resolveSibling(SampleLogFormat.SUMMARY_FILE_NAME));
+				}
+				return logWriter;
+			} catch (final IOException ioError) {
+				System.err.printf("Beagle: Cannot create the sample log %s. Using Kieker instead: %s%n", logFile,
+					ioError);
+			}
+		}
+		return new KiekerSampleWriter();
+	}
+
+	/**
+	 * Connects to Beagle to stream the samples to.
+	 *
+	 * @param streamPort The value of the {@linkplain SampleLogFormat#STREAM_PORT_PROPERTY
+	 *            stream port property}.
+	 * @return The writer streaming to Beagle. {@code null} if connecting failed.
+	 */
+	private static SampleWriter createStreamWriter(final String streamPort) {
+		try {
+			return new SampleStreamWriter(Integer.parseInt(streamPort));
+		} catch (final IOException | IllegalArgumentException connectError) {
+			System.err.printf("Beagle: Cannot stream the samples to port %s: %s%n", streamPort, connectError);
+			return null;
+		}
+	}
+
+	/**
+	 * Measures how many bytes {@link #currentAllocatedBytes()} allocates itself. The
+	 * allocation happens before the bytes are read, so two consecutive reads differ by
+	 * the bytes the second one allocated. The smallest difference is used, so that
+	 * allocations of other code in between, like class loading, are ignored.
+	 *
+	 * @return How many bytes reading the allocated bytes allocates. {@code 0} if the
+	 *         allocated bytes are not measured.
+	 */
+	private static long calibrateAllocationReads() {
+		if (ALLOCATIONS == null) {
+			return 0;
+		}
+		long readCost = Long.MAX_VALUE;
+		for (int i = 0; i < CALIBRATION_WARM_UP_SAMPLES + CALIBRATION_SAMPLES; i++) {
+			final long firstRead = currentAllocatedBytes();
+			readCost = Math.min(readCost, currentAllocatedBytes() - firstRead);
+		}
+		return Math.max(0, readCost);
+	}
+
+	/**
+	 * Takes the calibration samples. Other threads cannot measure sections while this
+	 * runs, because it runs while the class is initialised. The writer cannot drain the
+	 * samples before the class is initialised, either. They must thus all fit into
+	 * {@link #SAMPLES}, because putting a sample into the full buffer would wait forever.
+	 *
+	 * @return How long entering and leaving a section through the probes takes, in
+	 *         nanoseconds.
+	 */
+	private static long calibrate() {
+		if (CALIBRATION_SAMPLE_COUNT > SAMPLE_BUFFER_CAPACITY) {
+			throw new IllegalStateException(String.format(
+				"The %d calibration samples do not fit into the sample buffer of size %d.", CALIBRATION_SAMPLE_COUNT,
+				SAMPLE_BUFFER_CAPACITY));
+		}
+		for (int i = 0; i < CALIBRATION_WARM_UP_SAMPLES; i++) {
+			startResourceDemand(SampleLogFormat.CALIBRATION_WARM_UP_ID);
+			stopResourceDemand(SampleLogFormat.CALIBRATION_WARM_UP_ID);
+		}
+		for (int i = 0; i < CALIBRATION_SAMPLES; i++) {
+			startResourceDemand(SampleLogFormat.CALIBRATION_EMPTY_ID);
+			stopResourceDemand(SampleLogFormat.CALIBRATION_EMPTY_ID);
+		}
+		final long parentsStart = System.nanoTime();
+		for (int i = 0; i < CALIBRATION_SAMPLES; i++) {
+			startResourceDemand(SampleLogFormat.CALIBRATION_PARENT_ID);
+			startResourceDemand(SampleLogFormat.CALIBRATION_CHILD_ID);
+			stopResourceDemand(SampleLogFormat.CALIBRATION_CHILD_ID);
+			stopResourceDemand(SampleLogFormat.CALIBRATION_PARENT_ID);
+		}
+		// each iteration enters and leaves two sections
+		return (System.nanoTime() - parentsStart) / (2 * CALIBRATION_SAMPLES);
+	}
+
+	/**
+	 * Writes completed samples until {@link #writerStopped} is set. Run by the
+	 * {@link #WRITER_THREAD}.
+	 */
+	private static void writeSamples() {
+		while (!writerStopped) {
+			if (SAMPLES.drain(SAMPLE_WRITER) == 0) {
+				SAMPLE_WRITER.flush();
+				LockSupport.parkNanos(WRITER_IDLE_WAIT);
+			}
+		}
 	}
 
 	/**
-	 * Reports that the last started resource demanding code section has just been left.
+	 * Stops the {@link #WRITER_THREAD}, writes the remaining samples and closes the writer
+	 * afterwards. Run when the JVM shuts down. The writer thread is stopped first, because
+	 * {@link SampleWriter}s may only be used by one thread at a time.
 	 */
-	public static void stopResourceDemand() {
-		final long stopTime = MONITORING_CONTROLLER.getTimeSource().getTime();
-		final OperationExecutionRecord record = new OperationExecutionRecord(
-			OperationExecutionRecord.NO_OPERATION_SIGNATURE, OperationExecutionRecord.NO_SESSION_ID, rdiaId, rdiaStart,
-			stopTime, OperationExecutionRecord.NO_HOSTNAME, OperationExecutionRecord.NO_EOI_ESS,
-			OperationExecutionRecord.NO_EOI_ESS);
-		MONITORING_CONTROLLER.newMonitoringRecord(record);
-		rdiaId = -1;
+	private static void shutDown() {
+		writerStopped = true;
+		LockSupport.unpark(WRITER_THREAD);
+		boolean interrupted = false;
+		while (WRITER_THREAD.isAlive()) {
+			try {
+				WRITER_THREAD.join();
+			} catch (final InterruptedException interrupt) {
+				interrupted = true;
+			}
+		}
+		SAMPLES.drain(SAMPLE_WRITER);
+		SAMPLE_WRITER.close();
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
 	}
 }
@@ -0,0 +1,281 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker.remote;
+
+import java.util.Arrays;
+
+/**
+ * The resource demanding code sections a thread is currently in, together with the time
+ * and the thread’s CPU time, allocated bytes and storage bytes each was entered at.
+ * Sections may be nested, the one entered last is on top. The stack stores primitives
+ * only, so pushing and popping does not allocate. Only growing the stack beyond its
+ * largest size so far does.
+ *
+ * <p>For each section, the stack counts the probes that were completed while the section
+ * was on the stack. This includes probes of sections nested in nested sections. Their
+ * cost is part of the section’s measured duration.
+ *
+ * <p>Executions of sections that are not measured because they were not
+ * {@linkplain SectionSampler sampled} are put on the stack, too, so that leaving them
+ * can be told apart from leaving measured sections. Their sampling weight is {@code 0}
+ * and their probes are not counted as nested probes.
+ *
+ * <p>Sections that were left without their stop probe being called, for example because
+ * an exception was thrown, are {@linkplain #discard() discarded} once a section below
+ * them is left.
+ *
+ * <p>Instances are not thread safe. Each thread must use its own stack.
+ *
+ * @author Joshua Gleitze
+ */
+final class ProbeStack {
+
+	/**
+	 * How many sections a new stack can hold before it needs to grow.
+	 */
+	private static final int INITIAL_CAPACITY = 16;
+
+	/**
+	 * The identifiers of the entered sections. The first {@link #depth} elements are
+	 * valid.
+	 */
+	private int[] sectionIds = new int[INITIAL_CAPACITY];
+
+	/**
+	 * The times the sections were entered at. The ith time belongs to the ith section in
+	 * {@link #sectionIds}.
+	 */
+	private long[] startTimes = new long[INITIAL_CAPACITY];
+
+	/**
+	 * The thread’s CPU times the sections were entered at. The ith time belongs to the
+	 * ith section in {@link #sectionIds}.
+	 */
+	private long[] startCpuTimes = new long[INITIAL_CAPACITY];
+
+	/**
+	 * The bytes the thread had allocated when the sections were entered. The ith value
+	 * belongs to the ith section in {@link #sectionIds}.
+	 */
+	private long[] startAllocatedBytes = new long[INITIAL_CAPACITY];
+
+	/**
+	 * The bytes the thread had transferred from and to the storage when the sections
+	 * were entered. The ith value belongs to the ith section in {@link #sectionIds}.
+	 */
+	private long[] startStorageBytes = new long[INITIAL_CAPACITY];
+
+	/**
+	 * How many probes were completed within each section. The ith count belongs to the
+	 * ith section in {@link #sectionIds}.
+	 */
+	private int[] nestedProbeCounts = new int[INITIAL_CAPACITY];
+
+	/**
+	 * How many executions each measured section represents, or {@code 0} if the section
+	 * is not measured. The ith weight belongs to the ith section in {@link #sectionIds}.
+	 */
+	private int[] samplingWeights = new int[INITIAL_CAPACITY];
+
+	/**
+	 * Decides which executions of sections the thread measures. {@code null} if all are
+	 * measured.
+	 */
+	private final SectionSampler sampler;
+
+	/**
+	 * Reads the bytes the thread transferred from and to the storage. {@code null} if
+	 * they are not measured.
+	 */
+	private final ThreadIoCounter ioCounter;
+
+	/**
+	 * How many sections are currently on the stack.
+	 */
+	private int depth;
+
+	/**
+	 * Creates an empty stack.
+	 *
+	 * @param sampler Decides which executions of sections the thread measures.
+	 *            {@code null} if all executions are measured.
+	 * @param ioCounter Reads the bytes the thread transferred from and to the storage.
+	 *            {@code null} if they are not measured.
+	 */
+	ProbeStack(final SectionSampler sampler, final ThreadIoCounter ioCounter) {
+		this.sampler = sampler;
+		this.ioCounter = ioCounter;
+	}
+
+	/**
+	 * Queries the sampler deciding which executions of sections the thread measures.
+	 *
+	 * @return The thread’s sampler. {@code null} if all executions are measured.
+	 */
+	SectionSampler getSampler() {
+		return this.sampler;
+	}
+
+	/**
+	 * Queries the counter reading the bytes the thread transferred from and to the
+	 * storage.
+	 *
+	 * @return The thread’s I/O counter. {@code null} if storage bytes are not measured.
+	 */
+	ThreadIoCounter getIoCounter() {
+		return this.ioCounter;
+	}
+
+	/**
+	 * Puts a section on top of the stack.
+	 *
+	 * @param sectionId The entered section’s identifier.
+	 * @param startTime The time the section was entered at.
+	 * @param startCpuTime The thread’s CPU time the section was entered at.
+	 * @param startAllocatedBytes The bytes the thread had allocated when the section was
+	 *            entered.
+	 * @param startStorageBytes The bytes the thread had transferred from and to the
+	 *            storage when the section was entered.
+	 * @param samplingWeight How many executions of the section this execution
+	 *            represents. {@code 0} if it is not measured.
+	 */
+	void push(final int sectionId, final long startTime, final long startCpuTime, final long startAllocatedBytes,
+		final long startStorageBytes, final int samplingWeight) {
+		if (this.depth == this.sectionIds.length) {
+			this.sectionIds = Arrays.copyOf(this.sectionIds, this.depth * 2);
+			this.startTimes = Arrays.copyOf(this.startTimes, this.depth * 2);
+			this.startCpuTimes = Arrays.copyOf(this.startCpuTimes, this.depth * 2);
+			this.startAllocatedBytes = Arrays.copyOf(this.startAllocatedBytes, this.depth * 2);
+			this.startStorageBytes = Arrays.copyOf(this.startStorageBytes, this.depth * 2);
+			this.nestedProbeCounts = Arrays.copyOf(this.nestedProbeCounts, this.depth * 2);
+			this.samplingWeights = Arrays.copyOf(this.samplingWeights, this.depth * 2);
+		}
+		this.sectionIds[this.depth] = sectionId;
+		this.startTimes[this.depth] = startTime;
+		this.startCpuTimes[this.depth] = startCpuTime;
+		this.startAllocatedBytes[this.depth] = startAllocatedBytes;
+		this.startStorageBytes[this.depth] = startStorageBytes;
+		this.nestedProbeCounts[this.depth] = 0;
+		this.samplingWeights[this.depth] = samplingWeight;
+		this.depth++;
+	}
+
+	/**
+	 * Queries whether there is no section on the stack.
+	 *
+	 * @return {@code true} if no section is on the stack.
+	 */
+	boolean isEmpty() {
+		return this.depth == 0;
+	}
+
+	/**
+	 * Queries whether a section is on the stack.
+	 *
+	 * @param sectionId A section’s identifier.
+	 * @return {@code true} if an execution of the section identified by {@code sectionId}
+	 *         is on the stack.
+	 */
+	boolean contains(final int sectionId) {
+		for (int i = this.depth - 1; i >= 0; i--) {
+			if (this.sectionIds[i] == sectionId) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Queries the identifier of the topmost section. May only be called if the stack is
+	 * not empty.
+	 *
+	 * @return The identifier of the section entered last.
+	 */
+	int topSectionId() {
+		return this.sectionIds[this.depth - 1];
+	}
+
+	/**
+	 * Queries the time the topmost section was entered at. May only be called if the
+	 * stack is not empty.
+	 *
+	 * @return The start time of the section entered last.
+	 */
+	long topStartTime() {
+		return this.startTimes[this.depth - 1];
+	}
+
+	/**
+	 * Queries the thread’s CPU time the topmost section was entered at. May only be
+	 * called if the stack is not empty.
+	 *
+	 * @return The start CPU time of the section entered last.
+	 */
+	long topStartCpuTime() {
+		return this.startCpuTimes[this.depth - 1];
+	}
+
+	/**
+	 * Queries the bytes the thread had allocated when the topmost section was entered.
+	 * May only be called if the stack is not empty.
+	 *
+	 * @return The allocated bytes at the start of the section entered last.
+	 */
+	long topStartAllocatedBytes() {
+		return this.startAllocatedBytes[this.depth - 1];
+	}
+
+	/**
+	 * Queries the bytes the thread had transferred from and to the storage when the
+	 * topmost section was entered. May only be called if the stack is not empty.
+	 *
+	 * @return The storage bytes at the start of the section entered last.
+	 */
+	long topStartStorageBytes() {
+		return this.startStorageBytes[this.depth - 1];
+	}
+
+	/**
+	 * Queries how many probes were completed while the topmost section was on the stack.
+	 * May only be called if the stack is not empty.
+	 *
+	 * @return The number of probes nested in the section entered last.
+	 */
+	int topNestedProbeCount() {
+		return this.nestedProbeCounts[this.depth - 1];
+	}
+
+	/**
+	 * Queries how many executions the topmost section represents. May only be called if
+	 * the stack is not empty.
+	 *
+	 * @return The sampling weight of the section entered last. {@code 0} if it is not
+	 *         measured.
+	 */
+	int topSamplingWeight() {
+		return this.samplingWeights[this.depth - 1];
+	}
+
+	/**
+	 * Removes the topmost section. Its probe, if it is measured, and all probes nested in
+	 * it are counted as nested in the section below it. May only be called if the stack
+	 * is not empty.
+	 */
+	void pop() {
+		this.depth--;
+		if (this.depth > 0) {
+			final int ownProbe = this.samplingWeights[this.depth] > 0 ? 1 : 0;
+			this.nestedProbeCounts[this.depth - 1] += this.nestedProbeCounts[this.depth] + ownProbe;
+		}
+	}
+
+	/**
+	 * Removes the topmost section without it being measured, because it was left without
+	 * its stop probe being called. Only the probes nested in it are counted as nested in
+	 * the section below it. May only be called if the stack is not empty.
+	 */
+	void discard() {
+		this.depth--;
+		if (this.depth > 0) {
+			this.nestedProbeCounts[this.depth - 1] += this.nestedProbeCounts[this.depth];
+		}
+	}
+}
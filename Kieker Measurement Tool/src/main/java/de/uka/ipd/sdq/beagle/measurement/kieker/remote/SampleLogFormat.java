@@ -0,0 +1,331 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker.remote;
+
+import java.nio.ByteOrder;
+
+/**
+ * Describes the binary sample log written by the {@link MeasurementCentral}. The log
+ * starts with a header, followed by fixed-width records, one per sample. All numbers are
+ * stored in {@link #BYTE_ORDER}.
+ *
+ * <p>The header contains {@link #MAGIC_NUMBER}, {@link #VERSION} and the number of
+ * records in the log. The number of records is updated after each record was written, so
+ * it is valid even if the measured software was killed. The file may be longer than
+ * its records. The content after the last record is undefined.
+ *
+ * <p>Each record contains the identifier of the measured code section, the identifier
+ * of the thread it was measured in, the time the section was entered at and how long it
+ * took until it was left. It also contains how much CPU time the thread spent in the
+ * section, or {@code -1} if the JVM cannot measure the CPU time of threads. The times
+ * are in nanoseconds. It contains how many bytes the thread allocated on the heap in the
+ * section, without the bytes the probes allocated, or {@code -1} if the JVM cannot
+ * measure the allocations of threads. It
+ * contains how many bytes the thread transferred from and to the storage in the section,
+ * or {@code -1} if they were not {@linkplain #STORAGE_IO_PROPERTY measured}. The
+ * record also contains how many probes were completed while the section was entered.
+ * Their cost is part of both durations. Finally, it contains the
+ * sample’s sampling weight: how many executions of the section it represents. It is
+ * {@code 1} unless the measured software {@linkplain #OVERHEAD_BUDGET_PROPERTY samples}
+ * the executions. Only {@linkplain #AGGREGATE_PROPERTY aggregating} weighs the samples
+ * by it. Single samples are reported unweighted, because a sampled resource demand is
+ * still a representative one.
+ *
+ * <p>The measured software calibrates its probes when it starts. The records of the
+ * calibration use the negative calibration section identifiers and precede all other
+ * records.
+ *
+ * <p>The stop-the-world pauses of the garbage collector are recorded as well, using the
+ * {@linkplain #GC_PAUSE_ID pause section identifier}. They may appear anywhere in the
+ * log, usually shortly after the samples overlapping them.
+ *
+ * <p>If the measured software {@linkplain #AGGREGATE_PROPERTY aggregates} its samples,
+ * the log only contains the calibration records. The other samples are summarised in
+ * the {@linkplain #SUMMARY_FILE_NAME summary file} instead.
+ *
+ * <p>The measured software may {@linkplain #STREAM_PORT_PROPERTY stream} the records to
+ * Beagle instead of writing them to the log.
+ *
+ * <p>Sections that are only counted are not sampled. Their executions are written to
+ * the {@linkplain #EXECUTION_COUNT_FILE_NAME execution count file}.
+ *
+ * @author Joshua Gleitze
+ */
+public final class SampleLogFormat {
+
+	/**
+	 * The JVM property telling the measured software which file to write the sample log
+	 * to. If it is not set, samples are handed to Kieker.
+	 */
+	public static final String LOG_FILE_PROPERTY = "beagle.measurement.sampleLog";
+
+	/**
+	 * The name of the sample log file in the folder of a measurement run.
+	 */
+	public static final String LOG_FILE_NAME = "beagle-samples.bin";
+
+	/**
+	 * The JVM property telling the measured software which port on the loopback
+	 * interface to stream its samples to. If it is set, the samples are streamed instead
+	 * of being written to the sample log. The stream starts with {@link #MAGIC_NUMBER}
+	 * and {@link #VERSION}, followed by the records in the same format as in the sample
+	 * log, calibration records first. It ends when the measured software exits.
+	 */
+	public static final String STREAM_PORT_PROPERTY = "beagle.measurement.streamPort";
+
+	/**
+	 * The JVM property telling the measured software which fraction of the measured time
+	 * the probes may take, like {@code 0.05}. If it is set, only some executions of each
+	 * section are measured, so that the probes’ overhead stays below the budget. If it is
+	 * not set, every execution is measured.
+	 */
+	public static final String OVERHEAD_BUDGET_PROPERTY = "beagle.measurement.overheadBudget";
+
+	/**
+	 * The JVM property telling the measured software to aggregate the samples of each
+	 * section instead of logging each one, if set to {@code true}. Only has an effect if
+	 * the {@linkplain #LOG_FILE_PROPERTY sample log property} is set.
+	 */
+	public static final String AGGREGATE_PROPERTY = "beagle.measurement.aggregate";
+
+	/**
+	 * The JVM property telling the measured software to measure how many bytes each
+	 * section transferred from and to the storage, if set to {@code true}. The bytes are
+	 * read from the I/O accounting Linux keeps for each thread. Reading it costs about a
+	 * microsecond per probe, so it is not measured by default.
+	 */
+	public static final String STORAGE_IO_PROPERTY = "beagle.measurement.storageIo";
+
+	/**
+	 * The name of the summary file, written next to the sample log by measured software
+	 * that {@linkplain #AGGREGATE_PROPERTY aggregates} its samples. It is written once,
+	 * when the measured software exits.
+	 *
+	 * <p>The file starts with {@link #MAGIC_NUMBER}, {@link #VERSION}, the number of
+	 * summaries as {@code int} and 4 unused bytes. The summaries follow. Each contains
+	 * the section identifier and the {@linkplain #SUMMARY_WALL_CLOCK clock} as
+	 * {@code int}s, followed by a {@linkplain LogLinearHistogram histogram} of the
+	 * section’s durations on that clock, or of its {@linkplain #SUMMARY_ALLOCATED_BYTES
+	 * allocated bytes} or {@linkplain #SUMMARY_STORAGE_BYTES storage bytes}: the number
+	 * of executions, the sum, the minimum and the maximum of their durations as
+	 * {@code long}s, the number of non-empty buckets as {@code int} and, for each
+	 * non-empty bucket, its index as {@code int} and its number of executions as
+	 * {@code long}. The durations are in nanoseconds and
+	 * already corrected by the probe calibration. Executions that were not measured
+	 * because of {@linkplain #OVERHEAD_BUDGET_PROPERTY sampling} are counted through the
+	 * sampling weights.
+	 *
+	 * <p>The probes do not capture parameters, so there is one summary per section and
+	 * clock.
+	 */
+	public static final String SUMMARY_FILE_NAME = "beagle-summaries.bin";
+
+	/**
+	 * The JVM property telling the measured software which file to write the
+	 * {@linkplain ExecutionCounters execution counts} to. If it is not set, executions are
+	 * not counted.
+	 */
+	public static final String EXECUTION_COUNT_FILE_PROPERTY = "beagle.measurement.executionCounts";
+
+	/**
+	 * The name of the execution count file in the folder of a measurement run. It is
+	 * written once, when the measured software exits, independent of how samples are
+	 * reported.
+	 *
+	 * <p>The file starts with {@link #MAGIC_NUMBER}, {@link #VERSION}, the number of
+	 * records as {@code int} and 4 unused bytes. Each record contains the identifier of
+	 * a counted section as {@code int}, followed by a number of iterations and the number
+	 * of activations that executed the section that many times in a row, both as
+	 * {@code long}s. Executions of a section form one activation as long as each one is
+	 * entered right after the previous one was left, without any other counted section
+	 * being entered or left in between. There is one record per section and number of
+	 * iterations.
+	 */
+	public static final String EXECUTION_COUNT_FILE_NAME = "beagle-executions.bin";
+
+	/**
+	 * The byte order all numbers are stored in.
+	 */
+	public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+	/**
+	 * Identifies a file as sample log. Stored as {@code int} at offset {@code 0}.
+	 */
+	public static final int MAGIC_NUMBER = 0x42454147;
+
+	/**
+	 * The version of the format described here. Stored as {@code int} at offset
+	 * {@code 4}.
+	 */
+	public static final int VERSION = 7;
+
+	/**
+	 * The offset of the number of records, stored as {@code long}.
+	 */
+	public static final int RECORD_COUNT_OFFSET = 8;
+
+	/**
+	 * The size of the header in bytes. The first record starts right after it.
+	 */
+	public static final int HEADER_SIZE = 16;
+
+	/**
+	 * The size of a record in bytes.
+	 */
+	public static final int RECORD_SIZE = 64;
+
+	/**
+	 * The offset of the section identifier in a record, stored as {@code int}.
+	 */
+	public static final int SECTION_ID_OFFSET = 0;
+
+	/**
+	 * The offset of the number of nested probes in a record, stored as {@code int}.
+	 */
+	public static final int NESTED_PROBE_COUNT_OFFSET = 4;
+
+	/**
+	 * The offset of the thread identifier in a record, stored as {@code long}.
+	 */
+	public static final int THREAD_ID_OFFSET = 8;
+
+	/**
+	 * The offset of the start time in a record, stored as {@code long}.
+	 */
+	public static final int START_TIME_OFFSET = 16;
+
+	/**
+	 * The offset of the duration in a record, stored as {@code long}.
+	 */
+	public static final int DURATION_OFFSET = 24;
+
+	/**
+	 * The offset of the CPU time spent in the section in a record, stored as
+	 * {@code long}.
+	 */
+	public static final int CPU_DURATION_OFFSET = 32;
+
+	/**
+	 * The offset of the sampling weight in a record, stored as {@code int}. It is
+	 * followed by 4 unused bytes.
+	 */
+	public static final int SAMPLING_WEIGHT_OFFSET = 40;
+
+	/**
+	 * The offset of the bytes allocated in the section in a record, stored as
+	 * {@code long}.
+	 */
+	public static final int ALLOCATED_BYTES_OFFSET = 48;
+
+	/**
+	 * The offset of the bytes transferred from and to the storage in the section in a
+	 * record, stored as {@code long}.
+	 */
+	public static final int STORAGE_BYTES_OFFSET = 56;
+
+	/**
+	 * The size of the header of a {@linkplain #STREAM_PORT_PROPERTY sample stream} in
+	 * bytes. The first record follows right after it.
+	 */
+	public static final int STREAM_HEADER_SIZE = 8;
+
+	/**
+	 * The size of the summary file’s header in bytes.
+	 */
+	public static final int SUMMARY_HEADER_SIZE = 16;
+
+	/**
+	 * The offset of the number of summaries in the summary file, stored as {@code int}.
+	 */
+	public static final int SUMMARY_COUNT_OFFSET = 8;
+
+	/**
+	 * The size of a summary’s section identifier and clock in bytes.
+	 */
+	public static final int SUMMARY_SECTION_SIZE = 8;
+
+	/**
+	 * The size of a histogram in a summary without its buckets, in bytes.
+	 */
+	public static final int SUMMARY_HISTOGRAM_HEADER_SIZE = 36;
+
+	/**
+	 * The size of a non-empty bucket of a histogram in a summary, in bytes.
+	 */
+	public static final int SUMMARY_BUCKET_SIZE = 12;
+
+	/**
+	 * Clock of summaries of the elapsed time.
+	 */
+	public static final int SUMMARY_WALL_CLOCK = 0;
+
+	/**
+	 * Clock of summaries of the CPU time the thread spent in the section.
+	 */
+	public static final int SUMMARY_CPU_CLOCK = 1;
+
+	/**
+	 * Clock of summaries of the bytes the thread allocated in the section. Their values
+	 * are bytes instead of nanoseconds. The bytes the probes allocated were already
+	 * subtracted from them when the samples were taken.
+	 */
+	public static final int SUMMARY_ALLOCATED_BYTES = 2;
+
+	/**
+	 * Clock of summaries of the bytes the thread transferred from and to the storage in
+	 * the section. Their values are bytes and are not corrected, because the probes do
+	 * not transfer any.
+	 */
+	public static final int SUMMARY_STORAGE_BYTES = 3;
+
+	/**
+	 * The size of the execution count file’s header in bytes.
+	 */
+	public static final int EXECUTION_COUNT_HEADER_SIZE = 16;
+
+	/**
+	 * The offset of the number of records in the execution count file, stored as
+	 * {@code int}.
+	 */
+	public static final int EXECUTION_COUNT_OFFSET = 8;
+
+	/**
+	 * The size of a record in the execution count file, in bytes.
+	 */
+	public static final int EXECUTION_COUNT_RECORD_SIZE = 20;
+
+	/**
+	 * Section identifier of the calibration samples taken to warm up the probes. They are
+	 * not used to calibrate.
+	 */
+	public static final int CALIBRATION_WARM_UP_ID = -1;
+
+	/**
+	 * Section identifier of calibration samples of empty sections.
+	 */
+	public static final int CALIBRATION_EMPTY_ID = -2;
+
+	/**
+	 * Section identifier of calibration samples of sections containing nothing but one
+	 * empty section.
+	 */
+	public static final int CALIBRATION_PARENT_ID = -3;
+
+	/**
+	 * Section identifier of calibration samples of the empty sections nested in
+	 * {@link #CALIBRATION_PARENT_ID} sections.
+	 */
+	public static final int CALIBRATION_CHILD_ID = -4;
+
+	/**
+	 * Section identifier of records of stop-the-world pauses of the garbage collector.
+	 * Their start time is the time the pause started at, their duration is the pause’s
+	 * length. Samples overlapping this interval are inflated by the pause. The other
+	 * fields are unused.
+	 */
+	public static final int GC_PAUSE_ID = -5;
+
+	/**
+	 * This class only holds constants.
+	 */
+	private SampleLogFormat() {
+	}
+}
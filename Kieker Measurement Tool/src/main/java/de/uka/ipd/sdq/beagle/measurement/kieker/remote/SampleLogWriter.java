@@ -0,0 +1,144 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker.remote;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes samples to a memory-mapped file in the {@linkplain SampleLogFormat sample log
+ * format}. The file is mapped in chunks. A new chunk is mapped when the current one is
+ * full.
+ *
+ * <p>If writing fails, the writer reports the failure on the standard error stream and
+ * discards all further samples. The measured software is not disturbed.
+ *
+ * @author Joshua Gleitze
+ */
+final class SampleLogWriter implements SampleWriter {
+
+	/**
+	 * How many bytes are mapped at once.
+	 */
+	private static final int CHUNK_SIZE = SampleLogFormat.RECORD_SIZE * (1 << 20);
+
+	/**
+	 * The file the log is written to.
+	 */
+	private final Path logFile;
+
+	/**
+	 * The channel to the log file.
+	 */
+	private final FileChannel channel;
+
+	/**
+	 * The mapped header.
+	 */
+	private final MappedByteBuffer header;
+
+	/**
+	 * The currently mapped chunk of records.
+	 */
+	private MappedByteBuffer chunk;
+
+	/**
+	 * How many chunks were mapped.
+	 */
+	private long chunkCount;
+
+	/**
+	 * How many records were written.
+	 */
+	private long recordCount;
+
+	/**
+	 * Whether writing failed. No samples are written afterwards.
+	 */
+	private boolean failed;
+
+	/**
+	 * Creates a writer writing to {@code logFile}. Replaces the file if it exists.
+	 *
+	 * @param logFile The file to write the log to.
+	 * @throws IOException If creating or mapping the log file fails.
+	 */
+	SampleLogWriter(final Path logFile) throws IOException {
+		this.logFile = logFile;
+		this.channel = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+			StandardOpenOption.READ, StandardOpenOption.WRITE);
+		this.header = this.channel.map(MapMode.READ_WRITE, 0, SampleLogFormat.HEADER_SIZE);
+		this.header.order(SampleLogFormat.BYTE_ORDER);
+		this.header.putInt(SampleLogFormat.MAGIC_NUMBER);
+		this.header.putInt(SampleLogFormat.VERSION);
+		this.header.putLong(SampleLogFormat.RECORD_COUNT_OFFSET, 0);
+		this.mapNextChunk();
+	}
+
+	// CHECKSTYLE:IGNORE ParameterNumber
+	@Override
+	public void accept(final int sectionId, final long threadId, final long startTime, final long stopTime,
+		final long cpuDuration, final long allocatedBytes, final long storageBytes, final int nestedProbeCount,
+		final int samplingWeight) {
+		if (this.failed) {
+			return;
+		}
+		if (!this.chunk.hasRemaining()) {
+			try {
+				this.mapNextChunk();
+			} catch (final IOException ioError) {
+				this.fail(ioError);
+				return;
+			}
+		}
+		final int recordStart = this.chunk.position();
+		this.chunk.putInt(recordStart + SampleLogFormat.SECTION_ID_OFFSET, sectionId);
+		this.chunk.putInt(recordStart + SampleLogFormat.NESTED_PROBE_COUNT_OFFSET, nestedProbeCount);
+		this.chunk.putLong(recordStart + SampleLogFormat.CPU_DURATION_OFFSET, cpuDuration);
+		this.chunk.putLong(recordStart + SampleLogFormat.ALLOCATED_BYTES_OFFSET, allocatedBytes);
+		this.chunk.putLong(recordStart + SampleLogFormat.STORAGE_BYTES_OFFSET, storageBytes);
+		this.chunk.putInt(recordStart + SampleLogFormat.SAMPLING_WEIGHT_OFFSET, samplingWeight);
+		this.chunk.putLong(recordStart + SampleLogFormat.THREAD_ID_OFFSET, threadId);
+		this.chunk.putLong(recordStart + SampleLogFormat.START_TIME_OFFSET, startTime);
+		this.chunk.putLong(recordStart + SampleLogFormat.DURATION_OFFSET, stopTime - startTime);
+		this.chunk.position(recordStart + SampleLogFormat.RECORD_SIZE);
+		this.recordCount++;
+		this.header.putLong(SampleLogFormat.RECORD_COUNT_OFFSET, this.recordCount);
+	}
+
+	@Override
+	public void close() {
+		try {
+			this.chunk.force();
+			this.header.force();
+			this.channel.close();
+		} catch (final IOException ioError) {
+			this.fail(ioError);
+		}
+	}
+
+	/**
+	 * Maps the chunk following the current one.
+	 *
+	 * @throws IOException If mapping fails.
+	 */
+	private void mapNextChunk() throws IOException {
+		this.chunk = this.channel.map(MapMode.READ_WRITE,
+			SampleLogFormat.HEADER_SIZE + this.chunkCount * CHUNK_SIZE, CHUNK_SIZE);
+		this.chunk.order(SampleLogFormat.BYTE_ORDER);
+		this.chunkCount++;
+	}
+
+	/**
+	 * Reports that writing failed and stops writing.
+	 *
+	 * @param ioError The cause of the failure.
+	 */
+	private void fail(final IOException ioError) {
+		this.failed = true;
+		System.err.printf("Beagle: Writing the sample log %s failed. Later samples are discarded: %s%n", this.logFile,
+			ioError);
+	}
+}
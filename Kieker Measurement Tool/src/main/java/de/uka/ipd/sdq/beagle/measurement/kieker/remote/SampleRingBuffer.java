@@ -0,0 +1,215 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker.remote;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A bounded buffer of completed resource demand samples. Any number of threads may put
+ * samples into it without locking and without allocating. One thread at a time drains
+ * it. If the buffer is full, threads putting samples wait until it was drained.
+ *
+ * <p>Every sample gets a sequence number when it is put into the buffer. The sequence
+ * number determines the slot the sample is stored in. A slot’s sample is visible to the
+ * draining thread as soon as the slot’s published sequence number equals the sample’s
+ * sequence number.
+ *
+ * @author Joshua Gleitze
+ */
+final class SampleRingBuffer {
+
+	/**
+	 * Marks a slot that never contained a sample.
+	 */
+	private static final long NO_SEQUENCE = -1;
+
+	/**
+	 * How many samples the buffer can hold.
+	 */
+	private final int capacity;
+
+	/**
+	 * Maps a sequence number to its slot. {@link #capacity} is a power of two, so this
+	 * is {@code capacity - 1}.
+	 */
+	private final int slotMask;
+
+	/**
+	 * The identifiers of the sections the samples were taken for, by slot.
+	 */
+	private final int[] sectionIds;
+
+	/**
+	 * The identifiers of the threads the samples were taken in, by slot.
+	 */
+	private final long[] threadIds;
+
+	/**
+	 * How many probes were nested in the samples’ sections, by slot.
+	 */
+	private final int[] nestedProbeCounts;
+
+	/**
+	 * The times the sections were entered at, by slot.
+	 */
+	private final long[] startTimes;
+
+	/**
+	 * The times the sections were left at, by slot.
+	 */
+	private final long[] stopTimes;
+
+	/**
+	 * How much CPU time the threads spent in the sections, by slot.
+	 */
+	private final long[] cpuDurations;
+
+	/**
+	 * How many bytes the threads allocated in the sections, by slot.
+	 */
+	private final long[] allocatedBytes;
+
+	/**
+	 * How many bytes the threads transferred from and to the storage in the sections, by
+	 * slot.
+	 */
+	private final long[] storageBytes;
+
+	/**
+	 * How many executions of the sections the samples represent, by slot.
+	 */
+	private final int[] samplingWeights;
+
+	/**
+	 * The sequence number of the sample that was last written to each slot.
+	 */
+	private final AtomicLongArray publishedSequences;
+
+	/**
+	 * The sequence number the next sample put into the buffer gets.
+	 */
+	private final AtomicLong nextSequence = new AtomicLong();
+
+	/**
+	 * The sequence number of the next sample to drain. All samples with smaller sequence
+	 * numbers were drained, so their slots may be reused.
+	 */
+	private volatile long drainedSequence;
+
+	/**
+	 * Creates an empty buffer.
+	 *
+	 * @param capacity How many samples the buffer can hold. Must be a power of two.
+	 */
+	SampleRingBuffer(final int capacity) {
+		if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+			throw new IllegalArgumentException("The capacity must be a power of two, but was " + capacity);
+		}
+		this.capacity = capacity;
+		this.slotMask = capacity - 1;
+		this.sectionIds = new int[capacity];
+		this.threadIds = new long[capacity];
+		this.nestedProbeCounts = new int[capacity];
+		this.startTimes = new long[capacity];
+		this.stopTimes = new long[capacity];
+		this.cpuDurations = new long[capacity];
+		this.allocatedBytes = new long[capacity];
+		this.storageBytes = new long[capacity];
+		this.samplingWeights = new int[capacity];
+		this.publishedSequences = new AtomicLongArray(capacity);
+		for (int slot = 0; slot < capacity; slot++) {
+			this.publishedSequences.set(slot, NO_SEQUENCE);
+		}
+	}
+
+	/**
+	 * Puts a sample into the buffer. Waits if the buffer is full. May be called by any
+	 * thread at any time.
+	 *
+	 * @param sectionId The identifier of the section the sample was taken for.
+	 * @param threadId The identifier of the thread the sample was taken in.
+	 * @param startTime The time the section was entered at.
+	 * @param stopTime The time the section was left at.
+	 * @param cpuDuration How much CPU time the thread spent in the section. {@code -1} if
+	 *            unknown.
+	 * @param allocatedBytes How many bytes the thread allocated in the section. {@code -1}
+	 *            if unknown.
+	 * @param storageBytes How many bytes the thread transferred from and to the storage in
+	 *            the section. {@code -1} if unknown.
+	 * @param nestedProbeCount How many probes were completed within the section.
+	 * @param samplingWeight How many executions of the section the sample represents.
+	 */
+	// CHECKSTYLE:IGNORE ParameterNumber
+	void put(final int sectionId, final long threadId, final long startTime, final long stopTime,
+		final long cpuDuration, final long allocatedBytes, final long storageBytes, final int nestedProbeCount,
+		final int samplingWeight) {
+		final long sequence = this.nextSequence.getAndIncrement();
+		while (sequence - this.drainedSequence >= this.capacity) {
+			// The slot still holds a sample that was not drained yet.
+			Thread.yield();
+		}
+		final int slot = (int) sequence & this.slotMask;
+		this.sectionIds[slot] = sectionId;
+		this.threadIds[slot] = threadId;
+		this.startTimes[slot] = startTime;
+		this.stopTimes[slot] = stopTime;
+		this.cpuDurations[slot] = cpuDuration;
+		this.allocatedBytes[slot] = allocatedBytes;
+		this.storageBytes[slot] = storageBytes;
+		this.samplingWeights[slot] = samplingWeight;
+		this.nestedProbeCounts[slot] = nestedProbeCount;
+		// The ordered write makes the writes above visible to the draining thread.
+		this.publishedSequences.lazySet(slot, sequence);
+	}
+
+	/**
+	 * Passes all samples that are available in the buffer to {@code sampleConsumer} and
+	 * frees their slots. The samples are passed in the order of their sequence numbers.
+	 *
+	 * @param sampleConsumer Receives the drained samples.
+	 * @return The number of drained samples.
+	 */
+	synchronized int drain(final SampleConsumer sampleConsumer) {
+		long sequence = this.drainedSequence;
+		int drained = 0;
+		while (this.publishedSequences.get((int) sequence & this.slotMask) == sequence) {
+			final int slot = (int) sequence & this.slotMask;
+			sampleConsumer.accept(this.sectionIds[slot], this.threadIds[slot], this.startTimes[slot],
+				this.stopTimes[slot], this.cpuDurations[slot], this.allocatedBytes[slot], this.storageBytes[slot],
+				this.nestedProbeCounts[slot], this.samplingWeights[slot]);
+			sequence++;
+			drained++;
+			this.drainedSequence = sequence;
+		}
+		return drained;
+	}
+
+	/**
+	 * Receives samples drained from a {@link SampleRingBuffer}.
+	 *
+	 * @author Joshua Gleitze
+	 */
+	@FunctionalInterface
+	interface SampleConsumer {
+
+		/**
+		 * Receives a sample.
+		 *
+		 * @param sectionId The identifier of the section the sample was taken for.
+		 * @param threadId The identifier of the thread the sample was taken in.
+		 * @param startTime The time the section was entered at.
+		 * @param stopTime The time the section was left at.
+		 * @param cpuDuration How much CPU time the thread spent in the section.
+		 *            {@code -1} if unknown.
+		 * @param allocatedBytes How many bytes the thread allocated in the section.
+		 *            {@code -1} if unknown.
+		 * @param storageBytes How many bytes the thread transferred from and to the
+		 *            storage in the section. {@code -1} if unknown.
+		 * @param nestedProbeCount How many probes were completed within the section.
+		 * @param samplingWeight How many executions of the section the sample
+		 *            represents.
+		 */
+		// CHECKSTYLE:IGNORE ParameterNumber
+		void accept(int sectionId, long threadId, long startTime, long stopTime, long cpuDuration, long allocatedBytes,
+			long storageBytes, int nestedProbeCount, int samplingWeight);
+	}
+}
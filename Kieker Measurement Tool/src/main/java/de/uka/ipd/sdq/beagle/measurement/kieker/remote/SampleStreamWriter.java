@@ -0,0 +1,117 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker.remote;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Streams samples to Beagle over a socket on the loopback interface, in the
+ * {@linkplain SampleLogFormat#STREAM_PORT_PROPERTY sample stream format}. The records are
+ * collected in a buffer and sent in batches: when the buffer is full, and whenever the
+ * writer is {@linkplain #flush() flushed} because no more samples are waiting. Beagle
+ * thus receives the samples while the measured software runs. Nothing is written to
+ * disk.
+ *
+ * <p>If sending fails, the writer reports the failure on the standard error stream and
+ * discards all further samples. The measured software is not disturbed.
+ *
+ * @author Joshua Gleitze
+ */
+final class SampleStreamWriter implements SampleWriter {
+
+	/**
+	 * How many records are sent at most at once.
+	 */
+	private static final int BATCH_SIZE = 1 << 12;
+
+	/**
+	 * The connection to Beagle.
+	 */
+	private final SocketChannel channel;
+
+	/**
+	 * The records that were not sent yet.
+	 */
+	private final ByteBuffer batch =
+		ByteBuffer.allocateDirect(BATCH_SIZE * SampleLogFormat.RECORD_SIZE).order(SampleLogFormat.BYTE_ORDER);
+
+	/**
+	 * Whether sending failed. No samples are sent afterwards.
+	 */
+	private boolean failed;
+
+	/**
+	 * Creates a writer streaming to Beagle and sends the stream’s header.
+	 *
+	 * @param port The port Beagle receives the samples on.
+	 * @throws IOException If connecting to Beagle fails.
+	 */
+	SampleStreamWriter(final int port) throws IOException {
+		this.channel = SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+		this.channel.socket().setTcpNoDelay(true);
+		this.batch.putInt(SampleLogFormat.MAGIC_NUMBER).putInt(SampleLogFormat.VERSION);
+		this.send();
+	}
+
+	// CHECKSTYLE:IGNORE ParameterNumber
+	@Override
+	public void accept(final int sectionId, final long threadId, final long startTime, final long stopTime,
+		final long cpuDuration, final long allocatedBytes, final long storageBytes, final int nestedProbeCount,
+		final int samplingWeight) {
+		if (this.failed) {
+			return;
+		}
+		final int recordStart = this.batch.position();
+		this.batch.putInt(recordStart + SampleLogFormat.SECTION_ID_OFFSET, sectionId);
+		this.batch.putInt(recordStart + SampleLogFormat.NESTED_PROBE_COUNT_OFFSET, nestedProbeCount);
+		this.batch.putLong(recordStart + SampleLogFormat.THREAD_ID_OFFSET, threadId);
+		this.batch.putLong(recordStart + SampleLogFormat.START_TIME_OFFSET, startTime);
+		this.batch.putLong(recordStart + SampleLogFormat.DURATION_OFFSET, stopTime - startTime);
+		this.batch.putLong(recordStart + SampleLogFormat.CPU_DURATION_OFFSET, cpuDuration);
+		this.batch.putLong(recordStart + SampleLogFormat.ALLOCATED_BYTES_OFFSET, allocatedBytes);
+		this.batch.putLong(recordStart + SampleLogFormat.STORAGE_BYTES_OFFSET, storageBytes);
+		this.batch.putInt(recordStart + SampleLogFormat.SAMPLING_WEIGHT_OFFSET, samplingWeight);
+		this.batch.position(recordStart + SampleLogFormat.RECORD_SIZE);
+		if (!this.batch.hasRemaining()) {
+			this.flush();
+		}
+	}
+
+	@Override
+	public void flush() {
+		if (this.failed || this.batch.position() == 0) {
+			return;
+		}
+		try {
+			this.send();
+		} catch (final IOException ioError) {
+			this.failed = true;
+			System.err.printf("Beagle: Streaming the samples failed. Later samples are discarded: %s%n", ioError);
+		}
+	}
+
+	@Override
+	public void close() {
+		this.flush();
+		try {
+			this.channel.close();
+		} catch (final IOException ioError) {
+			System.err.printf("Beagle: Closing the sample stream failed: %s%n", ioError);
+		}
+	}
+
+	/**
+	 * Sends the content of the batch and clears it afterwards.
+	 *
+	 * @throws IOException If sending fails.
+	 */
+	private void send() throws IOException {
+		this.batch.flip();
+		while (this.batch.hasRemaining()) {
+			this.channel.write(this.batch);
+		}
+		this.batch.clear();
+	}
+}
@@ -0,0 +1,24 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker.remote;
+
+/**
+ * Writes the samples drained from the {@link SampleRingBuffer} to where the measurement
+ * tool will read them from. Writers are only used by one thread at a time.
+ *
+ * @author Joshua Gleitze
+ */
+interface SampleWriter extends SampleRingBuffer.SampleConsumer {
+
+	/**
+	 * Passes on the samples written so far, if the writer holds them back to pass them on
+	 * in batches. Called whenever no more samples are waiting to be written. Does nothing
+	 * by default.
+	 */
+	default void flush() {
+	}
+
+	/**
+	 * Makes sure that all written samples are stored and releases all resources. Called
+	 * once, when the measured software exits. No samples are written afterwards.
+	 */
+	void close();
+}
@@ -0,0 +1,222 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker.remote;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Counts how often one thread executes a counted section in a row. Executions form one
+ * activation as long as each one is entered right after the previous one was left. This
+ * is how Beagle finds the iterations of a loop execution, so the finished activations
+ * directly state the loop’s repetition counts. Sections that are no loop bodies simply
+ * have activations that are never read as such; their executions are still counted.
+ *
+ * <p>The activations of a section may be nested if the section is entered recursively.
+ * All activations but the topmost one are then entered. Finished activations are
+ * counted by their number of iterations in an open addressing table, so finishing an
+ * activation does not allocate unless the table needs to grow.
+ *
+ * <p>Instances are not thread safe. Each thread must use its own instances. Only
+ * {@link #addTo(Map)} may be called from other threads, and then only
+ * yields an approximation if the owning thread is still counting.
+ *
+ * @author Joshua Gleitze
+ * @see ThreadExecutionCounter
+ */
+final class SectionActivations {
+
+	/**
+	 * How many nested activations a new instance can hold before it needs to grow.
+	 */
+	private static final int INITIAL_DEPTH = 4;
+
+	/**
+	 * How many different iteration counts a new instance can hold before it needs to
+	 * grow. Must be a power of two.
+	 */
+	private static final int INITIAL_TABLE_CAPACITY = 16;
+
+	/**
+	 * Multiplier spreading iteration counts over the table (the golden ratio in 64 bit
+	 * fixed point).
+	 */
+	private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+	/**
+	 * The number of iterations of each unfinished activation, from the outermost to the
+	 * innermost one.
+	 */
+	private long[] iterations = new long[INITIAL_DEPTH];
+
+	/**
+	 * The thread position at which each unfinished activation’s section was left last.
+	 * {@code 0} if it was not left yet.
+	 */
+	private long[] lastLeftPositions = new long[INITIAL_DEPTH];
+
+	/**
+	 * How many activations are unfinished.
+	 */
+	private int depth;
+
+	/**
+	 * Whether the section of the innermost unfinished activation is currently entered.
+	 */
+	private boolean topEntered;
+
+	/**
+	 * The iteration counts of the finished activations. {@code 0} marks an empty slot.
+	 */
+	private long[] finishedIterations = new long[INITIAL_TABLE_CAPACITY];
+
+	/**
+	 * How many activations finished with the iteration count in the same slot of
+	 * {@link #finishedIterations}.
+	 */
+	private long[] finishedActivations = new long[INITIAL_TABLE_CAPACITY];
+
+	/**
+	 * How many slots of {@link #finishedIterations} are used.
+	 */
+	private int finishedSize;
+
+	/**
+	 * Reports that the section was entered.
+	 *
+	 * @param position The owning thread’s position, counting all counted sections it
+	 *            entered or left. Must be larger than all positions passed before.
+	 */
+	void enter(final long position) {
+		if (this.depth == 0 || this.topEntered) {
+			// A recursive execution or no activation yet.
+			this.push();
+		} else if (this.lastLeftPositions[this.depth - 1] + 1 != position) {
+			// Something else happened since the section was left, so the activation ended.
+			this.finishTop();
+			this.push();
+		}
+		this.iterations[this.depth - 1]++;
+		this.topEntered = true;
+	}
+
+	/**
+	 * Reports that the section was left. Does nothing if it was not entered.
+	 *
+	 * @param position The owning thread’s position, counting all counted sections it
+	 *            entered or left. Must be larger than all positions passed before.
+	 */
+	void leave(final long position) {
+		if (this.depth == 0) {
+			return;
+		}
+		if (!this.topEntered) {
+			// The innermost activation ended, so the one below it is left.
+			this.finishTop();
+			if (this.depth == 0) {
+				return;
+			}
+		}
+		this.topEntered = false;
+		this.lastLeftPositions[this.depth - 1] = position;
+	}
+
+	/**
+	 * Adds the number of activations by iteration count to {@code activationCounts}. The
+	 * unfinished activations are added as if they finished now, but stay unfinished.
+	 *
+	 * @param activationCounts Maps iteration counts to the number of activations with
+	 *            that many iterations.
+	 */
+	void addTo(final Map<Long, Long> activationCounts) {
+		final long[] tableIterations = this.finishedIterations;
+		final long[] tableActivations = this.finishedActivations;
+		for (int slot = 0; slot < tableIterations.length && slot < tableActivations.length; slot++) {
+			if (tableIterations[slot] != 0) {
+				activationCounts.merge(tableIterations[slot], tableActivations[slot], Long::sum);
+			}
+		}
+		final long[] unfinished = this.iterations;
+		for (int activation = 0; activation < Math.min(this.depth, unfinished.length); activation++) {
+			if (unfinished[activation] != 0) {
+				activationCounts.merge(unfinished[activation], 1L, Long::sum);
+			}
+		}
+	}
+
+	/**
+	 * Starts a new innermost activation.
+	 */
+	private void push() {
+		if (this.depth == this.iterations.length) {
+			this.iterations = Arrays.copyOf(this.iterations, this.depth * 2);
+			this.lastLeftPositions = Arrays.copyOf(this.lastLeftPositions, this.depth * 2);
+		}
+		this.iterations[this.depth] = 0;
+		this.lastLeftPositions[this.depth] = 0;
+		this.depth++;
+		this.topEntered = false;
+	}
+
+	/**
+	 * Finishes the innermost activation and counts it. The activation below it, if any,
+	 * is entered.
+	 */
+	private void finishTop() {
+		this.depth--;
+		this.countFinished(this.iterations[this.depth]);
+		this.topEntered = this.depth > 0;
+	}
+
+	/**
+	 * Counts a finished activation.
+	 *
+	 * @param iterationCount The activation’s number of iterations. Must be positive.
+	 */
+	private void countFinished(final long iterationCount) {
+		if (2 * (this.finishedSize + 1) > this.finishedIterations.length) {
+			this.growTable();
+		}
+		final int slot = slotOf(this.finishedIterations, iterationCount);
+		if (this.finishedIterations[slot] == 0) {
+			this.finishedIterations[slot] = iterationCount;
+			this.finishedSize++;
+		}
+		this.finishedActivations[slot]++;
+	}
+
+	/**
+	 * Doubles the capacity of the table of finished activations.
+	 */
+	private void growTable() {
+		final long[] oldIterations = this.finishedIterations;
+		final long[] oldActivations = this.finishedActivations;
+		final long[] newIterations = new long[oldIterations.length * 2];
+		final long[] newActivations = new long[oldIterations.length * 2];
+		for (int oldSlot = 0; oldSlot < oldIterations.length; oldSlot++) {
+			if (oldIterations[oldSlot] != 0) {
+				final int newSlot = slotOf(newIterations, oldIterations[oldSlot]);
+				newIterations[newSlot] = oldIterations[oldSlot];
+				newActivations[newSlot] = oldActivations[oldSlot];
+			}
+		}
+		this.finishedActivations = newActivations;
+		this.finishedIterations = newIterations;
+	}
+
+	/**
+	 * Finds the slot of an iteration count in a table.
+	 *
+	 * @param table A table of iteration counts that is not full. Its length must be a
+	 *            power of two.
+	 * @param iterationCount The iteration count to find. Must be positive.
+	 * @return The slot containing {@code iterationCount}, or the empty slot it belongs
+	 *         in.
+	 */
+	private static int slotOf(final long[] table, final long iterationCount) {
+		final int mask = table.length - 1;
+		int slot = (int) ((iterationCount * HASH_MULTIPLIER) >>> (Long.SIZE - Integer.SIZE)) & mask;
+		while (table[slot] != 0 && table[slot] != iterationCount) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+}
@@ -0,0 +1,270 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker.remote;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.stream.LongStream;
+
+/**
+ * Aggregates the samples of each section into {@linkplain LogLinearHistogram histograms}
+ * instead of writing each sample. The histograms are written to the
+ * {@linkplain SampleLogFormat#SUMMARY_FILE_NAME summary file} when the measured software
+ * exits. The amount of written results thus depends on the number of measured sections
+ * instead of the number of their executions.
+ *
+ * <p>The calibration samples are passed on to the sample log, so Beagle can report the
+ * calibration. They are also used to correct the aggregated durations, because the
+ * samples are not available to Beagle to correct them afterwards.
+ *
+ * <p>If writing the summaries fails, the aggregator reports the failure on the standard
+ * error stream.
+ *
+ * @author Joshua Gleitze
+ */
+final class SectionAggregator implements SampleWriter {
+
+	/**
+	 * How many sections a new aggregator can hold before it needs to grow.
+	 */
+	private static final int INITIAL_CAPACITY = 64;
+
+	/**
+	 * Writes the calibration samples.
+	 */
+	private final SampleWriter calibrationWriter;
+
+	/**
+	 * The file the summaries are written to.
+	 */
+	private final Path summaryFile;
+
+	/**
+	 * The elapsed times of the empty calibration sections.
+	 */
+	private final LongStream.Builder emptyDurations = LongStream.builder();
+
+	/**
+	 * The elapsed times of the calibration sections containing one empty section.
+	 */
+	private final LongStream.Builder parentDurations = LongStream.builder();
+
+	/**
+	 * The CPU times of the empty calibration sections.
+	 */
+	private final LongStream.Builder emptyCpuDurations = LongStream.builder();
+
+	/**
+	 * The CPU times of the calibration sections containing one empty section.
+	 */
+	private final LongStream.Builder parentCpuDurations = LongStream.builder();
+
+	/**
+	 * The calibration of the elapsed time. {@code null} until the first regular sample
+	 * was aggregated.
+	 */
+	private ClockCalibration wallClock;
+
+	/**
+	 * The calibration of the CPU time. {@code null} until the first regular sample was
+	 * aggregated.
+	 */
+	private ClockCalibration cpuClock;
+
+	/**
+	 * The histogram of each section’s elapsed times, by section identifier. {@code null}
+	 * for sections that were not measured.
+	 */
+	private LogLinearHistogram[] wallHistograms = new LogLinearHistogram[INITIAL_CAPACITY];
+
+	/**
+	 * The histogram of each section’s CPU times, by section identifier. {@code null} for
+	 * sections that were not measured.
+	 */
+	private LogLinearHistogram[] cpuHistograms = new LogLinearHistogram[INITIAL_CAPACITY];
+
+	/**
+	 * The histogram of the bytes each section allocated, by section identifier.
+	 * {@code null} for sections that were not measured.
+	 */
+	private LogLinearHistogram[] allocationHistograms = new LogLinearHistogram[INITIAL_CAPACITY];
+
+	/**
+	 * The histogram of the bytes each section transferred from and to the storage, by
+	 * section identifier. {@code null} for sections that were not measured.
+	 */
+	private LogLinearHistogram[] storageHistograms = new LogLinearHistogram[INITIAL_CAPACITY];
+
+	/**
+	 * Creates an aggregator.
+	 *
+	 * @param calibrationWriter The writer for the calibration samples. Will be closed
+	 *            with the aggregator.
+	 * @param summaryFile The file to write the summaries to. Is replaced if it exists.
+	 */
+	SectionAggregator(final SampleWriter calibrationWriter, final Path summaryFile) {
+		this.calibrationWriter = calibrationWriter;
+		this.summaryFile = summaryFile;
+	}
+
+	// CHECKSTYLE:IGNORE ParameterNumber
+	@Override
+	public void accept(final int sectionId, final long threadId, final long startTime, final long stopTime,
+		final long cpuDuration, final long allocatedBytes, final long storageBytes, final int nestedProbeCount,
+		final int samplingWeight) {
+		if (sectionId < 0) {
+			this.collectCalibrationSample(sectionId, stopTime - startTime, cpuDuration);
+			this.calibrationWriter.accept(sectionId, threadId, startTime, stopTime, cpuDuration, allocatedBytes,
+				storageBytes, nestedProbeCount, samplingWeight);
+			return;
+		}
+		if (this.wallClock == null) {
+			// The calibration samples precede all other samples.
+			this.wallClock = new ClockCalibration(this.emptyDurations.build().toArray(),
+				this.parentDurations.build().toArray());
+			this.cpuClock = new ClockCalibration(this.emptyCpuDurations.build().toArray(),
+				this.parentCpuDurations.build().toArray());
+		}
+		if (sectionId >= this.wallHistograms.length) {
+			this.grow(sectionId);
+		}
+		if (this.wallHistograms[sectionId] == null) {
+			this.wallHistograms[sectionId] = new LogLinearHistogram();
+			this.cpuHistograms[sectionId] = new LogLinearHistogram();
+			this.allocationHistograms[sectionId] = new LogLinearHistogram();
+			this.storageHistograms[sectionId] = new LogLinearHistogram();
+		}
+		this.wallHistograms[sectionId].record(this.wallClock.correct(stopTime - startTime, nestedProbeCount),
+			samplingWeight);
+		if (cpuDuration >= 0) {
+			this.cpuHistograms[sectionId].record(this.cpuClock.correct(cpuDuration, nestedProbeCount), samplingWeight);
+		}
+		if (allocatedBytes >= 0) {
+			this.allocationHistograms[sectionId].record(allocatedBytes, samplingWeight);
+		}
+		if (storageBytes >= 0) {
+			this.storageHistograms[sectionId].record(storageBytes, samplingWeight);
+		}
+	}
+
+	@Override
+	public void close() {
+		try {
+			this.writeSummaries();
+		} catch (final IOException ioError) {
+			System.err.printf("Beagle: Writing the summaries to %s failed: %s%n", this.summaryFile, ioError);
+		}
+		this.calibrationWriter.close();
+	}
+
+	/**
+	 * Collects a calibration sample to calibrate the clocks with.
+	 *
+	 * @param sectionId The calibration section identifier.
+	 * @param duration The sample’s elapsed time, in nanoseconds.
+	 * @param cpuDuration The sample’s CPU time, in nanoseconds. Negative if it was not
+	 *            measured.
+	 */
+	private void collectCalibrationSample(final int sectionId, final long duration, final long cpuDuration) {
+		if (sectionId == SampleLogFormat.CALIBRATION_EMPTY_ID) {
+			this.emptyDurations.add(duration);
+			if (cpuDuration >= 0) {
+				this.emptyCpuDurations.add(cpuDuration);
+			}
+		} else if (sectionId == SampleLogFormat.CALIBRATION_PARENT_ID) {
+			this.parentDurations.add(duration);
+			if (cpuDuration >= 0) {
+				this.parentCpuDurations.add(cpuDuration);
+			}
+		}
+	}
+
+	/**
+	 * Makes the aggregator able to hold {@code sectionId}.
+	 *
+	 * @param sectionId The largest section identifier to hold.
+	 */
+	private void grow(final int sectionId) {
+		final int newCapacity = Math.max(this.wallHistograms.length * 2, sectionId + 1);
+		this.wallHistograms = Arrays.copyOf(this.wallHistograms, newCapacity);
+		this.cpuHistograms = Arrays.copyOf(this.cpuHistograms, newCapacity);
+		this.allocationHistograms = Arrays.copyOf(this.allocationHistograms, newCapacity);
+		this.storageHistograms = Arrays.copyOf(this.storageHistograms, newCapacity);
+	}
+
+	/**
+	 * Writes all histograms containing durations to the summary file.
+	 *
+	 * @throws IOException If writing fails.
+	 */
+	private void writeSummaries() throws IOException {
+		int summaryCount = 0;
+		for (int sectionId = 0; sectionId < this.wallHistograms.length; sectionId++) {
+			if (this.wallHistograms[sectionId] != null) {
+				summaryCount += 1 + (this.cpuHistograms[sectionId].getCount() == 0 ? 0 : 1)
+					+ (this.allocationHistograms[sectionId].getCount() == 0 ? 0 : 1)
+					+ (this.storageHistograms[sectionId].getCount() == 0 ? 0 : 1);
+			}
+		}
+		try (FileChannel channel = FileChannel.open(this.summaryFile, StandardOpenOption.CREATE,
+			StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			final ByteBuffer buffer = ByteBuffer
+				.allocate(SampleLogFormat.SUMMARY_SECTION_SIZE + LogLinearHistogram.getMaximalWrittenSize())
+				.order(SampleLogFormat.BYTE_ORDER);
+			buffer.putInt(SampleLogFormat.MAGIC_NUMBER).putInt(SampleLogFormat.VERSION).putInt(summaryCount).putInt(0);
+			writeBuffer(buffer, channel);
+			for (int sectionId = 0; sectionId < this.wallHistograms.length; sectionId++) {
+				if (this.wallHistograms[sectionId] != null) {
+					writeSummary(sectionId, SampleLogFormat.SUMMARY_WALL_CLOCK, this.wallHistograms[sectionId], buffer,
+						channel);
+					if (this.cpuHistograms[sectionId].getCount() != 0) {
+						writeSummary(sectionId, SampleLogFormat.SUMMARY_CPU_CLOCK, this.cpuHistograms[sectionId],
+							buffer, channel);
+					}
+					if (this.allocationHistograms[sectionId].getCount() != 0) {
+						writeSummary(sectionId, SampleLogFormat.SUMMARY_ALLOCATED_BYTES,
+							this.allocationHistograms[sectionId], buffer, channel);
+					}
+					if (this.storageHistograms[sectionId].getCount() != 0) {
+						writeSummary(sectionId, SampleLogFormat.SUMMARY_STORAGE_BYTES, this.storageHistograms[sectionId],
+							buffer, channel);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Writes one summary to the summary file.
+	 *
+	 * @param sectionId The summarised section’s identifier.
+	 * @param clock The clock the histogram was measured with.
+	 * @param histogram The histogram to write.
+	 * @param buffer An empty buffer large enough for one summary.
+	 * @param channel The channel to the summary file.
+	 * @throws IOException If writing fails.
+	 */
+	private static void writeSummary(final int sectionId, final int clock, final LogLinearHistogram histogram,
+		final ByteBuffer buffer, final FileChannel channel) throws IOException {
+		buffer.putInt(sectionId).putInt(clock);
+		histogram.writeTo(buffer);
+		writeBuffer(buffer, channel);
+	}
+
+	/**
+	 * Writes the content of a buffer to a channel and clears the buffer afterwards.
+	 *
+	 * @param buffer A buffer that was written to.
+	 * @param channel The channel to write to.
+	 * @throws IOException If writing fails.
+	 */
+	private static void writeBuffer(final ByteBuffer buffer, final FileChannel channel) throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+}
@@ -0,0 +1,187 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker.remote;
+
+import java.util.Arrays;
+
+/**
+ * Decides which executions of resource demanding code sections a thread measures if the
+ * probes may only cause a limited overhead. Each section has its own sampling interval:
+ * Only about every nth execution of the section is measured. The interval is adapted
+ * after each sample, so that the probes’ cost stays below the overhead budget relative
+ * to the section’s mean duration. Short sections in tight loops are thus sampled rarely,
+ * while long sections are measured on every execution.
+ *
+ * <p>The executions between two samples are counted down. The countdown is drawn
+ * randomly around the sampling interval, so that the samples do not follow periodic
+ * patterns of the measured software.
+ *
+ * <p>Each sample has a sampling weight: the sampling interval its countdown was drawn
+ * with. It states how many executions the sample represents.
+ *
+ * <p>The sampler stores primitives only, so deciding does not allocate. Only growing the
+ * sampler beyond the largest section identifier so far does. Calibration sections, which
+ * have negative identifiers, are always measured. Instances are not thread safe. Each
+ * thread must use its own sampler.
+ *
+ * @author Joshua Gleitze
+ */
+final class SectionSampler {
+
+	/**
+	 * How many sections a new sampler can hold before it needs to grow.
+	 */
+	private static final int INITIAL_CAPACITY = 64;
+
+	/**
+	 * The largest sampling interval. Bounds how long a section may go unmeasured.
+	 */
+	private static final int MAX_INTERVAL = 1 << 16;
+
+	/**
+	 * How much a new sample contributes to a section’s mean duration.
+	 */
+	private static final double DURATION_SMOOTHING = 0.125;
+
+	/**
+	 * The first left shift of the xorshift random number generator.
+	 */
+	private static final int XORSHIFT_FIRST_SHIFT = 13;
+
+	/**
+	 * The right shift of the xorshift random number generator.
+	 */
+	private static final int XORSHIFT_SECOND_SHIFT = 7;
+
+	/**
+	 * The second left shift of the xorshift random number generator.
+	 */
+	private static final int XORSHIFT_THIRD_SHIFT = 17;
+
+	/**
+	 * The fraction of the measured time the probes may take, like {@code 0.05} for 5%.
+	 */
+	private final double overheadBudget;
+
+	/**
+	 * How many executions of each section remain until the next one is measured, by
+	 * section identifier. {@code 0} and {@code 1} mean that the next execution is
+	 * measured.
+	 */
+	private int[] countdowns = new int[INITIAL_CAPACITY];
+
+	/**
+	 * The sampling interval the current countdown of each section was drawn with, by
+	 * section identifier.
+	 */
+	private int[] intervals = new int[INITIAL_CAPACITY];
+
+	/**
+	 * The exponentially smoothed duration of each section’s samples in nanoseconds, by
+	 * section identifier. {@code 0} for sections that were not measured yet.
+	 */
+	private double[] meanDurations = new double[INITIAL_CAPACITY];
+
+	/**
+	 * The state of the random number generator drawing the countdowns. Never
+	 * {@code 0}.
+	 */
+	private long randomState;
+
+	/**
+	 * Creates a sampler.
+	 *
+	 * @param overheadBudget The fraction of the measured time the probes may take. Must
+	 *            be positive.
+	 * @param seed Initialises the random number generator.
+	 */
+	SectionSampler(final double overheadBudget, final long seed) {
+		if (!(overheadBudget > 0)) {
+			throw new IllegalArgumentException(String.format("%s is no valid overhead budget.", overheadBudget));
+		}
+		this.overheadBudget = overheadBudget;
+		this.randomState = seed == 0 ? 1 : seed;
+		Arrays.fill(this.intervals, 1);
+	}
+
+	/**
+	 * Decides whether the current execution of a section is measured. Counts the
+	 * execution down if not.
+	 *
+	 * @param sectionId The identifier of the section that is being entered.
+	 * @return {@code true} if this execution shall be measured.
+	 */
+	boolean shouldSample(final int sectionId) {
+		if (sectionId < 0) {
+			return true;
+		}
+		if (sectionId >= this.countdowns.length) {
+			this.grow(sectionId);
+		}
+		if (this.countdowns[sectionId] > 1) {
+			this.countdowns[sectionId]--;
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Queries how many executions of a section a sample of it represents. May only be
+	 * called after {@link #shouldSample(int)} returned {@code true} for the section.
+	 *
+	 * @param sectionId The identifier of the measured section.
+	 * @return The sampling weight of the current sample of the section. Is always
+	 *         positive.
+	 */
+	int getSamplingWeight(final int sectionId) {
+		return sectionId < 0 ? 1 : this.intervals[sectionId];
+	}
+
+	/**
+	 * Adapts a section’s sampling interval to a completed sample and draws the countdown
+	 * to its next sample.
+	 *
+	 * @param sectionId The identifier of the measured section.
+	 * @param duration How long the sample took, in nanoseconds.
+	 * @param probePairCost How long entering and leaving a section through the probes
+	 *            takes, in nanoseconds.
+	 */
+	void sampled(final int sectionId, final long duration, final long probePairCost) {
+		if (sectionId < 0) {
+			return;
+		}
+		final double meanDuration = this.meanDurations[sectionId] == 0 ? duration
+			: this.meanDurations[sectionId] + DURATION_SMOOTHING * (duration - this.meanDurations[sectionId]);
+		this.meanDurations[sectionId] = Math.max(meanDuration, 1);
+		final double idealInterval = probePairCost / (this.overheadBudget * this.meanDurations[sectionId]);
+		final int interval = (int) Math.min(MAX_INTERVAL, Math.max(1, Math.ceil(idealInterval)));
+		this.intervals[sectionId] = interval;
+		// uniformly distributed from 1 to 2 * interval - 1, so interval on average
+		this.countdowns[sectionId] = interval == 1 ? 1 : 1 + this.nextRandom(2 * interval - 1);
+	}
+
+	/**
+	 * Makes the sampler able to hold {@code sectionId}.
+	 *
+	 * @param sectionId The largest section identifier to hold.
+	 */
+	private void grow(final int sectionId) {
+		final int oldCapacity = this.countdowns.length;
+		final int newCapacity = Math.max(oldCapacity * 2, sectionId + 1);
+		this.countdowns = Arrays.copyOf(this.countdowns, newCapacity);
+		this.intervals = Arrays.copyOf(this.intervals, newCapacity);
+		this.meanDurations = Arrays.copyOf(this.meanDurations, newCapacity);
+		Arrays.fill(this.intervals, oldCapacity, newCapacity, 1);
+	}
+
+	/**
+	 * Draws a random number through a xorshift generator.
+	 *
+	 * @param bound The upper bound, exclusive. Must be positive.
+	 * @return A random number from {@code 0} to {@code bound - 1}.
+	 */
+	private int nextRandom(final int bound) {
+		this.randomState ^= this.randomState << XORSHIFT_FIRST_SHIFT;
+		this.randomState ^= this.randomState >>> XORSHIFT_SECOND_SHIFT;
+		this.randomState ^= this.randomState << XORSHIFT_THIRD_SHIFT;
+		return (int) ((this.randomState >>> 1) % bound);
+	}
+}
@@ -0,0 +1,83 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker.remote;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Counts the executions of counted sections in one thread. Each section’s executions are
+ * counted by its {@link SectionActivations}, which are held in an array indexed by the
+ * section identifier. The thread’s position advances each time a counted section is
+ * entered or left, so the activations can tell whether anything happened between two
+ * executions.
+ *
+ * <p>Counting only allocates when a section is entered for the first time in the thread
+ * or when the counters need to grow. Instances are not thread safe. Each thread must use
+ * its own counter. Only {@link #addTo(Map)} may be called from other threads, and then
+ * only yields an approximation if the owning thread is still counting.
+ *
+ * @author Joshua Gleitze
+ * @see ExecutionCounters
+ */
+final class ThreadExecutionCounter {
+
+	/**
+	 * How many sections a new counter can hold before it needs to grow.
+	 */
+	private static final int INITIAL_CAPACITY = 64;
+
+	/**
+	 * The activations of each section, by section identifier. {@code null} for sections
+	 * that were not entered yet.
+	 */
+	private SectionActivations[] sections = new SectionActivations[INITIAL_CAPACITY];
+
+	/**
+	 * How often a counted section was entered or left in this thread.
+	 */
+	private long position;
+
+	/**
+	 * Reports that a counted section was entered.
+	 *
+	 * @param sectionId The entered section’s identifier. Must not be negative.
+	 */
+	void enter(final int sectionId) {
+		if (sectionId >= this.sections.length) {
+			this.sections = Arrays.copyOf(this.sections, Math.max(this.sections.length * 2, sectionId + 1));
+		}
+		if (this.sections[sectionId] == null) {
+			this.sections[sectionId] = new SectionActivations();
+		}
+		this.sections[sectionId].enter(++this.position);
+	}
+
+	/**
+	 * Reports that a counted section was left. Does nothing if the section was never
+	 * entered.
+	 *
+	 * @param sectionId The left section’s identifier. Must not be negative.
+	 */
+	void leave(final int sectionId) {
+		this.position++;
+		if (sectionId < this.sections.length && this.sections[sectionId] != null) {
+			this.sections[sectionId].leave(this.position);
+		}
+	}
+
+	/**
+	 * Adds the activations of all sections to {@code activationCounts}.
+	 *
+	 * @param activationCounts Maps each section identifier to a map from iteration counts
+	 *            to the number of activations with that many iterations. Missing maps are
+	 *            created.
+	 */
+	void addTo(final Map<Integer, Map<Long, Long>> activationCounts) {
+		final SectionActivations[] currentSections = this.sections;
+		for (int sectionId = 0; sectionId < currentSections.length; sectionId++) {
+			if (currentSections[sectionId] != null) {
+				currentSections[sectionId].addTo(activationCounts.computeIfAbsent(sectionId, (id) -> new TreeMap<>()));
+			}
+		}
+	}
+}
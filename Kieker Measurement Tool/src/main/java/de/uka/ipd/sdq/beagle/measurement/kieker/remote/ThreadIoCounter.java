@@ -0,0 +1,153 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker.remote;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads how many bytes one thread caused to be transferred from and to the storage
+ * layer, from the thread’s I/O accounting in {@code /proc/thread-self/io}. This is the
+ * {@code read_bytes} and {@code write_bytes} the Linux kernel counts for the thread.
+ * Reads that were served from the page cache are not counted. Writes are counted when
+ * the thread dirties the page cache, not when the pages reach the disk.
+ *
+ * <p>{@code /proc/thread-self} resolves to the thread that opens it, so a counter must
+ * be opened by the thread it shall count. The counter keeps the file open and reads it
+ * into a preallocated buffer, so reading neither opens files nor allocates. The file is
+ * closed when the counter is no longer reachable.
+ *
+ * <p>Instances are not thread safe. Each thread must use its own counter.
+ *
+ * @author Joshua Gleitze
+ */
+final class ThreadIoCounter {
+
+	/**
+	 * The I/O accounting of the thread opening it.
+	 */
+	private static final String THREAD_IO_FILE = "/proc/thread-self/io";
+
+	/**
+	 * How many bytes of the accounting file are read. The file is about 120 bytes long.
+	 */
+	private static final int BUFFER_SIZE = 512;
+
+	/**
+	 * The key of the bytes read from the storage layer, including the separator.
+	 */
+	private static final byte[] READ_BYTES_KEY = "read_bytes:".getBytes(StandardCharsets.US_ASCII);
+
+	/**
+	 * The key of the bytes written to the storage layer, including the separator.
+	 */
+	private static final byte[] WRITE_BYTES_KEY = "write_bytes:".getBytes(StandardCharsets.US_ASCII);
+
+	/**
+	 * The radix of the numbers in the accounting file.
+	 */
+	private static final int RADIX = 10;
+
+	/**
+	 * The accounting file of the counted thread.
+	 */
+	private final FileChannel ioFile;
+
+	/**
+	 * Receives the accounting file’s content.
+	 */
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+	/**
+	 * Creates a counter for the current thread.
+	 *
+	 * @param ioFile The current thread’s accounting file.
+	 */
+	private ThreadIoCounter(final FileChannel ioFile) {
+		this.ioFile = ioFile;
+	}
+
+	/**
+	 * Opens a counter for the current thread.
+	 *
+	 * @return A counter for the current thread. {@code null} if the system does not
+	 *         provide the I/O accounting of threads.
+	 */
+	static ThreadIoCounter openForCurrentThread() {
+		try {
+			final ThreadIoCounter counter = new ThreadIoCounter(new FileInputStream(THREAD_IO_FILE).getChannel());
+			return counter.readStorageBytes() >= 0 ? counter : null;
+		} catch (final IOException | SecurityException notAvailable) {
+			return null;
+		}
+	}
+
+	/**
+	 * Reads how many bytes the thread caused to be transferred from and to the storage
+	 * layer so far.
+	 *
+	 * @return The sum of the thread’s {@code read_bytes} and {@code write_bytes}.
+	 *         {@code -1} if reading the accounting file failed.
+	 */
+	long readStorageBytes() {
+		this.buffer.clear();
+		try {
+			// Reading from the start makes the kernel generate the current values.
+			this.ioFile.read(this.buffer, 0);
+		} catch (final IOException readError) {
+			return -1;
+		}
+		final long readBytes = this.readValue(READ_BYTES_KEY);
+		final long writeBytes = this.readValue(WRITE_BYTES_KEY);
+		return readBytes < 0 || writeBytes < 0 ? -1 : readBytes + writeBytes;
+	}
+
+	/**
+	 * Finds a value in the accounting file’s content in {@link #buffer}.
+	 *
+	 * @param key The value’s key, including the separator.
+	 * @return The value. {@code -1} if the content has no line starting with
+	 *         {@code key}.
+	 */
+	private long readValue(final byte[] key) {
+		final int end = this.buffer.position();
+		int lineStart = 0;
+		while (lineStart + key.length <= end) {
+			if (this.startsWith(lineStart, key)) {
+				long value = 0;
+				for (int index = lineStart + key.length; index < end; index++) {
+					final int digit = Character.digit(this.buffer.get(index), RADIX);
+					if (digit >= 0) {
+						value = value * RADIX + digit;
+					} else if (this.buffer.get(index) != ' ') {
+						break;
+					}
+				}
+				return value;
+			}
+			while (lineStart < end && this.buffer.get(lineStart) != '\n') {
+				lineStart++;
+			}
+			lineStart++;
+		}
+		return -1;
+	}
+
+	/**
+	 * Checks whether the content in {@link #buffer} contains {@code key} at
+	 * {@code start}.
+	 *
+	 * @param start An index in {@link #buffer}.
+	 * @param key A key, including the separator.
+	 * @return Whether {@code key} starts at {@code start}.
+	 */
+	private boolean startsWith(final int start, final byte[] key) {
+		for (int index = 0; index < key.length; index++) {
+			if (this.buffer.get(start + index) != key[index]) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,107 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import de.uka.ipd.sdq.beagle.measurement.kieker.instrumentation.ContentAddressedFileCache;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+/**
+ * Tests {@link EclipseCompiler}.
+ *
+ * @author Joshua Gleitze
+ */
+public class EclipseCompilerTest {
+
+	/**
+	 * Source code of a class to compile.
+	 */
+	private static final String SOURCE_CODE = "package test;\n\npublic class Measured {\n\tpublic int measured() {\n"
+		+ "\t\treturn 42;\n\t}\n}\n";
+
+	/**
+	 * Provides the folders for the measurements and the cache.
+	 */
+	@Rule
+	public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	/**
+	 * Test method for {@link EclipseCompiler#compile()}. Asserts that class files compiled
+	 * for one measurement folder structure are restored from the cache when the same
+	 * source code is compiled in another one, like {@link MeasurementFileManager#allocate()}
+	 * creates for every measurement, even though the byte code folder is on the class
+	 * path and its files were written at another time.
+	 *
+	 * @throws IOException If preparing the measurement folders fails.
+	 */
+	@Test
+	public void compileRestoresClassFilesOfOtherFolders() throws IOException {
+		final ContentAddressedFileCache cache =
+			new ContentAddressedFileCache(this.temporaryFolder.newFolder("cache").toPath());
+
+		final Path firstByteCodeFolder = this.allocate("first", 1000);
+		final EclipseCompiler firstCompiler = this.createCompiler("first", firstByteCodeFolder, cache);
+		firstCompiler.compile();
+		assertThat(firstCompiler.getShardReports(), is(not(empty())));
+		assertThat(Files.exists(firstByteCodeFolder.resolve("test/Measured.class")), is(true));
+
+		final Path secondByteCodeFolder = this.allocate("second", 2000);
+		final EclipseCompiler secondCompiler = this.createCompiler("second", secondByteCodeFolder, cache);
+		secondCompiler.compile();
+		assertThat("The class file must have been restored from the cache", secondCompiler.getShardReports(),
+			is(empty()));
+		assertThat(Files.exists(secondByteCodeFolder.resolve("test/Measured.class")), is(true));
+	}
+
+	/**
+	 * Creates the folders of a measurement: one containing the source code, and one for
+	 * the byte code, containing the remote measurement code.
+	 *
+	 * @param measurement The name of the measurement’s root folder.
+	 * @param modificationTime The modification time of the remote measurement code.
+	 * @return The byte code folder.
+	 * @throws IOException If creating the files fails.
+	 */
+	private Path allocate(final String measurement, final long modificationTime) throws IOException {
+		final Path rootFolder = this.temporaryFolder.newFolder(measurement).toPath();
+		final Path sourceFile = rootFolder.resolve("source/test/Measured.java");
+		Files.createDirectories(sourceFile.getParent());
+		Files.write(sourceFile, SOURCE_CODE.getBytes(StandardCharsets.UTF_8));
+
+		final Path byteCodeFolder = rootFolder.resolve("bytecode");
+		final Path remoteCode = byteCodeFolder.resolve("remote/MeasurementCentral.class");
+		Files.createDirectories(remoteCode.getParent());
+		Files.write(remoteCode, new byte[] {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE});
+		Files.setLastModifiedTime(remoteCode, FileTime.fromMillis(modificationTime));
+		return byteCodeFolder;
+	}
+
+	/**
+	 * Creates a compiler like the {@link KiekerMeasurementTool} does.
+	 *
+	 * @param measurement The name of the measurement’s root folder.
+	 * @param byteCodeFolder The measurement’s byte code folder.
+	 * @param cache The cache to use.
+	 * @return The compiler.
+	 */
+	private EclipseCompiler createCompiler(final String measurement, final Path byteCodeFolder,
+		final ContentAddressedFileCache cache) {
+		return new EclipseCompiler(this.temporaryFolder.getRoot().toPath().resolve(measurement).resolve("source"))
+			.useClassPath(byteCodeFolder.toString())
+			.useCharset(StandardCharsets.UTF_8)
+			.intoFolder(byteCodeFolder)
+			.useCache(cache)
+			.useWorkers(1);
+	}
+}
@@ -0,0 +1,40 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests {@link InstrumentationMode}.
+ *
+ * @author Joshua Gleitze
+ */
+public class InstrumentationModeTest {
+
+	/**
+	 * Clears the instrumentation mode property set by the tests.
+	 */
+	@After
+	public void clearProperty() {
+		System.clearProperty(InstrumentationMode.PROPERTY);
+	}
+
+	/**
+	 * Test method for {@link InstrumentationMode#chosen()}. Asserts that exactly the
+	 * chosen mode is returned and that the source code is instrumented if no mode was
+	 * chosen.
+	 */
+	@Test
+	public void chosen() {
+		System.clearProperty(InstrumentationMode.PROPERTY);
+		assertThat(InstrumentationMode.chosen(), is(InstrumentationMode.SOURCE_CODE));
+
+		System.setProperty(InstrumentationMode.PROPERTY, "java_agent");
+		assertThat(InstrumentationMode.chosen(), is(InstrumentationMode.JAVA_AGENT));
+
+		System.setProperty(InstrumentationMode.PROPERTY, "SOURCE_CODE");
+		assertThat(InstrumentationMode.chosen(), is(InstrumentationMode.SOURCE_CODE));
+	}
+}
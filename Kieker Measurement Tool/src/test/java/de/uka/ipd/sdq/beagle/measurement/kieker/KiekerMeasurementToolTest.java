@@ -0,0 +1,57 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+
+import org.junit.Test;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+/**
+ * Tests how the {@link KiekerMeasurementTool} is contributed to Beagle.
+ *
+ * @author Joshua Gleitze
+ */
+public class KiekerMeasurementToolTest {
+
+	/**
+	 * The extension point measurement tools are contributed to.
+	 */
+	private static final String MEASUREMENT_TOOL_EXTENSION_POINT = "de.uka.ipd.sdq.beagle.measurementtool";
+
+	/**
+	 * Asserts that the plugin contributes exactly one measurement tool. Beagle runs every
+	 * contributed tool for each measurement order, so each launch is only instrumented in
+	 * the {@linkplain InstrumentationMode#chosen() chosen instrumentation mode}.
+	 *
+	 * @throws Exception If the plugin description cannot be read.
+	 */
+	@Test
+	public void contributesOneMeasurementTool() throws Exception {
+		final List<String> contributedTools = new ArrayList<>();
+		try (InputStream pluginDescription = this.getClass().getResourceAsStream("/plugin.xml")) {
+			final NodeList extensions = DocumentBuilderFactory.newInstance()
+				.newDocumentBuilder()
+				.parse(pluginDescription)
+				.getElementsByTagName("extension");
+			for (int i = 0; i < extensions.getLength(); i++) {
+				final Element extension = (Element) extensions.item(i);
+				if (!MEASUREMENT_TOOL_EXTENSION_POINT.equals(extension.getAttribute("point"))) {
+					continue;
+				}
+				final NodeList tools = extension.getElementsByTagName("MeasurementTool");
+				for (int j = 0; j < tools.getLength(); j++) {
+					contributedTools.add(((Element) tools.item(j)).getAttribute("MeasurementToolClass"));
+				}
+			}
+		}
+
+		assertThat(contributedTools, contains(KiekerMeasurementTool.class.getName()));
+	}
+}